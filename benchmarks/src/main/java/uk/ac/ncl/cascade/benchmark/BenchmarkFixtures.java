@@ -0,0 +1,127 @@
+package uk.ac.ncl.cascade.benchmark;
+
+import uk.ac.ncl.cascade.zkpgs.exception.EncodingException;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerKeyPair;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.RecipientOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.SignerOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.parameters.GraphEncodingParameters;
+import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
+import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
+import uk.ac.ncl.cascade.zkpgs.util.FilePersistenceUtil;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared key material and credentials for the benchmarks.
+ *
+ * <p>Generating a signer key pair requires the search for two safe primes and dominates any
+ * trial. Key pairs are therefore cached as {@code SignerKeyPair-<l_n>.ser} in the working
+ * directory and re-used by subsequent runs, as the test-suite does with its serialized keys.
+ */
+final class BenchmarkFixtures {
+	static final int L_N = 2048;
+	static final int DEFAULT_LPRIME_V = 120;
+	static final int DEFAULT_L_L = 256;
+	static final int DEFAULT_LPRIME_L = 16;
+
+	static final String PSEUDONYM_PRIMES_FILE = "pseudonyms-primes-50.txt";
+
+	private static final FilePersistenceUtil persistenceUtil = new FilePersistenceUtil();
+
+	private BenchmarkFixtures() {
+	}
+
+	/**
+	 * Creates the key generation parameters of zkgs_params.json. The lengths l_gamma, l_e and l_v
+	 * depend on the modulus length and are only given for l_n = 2048, which the benchmarks are
+	 * therefore restricted to.
+	 */
+	static KeyGenParameters createKeyGenParameters(int l_n) {
+		if (l_n != L_N) {
+			throw new IllegalArgumentException("The benchmark key parameters are only defined for l_n = " + L_N + ".");
+		}
+		return KeyGenParameters.createKeyGenParameters(l_n, 1632, 256, 256, 1, 597, 120, 2724, 80, 256, 80, 80);
+	}
+
+	/**
+	 * Creates the graph encoding parameters of zkgs_params.json with the given maximal numbers of
+	 * vertices l_V and edges l_E.
+	 */
+	static GraphEncodingParameters createGraphEncodingParameters(int l_V, int l_E) {
+		return new GraphEncodingParameters(l_V, DEFAULT_LPRIME_V, l_E, DEFAULT_L_L, DEFAULT_LPRIME_L);
+	}
+
+	/**
+	 * Reads the signer key pair for l_n from the working directory, or generates and persists it.
+	 */
+	static SignerKeyPair signerKeyPair(KeyGenParameters keyGenParameters) throws IOException, ClassNotFoundException {
+		String fileName = "SignerKeyPair-" + keyGenParameters.getL_n() + ".ser";
+		if (new File(fileName).exists()) {
+			return (SignerKeyPair) persistenceUtil.read(fileName);
+		}
+		SignerKeyPair gsk = new SignerKeyPair();
+		gsk.keyGen(keyGenParameters);
+		persistenceUtil.write(gsk, fileName);
+		return gsk;
+	}
+
+	/**
+	 * Creates an extended key pair with the geo-location encoding for the modulus length l_n and
+	 * bases for l_V vertices and l_E edges.
+	 */
+	static ExtendedKeyPair extendedKeyPair(int l_n, int l_V, int l_E)
+			throws IOException, ClassNotFoundException, EncodingException {
+		KeyGenParameters keyGenParameters = createKeyGenParameters(l_n);
+		GraphEncodingParameters graphEncodingParameters = createGraphEncodingParameters(l_V, l_E);
+		SignerKeyPair gsk = signerKeyPair(keyGenParameters);
+
+		ExtendedKeyPair extendedKeyPair = new ExtendedKeyPair(gsk, graphEncodingParameters, keyGenParameters);
+		extendedKeyPair.generateBases();
+		extendedKeyPair.setupEncoding();
+		extendedKeyPair.createExtendedKeyPair();
+		return extendedKeyPair;
+	}
+
+	/**
+	 * Runs the issuing protocol over a loopback gateway and returns the recipient's graph signature.
+	 */
+	static GSSignature issue(SignerOrchestrator signer, RecipientOrchestrator recipient) throws Exception {
+		signer.init();
+		recipient.init();
+		signer.round0();
+		recipient.round1();
+		signer.round2();
+		recipient.round3();
+		signer.close();
+		recipient.close();
+		return recipient.getGraphSignature();
+	}
+
+	/**
+	 * Reads the pseudonym to prime map bundled with the library resources.
+	 */
+	static Map<String, BigInteger> pseudonymPrimes() throws IOException {
+		Map<String, BigInteger> pseudonymPrimes = new LinkedHashMap<String, BigInteger>();
+		InputStream inputStream = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(PSEUDONYM_PRIMES_FILE);
+		if (inputStream == null) {
+			throw new IOException("Resource " + PSEUDONYM_PRIMES_FILE + " not found on the classpath.");
+		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			String pseudonym;
+			while ((pseudonym = reader.readLine()) != null) {
+				String prime = reader.readLine();
+				pseudonymPrimes.put(pseudonym, new BigInteger(prime));
+			}
+		}
+		return pseudonymPrimes;
+	}
+}
@@ -0,0 +1,127 @@
+package uk.ac.ncl.cascade.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.ncl.cascade.binding.ProverOrchestratorPoB;
+import uk.ac.ncl.cascade.binding.RecipientOrchestratorBC;
+import uk.ac.ncl.cascade.binding.SignerOrchestratorBC;
+import uk.ac.ncl.cascade.binding.VerifierOrchestratorPoB;
+import uk.ac.ncl.cascade.zkpgs.encoding.IGraphEncoding;
+import uk.ac.ncl.cascade.zkpgs.encoding.PseudonymPrimeEncoding;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.RecipientOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.SignerOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
+import uk.ac.ncl.cascade.zkpgs.util.FilePersistenceUtil;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the binding protocols: issuing a binding credential for a single pseudonym with
+ * {@link SignerOrchestratorBC} and proving possession of a graph signature over pseudonym primes
+ * with {@link ProverOrchestratorPoB}.
+ *
+ * <p>The pseudonyms and their primes are read from the bundled pseudonyms-primes-50.txt, such that
+ * the hash-to-prime computation is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BindingBenchmark {
+	private static final String BINDING_GRAPH_FILE = "signer-infra-50.graphml";
+
+	@Param({"2048"})
+	public int l_n;
+
+	@Param({"100"})
+	public int l_V;
+
+	@Param({"500"})
+	public int l_E;
+
+	private ExtendedKeyPair extendedKeyPair;
+	private BigInteger pseudonym;
+	private BigInteger e_i;
+	private File signatureFile;
+
+	@Setup(Level.Trial)
+	public void setupSignature() throws Exception {
+		extendedKeyPair = BenchmarkFixtures.extendedKeyPair(l_n, l_V, l_E);
+
+		Map<String, BigInteger> pseudonymPrimes = BenchmarkFixtures.pseudonymPrimes();
+		Map.Entry<String, BigInteger> first = pseudonymPrimes.entrySet().iterator().next();
+		pseudonym = new BigInteger(first.getKey(), 16);
+		e_i = first.getValue();
+
+		List<BigInteger> primes = new ArrayList<BigInteger>(pseudonymPrimes.values());
+		IGraphEncoding encoding = new PseudonymPrimeEncoding(extendedKeyPair.getGraphEncodingParameters(), primes);
+		encoding.setupEncoding();
+
+		LoopbackGateway[] gateways = LoopbackGateway.createPair();
+		SignerOrchestrator signer = new SignerOrchestrator(BINDING_GRAPH_FILE, extendedKeyPair, encoding, gateways[0]);
+		RecipientOrchestrator recipient = new RecipientOrchestrator(extendedKeyPair.getExtendedPublicKey(), gateways[1]);
+
+		signatureFile = File.createTempFile("bindingSignature-" + l_n, ".ser");
+		signatureFile.deleteOnExit();
+		new FilePersistenceUtil().write(BenchmarkFixtures.issue(signer, recipient), signatureFile.getPath());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		signatureFile.delete();
+	}
+
+	@Benchmark
+	public GSSignature issueBindingCredential() throws Exception {
+		LoopbackGateway[] gateways = LoopbackGateway.createPair();
+		SignerOrchestratorBC signer = new SignerOrchestratorBC(pseudonym, e_i, extendedKeyPair, gateways[0]);
+		RecipientOrchestratorBC recipient = new RecipientOrchestratorBC(extendedKeyPair.getExtendedPublicKey(), gateways[1]);
+
+		signer.init();
+		recipient.init();
+		signer.round0();
+		recipient.round1();
+		signer.round2();
+		recipient.round3();
+		return recipient.getSignature();
+	}
+
+	@Benchmark
+	public BigInteger proveBinding() throws Exception {
+		LoopbackGateway[] gateways = LoopbackGateway.createPair();
+		ProverOrchestratorPoB prover = new ProverOrchestratorPoB(extendedKeyPair.getExtendedPublicKey(), gateways[0]);
+		VerifierOrchestratorPoB verifier = new VerifierOrchestratorPoB(extendedKeyPair.getExtendedPublicKey(), gateways[1]);
+		prover.readSignature(signatureFile.getPath());
+
+		verifier.init();
+		prover.init();
+		prover.executePreChallengePhase();
+		BigInteger cChallenge = prover.computeChallenge();
+		prover.executePostChallengePhase(cChallenge);
+
+		verifier.receiveProverMessage();
+		verifier.executeVerification();
+		verifier.computeChallenge();
+		verifier.verifyChallenge();
+		return cChallenge;
+	}
+}
@@ -0,0 +1,78 @@
+package uk.ac.ncl.cascade.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.GroupSetupProverOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.GroupSetupVerifierOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
+import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the proof of correct group setup over all bases of the extended public key, which
+ * scales with l_V and l_E, and its verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GroupSetupBenchmark {
+
+	@Param({"2048"})
+	public int l_n;
+
+	@Param({"100"})
+	public int l_V;
+
+	@Param({"500"})
+	public int l_E;
+
+	private ExtendedKeyPair extendedKeyPair;
+	private ProofSignature proofSignature;
+	private BigInteger cChallenge;
+
+	@Setup(Level.Trial)
+	public void setupProof() throws Exception {
+		extendedKeyPair = BenchmarkFixtures.extendedKeyPair(l_n, l_V, l_E);
+
+		GroupSetupProverOrchestrator prover = new GroupSetupProverOrchestrator(extendedKeyPair, new ProofStore<Object>());
+		prover.executePreChallengePhase();
+		cChallenge = prover.computeChallenge();
+		prover.executePostChallengePhase(cChallenge);
+		proofSignature = prover.createProofSignature();
+	}
+
+	@Benchmark
+	public ProofSignature prove() {
+		GroupSetupProverOrchestrator prover = new GroupSetupProverOrchestrator(extendedKeyPair, new ProofStore<Object>());
+		prover.executePreChallengePhase();
+		BigInteger challenge = prover.computeChallenge();
+		prover.executePostChallengePhase(challenge);
+		return prover.createProofSignature();
+	}
+
+	@Benchmark
+	public boolean verify() {
+		GroupSetupVerifierOrchestrator verifier = new GroupSetupVerifierOrchestrator(
+				proofSignature, extendedKeyPair.getExtendedPublicKey(), new ProofStore<Object>());
+		if (!verifier.executeVerification(cChallenge)) {
+			throw new IllegalStateException("The group setup proof did not verify.");
+		}
+		return true;
+	}
+}
@@ -0,0 +1,66 @@
+package uk.ac.ncl.cascade.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.RecipientOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.SignerOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete run of the issuing protocol (rounds 0 to 3) between a
+ * {@link SignerOrchestrator} and a {@link RecipientOrchestrator} for graphs of growing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IssuingBenchmark {
+
+	@Param({"2048"})
+	public int l_n;
+
+	@Param({"100"})
+	public int l_V;
+
+	@Param({"500"})
+	public int l_E;
+
+	@Param({"signer-infra-10.graphml", "signer-infra-30.graphml", "signer-infra-50.graphml"})
+	public String graphFilename;
+
+	private ExtendedKeyPair extendedKeyPair;
+	private SignerOrchestrator signer;
+	private RecipientOrchestrator recipient;
+
+	@Setup(Level.Trial)
+	public void setupKeys() throws Exception {
+		extendedKeyPair = BenchmarkFixtures.extendedKeyPair(l_n, l_V, l_E);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupParties() {
+		LoopbackGateway[] gateways = LoopbackGateway.createPair();
+		signer = new SignerOrchestrator(graphFilename, extendedKeyPair, gateways[0]);
+		recipient = new RecipientOrchestrator(extendedKeyPair.getExtendedPublicKey(), gateways[1]);
+	}
+
+	@Benchmark
+	public GSSignature issue() throws Exception {
+		return BenchmarkFixtures.issue(signer, recipient);
+	}
+}
@@ -0,0 +1,69 @@
+package uk.ac.ncl.cascade.benchmark;
+
+import uk.ac.ncl.cascade.zkpgs.message.GSMessage;
+import uk.ac.ncl.cascade.zkpgs.message.IMessageGateway;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory message gateway connecting two protocol parties without sockets.
+ *
+ * <p>Endpoints are created in pairs with {@link #createPair()}; a message sent on one endpoint is
+ * received on the other. Receiving blocks until a message arrives, such that the two parties may
+ * run on separate threads exactly as they would over the network.
+ */
+public final class LoopbackGateway implements IMessageGateway {
+	private static final long RECEIVE_TIMEOUT_SECONDS = 600;
+
+	private final BlockingQueue<GSMessage> inbound;
+	private final BlockingQueue<GSMessage> outbound;
+
+	private LoopbackGateway(BlockingQueue<GSMessage> inbound, BlockingQueue<GSMessage> outbound) {
+		this.inbound = inbound;
+		this.outbound = outbound;
+	}
+
+	/**
+	 * Creates two connected endpoints.
+	 *
+	 * @return an array holding the first endpoint at index 0 and its peer at index 1
+	 */
+	public static LoopbackGateway[] createPair() {
+		BlockingQueue<GSMessage> first = new LinkedBlockingQueue<GSMessage>();
+		BlockingQueue<GSMessage> second = new LinkedBlockingQueue<GSMessage>();
+		return new LoopbackGateway[]{new LoopbackGateway(first, second), new LoopbackGateway(second, first)};
+	}
+
+	@Override
+	public void init() throws IOException {
+		// Intentional No-Operation
+	}
+
+	@Override
+	public void send(GSMessage message) throws IOException {
+		outbound.add(message);
+	}
+
+	@Override
+	public GSMessage receive() throws IOException {
+		try {
+			GSMessage message = inbound.poll(RECEIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			if (message == null) {
+				throw new IOException("No message received from the peer endpoint.");
+			}
+			return message;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a message.");
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		inbound.clear();
+	}
+}
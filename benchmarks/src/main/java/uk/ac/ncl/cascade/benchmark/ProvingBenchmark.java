@@ -0,0 +1,125 @@
+package uk.ac.ncl.cascade.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.ProverOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.RecipientOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.SignerOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.VerifierOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.util.FilePersistenceUtil;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the geo-location separation proof between a {@link ProverOrchestrator} and a
+ * {@link VerifierOrchestrator}, including the pair-wise difference proofs over the queried vertices.
+ *
+ * <p>The graph signature is issued once per trial. The prover runs on a separate thread, as it
+ * must answer the verifier's proof request before the verifier proceeds. The vertices with the
+ * identifiers 0 to queriedVertices - 1 are queried.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProvingBenchmark {
+
+	@Param({"2048"})
+	public int l_n;
+
+	@Param({"100"})
+	public int l_V;
+
+	@Param({"500"})
+	public int l_E;
+
+	@Param({"signer-infra-10.graphml", "signer-infra-50.graphml"})
+	public String graphFilename;
+
+	@Param({"2", "5", "10"})
+	public int queriedVertices;
+
+	private ExtendedKeyPair extendedKeyPair;
+	private File signatureFile;
+	private ExecutorService proverExecutor;
+	private ProverOrchestrator prover;
+	private VerifierOrchestrator verifier;
+
+	@Setup(Level.Trial)
+	public void setupSignature() throws Exception {
+		extendedKeyPair = BenchmarkFixtures.extendedKeyPair(l_n, l_V, l_E);
+
+		LoopbackGateway[] gateways = LoopbackGateway.createPair();
+		SignerOrchestrator signer = new SignerOrchestrator(graphFilename, extendedKeyPair, gateways[0]);
+		RecipientOrchestrator recipient = new RecipientOrchestrator(extendedKeyPair.getExtendedPublicKey(), gateways[1]);
+
+		signatureFile = File.createTempFile("graphSignature-" + l_n, ".ser");
+		signatureFile.deleteOnExit();
+		new FilePersistenceUtil().write(BenchmarkFixtures.issue(signer, recipient), signatureFile.getPath());
+
+		proverExecutor = Executors.newSingleThreadExecutor();
+	}
+
+	@Setup(Level.Invocation)
+	public void setupParties() throws Exception {
+		LoopbackGateway[] gateways = LoopbackGateway.createPair();
+		prover = new ProverOrchestrator(extendedKeyPair.getExtendedPublicKey(), gateways[0]);
+		prover.readSignature(signatureFile.getPath());
+
+		Vector<Integer> vertexQueries = new Vector<Integer>();
+		for (int i = 0; i < queriedVertices; i++) {
+			vertexQueries.add(i);
+		}
+		verifier = new VerifierOrchestrator(extendedKeyPair.getExtendedPublicKey(), gateways[1]);
+		verifier.createQuery(vertexQueries);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		proverExecutor.shutdownNow();
+		signatureFile.delete();
+	}
+
+	@Benchmark
+	public BigInteger proveAndVerify() throws Exception {
+		Future<BigInteger> proverResult = proverExecutor.submit(new Callable<BigInteger>() {
+			@Override
+			public BigInteger call() throws Exception {
+				prover.init();
+				prover.executePreChallengePhase();
+				BigInteger cChallenge = prover.computeChallenge();
+				prover.executePostChallengePhase(cChallenge);
+				return cChallenge;
+			}
+		});
+
+		verifier.init();
+		verifier.receiveProverMessage();
+		verifier.executeVerification();
+		verifier.computeChallenge();
+		verifier.verifyChallenge();
+
+		return proverResult.get();
+	}
+}
@@ -18,8 +18,10 @@ import uk.ac.ncl.cascade.zkpgs.prover.*;
 import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.io.IOException;
@@ -34,6 +36,10 @@ import java.util.logging.Logger;
  * Creates a prover orchestrator for the binding credentials
  */
 public class ProverOrchestratorBC implements IProverOrchestrator {
+	private static final URNHandle C_I = URNHandle.forUnsafePrefix("proof.commitments.C_i_");
+	private static final URNHandle HATM_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_");
+	private static final URNHandle HATM_I_J = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_j_");
+
 	private final ExtendedPublicKey extendedPublicKey;
 	private final KeyGenParameters keyGenParameters;
 	private final GraphEncodingParameters graphEncodingParameters;
@@ -47,7 +53,6 @@ public class ProverOrchestratorBC implements IProverOrchestrator {
 	private List<PairWiseCommitments> pairWiseCommList;
 	private Map<URN, GSCommitment> commitments;
 	private Map<URN, GroupElement> pairWiseWitnesses;
-	private List<String> challengeList = new ArrayList<String>();
 	private Logger gslog = GSLoggerConfiguration.getGSlog();
 	private PossessionProver possessionProver;
 	private List<CommitmentProver> commitmentProverList;
@@ -117,7 +122,7 @@ public class ProverOrchestratorBC implements IProverOrchestrator {
 		} else {
 			GSCommitment comm = GSCommitment.createCommitment(base.getExponent(), extendedPublicKey);
 			/** TODO add safe URN for proof commitments */
-			indexCommitments.put(URN.createUnsafeZkpgsURN("proof.commitments.C_i_" + base.getBaseIndex()), comm);
+			indexCommitments.put(C_I.get(base.getBaseIndex()), comm);
 		}
 
 	}
@@ -190,27 +195,27 @@ public class ProverOrchestratorBC implements IProverOrchestrator {
 
 	@Override
 	public BigInteger computeChallenge() throws ProofStoreException, NoSuchAlgorithmException {
-		challengeList = populateChallengeList();
 		BigInteger c = null;
 		try {
-			c = CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+			c = populateChallengeHash().digest();
 		} catch (NoSuchAlgorithmException e) {
 			gslog.log(Level.SEVERE, "Fiat-Shamir challenge could not be computed.", e);
 		}
 		return c;
 	}
 
-	private List<String> populateChallengeList() {
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> contextList = gsContext.computeChallengeContext();
-		challengeList.addAll(contextList);
-		challengeList.add(String.valueOf(blindedGraphSignature.getA()));
-		challengeList.add(String.valueOf(extendedPublicKey.getPublicKey().getBaseZ().getValue()));
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
+
+		List<byte[]> challengeList = new ArrayList<byte[]>();
+		challengeList.add(ChallengeHash.encode(blindedGraphSignature.getA()));
+		challengeList.add(ChallengeHash.encode(extendedPublicKey.getPublicKey().getBaseZ()));
 //		for (GSCommitment gsCommitment : commitments.values()) {
-//			challengeList.add(String.valueOf(gsCommitment.getCommitmentValue()));
+//			challengeList.add(ChallengeHash.encode(gsCommitment.getCommitmentValue()));
 //		}
 
-		challengeList.add(String.valueOf(tildeZ));
+		challengeList.add(ChallengeHash.encode(tildeZ));
 //		gslog.log(Level.INFO, "tildeZ: " + tildeZ);
 
 		String tildeC_iURN;
@@ -219,14 +224,13 @@ public class ProverOrchestratorBC implements IProverOrchestrator {
 //		for (BaseRepresentation vertex : vertexIterator) {
 //			tildeC_iURN = "commitmentprover.commitments.tildeC_i_" + vertex.getBaseIndex();
 //			GroupElement commitment = (GroupElement) proofStore.retrieve(tildeC_iURN);
-//			challengeList.add(String.valueOf(commitment));
+//			challengeList.add(ChallengeHash.encode(commitment));
 //
 //		}
 
-		challengeList.add(String.valueOf(n_3));
+		challengeList.add(ChallengeHash.encode(n_3));
 //		gslog.log(Level.INFO, "n_3: " + n_3);
-		Collections.sort(challengeList);
-		return challengeList;
+		return challengeHash.updateUnordered(challengeList);
 	}
 
 
@@ -309,7 +313,7 @@ public class ProverOrchestratorBC implements IProverOrchestrator {
 			baseIndex = vertexBase.getBaseIndex();
 			hatm_iURN = hatm_iPath + baseIndex;
 			proofSignatureElements.put(
-					URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + baseIndex),
+					HATM_I.get(baseIndex),
 					proofStore.retrieve(hatm_iURN));
 //			hatr_iURN = hatr_iPath + baseIndex;
 //			proofSignatureElements.put(
@@ -326,7 +330,7 @@ public class ProverOrchestratorBC implements IProverOrchestrator {
 			baseIndex = edgeBase.getBaseIndex();
 			hatm_i_jURN = hatm_i_jPath + baseIndex;
 			proofSignatureElements.put(
-					URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_j_" + baseIndex),
+					HATM_I_J.get(baseIndex),
 					proofStore.retrieve(hatm_i_jURN));
 
 			//            String hatr_i_jURN = hatr_i_jPath + baseIndex;
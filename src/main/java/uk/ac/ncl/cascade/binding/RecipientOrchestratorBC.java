@@ -21,14 +21,13 @@ import uk.ac.ncl.cascade.zkpgs.signature.GSSignatureValidator;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -54,7 +53,6 @@ public class RecipientOrchestratorBC implements IMessagePartner {
 	private BigInteger cChallenge;
 	private BigInteger n_2;
 	private Map<URN, BigInteger> responses;
-	private List<String> challengeList;
 	private ProofSignature P_2;
 	private BigInteger vPrimePrime;
 	private GroupElement A;
@@ -245,22 +243,18 @@ public class RecipientOrchestratorBC implements IMessagePartner {
 		return this.gsSignature;
 	}
 	private BigInteger computeChallenge() throws NoSuchAlgorithmException {
-		challengeList = populateChallengeList();
-		return CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+		return populateChallengeHash().digest();
 	}
 
-	private List<String> populateChallengeList() {
-		challengeList = new ArrayList<>();
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> contextList = gsContext.computeChallengeContext();
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
-		challengeList.addAll(contextList);
+		challengeHash.update(U.getCommitmentValue());
+		challengeHash.update(tildeU);
+		challengeHash.update(n_1);
 
-		challengeList.add(String.valueOf(U.getCommitmentValue()));
-		challengeList.add(String.valueOf(tildeU));
-		challengeList.add(String.valueOf(n_1));
-
-		return challengeList;
+		return challengeHash;
 	}
 
 
@@ -12,7 +12,7 @@ import uk.ac.ncl.cascade.zkpgs.keys.ExtendedPublicKey;
 import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
 import uk.ac.ncl.cascade.zkpgs.message.GSMessage;
 import uk.ac.ncl.cascade.zkpgs.message.IMessageGateway;
-import uk.ac.ncl.cascade.zkpgs.message.IMessagePartner;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.ISignerOrchestrator;
 import uk.ac.ncl.cascade.zkpgs.orchestrator.SigningQProverOrchestrator;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
@@ -23,6 +23,7 @@ import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.verifier.IssuingCommitmentVerifier;
 
@@ -37,7 +38,7 @@ import java.util.logging.Logger;
  * Issuing protocol between the S_{grs} and the Recipient (host with embedded TPM) for creating
  * a binding credential encoding as messages the split N_{G} and the generated prime e_{i}
  */
-public class SignerOrchestratorBC implements IMessagePartner, IURNGoverner {
+public class SignerOrchestratorBC implements ISignerOrchestrator, IURNGoverner {
 	public static final String URNID = "signervc";
 	private final BigInteger pseudonym;
 	private final BigInteger e_i;
@@ -53,7 +54,6 @@ public class SignerOrchestratorBC implements IMessagePartner, IURNGoverner {
 	private BigInteger hatm_0;
 	private BigInteger n_2;
 	private GroupElement hatU;
-	private List<String> challengeList;
 	private final Logger gslog = GSLoggerConfiguration.getGSlog();
 	private BigInteger n_1;
 	private final HashMap<URN, BaseRepresentation> basesMap = new LinkedHashMap<>();
@@ -215,6 +215,7 @@ public class SignerOrchestratorBC implements IMessagePartner, IURNGoverner {
 		signer.init();
 	}
 
+	@Override
 	public void round0() throws IOException {
 		n_1 = signer.computeNonce();
 		HashMap<URN, Object> messageElements = new HashMap<URN, Object>();
@@ -223,6 +224,7 @@ public class SignerOrchestratorBC implements IMessagePartner, IURNGoverner {
 		signer.sendMessage(new GSMessage(messageElements));
 	}
 
+	@Override
 	public void round2() throws IOException, ProofStoreException, VerificationException, NoSuchAlgorithmException {
 		List<BigInteger> splitPseudonym = CryptoUtilsFacade.splitHexString(this.pseudonym.toString(16), 60);
 		// encode split N_G pseudonym and e_{i}
@@ -336,27 +338,24 @@ public class SignerOrchestratorBC implements IMessagePartner, IURNGoverner {
 	}
 
 	public BigInteger computeChallenge() throws NoSuchAlgorithmException {
-		challengeList = populateChallengeList();
-		return CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+		return populateChallengeHash().digest();
 	}
 
-	private List<String> populateChallengeList() {
-		challengeList = new ArrayList<String>();
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext =
 				new GSContext(
 						extendedKeyPair.getExtendedPublicKey());
-		List<String> contextList = gsContext.computeChallengeContext();
-		challengeList.addAll(contextList);
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
 		String uCommitmentURN = "recipient.U";
 		GSCommitment U = (GSCommitment) proofStore.retrieve(uCommitmentURN);
 		GroupElement commitmentU = U.getCommitmentValue();
 
-		challengeList.add(String.valueOf(commitmentU));
-		challengeList.add(String.valueOf(hatU));
-		challengeList.add(String.valueOf(n_1));
+		challengeHash.update(commitmentU);
+		challengeHash.update(hatU);
+		challengeHash.update(n_1);
 
-		return challengeList;
+		return challengeHash;
 	}
 
 	private GroupElement computeA(VCSignatureData sigmaData) {
@@ -17,8 +17,10 @@ import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.verifier.CommitmentVerifier;
 import uk.ac.ncl.cascade.zkpgs.verifier.GSVerifier;
@@ -35,6 +37,10 @@ import java.util.logging.Logger;
  * Created by Ioannis Sfyrakis on 27/01/2022
  */
 public class VerifierOrchestratorBC implements IVerifierOrchestrator {
+	private static final URNHandle HATM_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_");
+	private static final URNHandle HATR_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatr_i_");
+	private static final URNHandle HATM_I_J = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_j_");
+
 	private final IMessageGateway messageGateway;
 	private ProofSignature P_3;
 	private final GSVerifier verifier;
@@ -50,7 +56,6 @@ public class VerifierOrchestratorBC implements IVerifierOrchestrator {
 	private BigInteger hatvPrime;
 	private BigInteger hatm_0;
 	private BigInteger n_3;
-	private List<String> challengeList;
 	private GroupElement hatZ;
 	private BigInteger hatc;
 	private BaseCollection baseCollection;
@@ -188,20 +193,19 @@ public class VerifierOrchestratorBC implements IVerifierOrchestrator {
 		}
 	}
 
-	private List<String> populateChallengeList() {
-		challengeList = new ArrayList<>();
-
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> contextList = gsContext.computeChallengeContext();
-		challengeList.addAll(contextList);
-		challengeList.add(String.valueOf(aPrime));
-		challengeList.add(String.valueOf(extendedPublicKey.getPublicKey().getBaseZ().getValue()));
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
+
+		List<byte[]> challengeList = new ArrayList<byte[]>();
+		challengeList.add(ChallengeHash.encode(aPrime));
+		challengeList.add(ChallengeHash.encode(extendedPublicKey.getPublicKey().getBaseZ()));
 
 //		for (GSCommitment gsCommitment : C_i.values()) {
-//			challengeList.add(String.valueOf(gsCommitment.getCommitmentValue()));
+//			challengeList.add(ChallengeHash.encode(gsCommitment.getCommitmentValue()));
 //		}
 
-		challengeList.add(String.valueOf(hatZ));
+		challengeList.add(ChallengeHash.encode(hatZ));
 //		gslog.log(Level.INFO, "hatZ: " + hatZ);
 		
 		GroupElement commitment;
@@ -211,15 +215,14 @@ public class VerifierOrchestratorBC implements IVerifierOrchestrator {
 //		for (BaseRepresentation vertex : vertexIterator) {
 //			hatC_iURN = "commitmentverifier.commitments.hatC_i_" + vertex.getBaseIndex();
 //			commitment = (GroupElement) proofStore.retrieve(hatC_iURN);
-//			challengeList.add(String.valueOf(commitment));
+//			challengeList.add(ChallengeHash.encode(commitment));
 //
 //		}
 
-		challengeList.add(String.valueOf(n_3));
+		challengeList.add(ChallengeHash.encode(n_3));
 //		gslog.log(Level.INFO, "n_3: " + n_3);
 
-		Collections.sort(challengeList);
-		return challengeList;
+		return challengeHash.updateUnordered(challengeList);
 	}
 
 	private void computeCommitmentVerifiers() throws VerificationException, ProofStoreException {
@@ -276,9 +279,8 @@ public class VerifierOrchestratorBC implements IVerifierOrchestrator {
 
 	@Override
 	public BigInteger computeChallenge() throws ProofStoreException, NoSuchAlgorithmException {
-		challengeList = populateChallengeList();
 		try {
-			hatc = CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+			hatc = populateChallengeHash().digest();
 		} catch (NoSuchAlgorithmException e) {
 			gslog.log(Level.SEVERE, "Could not find the hash algorithm.", e);
 		}
@@ -350,14 +352,14 @@ public class VerifierOrchestratorBC implements IVerifierOrchestrator {
 			hatm_i =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + baseIndex));
+									HATM_I.get(baseIndex));
 
 			proofStore.store(hatm_iURN, hatm_i);
 			hatr_iURN = hatr_iPath + baseIndex;
 			hatr_i =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatr_i_" + baseIndex));
+									HATR_I.get(baseIndex));
 //			proofStore.store(hatr_iURN, hatr_i);
 		}
 
@@ -372,7 +374,7 @@ public class VerifierOrchestratorBC implements IVerifierOrchestrator {
 			hatm_i_j =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_j_" + baseIndex));
+									HATM_I_J.get(baseIndex));
 
 			proofStore.store(hatm_i_jURN, hatm_i_j);
 //            String hatr_i_jURN = hatr_i_jPath + baseIndex;
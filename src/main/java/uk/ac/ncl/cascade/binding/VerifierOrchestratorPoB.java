@@ -18,8 +18,10 @@ import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.verifier.CommitmentVerifier;
 import uk.ac.ncl.cascade.zkpgs.verifier.GSVerifier;
@@ -37,6 +39,10 @@ import java.util.logging.Logger;
 /** */
 public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 
+	private static final URNHandle HATM_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_");
+	private static final URNHandle HATR_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatr_i_");
+	private static final URNHandle HATM_I_J = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_j_");
+
 	private final IMessageGateway messageGateway;
 	private ProofSignature P_3;
 	private final GSVerifier verifier;
@@ -52,7 +58,6 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 	private BigInteger hatvPrime;
 	private BigInteger hatm_0;
 	private BigInteger n_3;
-	private List<String> challengeList;
 	private GroupElement hatZ;
 	private BigInteger hatc;
 	private BaseCollection baseCollection;
@@ -170,14 +175,14 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 			hatm_i =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + baseIndex));
+									HATM_I.get(baseIndex));
 
 			proofStore.store(hatm_iURN, hatm_i);
 			hatr_iURN = hatr_iPath + baseIndex;
 			hatr_i =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatr_i_" + baseIndex));
+									HATR_I.get(baseIndex));
 			proofStore.store(hatr_iURN, hatr_i);
 		}
 
@@ -192,7 +197,7 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 			hatm_i_j =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_j_" + baseIndex));
+									HATM_I_J.get(baseIndex));
 
 			proofStore.store(hatm_i_jURN, hatm_i_j);
 //            String hatr_i_jURN = hatr_i_jPath + baseIndex;
@@ -210,9 +215,8 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 
 	@Override
 	public BigInteger computeChallenge() {
-		challengeList = populateChallengeList();
 		try {
-			hatc = CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+			hatc = populateChallengeHash().digest();
 		} catch (NoSuchAlgorithmException e) {
 			gslog.log(Level.SEVERE, "Could not find the hash algorithm.", e);
 		}
@@ -225,20 +229,19 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 		}
 	}
 
-	private List<String> populateChallengeList() {
-		challengeList = new ArrayList<>();
-
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> contextList = gsContext.computeChallengeContext();
-		challengeList.addAll(contextList);
-		challengeList.add(String.valueOf(aPrime));
-		challengeList.add(String.valueOf(extendedPublicKey.getPublicKey().getBaseZ().getValue()));
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
+
+		List<byte[]> challengeList = new ArrayList<byte[]>();
+		challengeList.add(ChallengeHash.encode(aPrime));
+		challengeList.add(ChallengeHash.encode(extendedPublicKey.getPublicKey().getBaseZ()));
 
 		for (GSCommitment gsCommitment : C_i.values()) {
-			challengeList.add(String.valueOf(gsCommitment.getCommitmentValue()));
+			challengeList.add(ChallengeHash.encode(gsCommitment.getCommitmentValue()));
 		}
 
-		challengeList.add(String.valueOf(hatZ));
+		challengeList.add(ChallengeHash.encode(hatZ));
 
 		GroupElement commitment;
 		String hatC_iURN;
@@ -247,12 +250,11 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 		for (BaseRepresentation vertex : vertexIterator) {
 			hatC_iURN = "commitmentverifier.commitments.hatC_i_" + vertex.getBaseIndex();
 			commitment = (GroupElement) proofStore.retrieve(hatC_iURN);
-			challengeList.add(String.valueOf(commitment));
+			challengeList.add(ChallengeHash.encode(commitment));
 		}
 
-		challengeList.add(String.valueOf(n_3));
-		Collections.sort(challengeList);
-		return challengeList;
+		challengeList.add(ChallengeHash.encode(n_3));
+		return challengeHash.updateUnordered(challengeList);
 	}
 
 	private void computeCommitmentVerifiers() throws VerificationException, ProofStoreException {
@@ -325,6 +327,8 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 			return false;
 		}
 
+		invertChallengeBases();
+
 		PossessionVerifier possessionVerifier = new PossessionVerifier(baseCollection, extendedPublicKey, proofStore);
 
 		try {
@@ -351,6 +355,22 @@ public class VerifierOrchestratorPoB implements IVerifierOrchestrator {
 
 	}
 
+	/**
+	 * Inverts the bases which the sub-verifiers raise to the negated challenge, that is,
+	 * base Z and the commitments, with a single modular inversion. The inverses are recorded on the
+	 * elements, such that the sub-verifiers do not invert them again.
+	 */
+	private void invertChallengeBases() {
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		bases.add(extendedPublicKey.getPublicKey().getBaseZ());
+		if (C_i != null) {
+			for (GSCommitment commitment : C_i.values()) {
+				bases.add(commitment.getCommitmentValue());
+			}
+		}
+		extendedPublicKey.getPublicKey().getGroup().batchModInverse(bases);
+	}
+
 	private BaseCollection constructBaseCollection(Map<URN, Object> proofSignatureElements) {
 		BaseCollection collection = new BaseCollectionImpl();
 
@@ -1,12 +1,18 @@
 package uk.ac.ncl.cascade.hashToPrime;
 
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.Group;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.PrimeSieve;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Implements the hash-to-prime by elimination scheme based on the paper:
@@ -15,6 +21,9 @@ import java.util.List;
  */
 public class HashToPrimeElimination {
 
+	/** The default number of candidates evaluated concurrently on an executor. */
+	public static final int DEFAULT_BATCH_SIZE = 16;
+
 	private Group gr;
 	private BigInteger modulus;
 	private final KeyGenParameters keyGenParameters;
@@ -23,6 +32,8 @@ public class HashToPrimeElimination {
 	private SquareHashing sqHash;
 	private List<BigInteger> candidates;
 	private List<BigInteger> primeSequence;
+	private ExecutorService executor;
+	private int batchSize = DEFAULT_BATCH_SIZE;
 
 	/**
 	 * Constructs a new hash-to-prime by elimination scheme.
@@ -44,6 +55,29 @@ public class HashToPrimeElimination {
 		this.keyGenParameters = keyGenParameters;
 	}
 
+	/**
+	 * Sets the executor on which computePrime() evaluates batches of candidates concurrently.
+	 * Without an executor (the default), the candidates are evaluated one by one on the calling
+	 * thread. The scheme does not shut the executor down.
+	 *
+	 * @param executor the executor for the candidate evaluation, or null for sequential evaluation
+	 */
+	public void setExecutor(final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the number of candidates evaluated concurrently per batch on the executor.
+	 *
+	 * @param batchSize the positive batch size
+	 */
+	public void setBatchSize(final int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The batch size must be positive.");
+		}
+		this.batchSize = batchSize;
+	}
+
 	/**
 	 * Returns the square hash of the input big integer.
 	 *
@@ -59,16 +93,24 @@ public class HashToPrimeElimination {
 	/**
 	 * Returns the prime big integer outputted from the Naor-Reingold pseudorandom generator.
 	 * Each time the pseudorandom generator computes a big integer, the method evaluates
-	 * if it is a prime. The method returns the prime big integer that the
-	 * pseudorandom generator computes.
+	 * if it is a prime, rejecting candidates with small prime factors before the probabilistic
+	 * test. The method returns the prime big integer that the pseudorandom generator computes.
 	 * The candidate big integers previously outputted from the pseudorandom generator are stored
 	 * in a big integer list.
 	 *
+	 * <p>If an executor is set, the random sequences are drawn in batches on the calling thread and
+	 * their candidates are evaluated and tested concurrently. The first prime in the order in which
+	 * the sequences were drawn is returned, such that the result and the list of candidates are the
+	 * same as for the sequential evaluation of the same sequences.
+	 *
 	 * @param input the big integer input for the Naor-Reingold pseudorandom generator
 	 * @return the prime big integer the Naor-Reingold pseudorandom generator outputs
 	 */
 	public BigInteger computePrime(final BigInteger input) {
 		Assert.notNull(input, "input to Naor-Reingold pseudorandom generator must not be empty");
+		if (this.executor != null) {
+			return computePrimeConcurrently(input);
+		}
 		BigInteger number;
 		this.candidates = new ArrayList<BigInteger>();
 		List<BigInteger> sequence;
@@ -76,11 +118,57 @@ public class HashToPrimeElimination {
 			sequence = this.nrPRG.computeVectorA(input.bitLength() + 1);
 			number = computePRG(input, sequence);
 			this.candidates.add(number);
-		} while (!number.isProbablePrime(this.keyGenParameters.getL_pt()));
+		} while (!PrimeSieve.isProbablePrime(number, this.keyGenParameters.getL_pt()));
 		this.primeSequence = sequence;
 		return number;
 	}
 
+	private BigInteger computePrimeConcurrently(final BigInteger input) {
+		final int certainty = this.keyGenParameters.getL_pt();
+		this.candidates = new ArrayList<BigInteger>();
+		while (true) {
+			List<List<BigInteger>> sequences = new ArrayList<List<BigInteger>>(this.batchSize);
+			List<Callable<Candidate>> tasks = new ArrayList<Callable<Candidate>>(this.batchSize);
+			for (int i = 0; i < this.batchSize; i++) {
+				final List<BigInteger> sequence = this.nrPRG.computeVectorA(input.bitLength() + 1);
+				sequences.add(sequence);
+				tasks.add(
+						() -> {
+							BigInteger number = computePRG(input, sequence);
+							return new Candidate(number, PrimeSieve.isProbablePrime(number, certainty));
+						});
+			}
+
+			List<Candidate> results = invokeAll(tasks);
+			for (int i = 0; i < results.size(); i++) {
+				Candidate candidate = results.get(i);
+				this.candidates.add(candidate.number);
+				if (candidate.prime) {
+					this.primeSequence = sequences.get(i);
+					return candidate.number;
+				}
+			}
+		}
+	}
+
+	private <T> List<T> invokeAll(final List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<T>(tasks.size());
+		try {
+			for (Future<T> future : this.executor.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GSInternalError("Interrupted while computing a hash-to-prime candidate.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new GSInternalError(cause);
+		}
+		return results;
+	}
+
 	/**
 	 * Returns the sequence of random numbers computed for the Naor-Reingold pseudorandom
 	 * generator.
@@ -112,4 +200,13 @@ public class HashToPrimeElimination {
 		return this.candidates;
 	}
 
+	private static final class Candidate {
+		private final BigInteger number;
+		private final boolean prime;
+
+		private Candidate(final BigInteger number, final boolean prime) {
+			this.number = number;
+			this.prime = prime;
+		}
+	}
 }
@@ -3,6 +3,7 @@ package uk.ac.ncl.cascade.hashToPrime;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.FixedBaseTable;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.PrimeOrderGroup;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.PrimeOrderGroupElement;
 
@@ -22,7 +23,7 @@ public class NaorReingoldPRG {
 	private final BigInteger q;
 	private static final Logger log = GSLoggerConfiguration.getGSlog();
 	private final PrimeOrderGroupElement g;
-	private List<BigInteger> a_i;
+	private volatile FixedBaseTable generatorTable;
 
 	/**
 	 * Instantiates a new Naor-Rheingold pseudorandom generator.
@@ -33,16 +34,18 @@ public class NaorReingoldPRG {
 		this.p = gr.getModulus();
 		this.q = gr.getOrder();
 		this.g = (PrimeOrderGroupElement) gr.getGenerator();
-		this.a_i = new ArrayList<BigInteger>();
 	}
 
 	/**
 	 * Computes the output of the pseudorandom generator.
-	 * The input x is converted to a bitstring.
-	 * The product is computed by multiplying only the corresponding
-	 * big integer values in the list where the character at index i is set to 1 in the bitstring.
-	 * The output of the method is computed using the group generator
-	 * with a modular exponentiation mod p.
+	 * The product is computed by multiplying only the corresponding big integer values in the
+	 * list where the bit of the input x is set, from the most significant bit of x onwards,
+	 * and is reduced modulo the group order q at each step. The output of the method is computed
+	 * using the group generator with a modular exponentiation mod p, which is evaluated with a
+	 * fixed-base table for the generator that is precomputed on the first call.
+	 *
+	 * <p>The output equals the generator raised to the unreduced product, as the generator has
+	 * order q. Negative inputs are processed bit by bit of their bitstring representation.
 	 *
 	 * @param x the input value for the pseudorandom generator
 	 * @param sequence list of random number for the pseudorandom generator
@@ -50,32 +53,63 @@ public class NaorReingoldPRG {
 	 */
 	public BigInteger compute(BigInteger x, List<BigInteger> sequence) {
 		Assert.notNull(x, "the input to NaorRheingold PRG must not be null");
-		Assert.notNull(x, "the list of random numbers for the NaorRheingold PRG must not be null");
+		Assert.notNull(sequence, "the list of random numbers for the NaorRheingold PRG must not be null");
+
+		// The generator keeps no state of the computation, such that concurrent calls do not interfere.
+		if (x.signum() < 0) {
+			return computeFromBitString(x, sequence);
+		}
 
+		// x.toString(2) has one character per bit of x, and the single character 0 for x = 0
+		int length = Math.max(x.bitLength(), 1);
+		if (sequence.size() != length + 1)
+			throw new IllegalArgumentException("length of the random elements is not the same as the length of input bitstring");
+
+		BigInteger prod = sequence.get(0).mod(this.q);
+		for (int i = 0; i < length; i++) {
+			if (x.testBit(length - 1 - i)) {
+				prod = prod.multiply(sequence.get(i + 1)).mod(this.q);
+			}
+		}
+
+		return getGeneratorTable().modPow(prod);
+	}
+
+	private BigInteger computeFromBitString(BigInteger x, List<BigInteger> sequence) {
 		String bis;
 		BigInteger prod;
 		BigInteger ai;
 		bis = convertToBitString(x);
-//		log.info("x bitlength: "+ x.bitLength());
-//		log.info("bitstring length: " + bis.length());
-		this.a_i = sequence;
-//		log.info("ai size: " + this.a_i.size());
-				
-		if (this.a_i.size() != bis.length() + 1)
+
+		if (sequence.size() != bis.length() + 1)
 			throw new IllegalArgumentException("length of the random elements is not the same as the length of input bitstring");
 
-		prod = this.a_i.get(0);
+		prod = sequence.get(0);
 		int j = 0;
 		for (int i = 0; i < bis.length(); i++) {
 			j = i + 1;
 			char ch = bis.charAt(i);
-			ai = this.a_i.get(j);
-			if (ch == '1') prod = prod.multiply(ai.pow(1));
+			ai = sequence.get(j);
+			if (ch == '1') prod = prod.multiply(ai);
 		}
 
 		return this.g.modPow(prod).getValue();
 	}
 
+	/**
+	 * Returns the fixed-base table of the generator, which is shared by all evaluations.
+	 *
+	 * @return the table for the generator modulo p
+	 */
+	private FixedBaseTable getGeneratorTable() {
+		FixedBaseTable table = this.generatorTable;
+		if (table == null) {
+			table = new FixedBaseTable(this.g.getValue(), this.p);
+			this.generatorTable = table;
+		}
+		return table;
+	}
+
 	/**
 	 * Creates a list of random numbers with the same bitlength as q.
 	 * The input size of the list has been incremented by 1 such that |x| + 1
@@ -92,15 +126,6 @@ public class NaorReingoldPRG {
 		return vector;
 	}
 
-	/**
-	 * Returns the random sequence list that was generated.
-	 *
-	 * @return the list
-	 */
-	public List<BigInteger> getRandomSequence(){
-		return this.a_i;
-	}
-
 	/**
 	 * Converts an input big integer value to a bitstring representation.
 	 *
@@ -0,0 +1,642 @@
+package uk.ac.ncl.cascade.hashToPrime;
+
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Persistent index from pseudonyms to their hash-to-prime results, that is, the prime, the input
+ * of the Naor-Reingold PRG and the PRG sequence that yields the prime.
+ *
+ * <p>The index consists of two files. The data file {@code <base>.dat} is an append-only log of
+ * length-prefixed records, which are never modified once written. The index file {@code
+ * <base>.idx} is a memory-mapped open-addressing hash table, whose slots hold a 64-bit fingerprint
+ * of a pseudonym and the offset of its record, such that a lookup costs a few probes in the
+ * mapping and one read of the record, independently of the number of pseudonyms. The table is
+ * doubled into a new file once it is half full.
+ *
+ * <p>Records are forced to disk before their slots are written. The header of the index file
+ * records up to which offset the data file has been indexed, which never passes a record whose
+ * slot has not been written; after an unclean shutdown, the records after that offset are
+ * re-indexed when the index is opened, and a torn record at the end of the data file is truncated.
+ *
+ * <p>An index is opened by a single process at a time, which holds a lock on the data file until
+ * the index is closed. Its methods are safe for concurrent use by the threads of that process.
+ */
+public final class PseudonymPrimeIndex implements Closeable {
+
+	/** The number of pseudonyms computed by a task of a bulk build. */
+	static final int BUILD_BLOCK_SIZE = 64;
+
+	private static final int MAGIC = 0x50504958;
+	private static final int VERSION = 1;
+	static final int HEADER_SIZE = 32;
+	static final int SLOT_SIZE = 16;
+	static final int INITIAL_CAPACITY = 1024;
+	private static final int MAX_CAPACITY = 1 << 26;
+	private static final int BUILD_WINDOW = 16;
+
+	private final Path dataFile;
+	private final Path indexFile;
+	private final FileChannel data;
+	private final FileLock lock;
+	private MappedByteBuffer table;
+	private int capacity;
+	private int size;
+	private long dataLength;
+	private boolean closed;
+
+	private PseudonymPrimeIndex(final Path base) throws IOException {
+		this.dataFile = base.resolveSibling(base.getFileName() + ".dat");
+		this.indexFile = base.resolveSibling(base.getFileName() + ".idx");
+		this.data =
+				FileChannel.open(
+						dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			this.lock = data.tryLock();
+		} catch (OverlappingFileLockException e) {
+			data.close();
+			throw new IOException("The pseudonym index " + base + " is already open.", e);
+		}
+		if (this.lock == null) {
+			data.close();
+			throw new IOException("The pseudonym index " + base + " is in use by another process.");
+		}
+	}
+
+	/**
+	 * Opens the index with the given base path, creating its files if they do not exist.
+	 *
+	 * @param base the base path of the data and index files
+	 * @return the open index
+	 * @throws IOException if the files cannot be accessed or the index is open elsewhere
+	 */
+	public static PseudonymPrimeIndex open(final Path base) throws IOException {
+		Assert.notNull(base, "The path of the pseudonym index must not be null.");
+		PseudonymPrimeIndex index = new PseudonymPrimeIndex(base.toAbsolutePath());
+		try {
+			index.load();
+		} catch (IOException | RuntimeException e) {
+			index.release();
+			throw e;
+		}
+		return index;
+	}
+
+	public Path getDataFile() {
+		return dataFile;
+	}
+
+	public Path getIndexFile() {
+		return indexFile;
+	}
+
+	/**
+	 * Returns the number of pseudonyms in the index.
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Looks up the entry of a pseudonym.
+	 *
+	 * @param pseudonym the pseudonym
+	 * @return the entry, or null if the pseudonym is not indexed
+	 * @throws IOException if the record cannot be read
+	 */
+	public synchronized Entry get(final String pseudonym) throws IOException {
+		Assert.notNull(pseudonym, "The pseudonym must not be null.");
+		ensureOpen();
+		long fingerprint = fingerprint(pseudonym);
+		for (int slot = firstSlot(fingerprint, capacity); ; slot = (slot + 1) & (capacity - 1)) {
+			long stored = table.getLong(slotPosition(slot));
+			if (stored == 0) {
+				return null;
+			}
+			if (stored == fingerprint) {
+				Entry entry = readRecord(table.getLong(slotPosition(slot) + 8));
+				if (entry.getPseudonym().equals(pseudonym)) {
+					return entry;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether a pseudonym is indexed.
+	 *
+	 * @param pseudonym the pseudonym
+	 * @return true if the index holds an entry for the pseudonym
+	 * @throws IOException if a record cannot be read
+	 */
+	public boolean contains(final String pseudonym) throws IOException {
+		return get(pseudonym) != null;
+	}
+
+	/**
+	 * Adds an entry, unless its pseudonym is already indexed; entries are never replaced.
+	 *
+	 * @param entry the entry
+	 * @return true if the entry was added
+	 * @throws IOException if the entry cannot be written
+	 */
+	public boolean put(final Entry entry) throws IOException {
+		return putAll(Collections.singletonList(entry)) == 1;
+	}
+
+	/**
+	 * Adds entries in the given order, skipping pseudonyms that are already indexed. The records are
+	 * forced to disk together before they are entered into the table.
+	 *
+	 * @param entries the entries
+	 * @return the number of entries added
+	 * @throws IOException if the entries cannot be written
+	 */
+	public synchronized int putAll(final List<Entry> entries) throws IOException {
+		Assert.notNull(entries, "The entries must not be null.");
+		ensureOpen();
+
+		List<Entry> added = new ArrayList<Entry>(entries.size());
+		LinkedHashSet<String> pseudonyms = new LinkedHashSet<String>();
+		for (Entry entry : entries) {
+			Assert.notNull(entry, "The entries must not be null.");
+			if (pseudonyms.add(entry.getPseudonym()) && get(entry.getPseudonym()) == null) {
+				added.add(entry);
+			}
+		}
+		if (added.isEmpty()) {
+			return 0;
+		}
+
+		long[] offsets = new long[added.size()];
+		long end = dataLength;
+		for (int i = 0; i < added.size(); i++) {
+			offsets[i] = end;
+			end += writeRecord(added.get(i), end);
+		}
+		data.force(false);
+		dataLength = end;
+
+		for (int i = 0; i < added.size(); i++) {
+			insert(fingerprint(added.get(i).getPseudonym()), offsets[i]);
+		}
+		return added.size();
+	}
+
+	/**
+	 * Computes the entries of the pseudonyms that are not yet indexed and adds them in the order of
+	 * the list.
+	 *
+	 * <p>With an executor, the pseudonyms are computed in blocks of {@value #BUILD_BLOCK_SIZE}
+	 * concurrently, each block with its own hash-to-prime scheme from the supplier, as the schemes
+	 * hold the state of their last computation. A bounded number of blocks is in flight at a time
+	 * and completed blocks are added in order, such that arbitrarily long lists can be indexed.
+	 *
+	 * @param pseudonyms the pseudonyms in hexadecimal
+	 * @param schemes the supplier of hash-to-prime schemes
+	 * @param executor the executor for the computation, or null to compute on the calling thread
+	 * @return the number of entries added
+	 * @throws IOException if the entries cannot be written
+	 */
+	public int build(
+			final List<String> pseudonyms,
+			final Supplier<HashToPrimeElimination> schemes,
+			final ExecutorService executor)
+			throws IOException {
+		Assert.notNull(pseudonyms, "The pseudonyms must not be null.");
+		Assert.notNull(schemes, "The hash-to-prime schemes must not be null.");
+
+		List<String> missing = new ArrayList<String>();
+		for (String pseudonym : new LinkedHashSet<String>(pseudonyms)) {
+			if (!contains(pseudonym)) {
+				missing.add(pseudonym);
+			}
+		}
+
+		if (executor == null) {
+			HashToPrimeElimination scheme = schemes.get();
+			int added = 0;
+			for (int from = 0; from < missing.size(); from += BUILD_BLOCK_SIZE) {
+				List<String> block = missing.subList(from, Math.min(from + BUILD_BLOCK_SIZE, missing.size()));
+				added += putAll(computeAll(block, scheme));
+			}
+			return added;
+		}
+
+		Deque<Future<List<Entry>>> pending = new ArrayDeque<Future<List<Entry>>>();
+		int added = 0;
+		int next = 0;
+		try {
+			while (next < missing.size() || !pending.isEmpty()) {
+				while (next < missing.size() && pending.size() < BUILD_WINDOW) {
+					final List<String> block =
+							new ArrayList<String>(missing.subList(next, Math.min(next + BUILD_BLOCK_SIZE, missing.size())));
+					pending.add(executor.submit(() -> computeAll(block, schemes.get())));
+					next += block.size();
+				}
+				added += putAll(pending.poll().get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GSInternalError("Interrupted while building the pseudonym index.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new GSInternalError(cause);
+		} finally {
+			for (Future<List<Entry>> future : pending) {
+				future.cancel(true);
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Computes the hash-to-prime entry of a pseudonym in hexadecimal with a scheme.
+	 *
+	 * @param pseudonym the pseudonym in hexadecimal
+	 * @param scheme the hash-to-prime scheme
+	 * @return the entry holding the prime, the square hash of the pseudonym and the PRG sequence
+	 */
+	public static Entry compute(final String pseudonym, final HashToPrimeElimination scheme) {
+		Assert.notNull(pseudonym, "The pseudonym must not be null.");
+		Assert.notNull(scheme, "The hash-to-prime scheme must not be null.");
+		BigInteger input = scheme.computeSquareHash(new BigInteger(pseudonym, 16));
+		BigInteger prime = scheme.computePrime(input);
+		return new Entry(pseudonym, prime, input, scheme.getPrimeSequence());
+	}
+
+	private static List<Entry> computeAll(final List<String> pseudonyms, final HashToPrimeElimination scheme) {
+		List<Entry> entries = new ArrayList<Entry>(pseudonyms.size());
+		for (String pseudonym : pseudonyms) {
+			entries.add(compute(pseudonym, scheme));
+		}
+		return entries;
+	}
+
+	/**
+	 * Writes the table to disk and records the indexed length of the data file.
+	 *
+	 * @throws IOException if the files cannot be written
+	 */
+	public synchronized void flush() throws IOException {
+		ensureOpen();
+		writeHeader(false);
+	}
+
+	/**
+	 * Flushes and closes the index and releases its lock.
+	 *
+	 * @throws IOException if the files cannot be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		try {
+			writeHeader(true);
+		} finally {
+			release();
+		}
+	}
+
+	private void release() throws IOException {
+		closed = true;
+		table = null;
+		try {
+			if (lock.isValid()) {
+				lock.release();
+			}
+		} finally {
+			data.close();
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("The pseudonym index is closed.");
+		}
+	}
+
+	private void load() throws IOException {
+		long indexedLength = 0;
+		boolean clean = false;
+		if (Files.exists(indexFile) && Files.size(indexFile) >= HEADER_SIZE) {
+			table = map(indexFile, Files.size(indexFile));
+			if (table.getInt(0) != MAGIC || table.getInt(4) != VERSION) {
+				throw new IOException("The file " + indexFile + " is not a pseudonym index.");
+			}
+			capacity = table.getInt(8);
+			size = table.getInt(12);
+			indexedLength = table.getLong(16);
+			clean = table.getInt(24) == 1;
+			if (Files.size(indexFile) != HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+				throw new IOException("The pseudonym index " + indexFile + " is truncated.");
+			}
+		} else {
+			capacity = INITIAL_CAPACITY;
+			size = 0;
+			table = createTable(indexFile, capacity);
+		}
+
+		long length = data.size();
+		if (indexedLength > length) {
+			// Indexed records were lost; rebuild the table from the data file.
+			table = createTable(indexFile, INITIAL_CAPACITY);
+			capacity = INITIAL_CAPACITY;
+			size = 0;
+			indexedLength = 0;
+		} else if (!clean) {
+			size = countSlots();
+		}
+		dataLength = indexedLength;
+		markUnclean();
+		recover(length);
+	}
+
+	/* Indexes the records following the indexed length and truncates a torn record at the end. */
+	private void recover(final long length) throws IOException {
+		long offset = dataLength;
+		while (offset < length) {
+			Entry entry;
+			int recordLength;
+			try {
+				recordLength = readInt(offset) + 4;
+				if (recordLength < 4 || offset + recordLength > length) {
+					break;
+				}
+				entry = readRecord(offset);
+			} catch (EOFException e) {
+				break;
+			}
+			if (get(entry.getPseudonym()) == null) {
+				insert(fingerprint(entry.getPseudonym()), offset);
+			}
+			offset += recordLength;
+		}
+		if (offset < length) {
+			data.truncate(offset);
+			data.force(true);
+		}
+		dataLength = offset;
+	}
+
+	/* Enters the record at the offset; all records before the offset must have been entered. */
+	private void insert(final long fingerprint, final long offset) throws IOException {
+		if (2L * (size + 1) > capacity) {
+			grow(offset);
+		}
+		putSlot(table, capacity, fingerprint, offset);
+		size++;
+	}
+
+	private static void putSlot(
+			final MappedByteBuffer table, final int capacity, final long fingerprint, final long offset) {
+		int slot = firstSlot(fingerprint, capacity);
+		while (table.getLong(slotPosition(slot)) != 0) {
+			slot = (slot + 1) & (capacity - 1);
+		}
+		table.putLong(slotPosition(slot) + 8, offset);
+		table.putLong(slotPosition(slot), fingerprint);
+	}
+
+	/*
+	 * Doubles the table into a new file, which replaces the index file atomically. The new file
+	 * records the given indexed length, as the records from there on may not have been entered yet.
+	 */
+	private void grow(final long indexedLength) throws IOException {
+		if (capacity >= MAX_CAPACITY) {
+			throw new IOException("The pseudonym index is full.");
+		}
+		int newCapacity = capacity << 1;
+		Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+		Files.deleteIfExists(temporary);
+		MappedByteBuffer newTable = createTable(temporary, newCapacity);
+		for (int slot = 0; slot < capacity; slot++) {
+			long fingerprint = table.getLong(slotPosition(slot));
+			if (fingerprint != 0) {
+				putSlot(newTable, newCapacity, fingerprint, table.getLong(slotPosition(slot) + 8));
+			}
+		}
+		newTable.putInt(12, size);
+		newTable.putLong(16, indexedLength);
+		newTable.force();
+		Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		table = newTable;
+		capacity = newCapacity;
+	}
+
+	private int countSlots() {
+		int count = 0;
+		for (int slot = 0; slot < capacity; slot++) {
+			if (table.getLong(slotPosition(slot)) != 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void writeHeader(final boolean clean) throws IOException {
+		data.force(false);
+		table.force();
+		table.putInt(12, size);
+		table.putLong(16, dataLength);
+		table.putInt(24, clean ? 1 : 0);
+		table.force();
+	}
+
+	private void markUnclean() {
+		table.putInt(24, 0);
+		table.force();
+	}
+
+	private static MappedByteBuffer createTable(final Path file, final int capacity) throws IOException {
+		long length = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+		try (FileChannel channel =
+				FileChannel.open(
+						file,
+						StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING,
+						StandardOpenOption.READ,
+						StandardOpenOption.WRITE)) {
+			MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+			table.putInt(0, MAGIC);
+			table.putInt(4, VERSION);
+			table.putInt(8, capacity);
+			return table;
+		}
+	}
+
+	private static MappedByteBuffer map(final Path file, final long length) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+		}
+	}
+
+	private int writeRecord(final Entry entry, final long offset) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0);
+		out.writeUTF(entry.getPseudonym());
+		writeBigInteger(out, entry.getPrime());
+		writeBigInteger(out, entry.getInput());
+		out.writeInt(entry.getSequence().size());
+		for (BigInteger element : entry.getSequence()) {
+			writeBigInteger(out, element);
+		}
+		out.flush();
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+		buffer.putInt(0, buffer.capacity() - 4);
+		long position = offset;
+		while (buffer.hasRemaining()) {
+			position += data.write(buffer, position);
+		}
+		return buffer.capacity();
+	}
+
+	private Entry readRecord(final long offset) throws IOException {
+		int length = readInt(offset);
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		readFully(buffer, offset + 4);
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+		String pseudonym = in.readUTF();
+		BigInteger prime = readBigInteger(in);
+		BigInteger input = readBigInteger(in);
+		int count = in.readInt();
+		List<BigInteger> sequence = new ArrayList<BigInteger>(count);
+		for (int i = 0; i < count; i++) {
+			sequence.add(readBigInteger(in));
+		}
+		return new Entry(pseudonym, prime, input, sequence);
+	}
+
+	private int readInt(final long offset) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(4);
+		readFully(buffer, offset);
+		return buffer.getInt(0);
+	}
+
+	private void readFully(final ByteBuffer buffer, final long offset) throws IOException {
+		long position = offset;
+		while (buffer.hasRemaining()) {
+			int read = data.read(buffer, position);
+			if (read < 0) {
+				throw new EOFException("Unexpected end of the pseudonym index data at " + position + ".");
+			}
+			position += read;
+		}
+	}
+
+	private static void writeBigInteger(final DataOutputStream out, final BigInteger value) throws IOException {
+		byte[] bytes = value.toByteArray();
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static BigInteger readBigInteger(final DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new BigInteger(bytes);
+	}
+
+	private static int slotPosition(final int slot) {
+		return HEADER_SIZE + slot * SLOT_SIZE;
+	}
+
+	private static int firstSlot(final long fingerprint, final int capacity) {
+		long mixed = fingerprint * 0x9E3779B97F4A7C15L;
+		return (int) (mixed >>> 32) & (capacity - 1);
+	}
+
+	/* 64-bit FNV-1a of the UTF-8 encoding, where 0 is reserved for empty slots. */
+	private static long fingerprint(final String pseudonym) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : pseudonym.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return (hash == 0) ? 1 : hash;
+	}
+
+	/** The hash-to-prime result of a pseudonym. */
+	public static final class Entry {
+		private final String pseudonym;
+		private final BigInteger prime;
+		private final BigInteger input;
+		private final List<BigInteger> sequence;
+
+		/**
+		 * Creates an entry.
+		 *
+		 * @param pseudonym the pseudonym
+		 * @param prime the prime computed for the pseudonym
+		 * @param input the input of the Naor-Reingold PRG, that is, the square hash of the pseudonym
+		 * @param sequence the PRG sequence that yields the prime for the input
+		 */
+		public Entry(
+				final String pseudonym,
+				final BigInteger prime,
+				final BigInteger input,
+				final List<BigInteger> sequence) {
+			Assert.notNull(pseudonym, "The pseudonym must not be null.");
+			Assert.notNull(prime, "The prime must not be null.");
+			Assert.notNull(input, "The PRG input must not be null.");
+			Assert.notNull(sequence, "The PRG sequence must not be null.");
+			this.pseudonym = pseudonym;
+			this.prime = prime;
+			this.input = input;
+			this.sequence = Collections.unmodifiableList(new ArrayList<BigInteger>(sequence));
+		}
+
+		public String getPseudonym() {
+			return pseudonym;
+		}
+
+		public BigInteger getPrime() {
+			return prime;
+		}
+
+		public BigInteger getInput() {
+			return input;
+		}
+
+		public List<BigInteger> getSequence() {
+			return sequence;
+		}
+	}
+}
@@ -5,6 +5,7 @@ import org.jgrapht.io.ImportException;
 import uk.ac.ncl.cascade.binding.*;
 import uk.ac.ncl.cascade.hashToPrime.HashToPrimeElimination;
 import uk.ac.ncl.cascade.hashToPrime.NaorReingoldPRG;
+import uk.ac.ncl.cascade.hashToPrime.PseudonymPrimeIndex;
 import uk.ac.ncl.cascade.hashToPrime.SquareHashing;
 import uk.ac.ncl.cascade.zkpgs.encoding.IGraphEncoding;
 import uk.ac.ncl.cascade.zkpgs.encoding.PseudonymPrimeEncoding;
@@ -32,11 +33,17 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static uk.ac.ncl.cascade.topographia.TopographiaDefaultOptionValues.DEF_PSEUDONYMS;
 import static uk.ac.ncl.cascade.topographia.TopographiaDefaultOptionValues.DEF_PSEUDONYMS_PRIMES;
+import static uk.ac.ncl.cascade.topographia.TopographiaDefaultOptionValues.DEF_PSEUDONYMS_INDEX;
 import static uk.ac.ncl.cascade.zkpgs.DefaultValues.CLIENT;
 import static uk.ac.ncl.cascade.zkpgs.DefaultValues.SERVER;
 
@@ -75,6 +82,7 @@ public class Topographia {
 
 		// Boolean Options
 		Boolean keygenMode = (Boolean) parser.getOptionValue(TopographiaCmdLineParser.KEYGEN);
+		Boolean indexMode = (Boolean) parser.getOptionValue(TopographiaCmdLineParser.INDEX_PSEUDONYMS);
 		Boolean signMode = (Boolean) parser.getOptionValue(TopographiaCmdLineParser.SIGN);
 		Boolean receiveMode = (Boolean) parser.getOptionValue(TopographiaCmdLineParser.RECEIVE);
 		Boolean proveMode = (Boolean) parser.getOptionValue(TopographiaCmdLineParser.PROVE);
@@ -125,6 +133,7 @@ public class Topographia {
 		// Checking that there is exactly one mode specified.
 		int numberOfModes = 0;
 		if (keygenMode != null && keygenMode.booleanValue()) numberOfModes++;
+		if (indexMode != null && indexMode.booleanValue()) numberOfModes++;
 		if (signMode != null && signMode.booleanValue()) numberOfModes++;
 		if (receiveMode != null && receiveMode.booleanValue()) numberOfModes++;
 		if (proveMode != null && proveMode.booleanValue()) numberOfModes++;
@@ -167,6 +176,19 @@ public class Topographia {
 							TopographiaErrorCodes.EX_ENCERR);
 				}
 
+				System.exit(0);
+			} else if (indexMode != null && indexMode.booleanValue()) {
+				System.out.println("Entering TOPOGRAPHIA pseudonym index mode...");
+				System.out.println("  Using pseudonyms from file: " + pseudonymFilename);
+				System.out.println("  Designated pseudonym index: " + DEF_PSEUDONYMS_INDEX);
+
+				try {
+					topographia.indexPseudonyms(pseudonymFilename);
+				} catch (IOException e) {
+					handleException(e, "The TOPOGRAPHIA pseudonym index could not be written.",
+							TopographiaErrorCodes.EX_IOERR);
+				}
+
 				System.exit(0);
 			} else if (signMode != null && signMode.booleanValue()) {
 				// Initialize signing, with specified signer graph file.
@@ -471,7 +493,40 @@ public class Topographia {
 
 	}
 
-	private BigInteger computeHashToPrime(String nym) {
+	/**
+	 * Computes the primes of the pseudonyms that are not yet in the pseudonym index on all
+	 * available processors and adds them to the index.
+	 */
+	void indexPseudonyms(String pseudonymFilename) throws IOException, ClassNotFoundException {
+		setupHashToPrime();
+		List<String> pseudonyms = persistenceUtil.readFileLines(pseudonymFilename);
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(Paths.get(DEF_PSEUDONYMS_INDEX))) {
+			System.out.print("  Index: Computing primes for " + pseudonyms.size() + " pseudonyms...");
+			int added = index.build(pseudonyms, this::createHashToPrime, executor);
+			System.out.println("   [done]");
+			System.out.println("  Index: Added " + added + " pseudonyms; the index holds " + index.size() + ".");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the prime of a pseudonym from the pseudonym index, computing and indexing it if the
+	 * pseudonym is not yet indexed.
+	 */
+	private BigInteger computeHashToPrime(String nym) throws IOException {
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(Paths.get(DEF_PSEUDONYMS_INDEX))) {
+			PseudonymPrimeIndex.Entry entry = index.get(nym);
+			if (entry == null) {
+				entry = PseudonymPrimeIndex.compute(nym, createHashToPrime());
+				index.put(entry);
+			}
+			return entry.getPrime();
+		}
+	}
+
+	private HashToPrimeElimination createHashToPrime() {
 		BigInteger sqPrime = group.getModulus();
 
 		BigInteger z = CryptoUtilsFacade.computeRandomNumber(sqPrime.bitLength());
@@ -481,13 +536,7 @@ public class Topographia {
 
 		NaorReingoldPRG nr = new NaorReingoldPRG(group);
 
-		HashToPrimeElimination htp = new HashToPrimeElimination(squareHash, nr, hKeyGenParameters);
-
-		BigInteger message = new BigInteger(nym, 16);
-
-		BigInteger res = htp.computeSquareHash(message);
-		Assert.notNull(res, "Cannot compute square hash of input message");
-		return htp.computePrime(res);
+		return new HashToPrimeElimination(squareHash, nr, hKeyGenParameters);
 	}
 
 	void sign(ExtendedKeyPair ekp, String graphFilename, String hostAddress, int portNumber) throws IOException, ClassNotFoundException, ImportException, EncodingException {
@@ -615,6 +664,31 @@ public class Topographia {
 		Thread.sleep(1000);
 	}
 
+	/**
+	 * Returns the primes of the pseudonyms from the pseudonym index if it holds all of them, and
+	 * otherwise from the pseudonym-primes file.
+	 */
+	private Map<String, BigInteger> readPseudonymPrimes(List<String> pseudonyms) throws IOException {
+		Path indexPath = Paths.get(DEF_PSEUDONYMS_INDEX);
+		if (Files.exists(indexPath.resolveSibling(DEF_PSEUDONYMS_INDEX + ".dat"))) {
+			Map<String, BigInteger> primes = new LinkedHashMap<String, BigInteger>();
+			try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(indexPath)) {
+				for (String pseudonym : pseudonyms) {
+					PseudonymPrimeIndex.Entry entry = index.get(pseudonym);
+					if (entry == null) {
+						primes = null;
+						break;
+					}
+					primes.put(pseudonym, entry.getPrime());
+				}
+			}
+			if (primes != null) {
+				return primes;
+			}
+		}
+		return persistenceUtil.readFileLinesMap(DEF_PSEUDONYMS_PRIMES);
+	}
+
 	void signBindings(ExtendedKeyPair ekp, String graphFilename, Map<String, BigInteger> pseudonymPrimes, String hostAddress, int portNumber) throws IOException, NoSuchAlgorithmException, ProofStoreException, InterruptedException, EncodingException {
 		System.out.println("  Sign: Acts as client for interactive signing of graph signature of binding credentials.");
 		System.out.println(" Sign: Request proof of possession for each binding credential.");
@@ -637,7 +711,7 @@ public class Topographia {
 		IMessageGateway messageGateway = new MessageGatewayProxy(CLIENT, hostAddress, portNumber);
 
 		System.out.println("Sign: graph file name: " + graphFilename);
-		pseudonymPrimes = persistenceUtil.readFileLinesMap(DEF_PSEUDONYMS_PRIMES);
+		pseudonymPrimes = readPseudonymPrimes(pslist);
 
 		List<BigInteger> primes = new ArrayList<BigInteger>(pseudonymPrimes.values());
 		// add the primes in the interface
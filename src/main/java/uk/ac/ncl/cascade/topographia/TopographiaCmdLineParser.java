@@ -39,6 +39,9 @@ public class TopographiaCmdLineParser extends CmdLineParser {
 	public static final Option KEYGEN =
 			new CmdLineParser.Option.BooleanOption('k', "keygen");
 
+	public static final Option INDEX_PSEUDONYMS =
+			new CmdLineParser.Option.BooleanOption('I', "index");
+
 	public static final Option GRAPHFILENAME =
 			new CmdLineParser.Option.StringOption('g', "graph");
 
@@ -95,6 +98,7 @@ public class TopographiaCmdLineParser extends CmdLineParser {
 	public TopographiaCmdLineParser() {
 		super();
 		super.addOption(KEYGEN);
+		super.addOption(INDEX_PSEUDONYMS);
 		super.addOption(SIGN);
 		super.addOption(RECEIVE);
 		super.addOption(PROVE);
@@ -118,6 +122,7 @@ public class TopographiaCmdLineParser extends CmdLineParser {
 		super.addOption(HELP);
 
 		addHelp(KEYGEN, " Generates the Signer KeyPair with given keygen options.");
+		addHelp(INDEX_PSEUDONYMS, " Computes the primes of the pseudonyms in the pseudonym file into the pseudonym index.");
 
 		addHelp(SIGN, "   Runs TOPOGRAPHIA in Signer mode, preparing to sign a graph representation "
 				+ "with a "
@@ -164,11 +169,11 @@ public class TopographiaCmdLineParser extends CmdLineParser {
 	 * Prints an overview of the usage/help information.
 	 */
 	public void printUsage() {
-		System.err.println("usage: topographia [mode: {{-s,--keygen} {-s,--sign} {-sb} {-r,--receive} {-rb} {-p,--prove} {-pb} {-v,--verify} {-vb}}]"
+		System.err.println("usage: topographia [mode: {{-s,--keygen} {-s,--sign} {-sb} {-r,--receive} {-rb} {-p,--prove} {-pb} {-v,--verify} {-vb} {-I,--index}}]"
 				+"\n                [{-g,--graph} filename] [{-q,--query} vertex id] [{-G,--gs} filename]"
 				+"\n                [{-P,--params} filename] [{-S,--signkey} filename] [{-E,--epk} filename]"
 				+"\n				[{-H,--host} address] [{-T,--port} number]"
-				+"\n                [{--verbose}] [{-Y, --nym} pseudonym]"
+				+"\n                [{--verbose}] [{-Y, --nym} pseudonym] [{-U, --pseudonym} filename]"
 				+"\n                [{-h,--help}]");
 		System.err.println();
 		for (Iterator<String> iterator = optionHelpList.iterator(); iterator.hasNext();) {
@@ -178,7 +183,7 @@ public class TopographiaCmdLineParser extends CmdLineParser {
 	}
 
 	public Option[] getStdOptions() {
-		return new CmdLineParser.Option[] {KEYGEN, SIGN, SIGN_BINDINGS, RECEIVE, RECEIVE_BINDINGS, PROVE, PROVE_BINDINGS, VERIFY, VERIFY_BINDINGS, GRAPHFILENAME, GEOSEPQUERY, GSSIGNATURE,
+		return new CmdLineParser.Option[] {KEYGEN, INDEX_PSEUDONYMS, SIGN, SIGN_BINDINGS, RECEIVE, RECEIVE_BINDINGS, PROVE, PROVE_BINDINGS, VERIFY, VERIFY_BINDINGS, GRAPHFILENAME, GEOSEPQUERY, GSSIGNATURE,
 				KEYGENPARAMS, SIGNERKP, EPK, HOST_ADDRESS, PORT_NUMBER, VERBOSE, VERTEX_CREDENTIAL, NYM, HELP};
 	}
 }
\ No newline at end of file
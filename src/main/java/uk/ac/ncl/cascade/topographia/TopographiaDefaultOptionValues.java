@@ -9,6 +9,7 @@ public class TopographiaDefaultOptionValues {
 	// might use : "iso_3166_alpha_2.json";
 	public static final String DEF_PSEUDONYMS = "pseudonyms-50.txt";
 	public static final String DEF_PSEUDONYMS_PRIMES = "pseudonyms-primes-50.txt";
+	public static final String DEF_PSEUDONYMS_INDEX = "pseudonyms-primes";
 
 	public static final String DEF_NYM = "";
 	public static final String DEF_GROUP_FILENAME = "prime_order_group.ser";
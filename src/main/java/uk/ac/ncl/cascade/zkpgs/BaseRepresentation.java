@@ -2,6 +2,7 @@ package uk.ac.ncl.cascade.zkpgs;
 
 import uk.ac.ncl.cascade.zkpgs.context.IContextProducer;
 import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.io.Serializable;
@@ -102,6 +103,11 @@ public class BaseRepresentation implements Serializable, IContextProducer, Clone
         ctxList.add(String.valueOf(this.getBase().getValue()));
     }
 
+    @Override
+    public void addToChallengeHash(ChallengeHash hash) {
+        hash.update(this.getBase());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
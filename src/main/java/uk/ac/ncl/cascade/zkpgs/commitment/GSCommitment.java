@@ -87,8 +87,27 @@ public class GSCommitment implements Serializable, PublicCloneable {
 		GroupElement baseS = epk.getPublicKey().getBaseS();
 		Assert.notNull(baseS, "base S cannot be null");
 
+		return createCommitment(m, r, baseS.modPow(r), epk);
+	}
+
+	/**
+	 * Create commitment for one base and one message exponent using the ExtendedPublickey
+	 * and a blinding randomness, for which the blinding S^rnd has already been computed.
+	 *
+	 * @param m        the message exponent
+	 * @param rnd      the randomness
+	 * @param blinding the blinding S^rnd
+	 * @param epk      the extended public key
+	 * @return the commitment
+	 */
+	public static GSCommitment createCommitment(BigInteger m, BigInteger rnd, GroupElement blinding, ExtendedPublicKey epk) {
+		Assert.notNull(m, "message m cannot be null");
+		Assert.notNull(rnd, "randomness cannot be null");
+		Assert.notNull(blinding, "blinding cannot be null");
+		Assert.notNull(epk, "Extended public key cannot be null");
+
 		// GroupElement commitmentValue = message.multiply(blinding);
-		GroupElement commimentValue = epk.getPublicKey().getBaseR().modPow(m).multiply(baseS.modPow(r));
+		GroupElement commimentValue = epk.getPublicKey().getBaseR().modPow(m).multiply(blinding);
 
 		BaseRepresentation base = new BaseRepresentation(epk.getPublicKey().getBaseR(), -1, BASE.BASER);
 		base.setExponent(m);
@@ -96,7 +115,7 @@ public class GSCommitment implements Serializable, PublicCloneable {
         BaseCollection collection = new BaseCollectionImpl();
         collection.add(base);
 
-		return new GSCommitment(collection, r, commimentValue);
+		return new GSCommitment(collection, rnd, commimentValue);
 	}
 
 	public static GSCommitment createCommitment(BaseCollection collection, BigInteger rnd, ExtendedPublicKey epk) {
@@ -3,7 +3,9 @@ package uk.ac.ncl.cascade.zkpgs.context;
 import uk.ac.ncl.cascade.zkpgs.keys.ExtendedPublicKey;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,6 +34,25 @@ public class GSContext implements IContext, IContextProducer {
 		extendedPublicKey.addToChallengeContext(ctxList);
 	}
 
+	public void addToChallengeHash(ChallengeHash hash) {
+		extendedPublicKey.addToChallengeHash(hash);
+		keyGenParameters.addToChallengeHash(hash);
+	}
+
+	/**
+	 * Creates a challenge hash that has absorbed this context, starting from the cached digest
+	 * state of the extended public key.
+	 *
+	 * @param hashLength the hash length l_H in bits
+	 * @return the challenge hash
+	 * @throws NoSuchAlgorithmException if SHA with the hash length is not available
+	 */
+	public ChallengeHash createChallengeHash(int hashLength) throws NoSuchAlgorithmException {
+		ChallengeHash hash = extendedPublicKey.createChallengeHash(hashLength);
+		keyGenParameters.addToChallengeHash(hash);
+		return hash;
+	}
+
 	public void computeWitnessContext(List<String> witnesses) {
 		for (String element : witnesses) {
 			ctxList.add(element);
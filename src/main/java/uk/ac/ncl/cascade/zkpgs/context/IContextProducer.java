@@ -1,5 +1,7 @@
 package uk.ac.ncl.cascade.zkpgs.context;
 
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
+
 import java.util.List;
 
 /**
@@ -26,4 +28,12 @@ public interface IContextProducer {
      * @param ctxList context list
      */
     void addToChallengeContext(List<String> ctxList);
+
+    /**
+     * Adds its own public values to a challenge hash in their canonical binary encodings,
+     * in the same order as {@link #addToChallengeContext(List)}.
+     *
+     * @param hash challenge hash
+     */
+    void addToChallengeHash(ChallengeHash hash);
 }
@@ -6,6 +6,7 @@ package uk.ac.ncl.cascade.zkpgs.context;
 import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,4 +66,11 @@ public class SetupGSContext implements IContext, IContextProducer {
 
 		publicKey.addToChallengeContext(ctx);
 	}
+
+	@Override
+	public void addToChallengeHash(ChallengeHash hash) {
+		keyGenParameters.addToChallengeHash(hash);
+
+		publicKey.addToChallengeHash(hash);
+	}
 }
@@ -7,13 +7,16 @@ import uk.ac.ncl.cascade.zkpgs.parameters.GraphEncodingParameters;
 import uk.ac.ncl.cascade.zkpgs.parameters.JsonIsoCountries;
 import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.PrimeSieve;
 
 import java.io.Serializable;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 /**
  * Realizes a graph encoding that holds the geo-location of vertices in the form
@@ -26,6 +29,8 @@ public class GeoLocationGraphEncoding implements IGraphEncoding, Serializable {
 
 	private static final long serialVersionUID = 6958443506399975449L;
 
+	private static final URNHandle E_I = URNHandle.forPrefix("vertex.representative.e_i_");
+
 	private Map<BigInteger, GSSignature> signatureMap;
 	private final Map<URN, BigInteger> vertexRepresentatives;
 	private final GraphEncodingParameters graphEncodingParameters;
@@ -138,28 +143,29 @@ public class GeoLocationGraphEncoding implements IGraphEncoding, Serializable {
 	 * <p>The chosen vertex representatives are guaranteed not to collide with the label encoding
 	 * space and are guaranteed to take at most lPrime_V space.
 	 *
-	 * @complexity This method is resource-intensive as BigInteger.nextProbablePrime() will be called
-	 *     l_V times.
+	 * @complexity The successive primes are enumerated by a PrimeSieve, which only runs the
+	 *     probabilistic primality test on the candidates without small prime factors.
 	 * @throws EncodingException if the graph encoding attempted to create a prime representative
 	 *     outside of the range designated for vertex encoding. This will only occur if the graph
 	 *     encoding parameters lPrime_V and l_V are contradicting each other, e.g, if the encoding
 	 *     bitlength lPrime_V is too small to encode the number of vertices l_V.
 	 */
 	private void generateVertexRepresentatives() throws EncodingException {
-		BigInteger vertexPrimeRepresentative =
+		BigInteger leastVertexRepresentative =
 				this.graphEncodingParameters.getLeastVertexRepresentative();
-		Assert.notNull(vertexPrimeRepresentative, "Least vertex representative was null.");
-		for (int i = 0; i < this.graphEncodingParameters.getL_V(); i++) {
-
-			if (i == 0) {
-				// The first vertex representative is chosen as the smallest prime possible.
-				vertexPrimeRepresentative = this.graphEncodingParameters.getLeastVertexRepresentative();
-			} else {
-				// The subsequent representatives are chosen as the successive next primes.
-				// This yields the most space/computation efficient encoding.
-				vertexPrimeRepresentative = vertexPrimeRepresentative.nextProbablePrime();
-			}
-
+		Assert.notNull(leastVertexRepresentative, "Least vertex representative was null.");
+
+		// The first vertex representative is chosen as the smallest prime possible.
+		// The subsequent representatives are chosen as the successive next primes.
+		// This yields the most space/computation efficient encoding.
+		List<BigInteger> vertexPrimeRepresentatives =
+				PrimeSieve.nextPrimes(
+						leastVertexRepresentative,
+						this.graphEncodingParameters.getL_V(),
+						PrimeSieve.DEFAULT_CERTAINTY);
+
+		for (int i = 0; i < vertexPrimeRepresentatives.size(); i++) {
+			BigInteger vertexPrimeRepresentative = vertexPrimeRepresentatives.get(i);
 			Assert.notNull(vertexPrimeRepresentative, "Designated vertex representative was null.");
 
 //			if (!CryptoUtilsFacade.isInRange(
@@ -172,7 +178,7 @@ public class GeoLocationGraphEncoding implements IGraphEncoding, Serializable {
 //			}
 
 			this.vertexRepresentatives.put(
-					URN.createZkpgsURN("vertex.representative.e_i_" + i), vertexPrimeRepresentative);
+					E_I.get(i), vertexPrimeRepresentative);
 		}
 	}
 
@@ -3,6 +3,7 @@ package uk.ac.ncl.cascade.zkpgs.encoding;
 import uk.ac.ncl.cascade.zkpgs.exception.EncodingException;
 import uk.ac.ncl.cascade.zkpgs.parameters.GraphEncodingParameters;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.FilePersistenceUtil;
 
@@ -18,6 +19,9 @@ import java.util.Map;
 public class PseudonymPrimeEncoding implements IGraphEncoding, Serializable {
 
 	private static final long serialVersionUID = 8141780315193933809L;
+
+	private static final URNHandle E_I = URNHandle.forPrefix("vertex.representative.e_i_");
+
 	private final Map<URN, BigInteger> vertexRepresentatives;
 	private final GraphEncodingParameters graphEncodingParameters;
 	private final Map<URN, BigInteger> labelRepresentatives;
@@ -51,7 +55,7 @@ public class PseudonymPrimeEncoding implements IGraphEncoding, Serializable {
 //			System.out.println("vertexPrimeRepresentative: " + vertexPrimeRepresentative);
 		
 			this.vertexRepresentatives.put(
-					URN.createZkpgsURN("vertex.representative.e_i_" + i), vertexPrimeRepresentative);
+					E_I.get(i), vertexPrimeRepresentative);
 		}
 
 		setupCompleted = true;
@@ -14,8 +14,11 @@ import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Class representing the extended key pair
@@ -42,6 +45,7 @@ public final class ExtendedKeyPair implements IKeyPair, IExtendedKeyInfo, Serial
     private ExtendedPrivateKey extendedPrivateKey;
     private Map<URN, BaseRepresentation> baseRepresentationMap;
     private IGraphEncoding graphEncoding;
+    private transient ExecutorService executor;
 
     /**
      * Instantiates a new Extended key pair for a default case of a
@@ -95,6 +99,18 @@ public final class ExtendedKeyPair implements IKeyPair, IExtendedKeyInfo, Serial
         this.discLogOfBases = new HashMap<URN, BigInteger>();
     }
 
+    /**
+     * Sets the executor on which the exponentiations of the base generation are run
+     * concurrently. Without an executor (the default), they are run on the calling thread.
+     * The base indices and the discrete logarithms do not depend on the mode.
+     * The key pair does not shut the executor down.
+     *
+     * @param executor the executor for the base generation, or null for sequential execution
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
     /**
      * Gets extended public key.
      *
@@ -183,25 +199,7 @@ public final class ExtendedKeyPair implements IKeyPair, IExtendedKeyInfo, Serial
      * @param S the quadratic group generator S
      */
     public void generateEdgeBases(final GroupElement S) {
-        BigInteger x_R_ij;
-        GroupElement R_ij;
-
-        for (int j = 0; j < graphEncodingParameters.getL_E(); j++) {
-            x_R_ij =
-                    CryptoUtilsFacade.computeRandomNumber(KeyGenParameters.getKeyGenParameters().getL_n());
-            R_ij = S.modPow(x_R_ij);
-
-            /* The base representation receives as global index the current
-             * length of the overall base representation map plus 1,
-             * making an index counting from 1;
-             */
-            int index = baseRepresentationMap.size() + 1;
-            BaseRepresentation base = new BaseRepresentation(R_ij, index, BASE.EDGE);
-
-            baseRepresentationMap.put(
-                    URNType.buildURN(URNType.RE, this.getClass(), index), base);
-            discLogOfBases.put(URNType.buildURN(URNType.DLRE, this.getClass(), index), x_R_ij);
-        }
+        generateBases(S, graphEncodingParameters.getL_E(), BASE.EDGE, URNType.RE, URNType.DLRE);
     }
 
     /**
@@ -241,24 +239,39 @@ public final class ExtendedKeyPair implements IKeyPair, IExtendedKeyInfo, Serial
      * The corresponding discrete logarithms are stored in DiscLogOfBases.
      */
     public void generateVertexBases(final GroupElement S) {
-        BigInteger x_Ri;
-        GroupElement R_i;
+        generateBases(S, graphEncodingParameters.getL_V(), BASE.VERTEX, URNType.RV, URNType.DLRV);
+    }
 
-        for (int i = 0; i < graphEncodingParameters.getL_V(); i++) {
+    /**
+     * Draws the discrete logarithms of a number of bases in index order and computes the bases
+     * with the signer's private key, which reduces the exponents modulo the group order and uses
+     * fixed-base tables for S, possibly on the executor of this key pair.
+     */
+    private void generateBases(
+            final GroupElement S,
+            final int numberOfBases,
+            final BASE baseType,
+            final URNType baseURNType,
+            final URNType discLogURNType) {
+        List<BigInteger> discLogs = new ArrayList<BigInteger>(numberOfBases);
+        for (int i = 0; i < numberOfBases; i++) {
+            discLogs.add(
+                    CryptoUtilsFacade.computeRandomNumber(KeyGenParameters.getKeyGenParameters().getL_n()));
+        }
 
-            x_Ri = CryptoUtilsFacade.computeRandomNumber(KeyGenParameters.getKeyGenParameters().getL_n());
-            R_i = S.modPow(x_Ri);
+        List<? extends GroupElement> bases = privateKey.modPow(S, discLogs, executor);
 
+        for (int i = 0; i < numberOfBases; i++) {
             /* The base representation receives as global index the current
              * length of the overall base representation map plus 1,
              * making an index counting from 1;
              */
             int index = baseRepresentationMap.size() + 1;
 
-            BaseRepresentation base = new BaseRepresentation(R_i, index, BASE.VERTEX);
-            baseRepresentationMap.put(URNType.buildURN(URNType.RV, this.getClass(), index), base);
+            BaseRepresentation base = new BaseRepresentation(bases.get(i), index, baseType);
+            baseRepresentationMap.put(URNType.buildURN(baseURNType, this.getClass(), index), base);
 
-            discLogOfBases.put(URNType.buildURN(URNType.DLRV, this.getClass(), index), x_Ri);
+            discLogOfBases.put(URNType.buildURN(discLogURNType, this.getClass(), index), discLogs.get(i));
         }
     }
 
@@ -13,15 +13,23 @@ import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.BaseCollection;
 import uk.ac.ncl.cascade.zkpgs.util.BaseCollectionImpl;
 import uk.ac.ncl.cascade.zkpgs.util.BaseIterator;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.FixedBaseTable;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElement;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** The type Extended public key. */
 public class ExtendedPublicKey
@@ -38,6 +46,8 @@ implements Serializable, IPublicKey, IContextProducer, IExtendedKeyInfo, IBasePr
 	private final GraphEncodingParameters graphEncodingParameters;
 	private BaseCollectionImpl baseCollection;
 	private final IGraphEncoding graphEncoding;
+	private transient Map<BigInteger, FixedBaseTable> fixedBaseTables;
+	private transient volatile ChallengeHash challengeHashPrefix;
 
 	/**
 	 * Instantiates a new Extended public key.
@@ -63,6 +73,12 @@ implements Serializable, IPublicKey, IContextProducer, IExtendedKeyInfo, IBasePr
 		this.graphEncoding = encoding;
 		this.graphEncodingParameters = graphEncodingParameters;
 		this.baseCollection = new BaseCollectionImpl();
+		enableFixedBaseTables();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		enableFixedBaseTables();
 	}
 
 	/**
@@ -151,6 +167,36 @@ implements Serializable, IPublicKey, IContextProducer, IExtendedKeyInfo, IBasePr
 		graphEncodingParameters.addToChallengeContext(ctxList);
 	}
 
+	@Override
+	public void addToChallengeHash(ChallengeHash hash) {
+		this.signerPublicKey.addToChallengeHash(hash);
+
+		for (BaseRepresentation baseRepresentation : getBases().values()) {
+			baseRepresentation.addToChallengeHash(hash);
+		}
+
+		graphEncodingParameters.addToChallengeHash(hash);
+	}
+
+	/**
+	 * Returns a challenge hash that has absorbed the challenge context of this key, as added by
+	 * addToChallengeHash(). The digest state after the context is computed once and copied for
+	 * each challenge, such that a challenge only hashes its own values.
+	 *
+	 * @param hashLength the hash length l_H in bits
+	 * @return a new challenge hash starting with the context of this key
+	 * @throws NoSuchAlgorithmException if SHA with the hash length is not available
+	 */
+	public ChallengeHash createChallengeHash(int hashLength) throws NoSuchAlgorithmException {
+		ChallengeHash prefix = this.challengeHashPrefix;
+		if (prefix == null || prefix.getHashLength() != hashLength) {
+			prefix = new ChallengeHash(hashLength);
+			addToChallengeHash(prefix);
+			this.challengeHashPrefix = prefix;
+		}
+		return prefix.copy();
+	}
+
 	@Override
 	public void setupEncoding() throws EncodingException {
 		this.graphEncoding.setupEncoding();
@@ -311,6 +357,71 @@ implements Serializable, IPublicKey, IContextProducer, IExtendedKeyInfo, IBasePr
 		return getPrototypeEdgeBase(index).clone();
 	}
 
+	/**
+	 * Attaches fixed-base exponentiation tables to the bases S, Z, R, R_0 and all encoding bases
+	 * R_i of this key, such that their modPow computations use precomputed powers.
+	 * 
+	 * <p>The tables are cached on this key and filled lazily on the first exponentiation with
+	 * the respective base. They are not serialized and are re-attached on deserialization.
+	 */
+	public synchronized void enableFixedBaseTables() {
+		if (this.fixedBaseTables == null) {
+			this.fixedBaseTables = new ConcurrentHashMap<BigInteger, FixedBaseTable>();
+		}
+		attachFixedBaseTable(signerPublicKey.getBaseS());
+		attachFixedBaseTable(signerPublicKey.getBaseZ());
+		attachFixedBaseTable(signerPublicKey.getBaseR());
+		attachFixedBaseTable(signerPublicKey.getBaseR_0());
+		for (BaseRepresentation baseRepresentation : bases.values()) {
+			attachFixedBaseTable(baseRepresentation.getBase());
+		}
+	}
+
+	/**
+	 * Detaches and discards all fixed-base tables of this key.
+	 */
+	public synchronized void disableFixedBaseTables() {
+		attachFixedBaseTable(signerPublicKey.getBaseS(), null);
+		attachFixedBaseTable(signerPublicKey.getBaseZ(), null);
+		attachFixedBaseTable(signerPublicKey.getBaseR(), null);
+		attachFixedBaseTable(signerPublicKey.getBaseR_0(), null);
+		for (BaseRepresentation baseRepresentation : bases.values()) {
+			attachFixedBaseTable(baseRepresentation.getBase(), null);
+		}
+		this.fixedBaseTables = null;
+	}
+
+	/**
+	 * Returns the fixed-base tables currently cached on this key, indexed by the value of their base.
+	 *
+	 * @return an unmodifiable view of the fixed-base tables
+	 */
+	public Map<BigInteger, FixedBaseTable> getFixedBaseTables() {
+		Map<BigInteger, FixedBaseTable> tables = this.fixedBaseTables;
+		if (tables == null) {
+			return Collections.emptyMap();
+		}
+		return Collections.unmodifiableMap(tables);
+	}
+
+	private void attachFixedBaseTable(GroupElement base) {
+		if (!(base instanceof QRElement)) {
+			return;
+		}
+		FixedBaseTable table = fixedBaseTables.get(base.getValue());
+		if (table == null) {
+			table = new FixedBaseTable(base.getValue(), base.getGroup().getModulus());
+			fixedBaseTables.put(base.getValue(), table);
+		}
+		attachFixedBaseTable(base, table);
+	}
+
+	private static void attachFixedBaseTable(GroupElement base, FixedBaseTable table) {
+		if (base instanceof QRElement) {
+			((QRElement) base).setFixedBaseTable(table);
+		}
+	}
+
 	@Override
 	public BigInteger getVertexRepresentative(String id) {
 		return graphEncoding.getVertexRepresentative(id);
@@ -1,10 +1,15 @@
 package uk.ac.ncl.cascade.zkpgs.keys;
 
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroup;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupPQ;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 public class SignerPrivateKey implements Serializable, IPrivateKey {
 	private static final long serialVersionUID = -9134821806862114638L;
@@ -75,6 +80,45 @@ public class SignerPrivateKey implements Serializable, IPrivateKey {
 		return qrGroup;
 	}
 
+	/**
+	 * Computes base^exponent for a Quadratic Residue of the signer's public group. With the
+	 * factorization known, the exponentiation is computed with the CRT modulo p and q and with
+	 * the exponent reduced modulo p' and q'.
+	 *
+	 * @param base a Quadratic Residue of the signer's group
+	 * @param exponent the exponent
+	 * @return base^exponent as an element of the base's group
+	 */
+	public GroupElement modPow(final GroupElement base, final BigInteger exponent) {
+		if (qrGroup instanceof QRGroupPQ) {
+			return ((QRGroupPQ) qrGroup).modPow(base, exponent);
+		}
+		return base.modPow(exponent);
+	}
+
+	/**
+	 * Computes base^exponent for a list of exponents of the same base of the signer's public
+	 * group. With the factorization known, fixed-base tables for the residues modulo p and q are
+	 * used with the exponents reduced modulo p' and q', and the exponentiations are distributed
+	 * over the executor, if one is given.
+	 *
+	 * @param base a Quadratic Residue of the signer's group
+	 * @param exponents the exponents
+	 * @param executor the executor for the exponentiations, or null for the calling thread
+	 * @return base^exponent for each exponent, in the order of the exponents
+	 */
+	public List<? extends GroupElement> modPow(
+			final GroupElement base, final List<BigInteger> exponents, final ExecutorService executor) {
+		if (qrGroup instanceof QRGroupPQ) {
+			return ((QRGroupPQ) qrGroup).modPow(base, exponents, executor);
+		}
+		List<GroupElement> results = new ArrayList<GroupElement>(exponents.size());
+		for (BigInteger exponent : exponents) {
+			results.add(base.modPow(exponent));
+		}
+		return results;
+	}
+
 	public KeyGenParameters getKeyGenParameters() {
 		return this.keyGenParameters;
 	}
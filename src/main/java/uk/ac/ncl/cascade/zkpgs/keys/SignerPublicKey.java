@@ -2,6 +2,7 @@ package uk.ac.ncl.cascade.zkpgs.keys;
 
 import uk.ac.ncl.cascade.zkpgs.context.IContextProducer;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.Group;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
@@ -95,4 +96,13 @@ public class SignerPublicKey implements Serializable, IPublicKey, IContextProduc
 		ctxList.add(String.valueOf(this.getBaseR().getValue()));
 		ctxList.add(String.valueOf(this.getBaseR_0().getValue()));
 	}
+
+	@Override
+	public void addToChallengeHash(ChallengeHash hash) {
+		hash.update(this.getModN());
+		hash.update(this.getBaseS());
+		hash.update(this.getBaseZ());
+		hash.update(this.getBaseR());
+		hash.update(this.getBaseR_0());
+	}
 }
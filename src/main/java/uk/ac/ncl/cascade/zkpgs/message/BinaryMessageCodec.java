@@ -0,0 +1,581 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
+import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNType;
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFactory;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MontgomeryQRElementN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * Codec that exchanges messages as compact length-prefixed binary frames instead of Java object
+ * serialization.
+ *
+ * <p>Each frame consists of its length as a 4-byte integer followed by a single tagged value.
+ * BigIntegers are written as the raw bytes of their magnitude, lengths and indexes as variable
+ * length integers, and maps, lists, GSMessages, ProofSignatures and ProofRequests element by
+ * element. URNs are written as small integer ids of a dictionary that both partners build up
+ * in the same order over the lifetime of the connection: the first occurrence of a URN carries
+ * its string representation and assigns the next id, later occurrences only carry the id. The
+ * moduli of the groups of QRElementN values are shared in the same way; their group is
+ * recreated in the realization selected in the CryptoUtilsFactory. Values of any other type are
+ * embedded in their Java serialization.
+ *
+ * <p>The codec is not safe for concurrent writes or concurrent reads; a write and a read may
+ * happen on different threads. Channel-based gateways, such as the NioMessageServer, use a
+ * codec without streams and exchange the frames themselves.
+ */
+public class BinaryMessageCodec implements IMessageCodec {
+	/** Maximum size of a frame, guarding against corrupted length prefixes. */
+	public static final int MAX_FRAME_LENGTH = 1 << 26;
+
+	/** Maximum number of entries of a dictionary per connection and direction. */
+	private static final int DICTIONARY_LIMIT = 1 << 16;
+
+	private static final int NULL = 0;
+	private static final int BIG_INTEGER = 1;
+	private static final int INTEGER = 2;
+	private static final int LONG = 3;
+	private static final int BOOLEAN = 4;
+	private static final int STRING = 5;
+	private static final int URN_VALUE = 6;
+	private static final int MAP = 7;
+	private static final int LIST = 8;
+	private static final int VECTOR = 9;
+	private static final int QR_ELEMENT_N = 10;
+	private static final int GS_MESSAGE = 11;
+	private static final int PROOF_SIGNATURE = 12;
+	private static final int PROOF_REQUEST = 13;
+	private static final int SERIALIZED = 14;
+
+	private static final int UNTYPED_URN = 1;
+
+	private final DataOutputStream out;
+	private final DataInputStream in;
+	private final ByteArrayOutputStream frame = new ByteArrayOutputStream(1024);
+	private final DataOutputStream encoder = new DataOutputStream(frame);
+	private final Dictionary<URN> writtenURNs = new Dictionary<URN>();
+	private final Dictionary<BigInteger> writtenModuli = new Dictionary<BigInteger>();
+	private final Dictionary<URN> readURNs = new Dictionary<URN>();
+	private final Dictionary<QRGroupN> readGroups = new Dictionary<QRGroupN>();
+
+	/**
+	 * Creates a binary codec on the streams of a connection.
+	 *
+	 * @param in  the input stream of the connection
+	 * @param out the output stream of the connection
+	 */
+	public BinaryMessageCodec(final InputStream in, final OutputStream out) {
+		Assert.notNull(in, "input stream must not be null");
+		Assert.notNull(out, "output stream must not be null");
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+		this.in = new DataInputStream(new BufferedInputStream(in));
+	}
+
+	/** Creates a codec without streams, which only encodes and decodes frames. */
+	BinaryMessageCodec() {
+		this.out = null;
+		this.in = null;
+	}
+
+	@Override
+	public void write(final GSMessage message) throws IOException {
+		Assert.notNull(message, "message must not be null");
+		writeFrame(message);
+	}
+
+	@Override
+	public GSMessage read() throws IOException, ClassNotFoundException {
+		return readFrame(GSMessage.class);
+	}
+
+	/**
+	 * Writes a proof signature as a frame of its own.
+	 *
+	 * @param proofSignature the proof signature
+	 * @throws IOException If an I/O error occurs, when writing the frame.
+	 */
+	public void writeProofSignature(final ProofSignature proofSignature) throws IOException {
+		Assert.notNull(proofSignature, "proof signature must not be null");
+		writeFrame(proofSignature);
+	}
+
+	/**
+	 * Reads a proof signature written by writeProofSignature().
+	 *
+	 * @return the proof signature
+	 * @throws IOException If an I/O error occurs or the frame does not hold a proof signature.
+	 * @throws ClassNotFoundException Class of an embedded serialized value cannot be found.
+	 */
+	public ProofSignature readProofSignature() throws IOException, ClassNotFoundException {
+		return readFrame(ProofSignature.class);
+	}
+
+	/**
+	 * Writes a proof request as a frame of its own.
+	 *
+	 * @param proofRequest the proof request
+	 * @throws IOException If an I/O error occurs, when writing the frame.
+	 */
+	public void writeProofRequest(final ProofRequest proofRequest) throws IOException {
+		Assert.notNull(proofRequest, "proof request must not be null");
+		writeFrame(proofRequest);
+	}
+
+	/**
+	 * Reads a proof request written by writeProofRequest().
+	 *
+	 * @return the proof request
+	 * @throws IOException If an I/O error occurs or the frame does not hold a proof request.
+	 * @throws ClassNotFoundException Class of an embedded serialized value cannot be found.
+	 */
+	public ProofRequest readProofRequest() throws IOException, ClassNotFoundException {
+		return readFrame(ProofRequest.class);
+	}
+
+	/**
+	 * Encodes a value as a frame, including its length prefix.
+	 *
+	 * @param value the value to encode
+	 * @return the frame, ready to be written to a channel
+	 * @throws IOException If the value cannot be encoded.
+	 */
+	ByteBuffer encode(final Object value) throws IOException {
+		encodeFrame(value);
+		ByteBuffer buffer = ByteBuffer.allocate(4 + frame.size());
+		buffer.putInt(frame.size());
+		buffer.put(frame.toByteArray());
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Decodes the payload of a frame, without its length prefix.
+	 *
+	 * @param payload the payload of the frame
+	 * @param type the expected type of the value
+	 * @return the value
+	 * @throws IOException If the payload is malformed or does not hold a value of the type.
+	 * @throws ClassNotFoundException Class of an embedded serialized value cannot be found.
+	 */
+	<T> T decode(final byte[] payload, final Class<T> type) throws IOException, ClassNotFoundException {
+		DataInputStream decoder = new DataInputStream(new ByteArrayInputStream(payload));
+		Object value = readValue(decoder, payload.length);
+		if (decoder.available() > 0) {
+			throw new StreamCorruptedException("The frame has trailing bytes.");
+		}
+		if (!type.isInstance(value)) {
+			throw new StreamCorruptedException("The frame does not hold a " + type.getSimpleName() + ".");
+		}
+		return type.cast(value);
+	}
+
+	private void writeFrame(final Object value) throws IOException {
+		if (out == null) {
+			throw new IllegalStateException("The codec is not connected to streams.");
+		}
+		encodeFrame(value);
+		out.writeInt(frame.size());
+		frame.writeTo(out);
+		out.flush();
+	}
+
+	private void encodeFrame(final Object value) throws IOException {
+		int urnMark = writtenURNs.size();
+		int moduliMark = writtenModuli.size();
+		frame.reset();
+		try {
+			writeValue(value);
+			encoder.flush();
+			if (frame.size() > MAX_FRAME_LENGTH) {
+				throw new IOException("The encoded message exceeds the maximum frame length.");
+			}
+		} catch (IOException | RuntimeException e) {
+			// The partner never sees this frame; forget the dictionary entries it introduced.
+			writtenURNs.truncate(urnMark);
+			writtenModuli.truncate(moduliMark);
+			throw e;
+		}
+	}
+
+	private <T> T readFrame(final Class<T> type) throws IOException, ClassNotFoundException {
+		if (in == null) {
+			throw new IllegalStateException("The codec is not connected to streams.");
+		}
+		int length = in.readInt();
+		if (length < 0 || length > MAX_FRAME_LENGTH) {
+			throw new StreamCorruptedException("Invalid frame length " + length + ".");
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return decode(bytes, type);
+	}
+
+	private void writeValue(final Object value) throws IOException {
+		if (value == null) {
+			encoder.writeByte(NULL);
+		} else if (value instanceof BigInteger) {
+			encoder.writeByte(BIG_INTEGER);
+			writeBigInteger((BigInteger) value);
+		} else if (value instanceof Integer) {
+			encoder.writeByte(INTEGER);
+			writeVarLong(zigZag((Integer) value));
+		} else if (value instanceof Long) {
+			encoder.writeByte(LONG);
+			writeVarLong(zigZag((Long) value));
+		} else if (value instanceof Boolean) {
+			encoder.writeByte(BOOLEAN);
+			encoder.writeBoolean((Boolean) value);
+		} else if (value instanceof String) {
+			encoder.writeByte(STRING);
+			writeString((String) value);
+		} else if (value instanceof URN) {
+			encoder.writeByte(URN_VALUE);
+			writeURN((URN) value);
+		} else if (value.getClass() == QRElementN.class || value.getClass() == MontgomeryQRElementN.class) {
+			QRElementN element = (QRElementN) value;
+			encoder.writeByte(QR_ELEMENT_N);
+			writeModulus(((QRGroupN) element.getGroup()).getModulus());
+			writeBigInteger(element.getValue());
+		} else if (value instanceof GSMessage) {
+			encoder.writeByte(GS_MESSAGE);
+			writeMap(((GSMessage) value).getMessageElements());
+		} else if (value instanceof ProofSignature) {
+			encoder.writeByte(PROOF_SIGNATURE);
+			writeMap(((ProofSignature) value).getProofSignatureElements());
+		} else if (value instanceof ProofRequest) {
+			ProofRequest proofRequest = (ProofRequest) value;
+			encoder.writeByte(PROOF_REQUEST);
+			writeValue(proofRequest.getProofType() == null ? null : proofRequest.getProofType().name());
+			writeValue(proofRequest.getIndexes());
+		} else if (value instanceof Map) {
+			encoder.writeByte(MAP);
+			writeMap((Map<?, ?>) value);
+		} else if (value instanceof Vector) {
+			encoder.writeByte(VECTOR);
+			writeList((List<?>) value);
+		} else if (value instanceof List) {
+			encoder.writeByte(LIST);
+			writeList((List<?>) value);
+		} else if (value instanceof Serializable) {
+			encoder.writeByte(SERIALIZED);
+			writeSerialized(value);
+		} else {
+			throw new IOException("Values of type " + value.getClass().getName() + " cannot be encoded.");
+		}
+	}
+
+	private Object readValue(final DataInputStream decoder, final int limit) throws IOException, ClassNotFoundException {
+		int tag = decoder.readUnsignedByte();
+		switch (tag) {
+			case NULL:
+				return null;
+			case BIG_INTEGER:
+				return readBigInteger(decoder, limit);
+			case INTEGER:
+				return (int) unZigZag(readVarLong(decoder));
+			case LONG:
+				return unZigZag(readVarLong(decoder));
+			case BOOLEAN:
+				return decoder.readBoolean();
+			case STRING:
+				return readString(decoder, limit);
+			case URN_VALUE:
+				return readURN(decoder, limit);
+			case QR_ELEMENT_N:
+				QRGroupN group = readGroup(decoder, limit);
+				return group.valueOf(readBigInteger(decoder, limit));
+			case GS_MESSAGE:
+				return new GSMessage(readURNMap(decoder, limit));
+			case PROOF_SIGNATURE:
+				return new ProofSignature(readURNMap(decoder, limit));
+			case PROOF_REQUEST:
+				return readProofRequest(decoder, limit);
+			case MAP:
+				return readMap(decoder, limit);
+			case VECTOR:
+				return readList(decoder, limit, new Vector<Object>());
+			case LIST:
+				return readList(decoder, limit, new ArrayList<Object>());
+			case SERIALIZED:
+				return readSerialized(decoder, limit);
+			default:
+				throw new StreamCorruptedException("Unknown value tag " + tag + ".");
+		}
+	}
+
+	private void writeBigInteger(final BigInteger value) throws IOException {
+		byte[] magnitude = value.abs().toByteArray();
+		int offset = (magnitude.length > 1 && magnitude[0] == 0) ? 1 : 0;
+		int length = (value.signum() == 0) ? 0 : magnitude.length - offset;
+		writeVarLong(((long) length << 1) | (value.signum() < 0 ? 1 : 0));
+		encoder.write(magnitude, offset, length);
+	}
+
+	private static BigInteger readBigInteger(final DataInputStream decoder, final int limit) throws IOException {
+		long header = readVarLong(decoder);
+		byte[] magnitude = new byte[checkLength(header >>> 1, limit)];
+		decoder.readFully(magnitude);
+		BigInteger value = new BigInteger(1, magnitude);
+		return ((header & 1) == 1) ? value.negate() : value;
+	}
+
+	private void writeString(final String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(bytes.length);
+		encoder.write(bytes);
+	}
+
+	private static String readString(final DataInputStream decoder, final int limit) throws IOException {
+		byte[] bytes = new byte[checkLength(readVarLong(decoder), limit)];
+		decoder.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/*
+	 * Dictionary references are written as id + 1; 0 announces a new entry, whose definition
+	 * follows and which takes the next id if the dictionary has room for it.
+	 */
+	private void writeURN(final URN urn) throws IOException {
+		int id = writtenURNs.idOf(urn);
+		if (id >= 0) {
+			writeVarLong(id + 1);
+			return;
+		}
+
+		writeVarLong(0);
+		encoder.writeByte(URNType.UNDEFINED.equals(urn.getURNType()) ? UNTYPED_URN : 0);
+		writeString(urn.getNamespaceIdentifier());
+		writeString(urn.getNamespaceSpecific());
+		writtenURNs.add(urn);
+	}
+
+	private URN readURN(final DataInputStream decoder, final int limit) throws IOException {
+		long reference = readVarLong(decoder);
+		if (reference > 0) {
+			return readURNs.get(reference - 1);
+		}
+
+		int flags = decoder.readUnsignedByte();
+		String namespaceIdentifier = readString(decoder, limit);
+		String namespaceSpecific = readString(decoder, limit);
+		URN urn;
+		try {
+			urn = ((flags & UNTYPED_URN) != 0)
+					? URN.createUnsafeURN(namespaceIdentifier, namespaceSpecific)
+					: URN.createURN(namespaceIdentifier, namespaceSpecific);
+		} catch (IllegalArgumentException e) {
+			throw new StreamCorruptedException("Invalid URN " + namespaceSpecific + ": " + e.getMessage());
+		}
+		readURNs.add(urn);
+		return urn;
+	}
+
+	private void writeModulus(final BigInteger modulus) throws IOException {
+		int id = writtenModuli.idOf(modulus);
+		if (id >= 0) {
+			writeVarLong(id + 1);
+			return;
+		}
+
+		writeVarLong(0);
+		writeBigInteger(modulus);
+		writtenModuli.add(modulus);
+	}
+
+	private QRGroupN readGroup(final DataInputStream decoder, final int limit) throws IOException {
+		long reference = readVarLong(decoder);
+		if (reference > 0) {
+			return readGroups.get(reference - 1);
+		}
+
+		QRGroupN group = CryptoUtilsFactory.createQRGroupN(readBigInteger(decoder, limit));
+		readGroups.add(group);
+		return group;
+	}
+
+	private void writeMap(final Map<?, ?> map) throws IOException {
+		writeVarLong(map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			writeValue(entry.getKey());
+			writeValue(entry.getValue());
+		}
+	}
+
+	private Map<Object, Object> readMap(final DataInputStream decoder, final int limit)
+			throws IOException, ClassNotFoundException {
+		int size = checkLength(readVarLong(decoder), limit);
+		Map<Object, Object> map = new LinkedHashMap<Object, Object>(capacity(size));
+		for (int i = 0; i < size; i++) {
+			Object key = readValue(decoder, limit);
+			map.put(key, readValue(decoder, limit));
+		}
+		return map;
+	}
+
+	private Map<URN, Object> readURNMap(final DataInputStream decoder, final int limit)
+			throws IOException, ClassNotFoundException {
+		int size = checkLength(readVarLong(decoder), limit);
+		Map<URN, Object> map = new HashMap<URN, Object>(capacity(size));
+		for (int i = 0; i < size; i++) {
+			Object key = readValue(decoder, limit);
+			if (key != null && !(key instanceof URN)) {
+				throw new StreamCorruptedException("Message elements must be keyed by URNs.");
+			}
+			map.put((URN) key, readValue(decoder, limit));
+		}
+		return map;
+	}
+
+	private void writeList(final List<?> list) throws IOException {
+		writeVarLong(list.size());
+		for (Object element : list) {
+			writeValue(element);
+		}
+	}
+
+	private List<Object> readList(final DataInputStream decoder, final int limit, final List<Object> list)
+			throws IOException, ClassNotFoundException {
+		int size = checkLength(readVarLong(decoder), limit);
+		for (int i = 0; i < size; i++) {
+			list.add(readValue(decoder, limit));
+		}
+		return list;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ProofRequest readProofRequest(final DataInputStream decoder, final int limit)
+			throws IOException, ClassNotFoundException {
+		Object proofType = readValue(decoder, limit);
+		Object indexes = readValue(decoder, limit);
+		if ((proofType != null && !(proofType instanceof String))
+				|| (indexes != null && !(indexes instanceof Vector))) {
+			throw new StreamCorruptedException("Invalid proof request.");
+		}
+		try {
+			return new ProofRequest(
+					(proofType == null) ? null : ProofType.valueOf((String) proofType), (Vector<Integer>) indexes);
+		} catch (IllegalArgumentException e) {
+			throw new StreamCorruptedException("Unknown proof type " + proofType + ".");
+		}
+	}
+
+	private void writeSerialized(final Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+			objectOut.writeObject(value);
+		}
+		writeVarLong(bytes.size());
+		bytes.writeTo(encoder);
+	}
+
+	private static Object readSerialized(final DataInputStream decoder, final int limit)
+			throws IOException, ClassNotFoundException {
+		byte[] bytes = new byte[checkLength(readVarLong(decoder), limit)];
+		decoder.readFully(bytes);
+		try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return objectIn.readObject();
+		}
+	}
+
+	private void writeVarLong(final long value) throws IOException {
+		long remaining = value;
+		while ((remaining & ~0x7FL) != 0) {
+			encoder.writeByte((int) ((remaining & 0x7F) | 0x80));
+			remaining >>>= 7;
+		}
+		encoder.writeByte((int) remaining);
+	}
+
+	private static long readVarLong(final DataInputStream decoder) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = decoder.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("Malformed variable length integer.");
+	}
+
+	private static long zigZag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/** Lengths and sizes cannot exceed the number of bytes in the frame. */
+	private static int checkLength(final long length, final int limit) throws StreamCorruptedException {
+		if (length < 0 || length > limit) {
+			throw new StreamCorruptedException("Invalid length " + length + ".");
+		}
+		return (int) length;
+	}
+
+	private static int capacity(final int size) {
+		return Math.max(16, (int) (size / 0.75f) + 1);
+	}
+
+	/** Entries of a per-connection dictionary in the order of their ids. */
+	private static final class Dictionary<T> {
+		private final Map<T, Integer> ids = new HashMap<T, Integer>();
+		private final List<T> entries = new ArrayList<T>();
+
+		int size() {
+			return entries.size();
+		}
+
+		int idOf(final T entry) {
+			Integer id = ids.get(entry);
+			return (id == null) ? -1 : id;
+		}
+
+		void add(final T entry) {
+			if (entries.size() < DICTIONARY_LIMIT && !ids.containsKey(entry)) {
+				ids.put(entry, entries.size());
+				entries.add(entry);
+			}
+		}
+
+		T get(final long id) throws StreamCorruptedException {
+			if (id >= entries.size()) {
+				throw new StreamCorruptedException("Unknown dictionary id " + id + ".");
+			}
+			return entries.get((int) id);
+		}
+
+		void truncate(final int size) {
+			while (entries.size() > size) {
+				ids.remove(entries.remove(entries.size() - 1));
+			}
+		}
+	}
+}
@@ -1,10 +1,9 @@
 package uk.ac.ncl.cascade.zkpgs.message;
 
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.util.logging.Logger;
@@ -20,8 +19,8 @@ public class GSClient implements IMessagePartner {
 	private String hostAddress;
 	private int portNumber;
 	private Logger log = GSLoggerConfiguration.getGSlog();
-	private ObjectInputStream inFromServer;
-	private ObjectOutputStream outToServer;
+	private MessageEncoding encoding = MessageEncoding.JAVA_SERIALIZATION;
+	private IMessageCodec codec;
 
 
 	/**
@@ -52,14 +51,24 @@ public class GSClient implements IMessagePartner {
 		clientSocket.connect(new InetSocketAddress(hostAddress, portNumber), TIMEOUT);
 	}
 
+	/**
+	 * Selects the encoding of the messages exchanged with the server. The encoding must be
+	 * selected before init() and must match the encoding of the server.
+	 *
+	 * @param encoding the message encoding
+	 */
+	public void setMessageEncoding(final MessageEncoding encoding) {
+		Assert.notNull(encoding, "message encoding must not be null");
+		this.encoding = encoding;
+	}
+
 	/**
 	 * Creates new input and output streams to the server.
 	 *
 	 * @throws IOException If an I/O error occurs, when creating the I/O stream from the server.
 	 */
 	public void init() throws IOException {
-		outToServer = new ObjectOutputStream(clientSocket.getOutputStream());
-		inFromServer = new ObjectInputStream(clientSocket.getInputStream());
+		codec = encoding.newCodec(clientSocket.getInputStream(), clientSocket.getOutputStream());
 	}
 
 	/**
@@ -71,7 +80,7 @@ public class GSClient implements IMessagePartner {
 	 */
 	public void send(GSMessage message) throws IOException {
 		/* Send the Message Object to the server */
-		outToServer.writeObject(message);
+		codec.write(message);
 	}
 
 	/**
@@ -84,7 +93,7 @@ public class GSClient implements IMessagePartner {
 	 */
 	public GSMessage receive() throws IOException, ClassNotFoundException {
 		/* Retrieve the Message Object from the server */
-		GSMessage msgFromServer = (GSMessage) inFromServer.readObject();
+		GSMessage msgFromServer = codec.read();
 		return msgFromServer;
 	}
 
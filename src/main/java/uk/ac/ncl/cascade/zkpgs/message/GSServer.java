@@ -1,10 +1,9 @@
 package uk.ac.ncl.cascade.zkpgs.message;
 
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.logging.Logger;
@@ -19,8 +18,8 @@ public class GSServer implements IMessagePartner {
 	private final int portNumber;
 	private Socket clientSocket;
 	private Logger log = GSLoggerConfiguration.getGSlog();
-	private ObjectOutputStream outToClient;
-	private ObjectInputStream inFromClient;
+	private MessageEncoding encoding = MessageEncoding.JAVA_SERIALIZATION;
+	private IMessageCodec codec;
 
 	/**
 	 * Creates a new instance of the server socket with an input port number.
@@ -48,6 +47,17 @@ public class GSServer implements IMessagePartner {
 //		serverSocket.setSoTimeout(1000);
 	}
 
+	/**
+	 * Selects the encoding of the messages exchanged with the client. The encoding must be
+	 * selected before init() and must match the encoding of the client.
+	 *
+	 * @param encoding the message encoding
+	 */
+	public void setMessageEncoding(final MessageEncoding encoding) {
+		Assert.notNull(encoding, "message encoding must not be null");
+		this.encoding = encoding;
+	}
+
 	/**
 	 * Blocks for a connection to be made to the server socket until a connection is made and accepts
 	 * it. Creates input and output streams to the client socket.
@@ -57,8 +67,7 @@ public class GSServer implements IMessagePartner {
 	 */
 	public void init() throws IOException {
 		clientSocket = serverSocket.accept();
-		outToClient = new ObjectOutputStream(clientSocket.getOutputStream());
-		inFromClient = new ObjectInputStream(clientSocket.getInputStream());
+		codec = encoding.newCodec(clientSocket.getInputStream(), clientSocket.getOutputStream());
 	}
 
 	/**
@@ -68,7 +77,7 @@ public class GSServer implements IMessagePartner {
 	 * @throws IOException If an I/O error occurs, when writing the message to the client output stream.
 	 */
 	public void send(GSMessage msg) throws IOException {
-		outToClient.writeObject(msg);
+		codec.write(msg);
 	}
 
 	/**
@@ -79,7 +88,7 @@ public class GSServer implements IMessagePartner {
 	 * @throws ClassNotFoundException Class of serialized GSMessage cannot be found.
 	 */
 	public GSMessage receive() throws IOException, ClassNotFoundException {
-		GSMessage inMsg = (GSMessage) inFromClient.readObject();
+		GSMessage inMsg = codec.read();
 		return inMsg;
 	}
 
@@ -0,0 +1,14 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+import java.io.IOException;
+
+/**
+ * Interface for writing messages to and reading messages from the streams of a connection.
+ * Codecs keep per-connection state and are created for each connection by the MessageEncoding
+ * selected on the message gateway.
+ */
+public interface IMessageCodec {
+	void write(GSMessage message) throws IOException;
+
+	GSMessage read() throws IOException, ClassNotFoundException;
+}
@@ -14,4 +14,15 @@ public interface IMessageGateway {
 	
 	void close() throws IOException;
 
+	/**
+	 * Selects the encoding of the messages exchanged by the gateway, before it is set up with
+	 * init(). Gateways that do not support a choice of encoding reject the call.
+	 *
+	 * @param encoding the message encoding
+	 * @throws UnsupportedOperationException if the gateway does not support the encoding.
+	 */
+	default void setMessageEncoding(MessageEncoding encoding) {
+		throw new UnsupportedOperationException("The message gateway does not support the encoding " + encoding + ".");
+	}
+
 }
@@ -0,0 +1,15 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+/**
+ * Interface for serving a session accepted by the NioMessageServer, for instance by running a
+ * verifier orchestrator with its own ProofStore on the message gateway of the session.
+ */
+public interface IMessageSessionHandler {
+	/**
+	 * Serves a session. The session is closed once the handler returns.
+	 *
+	 * @param session the message gateway of the session, which is already set up
+	 * @throws Exception if the session fails; the exception is logged and the session closed.
+	 */
+	void handleSession(IMessageGateway session) throws Exception;
+}
@@ -0,0 +1,36 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Encodings of the messages exchanged by the socket-based message gateways. Both communication
+ * partners must use the same encoding.
+ */
+public enum MessageEncoding {
+	/** Java object serialization of the GSMessage. */
+	JAVA_SERIALIZATION,
+
+	/** Compact length-prefixed binary frames, see BinaryMessageCodec. */
+	BINARY;
+
+	/**
+	 * Creates a codec for the streams of a connection. The output stream is set up before the
+	 * input stream, such that both partners can create their codecs concurrently.
+	 *
+	 * @param in  the input stream of the connection
+	 * @param out the output stream of the connection
+	 * @return the codec
+	 * @throws IOException If an I/O error occurs, when setting up the streams.
+	 */
+	public IMessageCodec newCodec(final InputStream in, final OutputStream out) throws IOException {
+		switch (this) {
+			case BINARY:
+				return new BinaryMessageCodec(in, out);
+			case JAVA_SERIALIZATION:
+			default:
+				return new SerializationMessageCodec(in, out);
+		}
+	}
+}
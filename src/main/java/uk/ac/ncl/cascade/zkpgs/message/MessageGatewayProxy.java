@@ -20,6 +20,16 @@ public class MessageGatewayProxy implements IMessageGateway {
     messageGateway = new SocketMessageGatewayImpl(type, hostAddress, portNumber);
   }
   
+  /**
+   * Selects the encoding of the messages exchanged via the message gateway proxy.
+   *
+   * @param encoding the message encoding
+   */
+  @Override
+  public void setMessageEncoding(MessageEncoding encoding) {
+    messageGateway.setMessageEncoding(encoding);
+  }
+
   /**
    * Sets up the message gateway and seeks to establish a connection with the
    * designated communication partner.
@@ -0,0 +1,419 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StreamCorruptedException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates a non-blocking server that multiplexes many concurrent sessions on one port.
+ *
+ * <p>A single selector thread accepts the connections and reads and writes the frames of all
+ * sessions. Each accepted connection becomes a session with a message gateway of its own, which
+ * is served by the session handler on the executor of the server. The handler typically creates
+ * a fresh orchestrator and ProofStore for the session, such that concurrent sessions share no
+ * state. The decoding and encoding of messages happens on the thread of the session.
+ *
+ * <p>Sessions exchange frames of the BinaryMessageCodec; clients connect with a socket message
+ * gateway using the BINARY message encoding. A session occupies a thread of the executor while
+ * it is served, including the time its orchestrator waits in receive(), so the executor should
+ * provide a thread for each session to be served simultaneously.
+ */
+public class NioMessageServer implements IMessagePartner {
+	private static final int HEADER_LENGTH = 4;
+	private static final int MAX_PENDING_FRAMES = 16;
+	private static final int INITIAL_PAYLOAD_CAPACITY = 64 * 1024;
+	private static final byte[] CLOSED = new byte[0];
+
+	private final String hostAddress;
+	private final int portNumber;
+	private final IMessageSessionHandler handler;
+	private final ExecutorService executor;
+	private final Queue<Runnable> pendingChanges = new ConcurrentLinkedQueue<Runnable>();
+	private final Set<Session> sessions = ConcurrentHashMap.<Session>newKeySet();
+	private final Logger log = GSLoggerConfiguration.getGSlog();
+	private Selector selector;
+	private ServerSocketChannel serverChannel;
+	private Thread selectorThread;
+	private volatile boolean running;
+
+	/**
+	 * Creates a new server for an input host address and port number.
+	 *
+	 * @param hostAddress the host address to bind to, or null for the wildcard address
+	 * @param portNumber  the port number to bind to, or 0 for an ephemeral port
+	 * @param handler     the handler serving each session
+	 * @param executor    the executor to serve the sessions on; it is not shut down by the server
+	 */
+	public NioMessageServer(
+			final String hostAddress,
+			final int portNumber,
+			final IMessageSessionHandler handler,
+			final ExecutorService executor) {
+		Assert.notNull(handler, "session handler must not be null");
+		Assert.notNull(executor, "executor must not be null");
+		this.hostAddress = hostAddress;
+		this.portNumber = portNumber;
+		this.handler = handler;
+		this.executor = executor;
+	}
+
+	/**
+	 * Binds the server socket and starts accepting sessions.
+	 *
+	 * @throws IOException If an I/O error occurs, when opening or binding the server socket.
+	 */
+	public void init() throws IOException {
+		selector = Selector.open();
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.configureBlocking(false);
+		serverChannel.bind((hostAddress == null)
+				? new InetSocketAddress(portNumber)
+				: new InetSocketAddress(hostAddress, portNumber));
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+		running = true;
+		selectorThread = new Thread(this::select, "gs-nio-server-" + getLocalPort());
+		selectorThread.setDaemon(true);
+		selectorThread.start();
+	}
+
+	/**
+	 * Returns the port the server is bound to.
+	 *
+	 * @return the local port
+	 */
+	public int getLocalPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * Returns the number of open sessions.
+	 *
+	 * @return the number of sessions
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Closes a session of this server at once and discards its frames that were not written yet.
+	 * Unlike closing the message gateway of the session, which waits until the pending frames are
+	 * written, aborting does not depend on the peer, such that a peer that stops reading cannot keep
+	 * the session open. A pending receive() of the session fails.
+	 *
+	 * @param session the message gateway of a session of this server
+	 */
+	public void abort(final IMessageGateway session) {
+		Assert.notNull(session, "session must not be null");
+		if (!sessions.contains(session)) {
+			return;
+		}
+		change(((Session) session)::terminate);
+	}
+
+	/**
+	 * Stops accepting sessions and closes the server socket as well as all open sessions.
+	 *
+	 * @throws IOException If the server was interrupted while closing.
+	 */
+	public void close() throws IOException {
+		if (selector == null) {
+			return;
+		}
+		running = false;
+		selector.wakeup();
+		try {
+			selectorThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while closing the server.");
+		}
+	}
+
+	private void select() {
+		try {
+			while (running) {
+				selector.select();
+
+				Runnable change;
+				while ((change = pendingChanges.poll()) != null) {
+					change.run();
+				}
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					handle(key);
+				}
+			}
+		} catch (IOException | ClosedSelectorException e) {
+			log.log(Level.WARNING, "The message server failed.", e);
+		} finally {
+			shutdown();
+		}
+	}
+
+	private void handle(final SelectionKey key) {
+		Session session = (Session) key.attachment();
+		try {
+			if (key.isValid() && key.isAcceptable()) {
+				accept();
+			}
+			if (key.isValid() && key.isReadable()) {
+				session.read();
+			}
+			if (key.isValid() && key.isWritable()) {
+				session.flush();
+			}
+		} catch (IOException e) {
+			if (session == null) {
+				log.log(Level.WARNING, "A connection could not be accepted.", e);
+			} else {
+				log.log(Level.FINE, "A session failed.", e);
+				session.terminate();
+			}
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null) {
+			return;
+		}
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(true);
+
+		Session session = new Session(channel);
+		session.key = channel.register(selector, SelectionKey.OP_READ, session);
+		sessions.add(session);
+
+		try {
+			executor.execute(() -> serve(session));
+		} catch (RejectedExecutionException e) {
+			log.log(Level.WARNING, "The session could not be scheduled.", e);
+			session.terminate();
+		}
+	}
+
+	private void serve(final Session session) {
+		try {
+			handler.handleSession(session);
+		} catch (Exception e) {
+			log.log(Level.WARNING, "The session failed.", e);
+		} finally {
+			session.close();
+		}
+	}
+
+	private void change(final Runnable change) {
+		pendingChanges.add(change);
+		selector.wakeup();
+	}
+
+	private void shutdown() {
+		for (Session session : sessions) {
+			session.terminate();
+		}
+		try {
+			serverChannel.close();
+			selector.close();
+		} catch (IOException e) {
+			log.log(Level.FINE, "The server socket could not be closed.", e);
+		}
+	}
+
+	/**
+	 * Message gateway of a session. The frames are read and written by the selector thread,
+	 * while send() and receive() are called on the thread serving the session.
+	 */
+	private final class Session implements IMessageGateway {
+		private final SocketChannel channel;
+		private final BinaryMessageCodec codec = new BinaryMessageCodec();
+		private final BlockingQueue<byte[]> inbound = new LinkedBlockingQueue<byte[]>();
+		private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<ByteBuffer>();
+		private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		private SelectionKey key;
+		private ByteBuffer payload;
+		private int payloadLength;
+		private volatile boolean readPaused;
+		private volatile boolean closing;
+		private volatile boolean closed;
+
+		Session(final SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void init() {
+			// The session is set up when its connection is accepted.
+		}
+
+		@Override
+		public void setMessageEncoding(final MessageEncoding encoding) {
+			if (encoding != MessageEncoding.BINARY) {
+				throw new UnsupportedOperationException("Sessions of the NIO server only support the BINARY encoding.");
+			}
+		}
+
+		@Override
+		public void send(final GSMessage message) throws IOException {
+			Assert.notNull(message, "message must not be null");
+			if (closing || closed) {
+				throw new IOException("The session was closed.");
+			}
+			outbound.add(codec.encode(message));
+			change(this::flush);
+		}
+
+		@Override
+		public GSMessage receive() throws IOException {
+			byte[] frame;
+			try {
+				frame = inbound.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for a message.");
+			}
+			if (frame == CLOSED) {
+				inbound.add(CLOSED);
+				throw new EOFException("The session was closed.");
+			}
+			if (readPaused) {
+				change(this::resumeReading);
+			}
+
+			try {
+				return codec.decode(frame, GSMessage.class);
+			} catch (ClassNotFoundException e) {
+				throw new IOException("Received message could not be deserialized.", e);
+			}
+		}
+
+		@Override
+		public void close() {
+			if (closing || closed) {
+				return;
+			}
+			closing = true;
+			change(this::flush);
+		}
+
+		/* Runs on the selector thread. */
+		void read() throws IOException {
+			while (true) {
+				ByteBuffer target = (payload == null) ? header : payload;
+				if (channel.read(target) < 0) {
+					key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+					inbound.add(CLOSED);
+					return;
+				}
+				if (target.hasRemaining()) {
+					return;
+				}
+
+				if (payload == null) {
+					header.flip();
+					payloadLength = header.getInt();
+					header.clear();
+					if (payloadLength < 0 || payloadLength > BinaryMessageCodec.MAX_FRAME_LENGTH) {
+						throw new StreamCorruptedException("Invalid frame length " + payloadLength + ".");
+					}
+					// The buffer grows with the bytes received rather than trusting the announced length.
+					payload = ByteBuffer.allocate(Math.min(payloadLength, INITIAL_PAYLOAD_CAPACITY));
+				} else if (payload.capacity() < payloadLength) {
+					ByteBuffer grown = ByteBuffer.allocate((int) Math.min(2L * payload.capacity(), payloadLength));
+					payload.flip();
+					grown.put(payload);
+					payload = grown;
+				} else {
+					inbound.add(payload.array());
+					payload = null;
+					if (inbound.size() >= MAX_PENDING_FRAMES) {
+						// Stop reading until the session caught up with the pending frames.
+						key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+						readPaused = true;
+						if (inbound.size() < MAX_PENDING_FRAMES) {
+							resumeReading();
+						}
+						return;
+					}
+				}
+			}
+		}
+
+		/* Runs on the selector thread. */
+		void flush() {
+			if (closed) {
+				return;
+			}
+			try {
+				ByteBuffer buffer;
+				while ((buffer = outbound.peek()) != null) {
+					channel.write(buffer);
+					if (buffer.hasRemaining()) {
+						key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+						return;
+					}
+					outbound.poll();
+				}
+				key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+			} catch (IOException e) {
+				log.log(Level.FINE, "A session failed.", e);
+				terminate();
+				return;
+			}
+
+			if (closing) {
+				terminate();
+			}
+		}
+
+		/* Runs on the selector thread. */
+		void resumeReading() {
+			if (readPaused && !closed && inbound.size() < MAX_PENDING_FRAMES) {
+				readPaused = false;
+				key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+			}
+		}
+
+		void terminate() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			sessions.remove(this);
+			if (key != null) {
+				key.cancel();
+			}
+			try {
+				channel.close();
+			} catch (IOException e) {
+				log.log(Level.FINE, "The session could not be closed.", e);
+			}
+			inbound.add(CLOSED);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Codec that exchanges messages with Java object serialization.
+ */
+public class SerializationMessageCodec implements IMessageCodec {
+	private final ObjectOutputStream out;
+	private final ObjectInputStream in;
+
+	/**
+	 * Creates the object streams of a connection.
+	 *
+	 * @param in  the input stream of the connection
+	 * @param out the output stream of the connection
+	 * @throws IOException If an I/O error occurs, when creating the object streams.
+	 */
+	public SerializationMessageCodec(final InputStream in, final OutputStream out) throws IOException {
+		this.out = new ObjectOutputStream(out);
+		this.out.flush();
+		this.in = new ObjectInputStream(in);
+	}
+
+	@Override
+	public void write(final GSMessage message) throws IOException {
+		out.writeObject(message);
+	}
+
+	@Override
+	public GSMessage read() throws IOException, ClassNotFoundException {
+		return (GSMessage) in.readObject();
+	}
+}
@@ -1,5 +1,7 @@
 package uk.ac.ncl.cascade.zkpgs.message;
 
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
 import java.io.IOException;
 
 import static uk.ac.ncl.cascade.zkpgs.DefaultValues.CLIENT;
@@ -16,6 +18,7 @@ public class SocketMessageGatewayImpl implements IMessageGateway {
 	private final Integer portNumber;
 	private GSClient clientGateway;
 	private GSServer serverGateway;
+	private MessageEncoding encoding = MessageEncoding.JAVA_SERIALIZATION;
 
 	/**
 	 * Instantiates a new socket based message gateway for either a client or a server.
@@ -31,6 +34,18 @@ public class SocketMessageGatewayImpl implements IMessageGateway {
 		this.portNumber = portNumber;
 	}
 
+	/**
+	 * Selects the encoding of the messages exchanged with the communication partner, which must
+	 * use the same encoding. Java serialization is used by default.
+	 *
+	 * @param encoding the message encoding
+	 */
+	@Override
+	public void setMessageEncoding(final MessageEncoding encoding) {
+		Assert.notNull(encoding, "message encoding must not be null");
+		this.encoding = encoding;
+	}
+
 	/**
 	 * Delegates the creation of either a client or a server to the appropriate class.
 	 *
@@ -40,6 +55,7 @@ public class SocketMessageGatewayImpl implements IMessageGateway {
 		/** TODO refactor to a factory */
 		if (CLIENT.equals(type)) {
 			clientGateway = new GSClient(hostAddress, portNumber);
+			clientGateway.setMessageEncoding(encoding);
 			clientGateway.init();
 			if (clientGateway == null) {
 				throw new IOException("The client gateway could not be established.");
@@ -47,6 +63,7 @@ public class SocketMessageGatewayImpl implements IMessageGateway {
 
 		} else if (SERVER.equals(type)) {
 			serverGateway = new GSServer(hostAddress, portNumber);
+			serverGateway.setMessageEncoding(encoding);
 			serverGateway.init();
 
 			if (serverGateway == null) {
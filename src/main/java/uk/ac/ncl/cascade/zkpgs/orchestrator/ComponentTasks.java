@@ -0,0 +1,82 @@
+package uk.ac.ncl.cascade.zkpgs.orchestrator;
+
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+import uk.ac.ncl.cascade.zkpgs.exception.ProofStoreException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent work of component provers or verifiers, such as the pair-wise difference
+ * proofs, either sequentially on the calling thread or concurrently on an executor.
+ *
+ * <p>Results are returned in the order of the tasks, independent of the order in which they
+ * complete, such that orchestrators assemble the same messages in either mode.
+ */
+final class ComponentTasks {
+
+	/**
+	 * Unit of work of a single component prover or verifier.
+	 *
+	 * @param <T> the result type
+	 */
+	interface ComponentTask<T> {
+		T execute() throws ProofStoreException;
+	}
+
+	private ComponentTasks() {
+	}
+
+	/**
+	 * Executes all tasks and returns their results in task order.
+	 *
+	 * @param executor the executor to run the tasks on, or null to run them on the calling thread
+	 * @param tasks the tasks
+	 * @param <T> the result type
+	 * @return the results in task order
+	 * @throws ProofStoreException if a task could not access the ProofStore
+	 */
+	static <T> List<T> executeAll(ExecutorService executor, List<? extends ComponentTask<T>> tasks)
+			throws ProofStoreException {
+		List<T> results = new ArrayList<T>(tasks.size());
+		if (executor == null || tasks.size() < 2) {
+			for (ComponentTask<T> task : tasks) {
+				results.add(task.execute());
+			}
+			return results;
+		}
+
+		List<Callable<T>> callables = new ArrayList<Callable<T>>(tasks.size());
+		for (ComponentTask<T> task : tasks) {
+			callables.add(task::execute);
+		}
+
+		List<Future<T>> futures;
+		try {
+			futures = executor.invokeAll(callables);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GSInternalError("Interrupted while executing component tasks.", e);
+		}
+
+		for (Future<T> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new GSInternalError("Interrupted while executing component tasks.", e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof ProofStoreException) throw (ProofStoreException) cause;
+				if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+				if (cause instanceof Error) throw (Error) cause;
+				throw new GSInternalError(cause);
+			}
+		}
+		return results;
+	}
+}
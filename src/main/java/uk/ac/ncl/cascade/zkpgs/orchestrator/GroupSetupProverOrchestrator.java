@@ -14,14 +14,13 @@ import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.BaseCollection;
 import uk.ac.ncl.cascade.zkpgs.util.BaseIterator;
-import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,17 +67,16 @@ public class GroupSetupProverOrchestrator implements IProverOrchestrator {
 		gslog.info("compute challenge ");
 		BigInteger cChallenge = null;
 		try {
-			List<String> challengeList = populateChallengeList();
-			cChallenge = CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+			cChallenge = populateChallengeHash().digest();
 		} catch (NoSuchAlgorithmException e) {
 			gslog.log(Level.SEVERE, "Fiat-Shamir challenge could not be computed.", e);
 		}
 		return cChallenge;
 	}
 
-	public List<String> populateChallengeList() {
+	public ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> ctxList = gsContext.computeChallengeContext();
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
 		GroupElement tildeZ =
 				(GroupElement) proofStore.retrieve(gsProver.getProverURN(URNType.TILDEBASEZ));
@@ -87,32 +85,32 @@ public class GroupSetupProverOrchestrator implements IProverOrchestrator {
 		GroupElement basetildeR_0 =
 				(GroupElement) proofStore.retrieve(gsProver.getProverURN(URNType.TILDEBASER0));
 
-		ctxList.add(String.valueOf(tildeZ));
-		ctxList.add(String.valueOf(basetildeR));
-		ctxList.add(String.valueOf(basetildeR_0));
+		challengeHash.update(tildeZ);
+		challengeHash.update(basetildeR);
+		challengeHash.update(basetildeR_0);
 
-		BigInteger tilder_i;
-		BigInteger tilder_j;
+		GroupElement tilder_i;
+		GroupElement tilder_j;
 		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
 
 		for (BaseRepresentation baseRepresentation : vertexIterator) {
 			tilder_i =
-					(BigInteger)
+					(GroupElement)
 					proofStore.retrieve(
 							gsProver.getProverURN(URNType.TILDEBASERI, baseRepresentation.getBaseIndex()));
-			ctxList.add(String.valueOf(tilder_i));
+			challengeHash.update(tilder_i);
 		}
 
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
 		for (BaseRepresentation baseRepresentation : edgeIterator) {
 			tilder_j =
-					(BigInteger)
+					(GroupElement)
 					proofStore.retrieve(
 							gsProver.getProverURN(URNType.TILDEBASERIJ, baseRepresentation.getBaseIndex()));
-			ctxList.add(String.valueOf(tilder_j));
+			challengeHash.update(tilder_j);
 		}
 
-		return ctxList;
+		return challengeHash;
 	}
 
 	public void executePostChallengePhase(BigInteger cChallenge) {
@@ -15,15 +15,14 @@ import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.BaseCollection;
 import uk.ac.ncl.cascade.zkpgs.util.BaseIterator;
-import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.verifier.GroupSetupVerifier;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -102,9 +101,8 @@ public class GroupSetupVerifierOrchestrator implements IVerifierOrchestrator {
 	@Override
 	public BigInteger computeChallenge() throws ProofStoreException {
 		gslog.info("compute challenge ");
-		List<String> ctxList = populateChallengeList();
 		try {
-			hatc = CryptoUtilsFacade.computeHash(ctxList, keyGenParameters.getL_H());
+			hatc = populateChallengeHash().digest();
 		} catch (NoSuchAlgorithmException e) {
 			gslog.log(Level.SEVERE, "Could not find the hash algorithm.", e);
 			return null;
@@ -112,9 +110,9 @@ public class GroupSetupVerifierOrchestrator implements IVerifierOrchestrator {
 		return hatc;
 	}
 
-	private List<String> populateChallengeList() {
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> ctxList = gsContext.computeChallengeContext();
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
 		String hatZURN = URNType.buildURNComponent(URNType.HATZ, GroupSetupVerifier.class);
 		GroupElement hatZ = hatValues.get(URN.createZkpgsURN(hatZURN));
@@ -125,16 +123,16 @@ public class GroupSetupVerifierOrchestrator implements IVerifierOrchestrator {
 		String hatR_0URN = URNType.buildURNComponent(URNType.HATBASER0, GroupSetupVerifier.class);
 		GroupElement hatR_0 = hatValues.get(URN.createZkpgsURN(hatR_0URN));
 
-		ctxList.add(String.valueOf(hatZ));
-		ctxList.add(String.valueOf(hatR));
-		ctxList.add(String.valueOf(hatR_0));
+		challengeHash.update(hatZ);
+		challengeHash.update(hatR);
+		challengeHash.update(hatR_0);
 
 		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
 		for (BaseRepresentation baseRepresentation : vertexIterator) {
 			String hatR_iURN =
 					URNType.buildURNComponent(
 							URNType.HATBASERI, GroupSetupVerifier.class, baseRepresentation.getBaseIndex());
-			ctxList.add(String.valueOf(hatValues.get(URN.createZkpgsURN(hatR_iURN))));
+			challengeHash.update(hatValues.get(URN.createZkpgsURN(hatR_iURN)));
 		}
 
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
@@ -142,10 +140,10 @@ public class GroupSetupVerifierOrchestrator implements IVerifierOrchestrator {
 			String hatR_i_jURN =
 					URNType.buildURNComponent(
 							URNType.HATBASERIJ, GroupSetupVerifier.class, baseRepresentation.getBaseIndex());
-			ctxList.add(String.valueOf(hatValues.get(URN.createZkpgsURN(hatR_i_jURN))));
+			challengeHash.update(hatValues.get(URN.createZkpgsURN(hatR_i_jURN)));
 		}
 
-		return ctxList;
+		return challengeHash;
 	}
 
 	@Override
@@ -0,0 +1,36 @@
+package uk.ac.ncl.cascade.zkpgs.orchestrator;
+
+import uk.ac.ncl.cascade.zkpgs.message.IMessagePartner;
+
+import java.io.IOException;
+
+/**
+ * An orchestrator realizing the ISignerOrchestrator drives the Signer's side of the issuing
+ * protocol with a single Recipient over the message gateway it was created with.
+ *
+ * <ol>
+ * <li>The init() function should be called first to set up the message gateway.</li>
+ * <li>round0() sends the Signer's nonce to the Recipient.</li>
+ * <li>round2() verifies the Recipient's commitment and returns the pre-signature.</li>
+ * <li>Finally, close() closes the message gateway.</li>
+ * </ol>
+ *
+ * <p>An orchestrator keeps the state of one issuing session and is not reused.
+ */
+public interface ISignerOrchestrator extends IMessagePartner {
+
+	/**
+	 * Sends the nonce n_1 to the Recipient.
+	 *
+	 * @throws IOException if the message cannot be sent
+	 */
+	void round0() throws IOException;
+
+	/**
+	 * Receives and verifies the Recipient's commitment and sends the pre-signature with its proof
+	 * of correctness.
+	 *
+	 * @throws Exception if the commitment cannot be verified or the pre-signature not be issued
+	 */
+	void round2() throws Exception;
+}
@@ -16,14 +16,17 @@ import uk.ac.ncl.cascade.zkpgs.prover.*;
 import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +35,15 @@ import java.util.logging.Logger;
  */
 public class ProverOrchestrator implements IProverOrchestrator {
 
+	private static final URNHandle C_I = URNHandle.forUnsafePrefix("proof.commitments.C_i_");
+	private static final URNHandle HATM_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_");
+	private static final URNHandle HATR_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatr_i_");
+	private static final URNHandle HATM_I_J = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_j_");
+	private static final URNHandle HATA_BARI_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.hata_Bari_Barj_");
+	private static final URNHandle HATB_BARI_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.hatb_Bari_Barj_");
+	private static final URNHandle HATR_BARI_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.hatr_Bari_Barj_");
+	private static final URNHandle C_BARI_C_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.C_Bari_C_Barj_");
+
 	private BaseCollection baseCollection;
 	private BigInteger n_3;
 	private GSSignature graphSignature;
@@ -44,7 +56,6 @@ public class ProverOrchestrator implements IProverOrchestrator {
 	private List<PairWiseCommitments> pairWiseCommList;
 	private Map<URN, GSCommitment> commitments;
 	private Map<URN, GroupElement> pairWiseWitnesses;
-	private List<String> challengeList = new ArrayList<String>();
 	private ProofStore<Object> proofStore;
 	private Logger gslog = GSLoggerConfiguration.getGSlog();
 	private PossessionProver possessionProver;
@@ -54,6 +65,8 @@ public class ProverOrchestrator implements IProverOrchestrator {
 	private Map<URN, GSCommitment> indexCommitments;
 	private GraphRepresentation graphRepresentation;
 	private Vector<Integer> proofIndexes;
+	private ExecutorService executor;
+	private PrecomputationPool precomputationPool;
 
 
 	public ProverOrchestrator(final ExtendedPublicKey extendedPublicKey, final IMessageGateway messageGateway) {
@@ -64,6 +77,33 @@ public class ProverOrchestrator implements IProverOrchestrator {
 		this.prover = new GSProver(extendedPublicKey, proofStore, messageGateway);
 	}
 
+	/**
+	 * Sets the executor on which the commitments and the pair-wise difference provers for the
+	 * queried vertices are computed concurrently. The number of pair-wise difference provers is
+	 * quadratic in the number of queried vertices.
+	 *
+	 * <p>Without an executor (the default), all component provers are run sequentially on the
+	 * calling thread. The orchestrator does not shut the executor down.
+	 *
+	 * @param executor the executor for the component provers, or null for sequential execution
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the pool from which the commitments and the PossessionProver take their randomness
+	 * together with the powers of the fixed bases, which the pool precomputes while the prover
+	 * is idle. A pool can be shared by all orchestrators of the same extended public key.
+	 *
+	 * <p>Without a pool (the default), all powers are computed in the online phase.
+	 *
+	 * @param precomputationPool the pool, or null to compute all powers in the online phase
+	 */
+	public void setPrecomputationPool(PrecomputationPool precomputationPool) {
+		this.precomputationPool = precomputationPool;
+	}
+
 	@Override
 	public void init() throws IOException {
 
@@ -115,7 +155,7 @@ public class ProverOrchestrator implements IProverOrchestrator {
 		Assert.notNull(n_3, "n_3 must not be null");
 
 		try {
-			prover.computeCommitments(baseCollection.createIterator(BASE.VERTEX));
+			prover.computeCommitments(baseCollection.createIterator(BASE.VERTEX), precomputationPool);
 		} catch (ProofStoreException e1) {
 			gslog.log(Level.SEVERE, "Commitments not computed correctly; values not found in the ProofStore.", e1.getMessage());
 			throw new IOException("Initialization failed. Commitments could not be computed.");
@@ -131,16 +171,23 @@ public class ProverOrchestrator implements IProverOrchestrator {
 
 	}
 
-	private void computePairWiseCommitments() {
-		Object[] proofIndArray = proofIndexes.toArray();
-		for (int i = 0; i < proofIndArray.length; i++) {
-			int first = (int) proofIndArray[i];
-			for (int j = i + 1; j < proofIndArray.length; j++) {
-				int second = (int) proofIndArray[j];
-				computeIndexesCommitments(first);
-				computeIndexesCommitments(second);
-//				gslog.info("(" + first + ", " + second + ')');
+	private void computePairWiseCommitments() throws IOException {
+		// Every queried vertex takes part in a pair if there are at least two of them.
+		// Its commitment is computed once, in the order of the query.
+		if (proofIndexes.size() < 2) return;
+
+		List<ComponentTasks.ComponentTask<Map.Entry<URN, GSCommitment>>> tasks =
+				new ArrayList<ComponentTasks.ComponentTask<Map.Entry<URN, GSCommitment>>>();
+		for (Integer queriedId : new LinkedHashSet<Integer>(proofIndexes)) {
+			tasks.add(() -> computeIndexesCommitments(queriedId));
+		}
+
+		try {
+			for (Map.Entry<URN, GSCommitment> entry : ComponentTasks.executeAll(executor, tasks)) {
+				indexCommitments.put(entry.getKey(), entry.getValue());
 			}
+		} catch (ProofStoreException e) {
+			throw new IOException("Initialization failed. Commitments could not be computed.", e);
 		}
 	}
 
@@ -169,21 +216,26 @@ public class ProverOrchestrator implements IProverOrchestrator {
 //		gslog.info("pairWiseCommList: " + pairWiseCommList.size());
 
 		pairWiseDifferenceProvers = new ArrayList<>();
+		List<ComponentTasks.ComponentTask<Void>> tasks = new ArrayList<ComponentTasks.ComponentTask<Void>>();
 		int pairWiseProverIndex = 0;
 		for (PairWiseCommitments pwCommitments : pairWiseCommList) {
 			PairWiseDifferenceProver pairWiseDifferenceProver = new PairWiseDifferenceProver(pwCommitments.getC_i(), pwCommitments.getC_j(), pairWiseProverIndex, extendedPublicKey, proofStore);
 			pairWiseDifferenceProvers.add(pairWiseDifferenceProver);
-
-			try {
+			tasks.add(() -> {
 				pairWiseDifferenceProver.executePrecomputation();
-			} catch (IllegalArgumentException ie) {
-				gslog.log(Level.SEVERE, "Messages are not co-prime. Bezout identity factors for "
-						+ "pair-wise difference proof cannot be established.", ie.getMessage());
-				sendErrorMessage(MessageError.PROOF_ERROR);
-				throw ie;
-			}
+				return null;
+			});
 			pairWiseProverIndex++;
 		}
+
+		try {
+			ComponentTasks.executeAll(executor, tasks);
+		} catch (IllegalArgumentException ie) {
+			gslog.log(Level.SEVERE, "Messages are not co-prime. Bezout identity factors for "
+					+ "pair-wise difference proof cannot be established.", ie.getMessage());
+			sendErrorMessage(MessageError.PROOF_ERROR);
+			throw ie;
+		}
 	}
 
 	private void sendErrorMessage(MessageError messageError) throws IOException {
@@ -192,7 +244,7 @@ public class ProverOrchestrator implements IProverOrchestrator {
 		prover.sendMessage(errorMsg);
 	}
 
-	private void computeIndexesCommitments(int queriedId) {
+	private Map.Entry<URN, GSCommitment> computeIndexesCommitments(int queriedId) {
 		GSVertex vertex = graphRepresentation.getVertexById(String.valueOf(queriedId));
 
 		// 2. Lookup base index of the vertex in this graph encoding
@@ -205,9 +257,19 @@ public class ProverOrchestrator implements IProverOrchestrator {
 		if (base == null) {
 			throw new IllegalArgumentException("base does not exist for corresponding index");
 		} else {
-			GSCommitment comm = GSCommitment.createCommitment(base.getExponent(), extendedPublicKey);
+			GSCommitment comm;
+			if (precomputationPool != null) {
+				PrecomputationPool.RandomizedPower blinding = precomputationPool.take(
+						extendedPublicKey.getPublicKey().getBaseS(),
+						keyGenParameters.getL_n() + keyGenParameters.getL_statzk(), true);
+				comm = GSCommitment.createCommitment(
+						base.getExponent(), blinding.getRandomness(), blinding.getPower(), extendedPublicKey);
+			} else {
+				comm = GSCommitment.createCommitment(base.getExponent(), extendedPublicKey);
+			}
 			/** TODO add safe URN for proof commitments */
-			indexCommitments.put(URN.createUnsafeZkpgsURN("proof.commitments.C_i_" + base.getBaseIndex()), comm);
+			return new AbstractMap.SimpleImmutableEntry<URN, GSCommitment>(
+					C_I.get(base.getBaseIndex()), comm);
 		}
 
 	}
@@ -283,11 +345,11 @@ public class ProverOrchestrator implements IProverOrchestrator {
 			baseIndex = vertexBase.getBaseIndex();
 			hatm_iURN = hatm_iPath + baseIndex;
 			proofSignatureElements.put(
-					URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + baseIndex),
+					HATM_I.get(baseIndex),
 					proofStore.retrieve(hatm_iURN));
 			hatr_iURN = hatr_iPath + baseIndex;
 			proofSignatureElements.put(
-					URN.createZkpgsURN("proofsignature.P_3.responses.hatr_i_" + baseIndex),
+					HATR_I.get(baseIndex),
 					proofStore.retrieve(hatr_iURN));
 		}
 
@@ -300,7 +362,7 @@ public class ProverOrchestrator implements IProverOrchestrator {
 			baseIndex = edgeBase.getBaseIndex();
 			hatm_i_jURN = hatm_i_jPath + baseIndex;
 			proofSignatureElements.put(
-					URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_j_" + baseIndex),
+					HATM_I_J.get(baseIndex),
 					proofStore.retrieve(hatm_i_jURN));
 
 //            String hatr_i_jURN = hatr_i_jPath + baseIndex;
@@ -314,12 +376,12 @@ public class ProverOrchestrator implements IProverOrchestrator {
 
 		for (PairWiseDifferenceProver pwDifferenceProver : pairWiseDifferenceProvers) {
 			int pwProverIndex = pwDifferenceProver.getIndex();
-			proofSignatureElements.put(URN.createUnsafeZkpgsURN("proofsignature.P_3.hata_Bari_Barj_" + pwProverIndex), pwDifferenceProver.getHata_BariBarj());
+			proofSignatureElements.put(HATA_BARI_BARJ.get(pwProverIndex), pwDifferenceProver.getHata_BariBarj());
 
-			proofSignatureElements.put(URN.createUnsafeZkpgsURN("proofsignature.P_3.hatb_Bari_Barj_" + pwProverIndex), pwDifferenceProver.getHatb_BariBarj());
+			proofSignatureElements.put(HATB_BARI_BARJ.get(pwProverIndex), pwDifferenceProver.getHatb_BariBarj());
 
-			proofSignatureElements.put(URN.createUnsafeZkpgsURN("proofsignature.P_3.hatr_Bari_Barj_" + pwProverIndex), pwDifferenceProver.getHatr_BariBarj());
-			proofSignatureElements.put(URN.createUnsafeZkpgsURN("proofsignature.P_3.C_Bari_C_Barj_" + pwProverIndex), pairWiseCommList.get(pwProverIndex));
+			proofSignatureElements.put(HATR_BARI_BARJ.get(pwProverIndex), pwDifferenceProver.getHatr_BariBarj());
+			proofSignatureElements.put(C_BARI_C_BARJ.get(pwProverIndex), pairWiseCommList.get(pwProverIndex));
 
 		}
 
@@ -328,10 +390,9 @@ public class ProverOrchestrator implements IProverOrchestrator {
 
 	@Override
 	public BigInteger computeChallenge() {
-		challengeList = populateChallengeList();
 		BigInteger c = null;
 		try {
-			c = CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+			c = populateChallengeHash().digest();
 		} catch (NoSuchAlgorithmException e) {
 			gslog.log(Level.SEVERE, "Fiat-Shamir challenge could not be computed.", e);
 		}
@@ -362,16 +423,19 @@ public class ProverOrchestrator implements IProverOrchestrator {
 			responses.putAll(response);
 		}
 
+		List<ComponentTasks.ComponentTask<Map<URN, BigInteger>>> tasks =
+				new ArrayList<ComponentTasks.ComponentTask<Map<URN, BigInteger>>>();
 		for (PairWiseDifferenceProver pwProver : pairWiseDifferenceProvers) {
+			tasks.add(() -> pwProver.executePostChallengePhase(cChallenge));
+		}
 
-			try {
-				response = pwProver.executePostChallengePhase(cChallenge);
-			} catch (ProofStoreException e) {
-				gslog.log(Level.SEVERE, "Could not access the ProofStore.", e);
-				return;
+		try {
+			for (Map<URN, BigInteger> pwResponse : ComponentTasks.executeAll(executor, tasks)) {
+				responses.putAll(pwResponse);
 			}
-
-			responses.putAll(response);
+		} catch (ProofStoreException e) {
+			gslog.log(Level.SEVERE, "Could not access the ProofStore.", e);
+			return;
 		}
 
 		ProofSignature P_3 = createProofSignature();
@@ -386,17 +450,18 @@ public class ProverOrchestrator implements IProverOrchestrator {
 		prover.sendMessage(new GSMessage(messageElements));
 	}
 
-	private List<String> populateChallengeList() {
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> contextList = gsContext.computeChallengeContext();
-		challengeList.addAll(contextList);
-		challengeList.add(String.valueOf(blindedGraphSignature.getA()));
-		challengeList.add(String.valueOf(extendedPublicKey.getPublicKey().getBaseZ().getValue()));
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
+
+		List<byte[]> challengeList = new ArrayList<byte[]>();
+		challengeList.add(ChallengeHash.encode(blindedGraphSignature.getA()));
+		challengeList.add(ChallengeHash.encode(extendedPublicKey.getPublicKey().getBaseZ()));
 		for (GSCommitment gsCommitment : commitments.values()) {
-			challengeList.add(String.valueOf(gsCommitment.getCommitmentValue()));
+			challengeList.add(ChallengeHash.encode(gsCommitment.getCommitmentValue()));
 		}
 
-		challengeList.add(String.valueOf(tildeZ));
+		challengeList.add(ChallengeHash.encode(tildeZ));
 
 		String tildeC_iURN;
 
@@ -404,31 +469,34 @@ public class ProverOrchestrator implements IProverOrchestrator {
 		for (BaseRepresentation vertex : vertexIterator) {
 			tildeC_iURN = "commitmentprover.commitments.tildeC_i_" + vertex.getBaseIndex();
 			GroupElement commitment = (GroupElement) proofStore.retrieve(tildeC_iURN);
-			challengeList.add(String.valueOf(commitment));
+			challengeList.add(ChallengeHash.encode(commitment));
 
 		}
 
 		for (GroupElement witness : pairWiseWitnesses.values()) {
-			challengeList.add(String.valueOf(witness));
+			challengeList.add(ChallengeHash.encode(witness));
 		}
 
-		challengeList.add(String.valueOf(n_3));
-		Collections.sort(challengeList);
-		return challengeList;
+		challengeList.add(ChallengeHash.encode(n_3));
+		return challengeHash.updateUnordered(challengeList);
 	}
 
 	private void computePairWiseProvers(List<PairWiseDifferenceProver> pairWiseDifferenceProvers) {
 		pairWiseWitnesses = new LinkedHashMap<URN, GroupElement>();
 
+		List<ComponentTasks.ComponentTask<Map<URN, GroupElement>>> tasks =
+				new ArrayList<ComponentTasks.ComponentTask<Map<URN, GroupElement>>>();
 		for (PairWiseDifferenceProver differenceProver : pairWiseDifferenceProvers) {
+			tasks.add(differenceProver::executeCompoundPreChallengePhase);
+		}
 
-			try {
-				pairWiseWitnesses.putAll(differenceProver.executeCompoundPreChallengePhase());
-			} catch (ProofStoreException e) {
-				gslog.log(Level.SEVERE, "Could not access the ProofStore.", e);
-				return;
+		try {
+			for (Map<URN, GroupElement> witnesses : ComponentTasks.executeAll(executor, tasks)) {
+				pairWiseWitnesses.putAll(witnesses);
 			}
-
+		} catch (ProofStoreException e) {
+			gslog.log(Level.SEVERE, "Could not access the ProofStore.", e);
+			return;
 		}
 	}
 
@@ -459,7 +527,8 @@ public class ProverOrchestrator implements IProverOrchestrator {
 	}
 
 	private void computeTildeZ() throws ProofStoreException {
-		possessionProver = new PossessionProver(blindedGraphSignature, extendedPublicKey, proofStore);
+		possessionProver = new PossessionProver(blindedGraphSignature, precomputationPool, extendedPublicKey, proofStore);
+		possessionProver.executePrecomputation();
 
 		Map<URN, GroupElement> tildeMap = possessionProver.executeCompoundPreChallengePhase();
 		tildeZ = tildeMap.get(URN.createZkpgsURN(possessionProver.getProverURN(URNType.TILDEZ)));
@@ -29,13 +29,12 @@ import uk.ac.ncl.cascade.zkpgs.util.BaseIterator;
 import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.FilePersistenceUtil;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -60,7 +59,6 @@ public class RecipientOrchestrator implements IMessagePartner {
 	private BaseCollection signedBases;
 	private BigInteger recipientMSK;
 	private GroupElement tildeU;
-	private List<String> challengeList;
 	private BigInteger cChallenge;
 	private BigInteger cPrime;
 	private Map<URN, BigInteger> responses;
@@ -242,22 +240,18 @@ public class RecipientOrchestrator implements IMessagePartner {
 
 
 	public BigInteger computeChallenge() throws NoSuchAlgorithmException {
-		challengeList = populateChallengeList();
-		return CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+		return populateChallengeHash().digest();
 	}
 
-	private List<String> populateChallengeList() {
-		challengeList = new ArrayList<>();
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> contextList = gsContext.computeChallengeContext();
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
-		challengeList.addAll(contextList);
+		challengeHash.update(U.getCommitmentValue());
+		challengeHash.update(tildeU);
+		challengeHash.update(n_1);
 
-		challengeList.add(String.valueOf(U.getCommitmentValue()));
-		challengeList.add(String.valueOf(tildeU));
-		challengeList.add(String.valueOf(n_1));
-
-		return challengeList;
+		return challengeHash;
 	}
 
 	private void encodeR_0(BaseCollection targetCollection) {
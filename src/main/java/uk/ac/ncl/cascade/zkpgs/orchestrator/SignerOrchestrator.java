@@ -20,7 +20,6 @@ import uk.ac.ncl.cascade.zkpgs.keys.ExtendedPublicKey;
 import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
 import uk.ac.ncl.cascade.zkpgs.message.GSMessage;
 import uk.ac.ncl.cascade.zkpgs.message.IMessageGateway;
-import uk.ac.ncl.cascade.zkpgs.message.IMessagePartner;
 import uk.ac.ncl.cascade.zkpgs.parameters.GraphEncodingParameters;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
@@ -30,22 +29,21 @@ import uk.ac.ncl.cascade.zkpgs.signer.GSSigner;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.verifier.IssuingCommitmentVerifier;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 /**
  * Signing orchestrator
  */
-public class SignerOrchestrator implements IMessagePartner {
+public class SignerOrchestrator implements ISignerOrchestrator {
 
 	private final ExtendedKeyPair extendedKeyPair;
 	private final ProofStore<Object> proofStore;
@@ -65,7 +63,6 @@ public class SignerOrchestrator implements IMessagePartner {
 	private BigInteger hatm_0;
 	private Map<URN, BigInteger> responses;
 	private GroupElement hatU;
-	private List<String> challengeList;
 	private BigInteger hatc;
 
 	private GSGraph<GSVertex, GSEdge> gsGraph;
@@ -76,7 +73,6 @@ public class SignerOrchestrator implements IMessagePartner {
 	private Graph<GSVertex, GSEdge> graph;
 	private Logger gslog = GSLoggerConfiguration.getGSlog();
 
-	private List<String> contextList;
 	private final String graphFilename;
 
 	/**
@@ -280,6 +276,7 @@ public class SignerOrchestrator implements IMessagePartner {
 		signer.init();
 	}
 
+	@Override
 	public void round0() throws IOException {
 		n_1 = signer.computeNonce();
 		messageElements = new HashMap<URN, Object>();
@@ -288,6 +285,7 @@ public class SignerOrchestrator implements IMessagePartner {
 		signer.sendMessage(new GSMessage(messageElements));
 	}
 
+	@Override
 	public void round2() throws ImportException, IOException, ProofStoreException, NoSuchAlgorithmException, VerificationException, EncodingException {
 		GraphRepresentation sigmaGraph = encodeSignerGraph();
 
@@ -378,8 +376,7 @@ public class SignerOrchestrator implements IMessagePartner {
 	 * @throws NoSuchAlgorithmException if the requested hash algorithm is not found
 	 */
 	public BigInteger computeChallenge() throws NoSuchAlgorithmException {
-		challengeList = populateChallengeList();
-		return CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+		return populateChallengeHash().digest();
 	}
 
 	private GSCommitment extractMessageElements(GSMessage msg, SignatureData signatureData) throws ProofStoreException {
@@ -525,23 +522,20 @@ public class SignerOrchestrator implements IMessagePartner {
 		signer.close();
 	}
 
-	private List<String> populateChallengeList() {
-		challengeList = new ArrayList<String>();
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext =
 				new GSContext(
 						extendedKeyPair.getExtendedPublicKey());
-		contextList = gsContext.computeChallengeContext();
-
-		challengeList.addAll(contextList);
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
 		String uCommitmentURN = "recipient.U";
 		GSCommitment U = (GSCommitment) proofStore.retrieve(uCommitmentURN);
 		GroupElement commitmentU = U.getCommitmentValue();
 
-		challengeList.add(String.valueOf(commitmentU));
-		challengeList.add(String.valueOf(hatU));
-		challengeList.add(String.valueOf(n_1));
+		challengeHash.update(commitmentU);
+		challengeHash.update(hatU);
+		challengeHash.update(n_1);
 
-		return challengeList;
+		return challengeHash;
 	}
 }
@@ -3,9 +3,7 @@ package uk.ac.ncl.cascade.zkpgs.orchestrator;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -21,8 +19,8 @@ import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
-import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 public class SigningQProverOrchestrator implements IProverOrchestrator {
@@ -39,7 +37,6 @@ public class SigningQProverOrchestrator implements IProverOrchestrator {
 
 	private BigInteger cPrime;
 
-	private List<String> challengeList;
 
 	private BigInteger hatd;
 
@@ -84,8 +81,7 @@ public class SigningQProverOrchestrator implements IProverOrchestrator {
 
 	@Override
 	public BigInteger computeChallenge() throws ProofStoreException, NoSuchAlgorithmException {
-		challengeList = populateChallengeList();
-		cPrime = CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+		cPrime = populateChallengeHash().digest();
 		return cPrime;
 	}
 
@@ -101,22 +97,20 @@ public class SigningQProverOrchestrator implements IProverOrchestrator {
 	}
 
 
-	private List<String> populateChallengeList() {
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		Assert.notNull(gsSignature.getA(), "Pre-signature value A has been found to be null.");
 		Assert.notNull(tildeA, "Pre-signature verifier witness hatA has been found to be null.");
 		Assert.notNull(nonce, "Pre-signature nonce n_2 has been found to be null.");
 
-		List<String> ctxList = new ArrayList<String>();
-
 		GSContext gsContext = new GSContext(epk);
-		gsContext.addToChallengeContext(ctxList);
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
-		ctxList.add(String.valueOf(gsSignature.getA().modPow(gsSignature.getE())));
-		ctxList.add(String.valueOf(gsSignature.getA()));
-		ctxList.add(String.valueOf(tildeA));
-		ctxList.add(String.valueOf(nonce));
+		challengeHash.update(gsSignature.getA().modPow(gsSignature.getE()));
+		challengeHash.update(gsSignature.getA());
+		challengeHash.update(tildeA);
+		challengeHash.update(nonce);
 
-		return ctxList;
+		return challengeHash;
 	}
 
 	@Override
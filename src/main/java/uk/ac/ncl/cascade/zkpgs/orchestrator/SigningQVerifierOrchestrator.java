@@ -8,16 +8,14 @@ import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
 import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
-import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.verifier.SigningQCorrectnessVerifier;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -94,30 +92,26 @@ public class SigningQVerifierOrchestrator implements IVerifierOrchestrator {
 
 	@Override
 	public BigInteger computeChallenge() throws NoSuchAlgorithmException {
-		List<String> ctxList = populateChallengeList();
-
-		hatc = CryptoUtilsFacade.computeHash(ctxList, keyGenParameters.getL_H());
+		hatc = populateChallengeHash().digest();
 
 		return hatc;
 	}
 
-	private List<String> populateChallengeList() {
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		Assert.notNull(Q, "Pre-signature value Q has been found to be null.");
 		Assert.notNull(A, "Pre-signature value A has been found to be null.");
 		Assert.notNull(hatA, "Pre-signature verifier witness hatA has been found to be null.");
 		Assert.notNull(n_2, "Pre-signature nonce n_2 has been found to be null.");
 
-		List<String> ctxList = new ArrayList<String>();
-
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		gsContext.addToChallengeContext(ctxList);
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
 
-		ctxList.add(String.valueOf(Q));
-		ctxList.add(String.valueOf(A));
-		ctxList.add(String.valueOf(hatA));
-		ctxList.add(String.valueOf(n_2));
+		challengeHash.update(Q);
+		challengeHash.update(A);
+		challengeHash.update(hatA);
+		challengeHash.update(n_2);
 
-		return ctxList;
+		return challengeHash;
 	}
 
 	@Override
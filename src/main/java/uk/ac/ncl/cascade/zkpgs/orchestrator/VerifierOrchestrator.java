@@ -14,8 +14,10 @@ import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.*;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 import uk.ac.ncl.cascade.zkpgs.verifier.CommitmentVerifier;
 import uk.ac.ncl.cascade.zkpgs.verifier.GSVerifier;
@@ -27,12 +29,21 @@ import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /** */
 public class VerifierOrchestrator implements IVerifierOrchestrator {
 
+	private static final URNHandle HATM_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_");
+	private static final URNHandle HATR_I = URNHandle.forPrefix("proofsignature.P_3.responses.hatr_i_");
+	private static final URNHandle HATM_I_J = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_j_");
+	private static final URNHandle HATA_BARI_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.hata_Bari_Barj_");
+	private static final URNHandle HATB_BARI_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.hatb_Bari_Barj_");
+	private static final URNHandle HATR_BARI_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.hatr_Bari_Barj_");
+	private static final URNHandle C_BARI_C_BARJ = URNHandle.forUnsafePrefix("proofsignature.P_3.C_Bari_C_Barj_");
+
 	private final IMessageGateway messageGateway;
 	private ProofSignature P_3;
 	private final GSVerifier verifier;
@@ -48,7 +59,6 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 	private BigInteger hatvPrime;
 	private BigInteger hatm_0;
 	private BigInteger n_3;
-	private List<String> challengeList;
 	private GroupElement hatZ;
 	private BigInteger hatc;
 	private BaseCollection baseCollection;
@@ -56,6 +66,7 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 	private ProofRequest proofRequest;
 	private GroupElement hatR_Bari_Barj;
 	private int numberOfPairWisePairs;
+	private ExecutorService executor;
 
 	public VerifierOrchestrator(
 			final ExtendedPublicKey extendedPublicKey, IMessageGateway messageGateway) {
@@ -66,6 +77,17 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 		this.verifier = new GSVerifier(extendedPublicKey, messageGateway);
 	}
 
+	/**
+	 * Sets the executor on which the pair-wise difference verifiers are run concurrently.
+	 * Without an executor (the default), they are run sequentially on the calling thread.
+	 * The orchestrator does not shut the executor down.
+	 *
+	 * @param executor the executor for the pair-wise difference verifiers, or null for sequential execution
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
 	public void createQuery(Vector<Integer> vertexQueries) {
 		this.vertexQueries = vertexQueries;
 		this.proofRequest = new ProofRequest(ProofType.GEOLOCATION_SEPARATION, vertexQueries);
@@ -185,14 +207,14 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 			hatm_i =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + baseIndex));
+									HATM_I.get(baseIndex));
 
 			proofStore.store(hatm_iURN, hatm_i);
 			hatr_iURN = hatr_iPath + baseIndex;
 			hatr_i =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatr_i_" + baseIndex));
+									HATR_I.get(baseIndex));
 			proofStore.store(hatr_iURN, hatr_i);
 		}
 
@@ -207,7 +229,7 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 			hatm_i_j =
 					(BigInteger)
 							proofSignatureElements.get(
-									URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_j_" + baseIndex));
+									HATM_I_J.get(baseIndex));
 
 			proofStore.store(hatm_i_jURN, hatm_i_j);
 //            String hatr_i_jURN = hatr_i_jPath + baseIndex;
@@ -220,15 +242,15 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 
 
 		for (int pwProverIndex = 0; pwProverIndex < numberOfPairWisePairs; pwProverIndex++) {
-			BigInteger hata_Bari_Barj = (BigInteger) proofSignatureElements.get(URN.createUnsafeZkpgsURN("proofsignature.P_3.hata_Bari_Barj_" + pwProverIndex));
+			BigInteger hata_Bari_Barj = (BigInteger) proofSignatureElements.get(HATA_BARI_BARJ.get(pwProverIndex));
 			proofStore.store("pairwisedifferenceverifier.responses.hata_BariBarj_" + pwProverIndex, hata_Bari_Barj);
 
-			BigInteger hatb_Bari_Barj = (BigInteger) proofSignatureElements.get(URN.createUnsafeZkpgsURN("proofsignature.P_3.hatb_Bari_Barj_" + pwProverIndex));
+			BigInteger hatb_Bari_Barj = (BigInteger) proofSignatureElements.get(HATB_BARI_BARJ.get(pwProverIndex));
 			proofStore.store("pairwisedifferenceverifier.responses.hatb_BariBarj_" + pwProverIndex, hatb_Bari_Barj);
 
-			BigInteger hatr_Bari_Barj = (BigInteger) proofSignatureElements.get(URN.createUnsafeZkpgsURN("proofsignature.P_3.hatr_Bari_Barj_" + pwProverIndex));
+			BigInteger hatr_Bari_Barj = (BigInteger) proofSignatureElements.get(HATR_BARI_BARJ.get(pwProverIndex));
 			proofStore.store("pairwisedifferenceverifier.responses.hatr_BariBarj_" + pwProverIndex, hatr_Bari_Barj);
-			PairWiseCommitments pairWiseCommitments = (PairWiseCommitments) proofSignatureElements.get(URN.createUnsafeZkpgsURN("proofsignature.P_3.C_Bari_C_Barj_" + pwProverIndex));
+			PairWiseCommitments pairWiseCommitments = (PairWiseCommitments) proofSignatureElements.get(C_BARI_C_BARJ.get(pwProverIndex));
 
 			/** TODO add safe URN */
 			proofStore.storeUnsafe("pairwiseprover.C_Bari_C_Barj_" + pwProverIndex, pairWiseCommitments);
@@ -247,8 +269,6 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 	}
 
 	private void computePairWiseVerifiers() {
-		PairWiseDifferenceVerifier pairWiseDifferenceVerifier;
-
 		/** TODO use safe URNs */
 //		int pwProverIndex = 0;
 //        BigInteger hata_Bari_Barj = (BigInteger) proofStore.retrieve("pairwiseprover.responses.hata_Bari_Barj_" + pwProverIndex);
@@ -258,17 +278,23 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 //        BigInteger hatr_Bari_Barj = (BigInteger) proofStore.retrieve("pairwiseprover.responses.hatr_Bari_Barj_" + pwProverIndex);
 
 
+		List<ComponentTasks.ComponentTask<GroupElement>> tasks = new ArrayList<ComponentTasks.ComponentTask<GroupElement>>();
 		for (int pwProverIndex = 0; pwProverIndex < numberOfPairWisePairs; pwProverIndex++) {
 			PairWiseCommitments pairWiseCommitments = (PairWiseCommitments) proofStore.retrieveUnsafe("pairwiseprover.C_Bari_C_Barj_" + pwProverIndex);
 
-			pairWiseDifferenceVerifier = new PairWiseDifferenceVerifier(pairWiseCommitments.getC_i(), pairWiseCommitments.getC_j(), pwProverIndex, extendedPublicKey, proofStore);
+			PairWiseDifferenceVerifier pairWiseDifferenceVerifier = new PairWiseDifferenceVerifier(pairWiseCommitments.getC_i(), pairWiseCommitments.getC_j(), pwProverIndex, extendedPublicKey, proofStore);
+			tasks.add(() -> pairWiseDifferenceVerifier.executeVerification(cChallenge));
+		}
 
-			hatR_Bari_Barj = null;
-			try {
-				hatR_Bari_Barj = pairWiseDifferenceVerifier.executeVerification(cChallenge);
-			} catch (ProofStoreException e) {
-				gslog.log(Level.SEVERE, "Could not save in ProofStore", e.getMessage());
-			}
+		List<GroupElement> hatRs = null;
+		try {
+			hatRs = ComponentTasks.executeAll(executor, tasks);
+		} catch (ProofStoreException e) {
+			gslog.log(Level.SEVERE, "Could not save in ProofStore", e.getMessage());
+		}
+
+		for (int pwProverIndex = 0; pwProverIndex < numberOfPairWisePairs; pwProverIndex++) {
+			hatR_Bari_Barj = (hatRs == null) ? null : hatRs.get(pwProverIndex);
 			String hatR_i_jURN = "pairwisedifferenceverifier.witnesses.hatR_BariBarj_" + pwProverIndex;
 			try {
 				/** TODO use safe URN */
@@ -282,9 +308,8 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 
 	@Override
 	public BigInteger computeChallenge() {
-		challengeList = populateChallengeList();
 		try {
-			hatc = CryptoUtilsFacade.computeHash(challengeList, keyGenParameters.getL_H());
+			hatc = populateChallengeHash().digest();
 		} catch (NoSuchAlgorithmException e) {
 			gslog.log(Level.SEVERE, "Could not find the hash algorithm.", e);
 		}
@@ -297,20 +322,19 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 		}
 	}
 
-	private List<String> populateChallengeList() {
-		challengeList = new ArrayList<>();
-
+	private ChallengeHash populateChallengeHash() throws NoSuchAlgorithmException {
 		GSContext gsContext = new GSContext(extendedPublicKey);
-		List<String> contextList = gsContext.computeChallengeContext();
-		challengeList.addAll(contextList);
-		challengeList.add(String.valueOf(aPrime));
-		challengeList.add(String.valueOf(extendedPublicKey.getPublicKey().getBaseZ().getValue()));
+		ChallengeHash challengeHash = gsContext.createChallengeHash(keyGenParameters.getL_H());
+
+		List<byte[]> challengeList = new ArrayList<byte[]>();
+		challengeList.add(ChallengeHash.encode(aPrime));
+		challengeList.add(ChallengeHash.encode(extendedPublicKey.getPublicKey().getBaseZ()));
 
 		for (GSCommitment gsCommitment : C_i.values()) {
-			challengeList.add(String.valueOf(gsCommitment.getCommitmentValue()));
+			challengeList.add(ChallengeHash.encode(gsCommitment.getCommitmentValue()));
 		}
 
-		challengeList.add(String.valueOf(hatZ));
+		challengeList.add(ChallengeHash.encode(hatZ));
 
 		GroupElement commitment;
 		String hatC_iURN;
@@ -319,20 +343,19 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 		for (BaseRepresentation vertex : vertexIterator) {
 			hatC_iURN = "commitmentverifier.commitments.hatC_i_" + vertex.getBaseIndex();
 			commitment = (GroupElement) proofStore.retrieve(hatC_iURN);
-			challengeList.add(String.valueOf(commitment));
+			challengeList.add(ChallengeHash.encode(commitment));
 
 		}
 
 		for (int pwProverIndex = 0; pwProverIndex < numberOfPairWisePairs; pwProverIndex++) {
 			String hatR_i_jURN = "pairwisedifferenceverifier.witnesses.hatR_BariBarj_" + pwProverIndex;
 			hatR_Bari_Barj = (GroupElement) proofStore.retrieveUnsafe(hatR_i_jURN);
-			challengeList.add(String.valueOf(hatR_Bari_Barj));
+			challengeList.add(ChallengeHash.encode(hatR_Bari_Barj));
 		}
 
 
-		challengeList.add(String.valueOf(n_3));
-		Collections.sort(challengeList);
-		return challengeList;
+		challengeList.add(ChallengeHash.encode(n_3));
+		return challengeHash.updateUnordered(challengeList);
 	}
 
 	private void computeCommitmentVerifiers() throws VerificationException, ProofStoreException {
@@ -405,6 +428,8 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 			return false;
 		}
 
+		invertChallengeBases();
+
 		PossessionVerifier possessionVerifier = new PossessionVerifier(baseCollection, extendedPublicKey, proofStore);
 
 		try {
@@ -433,6 +458,25 @@ public class VerifierOrchestrator implements IVerifierOrchestrator {
 
 	}
 
+	/**
+	 * Inverts the bases which the sub-verifiers raise to the negated challenge, that is,
+	 * base Z, the commitments and base R, with a single modular inversion. The inverses are recorded on the
+	 * elements, such that the sub-verifiers do not invert them again.
+	 */
+	private void invertChallengeBases() {
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		bases.add(extendedPublicKey.getPublicKey().getBaseZ());
+		if (numberOfPairWisePairs > 0) {
+			bases.add(extendedPublicKey.getPublicKey().getBaseR());
+		}
+		if (C_i != null) {
+			for (GSCommitment commitment : C_i.values()) {
+				bases.add(commitment.getCommitmentValue());
+			}
+		}
+		extendedPublicKey.getPublicKey().getGroup().batchModInverse(bases);
+	}
+
 	private BaseCollection constructBaseCollection(Map<URN, Object> proofSignatureElements) {
 		BaseCollection collection = new BaseCollectionImpl();
 
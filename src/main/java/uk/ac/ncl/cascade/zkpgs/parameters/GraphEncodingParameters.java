@@ -8,6 +8,7 @@ import java.util.List;
 import uk.ac.ncl.cascade.zkpgs.context.IContextProducer;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.NumberConstants;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 
 /** 
  * Representation of the graph encoding parameters.
@@ -145,6 +146,15 @@ public class GraphEncodingParameters implements Serializable, IContextProducer {
 		ctxList.add(String.valueOf(this.getL_L()));
 		ctxList.add(String.valueOf(this.getlPrime_L()));
 	}
+
+	@Override
+	public void addToChallengeHash(ChallengeHash hash) {
+		hash.update(this.getL_V());
+		hash.update(this.getlPrime_V());
+		hash.update(this.getL_E());
+		hash.update(this.getL_L());
+		hash.update(this.getlPrime_L());
+	}
 	
 	/**
 	 * Returns the least prime representative a label can assume.
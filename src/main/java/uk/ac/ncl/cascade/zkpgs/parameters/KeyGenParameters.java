@@ -3,6 +3,7 @@ package uk.ac.ncl.cascade.zkpgs.parameters;
 import uk.ac.ncl.cascade.zkpgs.context.IContextProducer;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.NumberConstants;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 
 import java.io.Serializable;
 import java.math.BigInteger;
@@ -239,4 +240,20 @@ public class KeyGenParameters implements Serializable, IContextProducer {
 		ctxList.add(String.valueOf(this.getL_r()));
 		ctxList.add(String.valueOf(this.getL_pt()));
 	}
+
+	@Override
+	public void addToChallengeHash(ChallengeHash hash) {
+		hash.update(this.getL_n());
+		hash.update(this.getL_gamma());
+		hash.update(this.getL_rho());
+		hash.update(this.getL_m());
+		hash.update(this.getL_res());
+		hash.update(this.getL_e());
+		hash.update(this.getL_prime_e());
+		hash.update(this.getL_v());
+		hash.update(this.getL_statzk());
+		hash.update(this.getL_H());
+		hash.update(this.getL_r());
+		hash.update(this.getL_pt());
+	}
 }
@@ -1,7 +1,10 @@
 package uk.ac.ncl.cascade.zkpgs.prover;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import uk.ac.ncl.cascade.zkpgs.BaseRepresentation;
@@ -98,21 +101,31 @@ public abstract class AbstractCommitmentProver implements IProver {
 	 * to the ProofStore.
 	 */
 	private void computeWitnessRandomness() throws ProofStoreException {
-		// Establishing the witness randomness for the commitment randomness.
-		BigInteger tildeRandomness = CryptoUtilsFacade.computeRandomNumberMinusPlus(getTildeRandomnessBitlength());
-		proofStore.save(getTildeRandomnessURN(), tildeRandomness);
-
-		// Establishing the witness randomness for all message exponents.
-		// We are addressing VERTEX, EDGE and MSK in turn.
+		// The witness randomness for the commitment randomness and the message exponents
+		// is drawn in a single batch.
+		List<BaseRepresentation> messageBases = new ArrayList<BaseRepresentation>();
 		if (!isProvingEquality()) {
 			BaseIterator baseIterator = baseCollection.createIterator(BASE.ALL);
 			for (BaseRepresentation base : baseIterator) {
 				if (base.getBaseType().equals(BASE.BASES)) continue; // Treating randomness base separately
-
-				BigInteger tilde_m = CryptoUtilsFacade.computeRandomNumberMinusPlus(getTildeMessageBitlength());
-				proofStore.save(getURNbyBaseType(base, URNClass.TILDE), tilde_m);
+				messageBases.add(base);
 			}
 		}
+		int[] bitLengths = new int[1 + messageBases.size()];
+		Arrays.fill(bitLengths, getTildeMessageBitlength());
+		bitLengths[0] = getTildeRandomnessBitlength();
+		BigInteger[] randomness = CryptoUtilsFacade.computeRandomNumbersMinusPlus(bitLengths);
+
+		// Establishing the witness randomness for the commitment randomness.
+		BigInteger tildeRandomness = randomness[0];
+		proofStore.save(getTildeRandomnessURN(), tildeRandomness);
+
+		// Establishing the witness randomness for all message exponents.
+		// We are addressing VERTEX, EDGE and MSK in turn.
+		for (int i = 0; i < messageBases.size(); i++) {
+			BigInteger tilde_m = randomness[1 + i];
+			proofStore.save(getURNbyBaseType(messageBases.get(i), URNClass.TILDE), tilde_m);
+		}
 	}
 
 
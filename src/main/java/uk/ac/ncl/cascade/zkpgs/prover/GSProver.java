@@ -12,7 +12,6 @@ import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.util.BaseIterator;
-import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
@@ -33,7 +32,6 @@ public class GSProver implements IMessagePartner {
 	private final KeyGenParameters keyGenParameters;
 	private Map<URN, GSCommitment> commitmentMap;
 	private GSSignature blindedSignature;
-	private BigInteger r_i;
 	private Logger gslog = GSLoggerConfiguration.getGSlog();
 	private final IMessageGateway messageGateway;
 
@@ -58,17 +56,32 @@ public class GSProver implements IMessagePartner {
 	}
 
 	public void computeCommitments(BaseIterator vertexRepresentations) throws ProofStoreException {
+		computeCommitments(vertexRepresentations, null);
+	}
+
+	/**
+	 * Computes the commitments C_i = R^m_i * S^r_i of the vertices, taking the blinding
+	 * randomness r_i together with S^r_i from a PrecomputationPool if one is given.
+	 *
+	 * @param vertexRepresentations the vertices to commit to
+	 * @param pool the PrecomputationPool, or null to compute the blinding on the fly
+	 * @throws ProofStoreException if the commitments could not be stored
+	 */
+	public void computeCommitments(BaseIterator vertexRepresentations, PrecomputationPool pool)
+			throws ProofStoreException {
 		GSCommitment commitment;
 
 		this.commitmentMap = new HashMap<URN, GSCommitment>();
+		int blindingLength = keyGenParameters.getL_n() + keyGenParameters.getL_statzk();
 
 		for (BaseRepresentation vertexRepresentation : vertexRepresentations) {
-			/** TODO check length of randomness r */
-			r_i = CryptoUtilsFacade.computeRandomNumberMinusPlus(keyGenParameters.getL_n());
 			BigInteger m_i = vertexRepresentation.getExponent();
-			GroupElement C_i = baseR.modPow(m_i).multiply(baseS.modPow(r_i));
-			commitment = GSCommitment.createCommitment(m_i, extendedPublicKey);
-//      commitment.setCommitmentValue(C_i);
+			if (pool != null) {
+				PrecomputationPool.RandomizedPower r_i = pool.take(baseS, blindingLength, true);
+				commitment = GSCommitment.createCommitment(m_i, r_i.getRandomness(), r_i.getPower(), extendedPublicKey);
+			} else {
+				commitment = GSCommitment.createCommitment(m_i, extendedPublicKey);
+			}
 			String commitmentURN = "prover.commitments.C_i_" + vertexRepresentation.getBaseIndex();
 			commitmentMap.put(
 					URN.createURN(URN.getZkpgsNameSpaceIdentifier(), commitmentURN), commitment);
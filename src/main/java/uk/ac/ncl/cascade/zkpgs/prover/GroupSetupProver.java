@@ -8,6 +8,7 @@ import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.store.URNHandle;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.BaseCollection;
@@ -16,7 +17,9 @@ import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +29,9 @@ public class GroupSetupProver implements IProver {
 
 	public static final String URNID = "groupsetupprover";
 
+	private static final URNHandle R_I = URNHandle.forPrefix("proofsignature.P.bases.R_i_");
+	private static final URNHandle R_I_J = URNHandle.forPrefix("proofsignature.P.bases.R_i_j_");
+
 	private final ExtendedKeyPair extendedKeyPair;
 	private BigInteger tilder_Z;
 	private BigInteger tilder;
@@ -92,10 +98,24 @@ public class GroupSetupProver implements IProver {
 
 	private void createWitnessRandomness() throws ProofStoreException {
 		int bitLength = computeBitlength();
-		tilder_Z = CryptoUtilsFacade.computeRandomNumberMinusPlus(bitLength);
+		// The witnesses tilder_Z, tilder, tilder_0 and those of all vertex and edge bases
+		// are drawn in a single batch.
+		int witnessCount = 3;
+		for (BaseRepresentation baseRepresentation : baseCollection.createIterator(BASE.VERTEX)) {
+			witnessCount++;
+		}
+		for (BaseRepresentation baseRepresentation : baseCollection.createIterator(BASE.EDGE)) {
+			witnessCount++;
+		}
+		int[] bitLengths = new int[witnessCount];
+		Arrays.fill(bitLengths, bitLength);
+		Iterator<BigInteger> randomness =
+				Arrays.asList(CryptoUtilsFacade.computeRandomNumbersMinusPlus(bitLengths)).iterator();
+
+		tilder_Z = randomness.next();
 
-		tilder = CryptoUtilsFacade.computeRandomNumberMinusPlus(bitLength);
-		tilder_0 = CryptoUtilsFacade.computeRandomNumberMinusPlus(bitLength);
+		tilder = randomness.next();
+		tilder_0 = randomness.next();
 
 		proofStore.store(getProverURN(URNType.TILDER), tilder);
 
@@ -108,14 +128,14 @@ public class GroupSetupProver implements IProver {
 
 		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
 		for (BaseRepresentation baseRepresentation : vertexIterator) {
-			vWitnessRandomness = CryptoUtilsFacade.computeRandomNumberMinusPlus(bitLength);
+			vWitnessRandomness = randomness.next();
 			proofStore.store(
 					getProverURN(URNType.TILDERI, baseRepresentation.getBaseIndex()), vWitnessRandomness);
 		}
 
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
 		for (BaseRepresentation baseRepresentation : edgeIterator) {
-			eWitnessRandomness = CryptoUtilsFacade.computeRandomNumberMinusPlus(bitLength);
+			eWitnessRandomness = randomness.next();
 			proofStore.store(
 					getProverURN(URNType.TILDERIJ, baseRepresentation.getBaseIndex()), eWitnessRandomness);
 		}
@@ -271,14 +291,14 @@ public class GroupSetupProver implements IProver {
 		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
 		for (BaseRepresentation baseRepresentation : vertexIterator) {
 			proofSignatureElements.put(
-					URN.createZkpgsURN("proofsignature.P.bases.R_i_" + baseRepresentation.getBaseIndex()),
+					R_I.get(baseRepresentation.getBaseIndex()),
 					baseRepresentation);
 		}
 
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
 		for (BaseRepresentation baseRepresentation : edgeIterator) {
 			proofSignatureElements.put(
-					URN.createZkpgsURN("proofsignature.P.bases.R_i_j_" + baseRepresentation.getBaseIndex()),
+					R_I_J.get(baseRepresentation.getBaseIndex()),
 					baseRepresentation);
 		}
 
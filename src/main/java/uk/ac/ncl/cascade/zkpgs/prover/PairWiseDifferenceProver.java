@@ -285,9 +285,10 @@ public class PairWiseDifferenceProver implements IProver {
 				+ keyGenParameters.getL_m() 									// max size of a Bezout coefficient for a commitment message
 				+ keyGenParameters.getProofOffset();							// offset introduced by the challenge and response computation
 
-		tildea_BariBarj = CryptoUtilsFacade.computeRandomNumber(l_tildeab);
-		tildeb_BariBarj = CryptoUtilsFacade.computeRandomNumber(l_tildeab);
-		tilder_BariBarj = CryptoUtilsFacade.computeRandomNumber(l_tilder);
+		BigInteger[] randomness = CryptoUtilsFacade.computeRandomNumbers(l_tildeab, l_tildeab, l_tilder);
+		tildea_BariBarj = randomness[0];
+		tildeb_BariBarj = randomness[1];
+		tilder_BariBarj = randomness[2];
 
 		storeWitnessRandomness();
 	}
@@ -43,6 +43,13 @@ public class PossessionProver implements IProver {
 	private BigInteger cChallenge;
 
 	private final BaseCollection baseCollection;
+	private final PrecomputationPool precomputationPool;
+	private PrecomputationPool.RandomizedPower precomputedvPrime;
+	private PrecomputationPool.RandomizedPower precomputedm_0;
+	private final Map<Integer, PrecomputationPool.RandomizedPower> precomputedVertices =
+			new HashMap<Integer, PrecomputationPool.RandomizedPower>();
+	private final Map<Integer, PrecomputationPool.RandomizedPower> precomputedEdges =
+			new HashMap<Integer, PrecomputationPool.RandomizedPower>();
 
 	private final GroupElement baseS;
 	private final GroupElement baseR_0;
@@ -70,6 +77,25 @@ public class PossessionProver implements IProver {
 			final GSSignature blindedSignature,
 			final ExtendedPublicKey epk,
 			final ProofStore<Object> ps) {
+		this(blindedSignature, null, epk, ps);
+	}
+
+	/**
+	 * Constructs a new PossessionProver for a given GSSignature, which takes the witness
+	 * randomness for the fixed bases S, R_0 and the graph bases together with the corresponding
+	 * powers from a PrecomputationPool in executePrecomputation().
+	 *
+	 * @param blindedSignature already blinded GSSignature to prove possession of.
+	 * @param pool             PrecomputationPool of witness randomness, or null to compute all
+	 *                         witnesses in the pre-challenge phase.
+	 * @param epk              ExtendedPublicKey for the signature's issuer.
+	 * @param ps               ProofStore to be used for this proof.
+	 */
+	public PossessionProver(
+			final GSSignature blindedSignature,
+			final PrecomputationPool pool,
+			final ExtendedPublicKey epk,
+			final ProofStore<Object> ps) {
 		Assert.notNull(blindedSignature, "blinded graph signature must not be null");
 		Assert.notNull(epk, "extended public key must not be null");
 		Assert.notNull(ps, "Proof store must not be null");
@@ -81,11 +107,35 @@ public class PossessionProver implements IProver {
 		this.baseCollection = blindedSignature.getEncodedBases();
 		this.baseR_0 = epk.getPublicKey().getBaseR_0();
 		this.baseS = epk.getPublicKey().getBaseS();
+		this.precomputationPool = pool;
 	}
 
+	/**
+	 * Takes the witness randomness of all fixed bases, that is, all bases but the blinded
+	 * signature value A', together with the corresponding powers from the PrecomputationPool.
+	 * Without a pool, this is a no-op.
+	 */
 	@Override
 	public void executePrecomputation() {
-		// NO PRE-COMPUTATION IS NEEDED: NO-OP.
+		if (precomputationPool == null) return;
+
+		int vLength = keyGenParameters.getL_v() + keyGenParameters.getProofOffset();
+		int messageLength = keyGenParameters.getL_m() + keyGenParameters.getProofOffset();
+
+		precomputedvPrime = precomputationPool.take(baseS, vLength, false);
+		precomputedm_0 = precomputationPool.take(baseR_0, messageLength, false);
+
+		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
+		for (BaseRepresentation base : vertexIterator) {
+			precomputedVertices.put(
+					base.getBaseIndex(), precomputationPool.take(base.getBase(), messageLength, false));
+		}
+
+		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
+		for (BaseRepresentation base : edgeIterator) {
+			precomputedEdges.put(
+					base.getBaseIndex(), precomputationPool.take(base.getBase(), messageLength, false));
+		}
 	}
 
 	@Override
@@ -112,51 +162,98 @@ public class PossessionProver implements IProver {
 	 * @throws ProofStoreException if the values could not be written to the ProofStore.
 	 */
 	private void createWitnessRandomness() throws ProofStoreException {
+		int tildeeLength = keyGenParameters.getL_prime_e() + keyGenParameters.getProofOffset();
+		int tildevLength = keyGenParameters.getL_v() + keyGenParameters.getProofOffset();
+		int messageLength = keyGenParameters.getL_m() + keyGenParameters.getProofOffset();
+		Iterator<BigInteger> randomness =
+				drawWitnessRandomness(tildeeLength, tildevLength, messageLength).iterator();
 
 		// Signing exponent e
-		int tildeeLength = keyGenParameters.getL_prime_e() + keyGenParameters.getProofOffset();
-		tildee = CryptoUtilsFacade.computeRandomNumber(tildeeLength);
+		tildee = randomness.next();
 		proofStore.store(getProverURN(URNType.TILDEE), tildee);
 
 		// Blinding randomness v'
-		int tildevLength = keyGenParameters.getL_v() + keyGenParameters.getProofOffset();
-		tildevPrime = CryptoUtilsFacade.computeRandomNumber(tildevLength);
+		tildevPrime = (precomputedvPrime != null)
+				? precomputedvPrime.getRandomness()
+				: randomness.next();
 		proofStore.store(getProverURN(URNType.TILDEVPRIME), tildevPrime);
 
 		// Message witness for m_0
-		int messageLength = keyGenParameters.getL_m() + keyGenParameters.getProofOffset();
-		tildem_0 = CryptoUtilsFacade.computeRandomNumber(messageLength);
+		tildem_0 = (precomputedm_0 != null)
+				? precomputedm_0.getRandomness()
+				: randomness.next();
 		proofStore.store(getProverURN(URNType.TILDEM0), tildem_0);
 
 		// Vertex Messages
 		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
 		for (BaseRepresentation base : vertexIterator) {
-			BigInteger tildem_i = CryptoUtilsFacade.computeRandomNumber(messageLength);
+			PrecomputationPool.RandomizedPower precomputed = precomputedVertices.get(base.getBaseIndex());
+			BigInteger tildem_i = (precomputed != null)
+					? precomputed.getRandomness()
+					: randomness.next();
 			proofStore.store(getProverURN(URNType.TILDEMI, base.getBaseIndex()), tildem_i);
 		}
 
 		// Edge Messages
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
 		for (BaseRepresentation base : edgeIterator) {
-			BigInteger tildem_i_j = CryptoUtilsFacade.computeRandomNumber(messageLength);
+			PrecomputationPool.RandomizedPower precomputed = precomputedEdges.get(base.getBaseIndex());
+			BigInteger tildem_i_j = (precomputed != null)
+					? precomputed.getRandomness()
+					: randomness.next();
 			proofStore.store(getProverURN(URNType.TILDEMIJ, base.getBaseIndex()), tildem_i_j);
 		}
 	}
 
+	/**
+	 * Draws the witness randomness that is not taken from the PrecomputationPool in a single batch,
+	 * in the order in which {@link #createWitnessRandomness()} consumes it.
+	 */
+	private List<BigInteger> drawWitnessRandomness(
+			final int tildeeLength, final int tildevLength, final int messageLength) {
+		List<Integer> bitLengths = new ArrayList<Integer>();
+		bitLengths.add(tildeeLength);
+		if (precomputedvPrime == null) {
+			bitLengths.add(tildevLength);
+		}
+		if (precomputedm_0 == null) {
+			bitLengths.add(messageLength);
+		}
+		for (BaseRepresentation base : baseCollection.createIterator(BASE.VERTEX)) {
+			if (precomputedVertices.get(base.getBaseIndex()) == null) {
+				bitLengths.add(messageLength);
+			}
+		}
+		for (BaseRepresentation base : baseCollection.createIterator(BASE.EDGE)) {
+			if (precomputedEdges.get(base.getBaseIndex()) == null) {
+				bitLengths.add(messageLength);
+			}
+		}
+
+		int[] lengths = new int[bitLengths.size()];
+		for (int i = 0; i < lengths.length; i++) {
+			lengths[i] = bitLengths.get(i);
+		}
+		return Arrays.asList(CryptoUtilsFacade.computeRandomNumbers(lengths));
+	}
+
 	private GroupElement computetildeZ() {
 		Assert.notNull(tildee, "TildeE must not be null.");
 		Assert.notNull(tildevPrime, "tildevPrime must not be null.");
 
-//		gslog.info("aPrime: " + blindedSignature.getA());
-		GroupElement aPrimeEtilde = blindedSignature.getA().modPow(tildee);
-
-		GroupElement sTildeVPrime = baseS.modPow(tildevPrime);
-
 		tildem_0 = (BigInteger) proofStore.retrieve(getProverURN(URNType.TILDEM0));
 
-		GroupElement baseR_0tildem_0 = baseR_0.modPow(tildem_0);
+		// All witness bases are evaluated in a single simultaneous multi-exponentiation,
+		// apart from the powers taken from the PrecomputationPool, which are only multiplied.
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> exponents = new ArrayList<BigInteger>();
+		List<GroupElement> precomputedPowers = new ArrayList<GroupElement>();
 
-		GroupElement baseProduct = extendedPublicKey.getPublicKey().getGroup().getOne();
+//		gslog.info("aPrime: " + blindedSignature.getA());
+		bases.add(blindedSignature.getA());
+		exponents.add(tildee);
+		addWitnessBase(baseS, tildevPrime, precomputedvPrime, bases, exponents, precomputedPowers);
+		addWitnessBase(baseR_0, tildem_0, precomputedm_0, bases, exponents, precomputedPowers);
 
 		Vector<BaseRepresentation> witnessBases = new Vector<BaseRepresentation>();
 
@@ -173,7 +270,8 @@ public class PossessionProver implements IProver {
 			tildeBase.setExponent(vertexWitness);
 			witnessBases.add(tildeBase);
 
-			baseProduct = baseProduct.multiply(baseRepresentation.getBase().modPow(vertexWitness));
+			addWitnessBase(baseRepresentation.getBase(), vertexWitness,
+					precomputedVertices.get(baseRepresentation.getBaseIndex()), bases, exponents, precomputedPowers);
 		}
 
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
@@ -189,19 +287,37 @@ public class PossessionProver implements IProver {
 			tildeBase.setExponent(edgeWitness);
 			witnessBases.add(tildeBase);
 
-			baseProduct = baseProduct.multiply(baseRepresentation.getBase().modPow(edgeWitness));
+			addWitnessBase(baseRepresentation.getBase(), edgeWitness,
+					precomputedEdges.get(baseRepresentation.getBaseIndex()), bases, exponents, precomputedPowers);
 		}
 
-//		gslog.info("baseproduct: " + baseProduct);
 //		gslog.info(
 //				"||TildeZ Graph: "
 //						+ GraphUtils.iteratedGraphToExpString(witnessBases.iterator(), proofStore));
 
-		tildeZ = aPrimeEtilde.multiply(sTildeVPrime).multiply(baseR_0tildem_0).multiply(baseProduct);
+		tildeZ = extendedPublicKey.getPublicKey().getGroup().getOne().multiBaseExp(bases, exponents);
+		for (GroupElement power : precomputedPowers) {
+			tildeZ = tildeZ.multiply(power);
+		}
 
 		return tildeZ;
 	}
 
+	private static void addWitnessBase(
+			GroupElement base,
+			BigInteger witness,
+			PrecomputationPool.RandomizedPower precomputed,
+			List<GroupElement> bases,
+			List<BigInteger> exponents,
+			List<GroupElement> precomputedPowers) {
+		if (precomputed != null && precomputed.getRandomness().equals(witness)) {
+			precomputedPowers.add(precomputed.getPower());
+		} else {
+			bases.add(base);
+			exponents.add(witness);
+		}
+	}
+
 	public BigInteger computeChallenge() {
 		return CryptoUtilsFacade.computeRandomNumber(keyGenParameters.getL_H());
 	}
@@ -323,23 +439,20 @@ public class PossessionProver implements IProver {
 		// Modified with the correctness proof of the corresponding proof, that is,
 		// The equation must be equal to tildeZ.
 
-		// Establish the non-graph elements of the signature
-		GroupElement aPrimeHatE = blindedSignature.getA().modPow(hate);
-		GroupElement baseSHatVPrime = baseS.modPow(hatvPrime);
-		GroupElement baseR_0HatM_0 = baseR_0.modPow(hatm_0);
-
-		// Compensate for the offset of e'
+		// Establish the non-graph elements of the signature. The offset of e' and the challenge are
+		// compensated by cross-multiplication, that is, (Z / A'^offset)^-c * A'^hate is evaluated
+		// as Z^-c * A'^(hate + c * offset), which needs no inversion of A'^offset.
 		BigInteger offsetExp = NumberConstants.TWO.getValue().pow(keyGenParameters.getL_e() - 1);
-		GroupElement aPrimeOffset = (blindedSignature.getA().modPow(offsetExp)).modInverse();
-
-		// Cancel out the challenge c
-		GroupElement baseZnegC =
-				(this.extendedPublicKey.getPublicKey().getBaseZ().multiply(aPrimeOffset))
-						.modPow(cChallenge.negate());
-
-		// Establish the initial product to integrate the graph elements subsequently
-		GroupElement verifier =
-				baseZnegC.multiply(aPrimeHatE).multiply(baseSHatVPrime).multiply(baseR_0HatM_0);
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> exponents = new ArrayList<BigInteger>();
+		bases.add(this.extendedPublicKey.getPublicKey().getBaseZ());
+		exponents.add(cChallenge.negate());
+		bases.add(blindedSignature.getA());
+		exponents.add(hate.add(cChallenge.multiply(offsetExp)));
+		bases.add(baseS);
+		exponents.add(hatvPrime);
+		bases.add(baseR_0);
+		exponents.add(hatm_0);
 
 		// Iterate over the graph components as recorded by the PossessionProver
 //		log.log(
@@ -348,14 +461,12 @@ public class PossessionProver implements IProver {
 //						+ GraphUtils.iteratedGraphToExpString(graphResponses.iterator(), proofStore));
 
 		for (BaseRepresentation baseRepresentation : graphResponses) {
-//			log.info("Including base " + GraphUtils.graphTypeToString(baseRepresentation)
-//			+ baseRepresentation.getBaseIndex() + " with exponent "
-//			+ GraphUtils.expKeyToString(baseRepresentation, proofStore) 
-//			+ " = " + baseRepresentation.getExponent());
-			verifier =
-					verifier.multiply(baseRepresentation.getBase().modPow(baseRepresentation.getExponent()));
+			bases.add(baseRepresentation.getBase());
+			exponents.add(baseRepresentation.getExponent());
 		}
 
+		GroupElement verifier = baseS.getGroup().getOne().multiBaseExp(bases, exponents);
+
 		// The result must be equal to the witness tildeZ.
 		return verifier.equals(this.tildeZ);
 	}
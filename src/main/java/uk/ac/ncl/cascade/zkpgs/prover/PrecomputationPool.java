@@ -0,0 +1,202 @@
+package uk.ac.ncl.cascade.zkpgs.prover;
+
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+
+import java.math.BigInteger;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Pool of precomputed witness randomness together with the corresponding power of a fixed base,
+ * that is, pairs (r, base^r) such as (tildevPrime, S^tildevPrime) of the PossessionProver or
+ * the blinding (r_i, S^r_i) of a commitment.
+ *
+ * <p>Each kind of pair is identified by its base, the bit length of the randomness and whether
+ * the randomness is drawn from the symmetric interval [-2^l, 2^l]. A kind is registered on its
+ * first use or explicitly with register(), and its pairs are refilled to the capacity of the pool
+ * in the background, on the executor of the pool, whenever a pair was taken. Thereby, the
+ * exponentiations are moved out of the online phase of the proof into the idle time of the
+ * prover. If the pool runs dry, take() computes the pair on the calling thread.
+ *
+ * <p>Each pair is handed out exactly once. The pool is safe for concurrent use.
+ */
+public class PrecomputationPool {
+	/** Default number of pairs held for each kind of pair. */
+	public static final int DEFAULT_CAPACITY = 8;
+
+	private final ExecutorService executor;
+	private final int capacity;
+	private final ConcurrentMap<Kind, BlockingQueue<RandomizedPower>> pairs;
+	private final Set<Kind> refilling;
+
+	/**
+	 * Creates a pool, which holds the default number of pairs of each kind.
+	 *
+	 * @param executor the executor to refill the pool on, or null if the pool is only filled
+	 *                 explicitly by fill()
+	 */
+	public PrecomputationPool(final ExecutorService executor) {
+		this(executor, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a pool.
+	 *
+	 * @param executor the executor to refill the pool on, or null if the pool is only filled
+	 *                 explicitly by fill()
+	 * @param capacity the number of pairs held for each kind of pair
+	 */
+	public PrecomputationPool(final ExecutorService executor, final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity of the pool must be positive.");
+		}
+		this.executor = executor;
+		this.capacity = capacity;
+		this.pairs = new ConcurrentHashMap<Kind, BlockingQueue<RandomizedPower>>();
+		this.refilling = ConcurrentHashMap.<Kind>newKeySet();
+	}
+
+	/**
+	 * Registers a kind of pair, such that it is precomputed ahead of its first use.
+	 *
+	 * @param base the base
+	 * @param bitLength the bit length of the randomness
+	 * @param minusPlus whether the randomness is drawn from [-2^bitLength, 2^bitLength]
+	 */
+	public void register(final GroupElement base, final int bitLength, final boolean minusPlus) {
+		Kind kind = new Kind(base, bitLength, minusPlus);
+		queue(kind);
+		refill(kind);
+	}
+
+	/**
+	 * Takes a fresh pair of randomness and power of the base from the pool, or computes it if no
+	 * precomputed pair is available.
+	 *
+	 * @param base the base
+	 * @param bitLength the bit length of the randomness
+	 * @param minusPlus whether the randomness is drawn from [-2^bitLength, 2^bitLength]
+	 * @return a pair (r, base^r) that has not been handed out before
+	 */
+	public RandomizedPower take(final GroupElement base, final int bitLength, final boolean minusPlus) {
+		Kind kind = new Kind(base, bitLength, minusPlus);
+		RandomizedPower pair = queue(kind).poll();
+		refill(kind);
+		if (pair == null) {
+			pair = kind.compute();
+		}
+		return pair;
+	}
+
+	/** Fills all registered kinds of pairs to the capacity of the pool on the calling thread. */
+	public void fill() {
+		for (Kind kind : pairs.keySet()) {
+			fill(kind);
+		}
+	}
+
+	/**
+	 * Returns the number of precomputed pairs available for a kind of pair.
+	 *
+	 * @param base the base
+	 * @param bitLength the bit length of the randomness
+	 * @param minusPlus whether the randomness is drawn from [-2^bitLength, 2^bitLength]
+	 * @return the number of available pairs
+	 */
+	public int available(final GroupElement base, final int bitLength, final boolean minusPlus) {
+		BlockingQueue<RandomizedPower> queue = pairs.get(new Kind(base, bitLength, minusPlus));
+		return (queue == null) ? 0 : queue.size();
+	}
+
+	private BlockingQueue<RandomizedPower> queue(final Kind kind) {
+		return pairs.computeIfAbsent(kind, k -> new LinkedBlockingQueue<RandomizedPower>(capacity));
+	}
+
+	private void fill(final Kind kind) {
+		BlockingQueue<RandomizedPower> queue = queue(kind);
+		while (queue.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+			if (!queue.offer(kind.compute())) break;
+		}
+	}
+
+	private void refill(final Kind kind) {
+		if (executor == null || !refilling.add(kind)) return;
+
+		try {
+			executor.execute(() -> {
+				try {
+					fill(kind);
+				} finally {
+					refilling.remove(kind);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// The executor was shut down; pairs are computed on demand from now on.
+			refilling.remove(kind);
+		}
+	}
+
+	/** A witness randomness r together with the power base^r. */
+	public static final class RandomizedPower {
+		private final BigInteger randomness;
+		private final GroupElement power;
+
+		RandomizedPower(final BigInteger randomness, final GroupElement power) {
+			this.randomness = randomness;
+			this.power = power;
+		}
+
+		public BigInteger getRandomness() {
+			return randomness;
+		}
+
+		public GroupElement getPower() {
+			return power;
+		}
+	}
+
+	private static final class Kind {
+		private final GroupElement base;
+		private final int bitLength;
+		private final boolean minusPlus;
+
+		Kind(final GroupElement base, final int bitLength, final boolean minusPlus) {
+			Assert.notNull(base, "base must not be null");
+			this.base = base;
+			this.bitLength = bitLength;
+			this.minusPlus = minusPlus;
+		}
+
+		RandomizedPower compute() {
+			BigInteger randomness = minusPlus
+					? CryptoUtilsFacade.computeRandomNumberMinusPlus(bitLength)
+					: CryptoUtilsFacade.computeRandomNumber(bitLength);
+			return new RandomizedPower(randomness, base.modPow(randomness));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Kind)) return false;
+			Kind other = (Kind) obj;
+			return bitLength == other.bitLength
+					&& minusPlus == other.minusPlus
+					&& base.equals(other.base);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = base.hashCode();
+			result = 31 * result + bitLength;
+			result = 31 * result + (minusPlus ? 1 : 0);
+			return result;
+		}
+	}
+}
@@ -81,7 +81,7 @@ public class SigningQCorrectnessProver implements IProver {
 						NumberConstants.TWO.getValue(), order.subtract(BigInteger.ONE));
 
 		proofStore.store(URNType.buildURNComponent(URNType.TILDED, this.getClass()), tilded);
-		tildeA = Q.modPow(tilded);
+		tildeA = signerPrivateKey.modPow(Q, tilded);
 		
 		proofStore.store(URNType.buildURNComponent(URNType.TILDEA, this.getClass()), tildeA);
 
@@ -120,7 +120,7 @@ public class SigningQCorrectnessProver implements IProver {
 		
 		BigInteger verificationExp = cPrime.add(hatd.multiply(gsSignature.getE()));
 		
-		GroupElement hatA = gsSignature.getA().modPow(verificationExp);
+		GroupElement hatA = signerPrivateKey.modPow(gsSignature.getA(), verificationExp);
 		
 		return hatA.equals(tildeA);
 	}
@@ -18,6 +18,7 @@ import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroup;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.List;
 
 /**
  * The GSSignature class encapsulates the algebraic structure a graph signature along with methods
@@ -134,6 +135,21 @@ public class GSSignature implements Serializable {
 		return verify(epk.getPublicKey(), Y);
 	}
 
+	/**
+	 * Verifies a batch of graph signatures of the same signer with respect to their graph
+	 * encodings, using the small-exponent test of GSSignatureBatchVerifier.
+	 *
+	 * @param epk extended public key of the signer
+	 * @param signatures the graph signatures
+	 * @param encodings collections of bases representing the graphs, matching the signatures by
+	 *     position
+	 * @return {@code true} if all graph signatures verify correctly up to the sign of A
+	 */
+	public static boolean verify(
+			ExtendedPublicKey epk, List<GSSignature> signatures, List<BaseCollection> encodings) {
+		return new GSSignatureBatchVerifier(epk.getPublicKey()).verify(signatures, encodings);
+	}
+
 	/**
 	 * Verifies that this graph signature is valid with respect to a given signer public key and a
 	 * single message {@code m} to be encoded on base {@code R_0}.
@@ -0,0 +1,194 @@
+package uk.ac.ncl.cascade.zkpgs.signature;
+
+import uk.ac.ncl.cascade.zkpgs.BaseRepresentation;
+import uk.ac.ncl.cascade.zkpgs.BaseRepresentation.BASE;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+import uk.ac.ncl.cascade.zkpgs.util.BaseCollection;
+import uk.ac.ncl.cascade.zkpgs.util.BaseIterator;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MultiExponentiation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies many graph signatures of the same signer at once with the small-exponent test.
+ *
+ * <p>Instead of checking {@code Z = Y_i A_i^e_i S^v_i (mod N)} for each signature, the verifier
+ * draws a random exponent {@code delta_i} of l_statzk bits for each signature and checks the
+ * single equation {@code Z^(sum delta_i) = prod_j R_j^(sum_i delta_i m_ij) prod_i A_i^(e_i
+ * delta_i) S^(sum_i delta_i v_i) (mod N)}. The exponentiations of S and of the bases R_j are
+ * thereby shared by all signatures and the whole product is evaluated as one
+ * multi-exponentiation.
+ *
+ * <p>As for all small-exponent tests in groups of unknown order, the test can only establish the
+ * equations up to elements of order two of Z_N^*. For instance, replacing A_i by N - A_i in two
+ * signatures with odd e_i multiplies the product by (-1)^2 and leaves it unchanged, whatever the
+ * exponents delta_i. The verifier therefore compares the squares of both sides, which removes
+ * such factors from all signatures alike: a batch passes if each signature is valid up to a
+ * factor of order two, and a batch containing a signature that is invalid beyond such a factor
+ * passes with a probability of at most 2^-l_statzk. Without the factorization of N, the only such
+ * factor that can be computed is -1, that is, a signature whose A_i is replaced by N - A_i. Such a
+ * signature does not verify on its own, yet anybody can turn it into the valid signature of the
+ * signer by negating A_i.
+ *
+ * <p>findInvalidSignatures() does not rely on the batch test and confirms each signature by the
+ * individual verification, such that it reports the signatures that are off by -1 as well.
+ */
+public class GSSignatureBatchVerifier {
+	private final SignerPublicKey signerPublicKey;
+	private final BigInteger modN;
+	private final int deltaLength;
+
+	/**
+	 * Creates a batch verifier for the signatures of a signer.
+	 *
+	 * @param signerPublicKey the public key of the signer
+	 */
+	public GSSignatureBatchVerifier(final SignerPublicKey signerPublicKey) {
+		Assert.notNull(signerPublicKey, "signer public key must not be null");
+		this.signerPublicKey = signerPublicKey;
+		this.modN = signerPublicKey.getModN();
+		this.deltaLength = signerPublicKey.getKeyGenParameters().getL_statzk();
+	}
+
+	/**
+	 * Verifies a batch of signatures on the graph encodings they carry as encoded bases.
+	 *
+	 * @param signatures the signatures
+	 * @return {@code true} if all signatures verify correctly up to the sign of A
+	 */
+	public boolean verify(final List<GSSignature> signatures) {
+		return verify(signatures, encodedBasesOf(signatures));
+	}
+
+	/**
+	 * Verifies a batch of signatures on the given graph encodings.
+	 *
+	 * @param signatures the signatures
+	 * @param encodings the collections of bases representing the graphs, matching the signatures by
+	 *     position
+	 * @return {@code true} if all signatures verify correctly up to the sign of A
+	 */
+	public boolean verify(final List<GSSignature> signatures, final List<BaseCollection> encodings) {
+		checkInput(signatures, encodings);
+		for (int i = 0; i < signatures.size(); i++) {
+			if (!hasValidComponents(signatures.get(i), encodings.get(i))) return false;
+		}
+		return verifyBatch(signatures, encodings);
+	}
+
+	/**
+	 * Returns the positions of the invalid signatures among signatures that carry their graph
+	 * encodings as encoded bases.
+	 *
+	 * @param signatures the signatures
+	 * @return the positions of the invalid signatures in ascending order, empty if all are valid
+	 */
+	public List<Integer> findInvalidSignatures(final List<GSSignature> signatures) {
+		return findInvalidSignatures(signatures, encodedBasesOf(signatures));
+	}
+
+	/**
+	 * Returns the positions of the invalid signatures among signatures on the given graph
+	 * encodings.
+	 *
+	 * @param signatures the signatures
+	 * @param encodings the collections of bases representing the graphs, matching the signatures by
+	 *     position
+	 * @return the positions of the invalid signatures in ascending order, empty if all are valid
+	 */
+	public List<Integer> findInvalidSignatures(
+			final List<GSSignature> signatures, final List<BaseCollection> encodings) {
+		checkInput(signatures, encodings);
+
+		List<Integer> invalid = new ArrayList<Integer>();
+		for (int i = 0; i < signatures.size(); i++) {
+			if (!hasValidComponents(signatures.get(i), encodings.get(i))
+					|| !signatures.get(i).verify(signerPublicKey, computeY(encodings.get(i)))) {
+				invalid.add(i);
+			}
+		}
+		return invalid;
+	}
+
+	private boolean verifyBatch(final List<GSSignature> signatures, final List<BaseCollection> encodings) {
+		BigInteger sumDelta = BigInteger.ZERO;
+		BigInteger exponentS = BigInteger.ZERO;
+		Map<BigInteger, BigInteger> exponentsR = new LinkedHashMap<BigInteger, BigInteger>();
+		List<BigInteger> bases = new ArrayList<BigInteger>(signatures.size() + 8);
+		List<BigInteger> exponents = new ArrayList<BigInteger>(signatures.size() + 8);
+
+		for (int index = 0; index < signatures.size(); index++) {
+			GSSignature sigma = signatures.get(index);
+			BigInteger delta = CryptoUtilsFacade.computeRandomNumber(deltaLength);
+			sumDelta = sumDelta.add(delta);
+			exponentS = exponentS.add(delta.multiply(sigma.getV()));
+			bases.add(sigma.getA().getValue());
+			exponents.add(delta.multiply(sigma.getE()));
+
+			BaseIterator baseIter = encodings.get(index).createIterator(BASE.ALL);
+			for (BaseRepresentation baseRepresentation : baseIter) {
+				if (isRandomnessOrUnencoded(baseRepresentation)) continue;
+				BigInteger base = baseRepresentation.getBase().getValue();
+				BigInteger exponent = delta.multiply(baseRepresentation.getExponent());
+				BigInteger sum = exponentsR.get(base);
+				exponentsR.put(base, (sum == null) ? exponent : sum.add(exponent));
+			}
+		}
+
+		bases.add(signerPublicKey.getBaseS().getValue());
+		exponents.add(exponentS);
+		for (Map.Entry<BigInteger, BigInteger> entry : exponentsR.entrySet()) {
+			bases.add(entry.getKey());
+			exponents.add(entry.getValue());
+		}
+
+		// Squaring both sides removes the factors of order two, see the class comment.
+		BigInteger hatZ = MultiExponentiation.compute(bases, exponents, modN);
+		BigInteger squaredZ = signerPublicKey.getBaseZ().getValue().modPow(sumDelta.shiftLeft(1), modN);
+		return hatZ.multiply(hatZ).mod(modN).equals(squaredZ);
+	}
+
+	private GroupElement computeY(final BaseCollection encoding) {
+		GroupElement Y = signerPublicKey.getGroup().getOne();
+		BaseIterator baseIter = encoding.createIterator(BASE.ALL);
+		for (BaseRepresentation baseRepresentation : baseIter) {
+			if (isRandomnessOrUnencoded(baseRepresentation)) continue;
+			Y = Y.multiply(baseRepresentation.getBase().modPow(baseRepresentation.getExponent()));
+		}
+		return Y;
+	}
+
+	/* Bases S and bases without an exponent do not contribute to the encoding of the graph. */
+	private static boolean isRandomnessOrUnencoded(final BaseRepresentation baseRepresentation) {
+		return baseRepresentation.getBaseType().equals(BASE.BASES) || baseRepresentation.getExponent() == null;
+	}
+
+	/* The checks of GSSignature.verify() that apply to each signature on its own. */
+	private static boolean hasValidComponents(final GSSignature sigma, final BaseCollection encoding) {
+		if (sigma == null || encoding == null) return false;
+		if (sigma.getA() == null || sigma.getE() == null || sigma.getV() == null) return false;
+		return sigma.hasValidLengthV() && sigma.hasValidE();
+	}
+
+	private static List<BaseCollection> encodedBasesOf(final List<GSSignature> signatures) {
+		Assert.notNull(signatures, "signatures must not be null");
+		List<BaseCollection> encodings = new ArrayList<BaseCollection>(signatures.size());
+		for (GSSignature sigma : signatures) {
+			encodings.add((sigma == null) ? null : sigma.getEncodedBases());
+		}
+		return encodings;
+	}
+
+	private static void checkInput(final List<GSSignature> signatures, final List<BaseCollection> encodings) {
+		Assert.notNull(signatures, "signatures must not be null");
+		Assert.notNull(encodings, "encodings must not be null");
+		Assert.checkSize(signatures.size(), encodings.size(), "signatures and encodings must have the same size");
+	}
+}
@@ -1,6 +1,7 @@
 package uk.ac.ncl.cascade.zkpgs.signature;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -116,6 +117,32 @@ public class GSSignatureValidator {
 			return true;
 		}
 
+		/**
+		 * Verifies a batch of signatures of a signer on the graph encodings they carry, using
+		 * the small-exponent test of GSSignatureBatchVerifier.
+		 *
+		 * @param signatures Signatures to verify.
+		 * @param pk Public key of the signer.
+		 *
+		 * @return true if all signatures verify correctly up to the sign of A.
+		 */
+		public static boolean verifyBatch(List<GSSignature> signatures, SignerPublicKey pk) {
+			return new GSSignatureBatchVerifier(pk).verify(signatures);
+		}
+
+		/**
+		 * Determines the invalid signatures among a batch of signatures of a signer, confirming
+		 * each signature by the individual verification.
+		 *
+		 * @param signatures Signatures to verify.
+		 * @param pk Public key of the signer.
+		 *
+		 * @return Positions of the invalid signatures in ascending order.
+		 */
+		public static List<Integer> findInvalidSignatures(List<GSSignature> signatures, SignerPublicKey pk) {
+			return new GSSignatureBatchVerifier(pk).findInvalidSignatures(signatures);
+		}
+
 		/** 
 		 * Checks whether a signature indeed contains all the bases required.
 		 * 
@@ -16,6 +16,8 @@ import uk.ac.ncl.cascade.zkpgs.util.NumberConstants;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Oracle for Graph Signatures computed non-interactively with a valid SignerKeyPair, but without
@@ -128,12 +130,14 @@ public class GSSigningOracle {
 	 * @return valid GSSignature
 	 */
 	public GSSignature sign(BaseCollection baseCollection) {
-		GroupElement basesEncoded = signerKeyPair.getPublicKey().getGroup().getOne();
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> exponents = new ArrayList<BigInteger>();
 		BaseIterator vertexIter = baseCollection.createIterator(BASE.VERTEX);
 		while (vertexIter.hasNext()) {
 			BaseRepresentation vertexBase = vertexIter.next();
 			if (vertexBase.getBase() != null && vertexBase.getExponent() != null) {
-				basesEncoded = basesEncoded.multiply(vertexBase.getBase().modPow(vertexBase.getExponent()));
+				bases.add(vertexBase.getBase());
+				exponents.add(vertexBase.getExponent());
 			}
 		}
 		
@@ -141,7 +145,8 @@ public class GSSigningOracle {
 		while (edgeIter.hasNext()) {
 			BaseRepresentation edgeBase = edgeIter.next();
 			if (edgeBase.getBase() != null && edgeBase.getExponent() != null) {
-				basesEncoded = basesEncoded.multiply(edgeBase.getBase().modPow(edgeBase.getExponent()));
+				bases.add(edgeBase.getBase());
+				exponents.add(edgeBase.getExponent());
 			}
 		}
 		
@@ -154,7 +159,8 @@ public class GSSigningOracle {
 			completedBase0 = true;
 			
 			if (r0Base.getBase() != null && r0Base.getExponent() != null) {
-				basesEncoded = basesEncoded.multiply(r0Base.getBase().modPow(r0Base.getExponent()));
+				bases.add(r0Base.getBase());
+				exponents.add(r0Base.getExponent());
 			}
 		}
 		
@@ -166,10 +172,14 @@ public class GSSigningOracle {
 			completedBaseR = true;
 			
 			if (baseR.getBase() != null && baseR.getExponent() != null) {
-				basesEncoded = basesEncoded.multiply(baseR.getBase().modPow(baseR.getExponent()));
+				bases.add(baseR.getBase());
+				exponents.add(baseR.getExponent());
 			}
 		}
 
+		// All bases are evaluated in a single simultaneous multi-exponentiation.
+		GroupElement basesEncoded = signerKeyPair.getPublicKey().getGroup().getOne().multiBaseExp(bases, exponents);
+
 		GSSignature sigma = this.sign(basesEncoded);
 		sigma.setEncodedBases(baseCollection);
 		return sigma;
@@ -198,10 +208,18 @@ public class GSSigningOracle {
 	 * @return BigInteger Blinding Randomness v
 	 */
 	public BigInteger generateBlindingV() {
-		BigInteger vPrime =
-				CryptoUtilsFacade.computeRandomNumberMinusPlus(
-						this.keyGenParameters.getL_n() + this.keyGenParameters.getL_statzk());
-		BigInteger vbar = CryptoUtilsFacade.computeRandomNumber(keyGenParameters.getL_v() - 1);
+		int vPrimeLength = this.keyGenParameters.getL_n() + this.keyGenParameters.getL_statzk();
+
+		// The candidate for v' and vbar are drawn in a single batch. Like a +- random number,
+		// v' is the candidate shifted by -2^vPrimeLength and drawn again if it falls short of
+		// the bit length.
+		BigInteger[] randomness =
+				CryptoUtilsFacade.computeRandomNumbers(vPrimeLength + 1, keyGenParameters.getL_v() - 1);
+		BigInteger vPrime = randomness[0].subtract(NumberConstants.TWO.getValue().pow(vPrimeLength));
+		if (vPrime.bitLength() != vPrimeLength) {
+			vPrime = CryptoUtilsFacade.computeRandomNumberMinusPlus(vPrimeLength);
+		}
+		BigInteger vbar = randomness[1];
 		BigInteger vPrimePrime =
 				NumberConstants.TWO.getValue().pow(keyGenParameters.getL_v() - 1).add(vbar);
 		BigInteger v = vPrime.add(vPrimePrime);
@@ -232,7 +250,8 @@ public class GSSigningOracle {
 		BigInteger qPrime = signerKeyPair.getPrivateKey().getQPrime();
 
 		BigInteger d = e.modInverse(pPrime.multiply(qPrime));
-		GroupElement A = Q.modPow(d);
+		// The signer knows the factorization and exponentiates with the CRT.
+		GroupElement A = signerKeyPair.getPrivateKey().modPow(Q, d);
 		return A;
 	}
 	
@@ -244,12 +263,17 @@ public class GSSigningOracle {
 	 * @return Q
 	 */
 	public GroupElement computeQforSignature(GSSignature sigma) {
-		GroupElement signatureContent = signerKeyPair.getPublicKey().getBaseS().modPow(sigma.getV());
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> exponents = new ArrayList<BigInteger>();
+		bases.add(signerKeyPair.getPublicKey().getBaseS());
+		exponents.add(sigma.getV());
 		
 		BaseIterator baseIterator = sigma.getEncodedBases().createIterator(BASE.ALL);
 		for (BaseRepresentation base : baseIterator) {
-			signatureContent = signatureContent.multiply(base.getBase().modPow(base.getExponent()));
+			bases.add(base.getBase());
+			exponents.add(base.getExponent());
 		}
+		GroupElement signatureContent = signerKeyPair.getPublicKey().getGroup().getOne().multiBaseExp(bases, exponents);
 		
 		GroupElement invertedContent = signatureContent.modInverse();
 		
@@ -0,0 +1,263 @@
+package uk.ac.ncl.cascade.zkpgs.signer;
+
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedPublicKey;
+import uk.ac.ncl.cascade.zkpgs.message.IMessageGateway;
+import uk.ac.ncl.cascade.zkpgs.message.IMessagePartner;
+import uk.ac.ncl.cascade.zkpgs.message.NioMessageServer;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.ISignerOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.SignerOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-running issuing service, which issues graph signatures to many concurrent Recipients with
+ * a single loaded ExtendedKeyPair.
+ *
+ * <p>The service accepts the sessions of the Recipients on a NioMessageServer. Each session is
+ * driven by a fresh signer orchestrator, created by the SignerFactory on the message gateway of
+ * the session, such that the ProofStore and signature data of a session are isolated from all
+ * other sessions. The sessions share the ExtendedKeyPair and its precomputations, namely the
+ * fixed-base tables of the public-key bases and the challenge-hash prefix of the public key,
+ * which are prepared once by {@link #init()}.
+ *
+ * <p>Sessions are served on a fixed pool of worker threads, which bounds the number of issuings
+ * computed simultaneously. Further sessions wait in a bounded queue until a worker is free and
+ * are closed if the queue is full. A session that does not complete within the session timeout
+ * is aborted without waiting for its pending frames to be written, such that an unresponsive
+ * Recipient does not hold a worker indefinitely.
+ *
+ * <p>Recipients connect with a socket message gateway using the BINARY message encoding and run
+ * their RecipientOrchestrator, or RecipientOrchestratorBC, as against a single Signer.
+ */
+public class IssuingServer implements IMessagePartner {
+
+	/** Creates the signer orchestrator driving a single issuing session. */
+	@FunctionalInterface
+	public interface SignerFactory {
+		/**
+		 * Creates a signer orchestrator for a session.
+		 *
+		 * @param extendedKeyPair the shared extended key pair of the Signer
+		 * @param session the message gateway of the session
+		 * @return a fresh signer orchestrator
+		 * @throws Exception if the orchestrator cannot be created
+		 */
+		ISignerOrchestrator createSigner(ExtendedKeyPair extendedKeyPair, IMessageGateway session)
+				throws Exception;
+	}
+
+	private final ExtendedKeyPair extendedKeyPair;
+	private final SignerFactory signerFactory;
+	private final ThreadPoolExecutor workers;
+	private final ScheduledExecutorService timer;
+	private final NioMessageServer server;
+	private final AtomicLong issuedCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+	private volatile long sessionTimeoutMillis;
+
+	/**
+	 * Creates an issuing service for graph signatures by SignerOrchestrators on the Signer's graph
+	 * file.
+	 *
+	 * @param hostAddress the host address to bind to, or null for the wildcard address
+	 * @param portNumber the port number to bind to, or 0 for an ephemeral port
+	 * @param extendedKeyPair the extended key pair shared by all sessions
+	 * @param graphFilename the graphml file of the graph to be signed
+	 * @param workerCount the number of sessions served simultaneously
+	 * @param maxQueuedSessions the number of accepted sessions waiting for a worker
+	 */
+	public IssuingServer(
+			final String hostAddress,
+			final int portNumber,
+			final ExtendedKeyPair extendedKeyPair,
+			final String graphFilename,
+			final int workerCount,
+			final int maxQueuedSessions) {
+		this(
+				hostAddress,
+				portNumber,
+				extendedKeyPair,
+				(ekp, session) -> new SignerOrchestrator(graphFilename, ekp, session),
+				workerCount,
+				maxQueuedSessions);
+	}
+
+	/**
+	 * Creates an issuing service with signer orchestrators created by a factory, for instance
+	 * SignerOrchestratorBC for binding credentials.
+	 *
+	 * @param hostAddress the host address to bind to, or null for the wildcard address
+	 * @param portNumber the port number to bind to, or 0 for an ephemeral port
+	 * @param extendedKeyPair the extended key pair shared by all sessions
+	 * @param signerFactory the factory creating the signer orchestrator of each session
+	 * @param workerCount the number of sessions served simultaneously
+	 * @param maxQueuedSessions the number of accepted sessions waiting for a worker
+	 */
+	public IssuingServer(
+			final String hostAddress,
+			final int portNumber,
+			final ExtendedKeyPair extendedKeyPair,
+			final SignerFactory signerFactory,
+			final int workerCount,
+			final int maxQueuedSessions) {
+		Assert.notNull(extendedKeyPair, "extended key pair must not be null");
+		Assert.notNull(signerFactory, "signer factory must not be null");
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("The issuing service requires at least one worker.");
+		}
+		if (maxQueuedSessions < 0) {
+			throw new IllegalArgumentException("The number of queued sessions must not be negative.");
+		}
+		this.extendedKeyPair = extendedKeyPair;
+		this.signerFactory = signerFactory;
+		this.workers =
+				new ThreadPoolExecutor(
+						workerCount,
+						workerCount,
+						0L,
+						TimeUnit.MILLISECONDS,
+						(maxQueuedSessions == 0)
+								? new SynchronousQueue<Runnable>()
+								: new LinkedBlockingQueue<Runnable>(maxQueuedSessions),
+						daemonThreads("gs-issuer-"));
+		this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("gs-issuer-timeout-"));
+		this.server = new NioMessageServer(hostAddress, portNumber, this::issue, workers);
+	}
+
+	/**
+	 * Sets the time after which an unfinished session is aborted.
+	 *
+	 * @param timeout the session timeout, or 0 for no timeout
+	 * @param unit the unit of the timeout
+	 */
+	public void setSessionTimeout(final long timeout, final TimeUnit unit) {
+		Assert.notNull(unit, "time unit must not be null");
+		if (timeout < 0) {
+			throw new IllegalArgumentException("The session timeout must not be negative.");
+		}
+		this.sessionTimeoutMillis = unit.toMillis(timeout);
+	}
+
+	/**
+	 * Prepares the precomputations shared by the sessions and starts accepting sessions.
+	 *
+	 * @throws IOException If an I/O error occurs, when opening or binding the server socket.
+	 */
+	@Override
+	public void init() throws IOException {
+		ExtendedPublicKey extendedPublicKey = extendedKeyPair.getExtendedPublicKey();
+		if (extendedPublicKey.getFixedBaseTables().isEmpty()) {
+			extendedPublicKey.enableFixedBaseTables();
+		}
+		try {
+			extendedPublicKey.createChallengeHash(extendedKeyPair.getKeyGenParameters().getL_H());
+		} catch (NoSuchAlgorithmException e) {
+			throw new GSInternalError(e);
+		}
+		server.init();
+	}
+
+	/**
+	 * Returns the port the service is bound to.
+	 *
+	 * @return the local port
+	 */
+	public int getLocalPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Returns the number of open sessions, including the sessions waiting for a worker.
+	 *
+	 * @return the number of sessions
+	 */
+	public int getSessionCount() {
+		return server.getSessionCount();
+	}
+
+	/**
+	 * Returns the number of sessions that completed the issuing protocol.
+	 *
+	 * @return the number of issued signatures
+	 */
+	public long getIssuedCount() {
+		return issuedCount.get();
+	}
+
+	/**
+	 * Returns the number of sessions that failed, for instance because the Recipient's commitment
+	 * did not verify, the Recipient disconnected or the session timed out.
+	 *
+	 * @return the number of failed sessions
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * Stops accepting sessions, closes all open sessions and stops the workers.
+	 *
+	 * @throws IOException If the service was interrupted while closing.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			server.close();
+		} finally {
+			workers.shutdownNow();
+			timer.shutdownNow();
+		}
+	}
+
+	private void issue(final IMessageGateway session) throws Exception {
+		ScheduledFuture<?> timeout = null;
+		if (sessionTimeoutMillis > 0) {
+			// Aborting the session makes the pending receive() of the signer fail, also if the
+			// Recipient does not read the frames sent to it.
+			timeout = timer.schedule(() -> server.abort(session), sessionTimeoutMillis, TimeUnit.MILLISECONDS);
+		}
+
+		ISignerOrchestrator signer = null;
+		try {
+			signer = signerFactory.createSigner(extendedKeyPair, session);
+			signer.init();
+			signer.round0();
+			signer.round2();
+			issuedCount.incrementAndGet();
+		} catch (Exception e) {
+			// The failure is logged by the message server.
+			failedCount.incrementAndGet();
+			throw e;
+		} finally {
+			if (timeout != null) {
+				timeout.cancel(false);
+			}
+			if (signer != null) {
+				signer.close();
+			}
+		}
+	}
+
+	private static ThreadFactory daemonThreads(final String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
@@ -6,21 +6,28 @@ import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The type Proof store.
  *
+ * <p>The store is safe for concurrent use, such that component provers and verifiers run
+ * concurrently by an orchestrator can share a single ProofStore. Elements are held in a
+ * concurrent map, on which updates of the same key are atomic and lookups do not lock. A reverse
+ * index from element to keys answers getKey() without scanning the store.
+ *
+ * <p>The store does not retain the insertion order of its keys.
+ *
  * @param <T> the type parameter
  */
 public class ProofStore<T> {
-	private final Map<URN, Set<T>> elements;
+	private final ConcurrentMap<URN, Set<T>> elements;
+	private final ConcurrentMap<Object, Set<URN>> keys;
 
 	/**
 	 * Instantiates a new Proof store.
@@ -28,12 +35,14 @@ public class ProofStore<T> {
 	 * @param initialSize the initial size of proof store
 	 */
 	public ProofStore(int initialSize) {
-		this.elements = new LinkedHashMap<URN, Set<T>>(initialSize);
+		this.elements = new ConcurrentHashMap<URN, Set<T>>(initialSize);
+		this.keys = new ConcurrentHashMap<Object, Set<URN>>(initialSize);
 	}
 
 	/** Instantiates a new Proof store. */
 	public ProofStore() {
-		this.elements = new HashMap<URN, Set<T>>();
+		this.elements = new ConcurrentHashMap<URN, Set<T>>();
+		this.keys = new ConcurrentHashMap<Object, Set<URN>>();
 	}
 
 	/**
@@ -50,13 +59,22 @@ public class ProofStore<T> {
 		//    gslog.log(Level.INFO, "key value:  " + key);
 		//    gslog.log(Level.INFO, "element:  " + element);
 
-		if (elements.containsKey(key)) {
+		final boolean[] present = new boolean[1];
+		elements.compute(key, (k, el) -> {
+			if (null != el) {
+				present[0] = true;
+				return el;
+			}
+			el = newElementSet();
+			el.add(element);
+			index(key, element);
+			return el;
+		});
+		if (present[0]) {
 			throw new ProofStoreException(
 					String.format(
 							"The key %s with type %s was already added", key, key.getClass().getSimpleName()));
 		}
-
-		add(key, element);
 	}
 
 	/**
@@ -117,7 +135,7 @@ public class ProofStore<T> {
 		if (null == el) {
 			throw new IllegalStateException("Store element not present: " + key.toHumanReadableString());
 		}
-		return (T) el.toArray()[0];
+		return el.iterator().next();
 	}
 
 	/**
@@ -131,14 +149,20 @@ public class ProofStore<T> {
 		Assert.notNull(key, "key cannot be null.");
 		Assert.notNull(element, "Store element cannot be null.");
 
-		Set<T> el = elements.get(key);
-		if (null == el) {
-			// No elements of this type have been added.
-			el = new HashSet<T>(1);
-			elements.put(key, el);
-		}
+		final boolean[] added = new boolean[1];
+		elements.compute(key, (k, el) -> {
+			if (null == el) {
+				// No elements of this type have been added.
+				el = newElementSet();
+			}
+			added[0] = el.add(element);
+			if (added[0]) {
+				index(key, element);
+			}
+			return el;
+		});
 		// Repeated instances are not allowed.
-		if (!el.add(element)) throw new ProofStoreException("Store element instance already present: " + key.toHumanReadableString());
+		if (!added[0]) throw new ProofStoreException("Store element instance already present: " + key.toHumanReadableString());
 	}
 
 	/**
@@ -149,12 +173,17 @@ public class ProofStore<T> {
 	public void remove(URN key) {
 		Assert.notNull(key, "Key cannot be null");
 
-		Set<T> el = elements.get(key);
-		if (null == el) {
+		final boolean[] present = new boolean[1];
+		elements.computeIfPresent(key, (k, el) -> {
+			present[0] = true;
+			for (T element : el) {
+				unindex(key, element);
+			}
+			return null;
+		});
+		if (!present[0]) {
 			throw new IllegalStateException("Store element key not present: " + key.toHumanReadableString());
 		}
-
-		elements.remove(key);
 	}
 
 	/**
@@ -186,18 +215,16 @@ public class ProofStore<T> {
 	 * 
 	 * @param value Object to search for.
 	 * 
-	 * @return URN key under which the Object value is stored.
+	 * @return URN key under which the Object value is stored, or null if it is not stored.
 	 */
 	public URN getKey(Object value) {
-		URN key = null;
-		Iterator<Entry<URN, Set<T>>> entryIter = (elements.entrySet()).iterator();
-		while (entryIter.hasNext()) {
-			Entry<URN, Set<T>> entry= (Entry<URN, Set<T>>) entryIter.next();
-			if (entry.getValue().contains(value)) {
-				key = entry.getKey();
-			}
-		}
-		return key;
+		if (value == null) return null;
+
+		Set<URN> urns = keys.get(value);
+		if (urns == null) return null;
+
+		Iterator<URN> urnIter = urns.iterator();
+		return urnIter.hasNext() ? urnIter.next() : null;
 	}
 
 	/**
@@ -251,4 +278,26 @@ public class ProofStore<T> {
 		}
 		return sb.toString();
 	}
+
+	private Set<T> newElementSet() {
+		return ConcurrentHashMap.<T>newKeySet(1);
+	}
+
+	/* Called within an update of the key, such that the reverse index follows the elements. */
+	private void index(URN key, T element) {
+		keys.compute(element, (e, urns) -> {
+			if (urns == null) {
+				urns = ConcurrentHashMap.<URN>newKeySet(1);
+			}
+			urns.add(key);
+			return urns;
+		});
+	}
+
+	private void unindex(URN key, T element) {
+		keys.computeIfPresent(element, (e, urns) -> {
+			urns.remove(key);
+			return urns.isEmpty() ? null : urns;
+		});
+	}
 }
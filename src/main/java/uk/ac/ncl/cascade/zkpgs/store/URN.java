@@ -5,10 +5,17 @@ import uk.ac.ncl.cascade.zkpgs.util.NamespaceComponent;
 import uk.ac.ncl.cascade.zkpgs.util.NamespaceComponent.Type;
 import java.io.Serializable;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Class represents a Uniform Resource Name (URN)
  *
+ * <p>URNs are immutable. The factory methods for String components intern the URNs of the zkpgs
+ * namespace, such that each distinct namespace-specific string is validated and its URNType
+ * parsed only once and equal URNs are mostly the same instance. Typed and unsafe URNs are
+ * interned separately, as they differ in their URNType.
+ *
  * @see <a href="https://tools.ietf.org/html/rfc2141">URN Syntax</a>
  * @see <a href="https://tools.ietf.org/html/rfc1737">Functional Requirements for Uniform Resource
  *     Names</a>
@@ -20,10 +27,17 @@ public final class URN implements Serializable {
 	public static final String COLON = ":";
 	public static final String DOT = ".";
 	private static final long serialVersionUID = -3082747487978142725L;
+	/** Maximum number of URNs held by each interning cache; further URNs are created as needed. */
+	private static final int INTERN_LIMIT = 1 << 16;
+	private static final NamespaceComponent zkpgsNamespaceComponent =
+			NamespaceComponent.fromString(zkpgsNameSpaceIdentifier, Type.IDENTIFIER);
+	private static final ConcurrentMap<String, URN> zkpgsURNs = new ConcurrentHashMap<String, URN>();
+	private static final ConcurrentMap<String, URN> unsafeZkpgsURNs = new ConcurrentHashMap<String, URN>();
 	private final NamespaceComponent namespaceIdentifier;
 	private final NamespaceComponent namespaceSpecific;
 	private final URNClass urnClass;
 	private final URNType urnType;
+	private transient int hash;
 
 	private URN(
 			final NamespaceComponent namespaceIdentifier, 
@@ -154,6 +168,10 @@ public final class URN implements Serializable {
 		Assert.notEmpty(namespaceIdentifier, "Namespace Identifier must not be empty in a urn");
 		Assert.notEmpty(namespaceSpecific, "Namespace Specific String must not be empty in a urn");
 
+		if (zkpgsNameSpaceIdentifier.equals(namespaceIdentifier)) {
+			return intern(zkpgsURNs, namespaceSpecific, false);
+		}
+
 		NamespaceComponent nic = NamespaceComponent.fromString(namespaceIdentifier, Type.IDENTIFIER);
 		NamespaceComponent nssc =
 				NamespaceComponent.fromString(namespaceSpecific, Type.SPECIFIC_STRING);
@@ -173,12 +191,7 @@ public final class URN implements Serializable {
 		Assert.notNull(namespaceSpecific, "Namespace Specific String is required for URN");
 		Assert.notEmpty(namespaceSpecific, "Namespace Specific String must not be empty in a urn");
 
-		NamespaceComponent nic =
-				NamespaceComponent.fromString(URN.getZkpgsNameSpaceIdentifier(), Type.IDENTIFIER);
-		NamespaceComponent nssc =
-				NamespaceComponent.fromString(namespaceSpecific, Type.SPECIFIC_STRING);
-
-		return new URN(nic, nssc, false);
+		return intern(zkpgsURNs, namespaceSpecific, false);
 	}
 
 	/**
@@ -200,6 +213,10 @@ public final class URN implements Serializable {
 		Assert.notEmpty(namespaceIdentifier, "Namespace Identifier must not be empty in a urn");
 		Assert.notEmpty(namespaceSpecific, "Namespace Specific String must not be empty in a urn");
 
+		if (zkpgsNameSpaceIdentifier.equals(namespaceIdentifier)) {
+			return intern(unsafeZkpgsURNs, namespaceSpecific, true);
+		}
+
 		NamespaceComponent nic = NamespaceComponent.fromString(namespaceIdentifier, Type.IDENTIFIER);
 		NamespaceComponent nssc =
 				NamespaceComponent.fromString(namespaceSpecific, Type.SPECIFIC_STRING);
@@ -218,12 +235,31 @@ public final class URN implements Serializable {
 		Assert.notNull(namespaceSpecific, "Namespace Specific String is required for URN");
 		Assert.notEmpty(namespaceSpecific, "Namespace Specific String must not be empty in a urn");
 
-		NamespaceComponent nic =
-				NamespaceComponent.fromString(URN.getZkpgsNameSpaceIdentifier(), Type.IDENTIFIER);
+		return intern(unsafeZkpgsURNs, namespaceSpecific, true);
+	}
+
+	/**
+	 * Returns the interned URN of the zkpgs namespace for a namespace-specific string, creating
+	 * it on first use. Invalid strings are not interned and throw on every attempt.
+	 */
+	private static URN intern(
+			final ConcurrentMap<String, URN> cache, final String namespaceSpecific, final boolean enforceUntyped) {
+		URN urn = cache.get(namespaceSpecific);
+		if (urn != null) {
+			return urn;
+		}
+
 		NamespaceComponent nssc =
 				NamespaceComponent.fromString(namespaceSpecific, Type.SPECIFIC_STRING);
+		urn = new URN(zkpgsNamespaceComponent, nssc, enforceUntyped);
 
-		return new URN(nic, nssc, true);
+		if (cache.size() < INTERN_LIMIT) {
+			URN interned = cache.putIfAbsent(namespaceSpecific, urn);
+			if (interned != null) {
+				return interned;
+			}
+		}
+		return urn;
 	}
 
 	@Override
@@ -238,6 +274,24 @@ public final class URN implements Serializable {
 		return sb.toString();
 	}
 
+	/**
+	 * Returns the namespace identifier of this URN, such as "zkpgs".
+	 *
+	 * @return the namespace identifier
+	 */
+	public String getNamespaceIdentifier() {
+		return namespaceIdentifier.getContent();
+	}
+
+	/**
+	 * Returns the namespace-specific string of this URN.
+	 *
+	 * @return the namespace-specific string
+	 */
+	public String getNamespaceSpecific() {
+		return namespaceSpecific.getContent();
+	}
+
 	public String toHumanReadableString() {
 		final StringBuilder sb = new StringBuilder("URN:");
 		sb.append(namespaceSpecific.getContent());
@@ -263,8 +317,12 @@ public final class URN implements Serializable {
 
 	@Override
 	public int hashCode() {
-		int result = this.namespaceIdentifier.hashCode();
-		result = 31 * result + this.namespaceSpecific.hashCode();
+		int result = hash;
+		if (result == 0) {
+			result = this.namespaceIdentifier.hashCode();
+			result = 31 * result + this.namespaceSpecific.hashCode();
+			hash = result;
+		}
 		return result;
 	}
 
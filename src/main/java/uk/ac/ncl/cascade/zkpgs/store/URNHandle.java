@@ -0,0 +1,213 @@
+package uk.ac.ncl.cascade.zkpgs.store;
+
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Handle on a family of URNs, which share a namespace-specific prefix and are distinguished by
+ * an index, such as the witness randomness tildem_i of the PossessionProver or the responses
+ * proofsignature.P_3.responses.hatm_i_ of a proof signature.
+ *
+ * <p>A handle builds the namespace-specific string of each index once and keeps the URN for
+ * subsequent lookups, such that the URNs of large graphs are neither concatenated nor parsed
+ * again. Handles for URNTypes of a governing class take the place of
+ * URNType.buildURN(URNType, Class, int), which resolves the URNID of the class by reflection.
+ *
+ * <p>Handles are cached per family and are safe for concurrent use.
+ */
+public final class URNHandle {
+	/** Largest index for which URNs are kept; URNs of larger indexes are created as needed. */
+	private static final int MAX_CACHED_INDEX = 1 << 16;
+
+	private static final ClassValue<ConcurrentMap<URNType, URNHandle>> typedHandles =
+			new ClassValue<ConcurrentMap<URNType, URNHandle>>() {
+				@Override
+				protected ConcurrentMap<URNType, URNHandle> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<URNType, URNHandle>();
+				}
+			};
+	private static final ConcurrentMap<String, URNHandle> prefixHandles =
+			new ConcurrentHashMap<String, URNHandle>();
+	private static final ConcurrentMap<String, URNHandle> unsafePrefixHandles =
+			new ConcurrentHashMap<String, URNHandle>();
+
+	private final String prefix;
+	private final URNType urnType;
+	private final boolean unsafe;
+	private final String governingClass;
+	private volatile URN[] urns = new URN[0];
+	private volatile URN urn;
+
+	private URNHandle(final String prefix, final URNType urnType, final boolean unsafe, final String governingClass) {
+		this.prefix = prefix;
+		this.urnType = urnType;
+		this.unsafe = unsafe;
+		this.governingClass = governingClass;
+	}
+
+	/**
+	 * Returns the handle of an URNType of a prover/verifier class with the IProver/IVerifier
+	 * interface, or any other class declaring an URNID.
+	 *
+	 * @param t URNType to use.
+	 * @param c Governing class.
+	 * @return the handle
+	 * @throws IllegalArgumentException if the URNID of the class cannot be accessed.
+	 */
+	@SuppressWarnings("rawtypes")
+	public static URNHandle forType(final URNType t, final Class c) {
+		Assert.notNull(t, "The URNType must not be null.");
+		Assert.notNull(c, "The governing class must not be null.");
+
+		ConcurrentMap<URNType, URNHandle> handles = typedHandles.get(c);
+		URNHandle handle = handles.get(t);
+		if (handle == null) {
+			String component = getURNID(c) + URN.DOT + URNType.getNameSpaceComponentClass(t) + URN.DOT
+					+ URNType.getSuffix(t);
+			handle = new URNHandle(component, t, false, URNType.isURNGoverner(c) ? null : c.getName());
+			URNHandle existing = handles.putIfAbsent(t, handle);
+			if (existing != null) {
+				handle = existing;
+			}
+		}
+		return handle;
+	}
+
+	/**
+	 * Returns the handle of a family of zkpgs URNs with a common namespace-specific prefix,
+	 * whose URNType is inferred from the suffix.
+	 *
+	 * @param prefix the namespace-specific prefix, to which the index is appended
+	 * @return the handle
+	 */
+	public static URNHandle forPrefix(final String prefix) {
+		return forPrefix(prefixHandles, prefix, false);
+	}
+
+	/**
+	 * Returns the handle of a family of zkpgs URNs with a common namespace-specific prefix,
+	 * while deactivating the URNType protection.
+	 *
+	 * @param prefix the namespace-specific prefix, to which the index is appended
+	 * @return the handle
+	 */
+	public static URNHandle forUnsafePrefix(final String prefix) {
+		return forPrefix(unsafePrefixHandles, prefix, true);
+	}
+
+	private static URNHandle forPrefix(
+			final ConcurrentMap<String, URNHandle> handles, final String prefix, final boolean unsafe) {
+		Assert.notNull(prefix, "The URN prefix must not be null.");
+		URNHandle handle = handles.get(prefix);
+		if (handle == null) {
+			handle = new URNHandle(prefix, null, unsafe, null);
+			URNHandle existing = handles.putIfAbsent(prefix, handle);
+			if (existing != null) {
+				handle = existing;
+			}
+		}
+		return handle;
+	}
+
+	/**
+	 * Returns the URN of this handle for a non-enumerable URNType.
+	 *
+	 * @return the URN
+	 * @throws IllegalArgumentException if the URNType of the handle is enumerable.
+	 */
+	public URN get() {
+		URN result = urn;
+		if (result == null) {
+			result = create(getComponent());
+			urn = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the URN of this handle for an index.
+	 *
+	 * @param index the index
+	 * @return the URN
+	 * @throws IllegalArgumentException if the URNType of the handle is not enumerable or
+	 * its class does not govern URNs.
+	 */
+	public URN get(final int index) {
+		URN[] current = urns;
+		if (index >= 0 && index < current.length && current[index] != null) {
+			return current[index];
+		}
+
+		URN result = create(getComponent(index));
+		if (index >= 0 && index < MAX_CACHED_INDEX) {
+			cache(index, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the namespace-specific component of this handle for a non-enumerable URNType.
+	 *
+	 * @return the namespace-specific component
+	 * @throws IllegalArgumentException if the URNType of the handle is enumerable.
+	 */
+	public String getComponent() {
+		if (urnType != null && URNType.isEnumerable(urnType)) {
+			throw new IllegalArgumentException(
+					"URNType " + urnType + " is enumerable and should be evaluated with an index.");
+		}
+		return prefix;
+	}
+
+	/**
+	 * Returns the namespace-specific component of this handle for an index.
+	 *
+	 * @param index the index
+	 * @return the namespace-specific component
+	 * @throws IllegalArgumentException if the URNType of the handle is not enumerable or
+	 * its class does not govern URNs.
+	 */
+	public String getComponent(final int index) {
+		if (urnType != null) {
+			if (!URNType.isEnumerable(urnType)) {
+				throw new IllegalArgumentException(
+						"URNType " + urnType + " is not enumerable and should not be evaluated with an index.");
+			}
+			if (governingClass != null) {
+				throw new IllegalArgumentException("Class " + governingClass + " does not implement an IURNGoverner interface.");
+			}
+		}
+		return prefix + index;
+	}
+
+	private URN create(final String component) {
+		return unsafe ? URN.createUnsafeZkpgsURN(component) : URN.createZkpgsURN(component);
+	}
+
+	/*
+	 * Readers that miss a concurrently cached URN create an equal one; URNs are immutable and
+	 * therefore safely shared through the array without further synchronization.
+	 */
+	private synchronized void cache(final int index, final URN result) {
+		URN[] current = urns;
+		if (index >= current.length) {
+			URN[] extended = new URN[Math.min(MAX_CACHED_INDEX, Math.max(index + 1, 2 * current.length))];
+			System.arraycopy(current, 0, extended, 0, current.length);
+			extended[index] = result;
+			urns = extended;
+		} else {
+			current[index] = result;
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static String getURNID(final Class c) {
+		try {
+			return (String) c.getDeclaredField("URNID").get(null);
+		} catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException e) {
+			throw new IllegalArgumentException("URNID of component " + c.getName() + " could not be accessed.", e);
+		}
+	}
+}
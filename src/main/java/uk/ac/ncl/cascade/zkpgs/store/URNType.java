@@ -2,6 +2,8 @@ package uk.ac.ncl.cascade.zkpgs.store;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import uk.ac.ncl.cascade.zkpgs.BaseRepresentation;
 import uk.ac.ncl.cascade.zkpgs.BaseRepresentation.BASE;
@@ -485,15 +487,7 @@ public enum URNType {
 			throw new IllegalArgumentException("URNType " + t + " is enumerable and should be evaluated with an index.");
 		}
 
-		String proverID;
-		try {
-			proverID = (String) c.getDeclaredField("URNID").get(null);
-		} catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException e) {
-			throw new IllegalArgumentException("URNID of component " + c.getName() + " could not be accessed.", e);
-		}
-
-
-		return proverID + URN.DOT + URNType.getNameSpaceComponentClass(t) + URN.DOT + URNType.getSuffix(t);
+		return URNHandle.forType(t, c).getComponent();
 	}
 
 	/**
@@ -579,15 +573,7 @@ public enum URNType {
 			throw new IllegalArgumentException("URNType " + t + " is enumerable and should be evaluated with an index.");
 		}
 
-		String proverID;
-		try {
-			proverID = (String) c.getDeclaredField("URNID").get(null);
-		} catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException e) {
-			throw new IllegalArgumentException("URNID of component " + c.getName() + " could not be accessed.", e);
-		}
-
-
-		return proverID + URN.DOT + URNType.getNameSpaceComponentClass(t) + URN.DOT + URNType.getSuffix(t);
+		return URNHandle.forType(t, c).getComponent();
 	}
 
 	/**
@@ -600,7 +586,11 @@ public enum URNType {
 	 */
 	@SuppressWarnings("rawtypes")
 	public static URN buildURN(URNType t, Class c) {
-		return URN.createZkpgsURN(buildURNComponent(t, c));
+		if (URNType.isEnumerable(t)) {
+			throw new IllegalArgumentException("URNType " + t + " is enumerable and should be evaluated with an index.");
+		}
+
+		return URNHandle.forType(t, c).get();
 	}
 
 	/**
@@ -614,7 +604,11 @@ public enum URNType {
 	 */
 	@SuppressWarnings("rawtypes")
 	public static URN buildURN(URNType t, Class c, int index) {
-		return URN.createZkpgsURN(buildURNComponent(t, c, index));
+		if (!URNType.isEnumerable(t)) {
+			throw new IllegalArgumentException("URNType " + t + " is not enumerable and should not be evaluated with an index.");
+		}
+
+		return URNHandle.forType(t, c).get(index);
 	}
 
 	/**
@@ -635,14 +629,7 @@ public enum URNType {
 			throw new IllegalArgumentException("Class " + c.getName() + " does not implement an IURNGoverner interface.");
 		}
 
-		String proverID;
-		try {
-			proverID = (String) c.getDeclaredField("URNID").get(null);
-		} catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException e) {
-			throw new IllegalArgumentException("URNID of component " + c.getName() + " could not be accessed.", e);
-		}
-
-		return proverID + URN.DOT + URNType.getNameSpaceComponentClass(t) + URN.DOT + URNType.getSuffix(t) + index;
+		return URNHandle.forType(t, c).getComponent(index);
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -717,6 +704,19 @@ public enum URNType {
 	 * @return URNType as given by the suffix.
 	 */
 	protected static URNType parseURNSuffix(String urnSuffix) {
+		URNType cached = SuffixCache.types.get(urnSuffix);
+		if (cached != null) {
+			return cached;
+		}
+
+		URNType urnType = matchURNSuffix(urnSuffix);
+		if (SuffixCache.types.size() < SuffixCache.LIMIT) {
+			SuffixCache.types.putIfAbsent(urnSuffix, urnType);
+		}
+		return urnType;
+	}
+
+	private static URNType matchURNSuffix(String urnSuffix) {
 		URNType[] urnTypes = URNType.values();
 		for (int i = 0; i < urnTypes.length; i++) {
 			if (urnTypes[i].equals(URNType.UNDEFINED)) continue;
@@ -728,6 +728,12 @@ public enum URNType {
 		throw new IllegalArgumentException("The URNType for suffix " + urnSuffix + " could not be determined.");
 	}
 	
+	/** Holds the URNTypes of parsed suffixes, such that each suffix is matched only once. */
+	private static final class SuffixCache {
+		static final int LIMIT = 1 << 16;
+		static final ConcurrentMap<String, URNType> types = new ConcurrentHashMap<String, URNType>();
+	}
+
 	/**
 	 * Checks for the internal consistency of the URNType system.
 	 * Each defined URNType is required to offer an non-UNDEFINED URNClass, a suffix String
@@ -4,6 +4,7 @@ import uk.ac.ncl.cascade.zkpgs.BaseRepresentation;
 import uk.ac.ncl.cascade.zkpgs.BaseRepresentation.BASE;
 import uk.ac.ncl.cascade.zkpgs.context.IContextProducer;
 import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 
 import java.io.Serializable;
 import java.math.BigInteger;
@@ -81,6 +82,13 @@ public class BaseCollectionImpl implements BaseCollection, Serializable, IContex
 			baseRepresentation.addToChallengeContext(ctxList);
 		}
 	}
+
+	@Override
+	public void addToChallengeHash(ChallengeHash hash) {
+		for (BaseRepresentation baseRepresentation : bases) {
+			baseRepresentation.addToChallengeHash(hash);
+		}
+	}
 	
 	@Override
 	public void removeExponents() {
@@ -36,6 +36,10 @@ private enum cryptoUtil {
     return CryptoUtilsFactory.getInstance(GS).randomMinusPlusNumber(bitLength);
   }
 
+  public static BigInteger[] computeRandomNumbersMinusPlus(int... bitLengths) {
+    return CryptoUtilsFactory.getInstance(GS).randomMinusPlusNumbers(bitLengths);
+  }
+
   public CryptoUtilsFacade() {}
 
   public static BigInteger computeMultiBaseExp(
@@ -72,6 +76,10 @@ private enum cryptoUtil {
     return CryptoUtilsFactory.getInstance(GS).createRandomNumber(bitLength);
   }
 
+  public static BigInteger[] computeRandomNumbers(int... bitLengths) {
+    return CryptoUtilsFactory.getInstance(GS).createRandomNumbers(bitLengths);
+  }
+
   public static BigInteger computeHash(List<String> list, int hashLength)
       throws NoSuchAlgorithmException {
     return CryptoUtilsFactory.getInstance(GS).computeHash(list, hashLength);
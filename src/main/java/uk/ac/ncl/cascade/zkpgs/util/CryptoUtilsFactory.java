@@ -1,10 +1,29 @@
 package uk.ac.ncl.cascade.zkpgs.util;
 
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MontgomeryQRGroupN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.RandomnessProvider;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrimePool;
+
+import java.math.BigInteger;
+
 /** Provides a factory for different low-level implementations of number theoretic computations */
 public class CryptoUtilsFactory {
 
+  /** Realizations of the Quadratic Residues group QR_N without known modulus factorization. */
+  public enum QRGroupImplementation {
+    /** Elements hold their value as BigInteger, {@link QRGroupN}. */
+    BIG_INTEGER,
+    /** Elements are held in Montgomery form, {@link MontgomeryQRGroupN}. */
+    MONTGOMERY
+  }
+
   private static IdemixUtils idemixUtil;
   private static GSUtils gsUtil;
+  private static volatile QRGroupImplementation qrGroupImplementation =
+      QRGroupImplementation.BIG_INTEGER;
+  private static volatile SafePrimePool safePrimePool;
+  private static volatile RandomnessProvider randomnessProvider = RandomnessProvider.perThread();
 
   public CryptoUtilsFactory() {}
 
@@ -34,4 +53,78 @@ public class CryptoUtilsFactory {
         return gsUtil = (gsUtil == null) ? new GSUtils() : gsUtil;
     }
   }
+
+  /**
+   * Selects the realization of the public Quadratic Residues groups QR_N created by {@link
+   * #createQRGroupN(BigInteger)}, for instance for the public keys derived from a signer key pair.
+   *
+   * @param implementation the realization of QR_N
+   */
+  public static void setQRGroupImplementation(final QRGroupImplementation implementation) {
+    Assert.notNull(implementation, "QR group implementation must not be null");
+    qrGroupImplementation = implementation;
+  }
+
+  /**
+   * Returns the selected realization of the Quadratic Residues group QR_N.
+   *
+   * @return the realization of QR_N
+   */
+  public static QRGroupImplementation getQRGroupImplementation() {
+    return qrGroupImplementation;
+  }
+
+  /**
+   * Sets the pool of pre-generated safe primes from which the safe primes of special RSA moduli
+   * are taken. Without a pool (the default), or if the pool runs empty, safe primes are searched.
+   *
+   * @param pool the safe-prime pool, or null to search all safe primes
+   */
+  public static void setSafePrimePool(final SafePrimePool pool) {
+    safePrimePool = pool;
+  }
+
+  /**
+   * Returns the pool of pre-generated safe primes.
+   *
+   * @return the safe-prime pool, or null if none is set
+   */
+  public static SafePrimePool getSafePrimePool() {
+    return safePrimePool;
+  }
+
+  /**
+   * Selects the source of randomness of the number theoretic utilities, for instance a seeded
+   * provider from {@link RandomnessProvider#seeded(byte[])} for repeatable benchmarks. The default
+   * is the per-thread provider {@link RandomnessProvider#perThread()}.
+   *
+   * @param provider the randomness provider
+   */
+  public static void setRandomnessProvider(final RandomnessProvider provider) {
+    Assert.notNull(provider, "Randomness provider must not be null");
+    randomnessProvider = provider;
+  }
+
+  /**
+   * Returns the selected source of randomness.
+   *
+   * @return the randomness provider
+   */
+  public static RandomnessProvider getRandomnessProvider() {
+    return randomnessProvider;
+  }
+
+  /**
+   * Creates a Quadratic Residues group without known modulus factorization in the selected
+   * realization.
+   *
+   * @param modulus the special RSA modulus N
+   * @return the group QR_N
+   */
+  public static QRGroupN createQRGroupN(final BigInteger modulus) {
+    if (qrGroupImplementation == QRGroupImplementation.MONTGOMERY) {
+      return new MontgomeryQRGroupN(modulus);
+    }
+    return new QRGroupN(modulus);
+  }
 }
@@ -8,11 +8,14 @@ import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.*;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -21,7 +24,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class GSUtils implements INumberUtils {
 
-	private final SecureRandom secureRandom;
+	private static final Logger gslog = GSLoggerConfiguration.getGSlog();
 
 	private BigInteger modN;
 	private SafePrime p;
@@ -39,7 +42,14 @@ public class GSUtils implements INumberUtils {
 	 * Instantiates a new Gs utils.
 	 */
 	public GSUtils() {
-		this.secureRandom = new SecureRandom();
+	}
+
+	/**
+	 * Returns the generator of the calling thread from the randomness provider selected in {@link
+	 * CryptoUtilsFactory#setRandomnessProvider(RandomnessProvider)}.
+	 */
+	private static SecureRandom secureRandom() {
+		return CryptoUtilsFactory.getRandomnessProvider().getSecureRandom();
 	}
 
 	/**
@@ -59,7 +69,7 @@ public class GSUtils implements INumberUtils {
 		BigInteger number;
 
 		do {
-			number = new BigInteger(maxPlusMin.bitLength(), secureRandom);
+			number = new BigInteger(maxPlusMin.bitLength(), secureRandom());
 			number = number.subtract(positiveMin);
 		} while ((number.compareTo(max) > 0)
 				|| (number.compareTo(negativeMin) < 0)
@@ -67,9 +77,51 @@ public class GSUtils implements INumberUtils {
 		return number;
 	}
 
+	/**
+	 * Computes random numbers in the ranges of {@link #randomMinusPlusNumber(int)}, drawing the
+	 * candidates for all numbers from a single request to the randomness provider and drawing again
+	 * only for the rejected candidates.
+	 *
+	 * @param bitLengths the bitlengths for the random numbers
+	 * @return random numbers in the ranges of [-2^bitLengths[i]+1, +2^bitLengths[i]-1]
+	 */
+	@Override
+	public BigInteger[] randomMinusPlusNumbers(int... bitLengths) {
+		BigInteger[] numbers = new BigInteger[bitLengths.length];
+		int[] pending = new int[bitLengths.length];
+		for (int i = 0; i < pending.length; i++) {
+			pending[i] = i;
+		}
+		int pendingCount = pending.length;
+
+		while (pendingCount > 0) {
+			int[] candidateLengths = new int[pendingCount];
+			for (int j = 0; j < pendingCount; j++) {
+				candidateLengths[j] = bitLengths[pending[j]] + 1;
+			}
+			BigInteger[] candidates =
+					CryptoUtilsFactory.getRandomnessProvider().nextNumbers(candidateLengths);
+
+			int rejected = 0;
+			for (int j = 0; j < pendingCount; j++) {
+				int bitLength = bitLengths[pending[j]];
+				BigInteger number = candidates[j].subtract(NumberConstants.TWO.getValue().pow(bitLength));
+				if (number.bitLength() == bitLength) {
+					numbers[pending[j]] = number;
+				} else {
+					pending[rejected++] = pending[j];
+				}
+			}
+			pendingCount = rejected;
+		}
+		return numbers;
+	}
+
 	/**
 	 * Computes a multi base exponentiation using a list of bases, over a list of exponents and reduce
-	 * each operation by modulo N. Note that the list length of the bases and exponents must match.
+	 * the product modulo N. Note that the list length of the bases and exponents must match.
+	 *
+	 * <p>The product is computed simultaneously by the {@link MultiExponentiation} engine.
 	 *
 	 * @param bases     a list of BigIntegers representing different bases
 	 * @param exponents a list of BigIntegers which the bases are to be raised
@@ -85,11 +137,7 @@ public class GSUtils implements INumberUtils {
 		Assert.notNull(modN, "modulus N must not be null");
 		Assert.checkSize(bases.size(), exponents.size(), "bases and exponents must have the same size");
 
-		BigInteger result = BigInteger.ONE;
-		for (int i = 0; i < bases.size(); i++) {
-			result = result.multiply(bases.get(i).modPow(exponents.get(i), modN));
-		}
-		return result;
+		return MultiExponentiation.compute(bases, exponents, modN);
 	}
 
 	/**
@@ -107,9 +155,6 @@ public class GSUtils implements INumberUtils {
 	@Override
 	public BigInteger multiBaseExpMap(
 			Map<URN, GroupElement> bases, Map<URN, BigInteger> exponents, BigInteger modN) {
-		GroupElement base;
-		BigInteger exponent;
-
 		// This function does not work. There is no guarantee that the two maps are ordered in the same way.
 
 
@@ -118,24 +163,21 @@ public class GSUtils implements INumberUtils {
 		Assert.notNull(modN, "modulus N must not be null");
 		Assert.checkSize(bases.size(), exponents.size(), "bases and exponents must have the same size");
 
-		List<GroupElement> basesList = new ArrayList<GroupElement>(bases.values());
+		List<BigInteger> basesList = new ArrayList<BigInteger>(bases.size());
+		for (GroupElement base : bases.values()) {
+			basesList.add(base.getValue());
+		}
 		List<BigInteger> exponentList = new ArrayList<BigInteger>(exponents.values());
 
-		BigInteger result = BigInteger.ONE;
-		for (int i = 0; i < bases.size(); i++) {
-			base = basesList.get(i);
-			exponent = exponentList.get(i);
-			if (exponent != null) {
-				result = result.multiply(base.modPow(exponent).getValue()).mod(modN);
-			}
-		}
-		return result;
+		return MultiExponentiation.compute(basesList, exponentList, modN);
 	}
 
 	/**
 	 * Generates a prime number with a minimum and maximum bitlength. The generated prime number is in
 	 * range of [2^minBitLength, 2^maxBigLength].
 	 *
+	 * <p>The prime is found by a {@link PrimeSieve} from a random start in the range.
+	 *
 	 * @param minBitLength the minimum bitlength for the prime number
 	 * @param maxBitLength the maximum bitlength for the prime number
 	 * @return prime number in range of [2^minBitLength, 2^maxBigLength]
@@ -145,20 +187,17 @@ public class GSUtils implements INumberUtils {
 		/** TODO check if the implementation is correct for [2^l_e, 2^l_e + 2^lPrime_e] */
 		BigInteger min = NumberConstants.TWO.getValue().pow(minBitLength);
 		BigInteger max = min.add(NumberConstants.TWO.getValue().pow(maxBitLength));
-		BigInteger prime = max;
 
-		while ((prime.compareTo(min) < 0) || (prime.compareTo(max) > 0) || !prime.isProbablePrime(80)) {
-			BigInteger offset = new BigInteger(maxBitLength, secureRandom);
-			prime = min.add(offset).nextProbablePrime();
-		}
-
-		return prime;
+		return PrimeSieve.randomPrimeInRange(min, max, 80, secureRandom());
 	}
 
 	/**
 	 * Generates a prime number in range of a minimum negative integer number and a maximum positive
 	 * integer number.
 	 *
+	 * <p>For a non-negative minimum, the prime is found by a {@link PrimeSieve} from a random
+	 * start in the range.
+	 *
 	 * @param min the minimum integer number
 	 * @param max the maximum integer number
 	 * @return prime number in range of [-min, +max]
@@ -191,7 +230,7 @@ public class GSUtils implements INumberUtils {
 		BigInteger prime;
 
 		do {
-			prime = new BigInteger(maxPlusMin.bitLength(), secureRandom);
+			prime = new BigInteger(maxPlusMin.bitLength(), secureRandom());
 			prime = generateRandomPrime(prime.subtract(positiveMin).bitLength());
 		} while ((prime.compareTo(min) < 0) || (prime.compareTo(max) > 0) || !isPrime(prime));
 
@@ -199,28 +238,26 @@ public class GSUtils implements INumberUtils {
 	}
 
 	private BigInteger generatePrimeWithPositiveMin(BigInteger min, BigInteger max) {
-		BigInteger prime;
-		BigInteger difference = max.subtract(min).add(BigInteger.ONE);
-
-		do {
-			BigInteger temp = new BigInteger(difference.bitLength(), secureRandom);
-			prime = temp.add(min);
-		} while ((prime.compareTo(min) < 0) || (prime.compareTo(max) > 0) || !isPrime(prime));
-
-		return prime;
+		Assert.notNull(KeyGenParameters.getKeyGenParameters(), "KeyGenParameters was null.");
+		return PrimeSieve.randomPrimeInRange(
+				min, max, KeyGenParameters.getKeyGenParameters().getL_pt(), secureRandom());
 	}
 
 	/**
 	 * Algorithm <tt>alg:generateSpecialRSAModulus</tt> - topocert-doc Computes a special RSA modulus.
 	 * Generates random safe primes p and q. The modulus N is computed by multiplying p and q.
 	 *
+	 * <p>Each of the safe primes is searched on all available processors.
+	 *
 	 * @return an instance of SpecialRSAMod with modulus N and prime factors p and q
 	 */
 	@Override
 	public SpecialRSAMod generateSpecialRSAModulus() {
 
 		p = this.generateRandomSafePrime(KeyGenParameters.getKeyGenParameters());
-		q = this.generateRandomSafePrime(KeyGenParameters.getKeyGenParameters());
+		do {
+			q = this.generateRandomSafePrime(KeyGenParameters.getKeyGenParameters());
+		} while (q.getSafePrime().equals(p.getSafePrime()));
 		modN = p.getSafePrime().multiply(q.getSafePrime());
 		return new SpecialRSAMod(modN, p, q);
 	}
@@ -249,7 +286,7 @@ public class GSUtils implements INumberUtils {
 		range = max.subtract(min).add(BigInteger.ONE);
 
 		do {
-			randomNumber = new BigInteger(range.bitLength(), secureRandom);
+			randomNumber = new BigInteger(range.bitLength(), secureRandom());
 		} while (randomNumber.compareTo(range) >= 0);
 
 		return randomNumber.add(min);
@@ -266,15 +303,27 @@ public class GSUtils implements INumberUtils {
 	 */
 	@Override
 	public BigInteger createRandomNumber(final int bitLength) {
-		return new BigInteger(bitLength, secureRandom);
+		return new BigInteger(bitLength, secureRandom());
+	}
+
+	/**
+	 * Computes uniformly random BigIntegers with ranges [0, 2^bitLengths[i] - 1], drawn from a
+	 * single request to the randomness provider.
+	 *
+	 * @param bitLengths the maximum bitLengths of the BigIntegers
+	 * @return BigIntegers in ranges of [0, 2^bitLengths[i] - 1]
+	 */
+	@Override
+	public BigInteger[] createRandomNumbers(final int... bitLengths) {
+		return CryptoUtilsFactory.getRandomnessProvider().nextNumbers(bitLengths);
 	}
 
 	/**
 	 * Generates a new commitment group.
 	 *
-	 * <p>We first generate a random prime ρ and then we compute the commitment group modulus Γ using
-	 * ρ as input. The next step is to create the generator for the commitment group taking as input
-	 * both ρ and Γ.
+	 * <p>We first generate a random prime ρ and then we search the commitment group modulus Γ = ρm + 1
+	 * of bit length l_Γ with {@link #computeCommitmentGroupModulus(BigInteger, int)}. The next step
+	 * is to create the generator for the commitment group taking as input both ρ and Γ.
 	 *
 	 * <p>We create a random number r in range of [0, ρ] and compute h using the modulus
 	 * exponentiation of the commitment group generator g over the random number r and the commitment
@@ -286,9 +335,9 @@ public class GSUtils implements INumberUtils {
 	@Override
 	public CommitmentGroup generateCommitmentGroup() {
 
-		// TODO check if the computations are correct
-		rho = generateRandomPrime(KeyGenParameters.getKeyGenParameters().getL_rho());
-		gamma = computeCommitmentGroupModulus(rho);
+		KeyGenParameters keyGenParameters = KeyGenParameters.getKeyGenParameters();
+		rho = generateRandomPrime(keyGenParameters.getL_rho());
+		gamma = computeCommitmentGroupModulus(rho, keyGenParameters.getL_gamma());
 		g = createCommitmentGroupGenerator(rho, gamma);
 		r = createRandomNumber(BigInteger.ZERO, rho);
 		h = g.modPow(r, gamma);
@@ -299,6 +348,9 @@ public class GSUtils implements INumberUtils {
 	/**
 	 * Creates generator for the commitment group.
 	 *
+	 * <p>As ρ is prime, h^((Γ - 1) / ρ) generates the subgroup of order ρ unless it is 1, such that a
+	 * single exponentiation checks a candidate.
+	 *
 	 * @param rho   random prime number
 	 * @param gamma commitment group modulus
 	 * @return generator for the commitment group
@@ -312,12 +364,9 @@ public class GSUtils implements INumberUtils {
 		exp = gamma.subtract(BigInteger.ONE).divide(rho);
 
 		do {
-			h = createRandomNumber(NumberConstants.TWO.getValue(), gamma);
-			//      log.info("h: " + h);
+			h = createRandomNumber(NumberConstants.TWO.getValue(), gamma.subtract(BigInteger.ONE));
 			g = h.modPow(exp, gamma);
-			//      log.info("g: " + g);
-
-		} while (h.equals(BigInteger.ONE));
+		} while (g.equals(BigInteger.ONE));
 
 		return g;
 	}
@@ -325,34 +374,115 @@ public class GSUtils implements INumberUtils {
 	/**
 	 * Algorithm <tt>alg:zps_gen</tt> - topocert-doc
 	 *
-	 * <p>Create generator for \( Z^*_\Gamma \).
+	 * <p>Create generator for \( Z^*_\Gamma \) of a prime Γ, given the prime factors of Γ - 1.
+	 *
+	 * <p>A random candidate α is a generator if α^((Γ - 1) / p) ≠ 1 for every distinct prime factor p.
+	 * Instead of one full exponentiation per factor, the powers share their intermediate results:
+	 * starting from x = α^((Γ - 1) / (p_1 ... p_r)), the factors are split into two halves and x is
+	 * raised to the product of either half before recursing into the other, such that the checks
+	 * cost exponentiations with about log r times the bits of the factors.
 	 *
-	 * @param gamma        the gamma modulus
-	 * @param primeFactors the prime factors
+	 * @param gamma        the prime gamma modulus
+	 * @param primeFactors the prime factors of Γ - 1, possibly with repetitions
 	 * @return generator for \( Z^*_\Gamma \)
 	 */
 	public BigInteger createZPSGenerator(
 			final BigInteger gamma, final Iterable<BigInteger> primeFactors) {
-		// TODO check if current algorithm is correct
-		BigInteger alpha, beta, g = BigInteger.ONE;
+		Assert.notNull(gamma, "The modulus must not be null.");
+		Assert.notNull(primeFactors, "The prime factors must not be null.");
+
+		BigInteger order = gamma.subtract(BigInteger.ONE);
+		List<BigInteger> factors = new ArrayList<BigInteger>(new TreeSet<BigInteger>(toList(primeFactors)));
+		BigInteger product = product(factors, 0, factors.size());
+		BigInteger[] cofactor = order.divideAndRemainder(product);
+		if (factors.isEmpty() || cofactor[1].signum() != 0) {
+			throw new IllegalArgumentException("The prime factors must divide the group order.");
+		}
 
-		List<BigInteger> genFactors = new ArrayList<BigInteger>();
+		BigInteger alpha;
+		do {
+			alpha = createRandomNumber(NumberConstants.TWO.getValue(), order);
+		} while (!generatesZPS(alpha.modPow(cofactor[0], gamma), gamma, factors, 0, factors.size()));
 
-		for (BigInteger factor : primeFactors) {
-			do {
-				alpha = createRandomNumber(BigInteger.ONE, gamma.subtract(BigInteger.ONE));
+		return alpha;
+	}
 
-				beta = alpha.modPow(factor, gamma);
+	/**
+	 * Checks x^(P / p) ≠ 1 for the factors p of factors[from, to), where P is their product.
+	 */
+	private static boolean generatesZPS(
+			final BigInteger x,
+			final BigInteger gamma,
+			final List<BigInteger> factors,
+			final int from,
+			final int to) {
+		if (x.equals(BigInteger.ONE)) {
+			return false;
+		}
+		if (to - from == 1) {
+			return true;
+		}
+		int mid = (from + to) >>> 1;
+		return generatesZPS(x.modPow(product(factors, mid, to), gamma), gamma, factors, from, mid)
+				&& generatesZPS(x.modPow(product(factors, from, mid), gamma), gamma, factors, mid, to);
+	}
 
-			} while (beta.equals(BigInteger.ONE)); // || !beta.equals(BigInteger.valueOf(0)));
-			genFactors.add(alpha.modPow(factor, gamma));
+	private static BigInteger product(final List<BigInteger> factors, final int from, final int to) {
+		BigInteger product = BigInteger.ONE;
+		for (int i = from; i < to; i++) {
+			product = product.multiply(factors.get(i));
 		}
+		return product;
+	}
 
-		for (BigInteger genFactor : genFactors) {
-			g = g.multiply(genFactor).mod(gamma);
+	private static List<BigInteger> toList(final Iterable<BigInteger> numbers) {
+		List<BigInteger> list = new ArrayList<BigInteger>();
+		for (BigInteger number : numbers) {
+			list.add(number);
 		}
+		return list;
+	}
 
-		return g;
+	/**
+	 * Searches a prime commitment group modulus Γ = ρm + 1 of a bit length for a prime ρ.
+	 *
+	 * <p>The multipliers m are even and searched from a random start. Rather than testing one random
+	 * multiplier at a time, the candidates Γ of a whole window of successive multipliers are sieved
+	 * by the small primes first and only the remaining candidates are tested for primality.
+	 *
+	 * @param rho the prime order ρ of the subgroup
+	 * @param bitLength the bit length of Γ
+	 * @return the prime modulus Γ, where ρ divides Γ - 1
+	 */
+	public BigInteger computeCommitmentGroupModulus(final BigInteger rho, final int bitLength) {
+		Assert.notNull(rho, "The subgroup order must not be null.");
+		if (bitLength <= rho.bitLength() + 1) {
+			throw new IllegalArgumentException(
+					"The bit length of the modulus must exceed the bit length of rho by at least two.");
+		}
+		int certainty = KeyGenParameters.getKeyGenParameters().getL_pt();
+		BigInteger step = rho.shiftLeft(1);
+		BigInteger min = BigInteger.ONE.shiftLeft(bitLength - 1);
+		BigInteger max = BigInteger.ONE.shiftLeft(bitLength).subtract(BigInteger.ONE);
+
+		// Γ = step * j + 1 for j in [jMin, jMax]
+		BigInteger jMin = min.subtract(BigInteger.ONE).add(step).subtract(BigInteger.ONE).divide(step);
+		BigInteger jMax = max.subtract(BigInteger.ONE).divide(step);
+		BigInteger j = createRandomNumber(jMin, jMax);
+		BigInteger start = step.multiply(j).add(BigInteger.ONE);
+
+		BigInteger modulus = PrimeSieve.nextPrimeInProgression(start, step, max, certainty);
+		if (modulus == null && j.compareTo(jMin) > 0) {
+			modulus =
+					PrimeSieve.nextPrimeInProgression(
+							step.multiply(jMin).add(BigInteger.ONE), step, start.subtract(BigInteger.ONE), certainty);
+		}
+		if (modulus == null) {
+			throw new IllegalArgumentException("No commitment group modulus of the bit length exists.");
+		}
+		this.rho = rho;
+		this.gamma = modulus;
+		return modulus;
 	}
 
 	/**
@@ -439,7 +569,7 @@ public class GSUtils implements INumberUtils {
 			do {
 				n = createRandomNumber(min, n);
 
-				if (n.isProbablePrime(KeyGenParameters.getKeyGenParameters().getL_pt())) {
+				if (PrimeSieve.isProbablePrime(n, KeyGenParameters.getKeyGenParameters().getL_pt())) {
 					primeSeq.add(n);
 					y = y.multiply(n);
 				}
@@ -481,7 +611,7 @@ public class GSUtils implements INumberUtils {
 				p = p.multiply(factor);
 			}
 			p = p.add(BigInteger.ONE);
-		} while (!isPrime(p));
+		} while (PrimeSieve.hasSmallFactor(p) || !isPrime(p));
 
 		// TODO check if correct bit length for gamma modulus
 		return factors;
@@ -681,18 +811,28 @@ public class GSUtils implements INumberUtils {
 	 *
 	 * <p>Generate Random Safe Prime Input: l_n bit-length, l_pt Output: safe prime p, Sophie Germain
 	 * p'
+	 *
+	 * <p>If a {@link SafePrimePool} is set in the CryptoUtilsFactory, the safe prime is taken from
+	 * the pool. Otherwise, or if the pool holds no safe prime of the bit length, the candidates
+	 * are sieved for both p and p' and searched on all available processors by a
+	 * {@link SafePrimeSearch}.
 	 */
 	@Override
 	public SafePrime generateRandomSafePrime(KeyGenParameters keyGenParameters) {
-
-		BigInteger a;
-		BigInteger a_prime;
-
-		do {
-			a_prime = generateRandomPrime((keyGenParameters.getL_n() / 2) - 1);
-			a = NumberConstants.TWO.getValue().multiply(a_prime).add(BigInteger.ONE);
-		} while (!isPrime(a));
-		return new SafePrime(a, a_prime);
+		int bitLength = keyGenParameters.getL_n() / 2;
+		SafePrimePool pool = CryptoUtilsFactory.getSafePrimePool();
+		if (pool != null) {
+			try {
+				SafePrime safePrime = pool.take(bitLength, keyGenParameters.getL_pt());
+				if (safePrime != null) {
+					return safePrime;
+				}
+				gslog.warning("The safe-prime pool holds no safe prime of " + bitLength + " bits, searching one.");
+			} catch (IOException e) {
+				gslog.log(Level.WARNING, "Could not take a safe prime from the pool, searching one.", e);
+			}
+		}
+		return new SafePrimeSearch(bitLength, keyGenParameters.getL_pt()).search();
 	}
 
 	/**
@@ -716,7 +856,7 @@ public class GSUtils implements INumberUtils {
 	 * @return the big integer
 	 */
 	public BigInteger generateRandomPrime(final int bitLength) {
-		return BigInteger.probablePrime(bitLength, secureRandom);
+		return BigInteger.probablePrime(bitLength, secureRandom());
 	}
 
 	/**
@@ -836,6 +976,9 @@ public class GSUtils implements INumberUtils {
 	 * Computes a multi-base exponentiation over a type of bases of a BaseCollection. Naturally the
 	 * method treats bases with null exponent as 1.
 	 *
+	 * <p>In Quadratic Residues groups the product is computed simultaneously by the
+	 * {@link MultiExponentiation} engine; other groups multiply the single exponentiations.
+	 *
 	 * @param collection BaseCollection to iterate over.
 	 * @param baseType   type of base to include.
 	 * @param G          A Group to work in.
@@ -843,6 +986,24 @@ public class GSUtils implements INumberUtils {
 	 */
 	@Override
 	public GroupElement computeMultiBaseExp(BaseCollection collection, BASE baseType, Group G) {
+		if (G instanceof QRGroup) {
+			List<BigInteger> bases = new ArrayList<BigInteger>();
+			List<BigInteger> exponents = new ArrayList<BigInteger>();
+			BaseIterator baseIter = collection.createIterator(baseType);
+			while (baseIter.hasNext()) {
+				BaseRepresentation base = (BaseRepresentation) baseIter.next();
+				if (base.getBase() != null && base.getExponent() != null) {
+					bases.add(base.getBase().getValue());
+					exponents.add(base.getExponent());
+				}
+			}
+			BigInteger product = MultiExponentiation.compute(bases, exponents, G.getModulus());
+			if (G instanceof MontgomeryQRGroupN) {
+				return ((MontgomeryQRGroupN) G).valueOf(product);
+			}
+			return new QRElement(G, product);
+		}
+
 		GroupElement result = G.getOne();
 		BaseIterator baseIter = collection.createIterator(baseType);
 		while (baseIter.hasNext()) {
@@ -29,6 +29,8 @@ public interface INumberUtils {
 
 	BigInteger createRandomNumber(int bitLength);
 
+	BigInteger[] createRandomNumbers(int... bitLengths);
+
 	CommitmentGroup generateCommitmentGroup();
 
 	BigInteger createCommitmentGroupGenerator(BigInteger rho, BigInteger gamma);
@@ -57,6 +59,8 @@ public interface INumberUtils {
 
 	BigInteger randomMinusPlusNumber(int bitLength);
 
+	BigInteger[] randomMinusPlusNumbers(int... bitLengths);
+
 	GSSignature generateSignature(BigInteger m, BaseRepresentation base,
 								  SignerPublicKey signerPublicKey);
 
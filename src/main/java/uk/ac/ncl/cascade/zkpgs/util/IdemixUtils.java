@@ -100,6 +100,15 @@ public class IdemixUtils extends Utils implements INumberUtils {
         return Utils.computeRandomNumberSymmetric(bitLength);
     }
 
+    @Override
+    public BigInteger[] createRandomNumbers(final int... bitLengths) {
+        BigInteger[] numbers = new BigInteger[bitLengths.length];
+        for (int i = 0; i < bitLengths.length; i++) {
+            numbers[i] = createRandomNumber(bitLengths[i]);
+        }
+        return numbers;
+    }
+
     @Override
     public CommitmentGroup generateCommitmentGroup() {
 
@@ -181,6 +190,11 @@ public class IdemixUtils extends Utils implements INumberUtils {
         throw new RuntimeException("not currently used from idemix library");
     }
 
+    @Override
+    public BigInteger[] randomMinusPlusNumbers(int... bitLengths) {
+        throw new RuntimeException("not currently used from idemix library");
+    }
+
     @Override
     public GSSignature generateSignature(
             BigInteger m, BaseRepresentation base, SignerPublicKey signerPublicKey) {
@@ -0,0 +1,56 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Modular multiplication with Barrett reduction for a fixed modulus.
+ *
+ * <p>BigInteger.mod() performs a long division, which costs several times a multiplication of
+ * the same size. Barrett reduction replaces the division by two multiplications with a
+ * precomputed factor floor(4^k / N) for the k-bit modulus N. Operands must be in [0, N).
+ */
+final class BarrettReducer {
+	private final BigInteger modulus;
+	private final int modulusLength;
+	private final BigInteger barrettFactor;
+
+	BarrettReducer(final BigInteger modulus) {
+		if (modulus.signum() <= 0) {
+			throw new IllegalArgumentException("The modulus must be positive.");
+		}
+		this.modulus = modulus;
+		this.modulusLength = modulus.bitLength();
+		this.barrettFactor = BigInteger.ONE.shiftLeft(2 * modulusLength).divide(modulus);
+	}
+
+	BigInteger getModulus() {
+		return modulus;
+	}
+
+	/**
+	 * Computes x * y mod N for 0 <= x, y < N.
+	 */
+	BigInteger multiply(final BigInteger x, final BigInteger y) {
+		return reduce(x.multiply(y));
+	}
+
+	/**
+	 * Computes x^2 mod N for 0 <= x < N.
+	 */
+	BigInteger square(final BigInteger x) {
+		return reduce(x.multiply(x));
+	}
+
+	/**
+	 * Reduces 0 <= x < N^2 modulo N.
+	 */
+	BigInteger reduce(final BigInteger x) {
+		BigInteger quotient = x.shiftRight(modulusLength - 1)
+				.multiply(barrettFactor).shiftRight(modulusLength + 1);
+		BigInteger remainder = x.subtract(quotient.multiply(modulus));
+		while (remainder.compareTo(modulus) >= 0) {
+			remainder = remainder.subtract(modulus);
+		}
+		return remainder;
+	}
+}
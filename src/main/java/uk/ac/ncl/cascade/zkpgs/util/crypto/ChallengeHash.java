@@ -0,0 +1,197 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fiat-Shamir challenge hash that feeds canonical binary encodings of the public values straight
+ * into a SHA-l_H message digest, instead of hashing their decimal strings.
+ *
+ * <p>Each value is encoded as a 4-byte big-endian length followed by its bytes. A group element
+ * takes its value as unsigned big-endian bytes, padded to the byte length of the group modulus,
+ * such that all elements of a group have the same fixed-length encoding. Other numbers take their
+ * two's-complement representation, and a null value takes the length -1 without bytes. The length
+ * prefixes keep the concatenation of encodings unambiguous.
+ *
+ * <p>Prover and verifier must add the same values in the same order. Values that the two parties
+ * enumerate in different orders, for instance from maps, are added by {@link
+ * #updateUnordered(List)}, which hashes their encodings in lexicographic order.
+ *
+ * <p>A challenge hash that has absorbed values shared by many challenges, such as a public key,
+ * can be kept as a prefix and duplicated by {@link #copy()} for each challenge.
+ */
+public final class ChallengeHash {
+	private static final Comparator<byte[]> LEXICOGRAPHIC =
+			(left, right) -> {
+				int length = Math.min(left.length, right.length);
+				for (int i = 0; i < length; i++) {
+					int difference = (left[i] & 0xff) - (right[i] & 0xff);
+					if (difference != 0) {
+						return difference;
+					}
+				}
+				return left.length - right.length;
+			};
+
+	private final MessageDigest messageDigest;
+	private final int hashLength;
+
+	/**
+	 * Creates a challenge hash on SHA with the hash length.
+	 *
+	 * @param hashLength the hash length l_H in bits
+	 * @throws NoSuchAlgorithmException if SHA with the hash length is not available
+	 */
+	public ChallengeHash(final int hashLength) throws NoSuchAlgorithmException {
+		this.messageDigest = MessageDigest.getInstance("SHA-" + hashLength);
+		this.hashLength = hashLength;
+	}
+
+	private ChallengeHash(final MessageDigest messageDigest, final int hashLength) {
+		this.messageDigest = messageDigest;
+		this.hashLength = hashLength;
+	}
+
+	/**
+	 * Returns an independent challenge hash with the digest state of this one.
+	 *
+	 * @return the copy
+	 */
+	public ChallengeHash copy() {
+		try {
+			return new ChallengeHash((MessageDigest) messageDigest.clone(), hashLength);
+		} catch (CloneNotSupportedException e) {
+			throw new GSInternalError(e);
+		}
+	}
+
+	public int getHashLength() {
+		return hashLength;
+	}
+
+	/**
+	 * Adds an integer parameter as four bytes.
+	 *
+	 * @param value the integer
+	 * @return this challenge hash
+	 */
+	public ChallengeHash update(final int value) {
+		messageDigest.update(encode(value));
+		return this;
+	}
+
+	/**
+	 * Adds a number in its length-prefixed two's-complement encoding.
+	 *
+	 * @param value the number, which may be null
+	 * @return this challenge hash
+	 */
+	public ChallengeHash update(final BigInteger value) {
+		if (value == null) {
+			messageDigest.update(encode(-1));
+		} else {
+			byte[] bytes = value.toByteArray();
+			messageDigest.update(encode(bytes.length));
+			messageDigest.update(bytes);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds a group element in its fixed-length encoding.
+	 *
+	 * @param element the group element, which may be null
+	 * @return this challenge hash
+	 */
+	public ChallengeHash update(final GroupElement element) {
+		messageDigest.update(encode(element));
+		return this;
+	}
+
+	/**
+	 * Adds encodings in lexicographic order, such that the result does not depend on the order of
+	 * the list.
+	 *
+	 * @param encodings the encodings obtained from {@link #encode(GroupElement)} and {@link
+	 *     #encode(BigInteger)}
+	 * @return this challenge hash
+	 */
+	public ChallengeHash updateUnordered(final List<byte[]> encodings) {
+		List<byte[]> sorted = new ArrayList<byte[]>(encodings);
+		Collections.sort(sorted, LEXICOGRAPHIC);
+		for (byte[] encoding : sorted) {
+			messageDigest.update(encoding);
+		}
+		return this;
+	}
+
+	/**
+	 * Completes the hash and resets the digest.
+	 *
+	 * @return the challenge, shifted left to l_H bits if the digest has leading zero bits
+	 */
+	public BigInteger digest() {
+		BigInteger hash = new BigInteger(1, messageDigest.digest());
+		int diff = hashLength - hash.bitLength();
+		return (diff > 0) ? hash.shiftLeft(diff) : hash;
+	}
+
+	/**
+	 * Returns the length-prefixed two's-complement encoding of a number.
+	 *
+	 * @param value the number, which may be null
+	 * @return the encoding
+	 */
+	public static byte[] encode(final BigInteger value) {
+		if (value == null) {
+			return encode(-1);
+		}
+		byte[] bytes = value.toByteArray();
+		byte[] encoding = new byte[4 + bytes.length];
+		writeInt(encoding, bytes.length);
+		System.arraycopy(bytes, 0, encoding, 4, bytes.length);
+		return encoding;
+	}
+
+	/**
+	 * Returns the fixed-length encoding of a group element, its value as unsigned big-endian bytes
+	 * padded to the byte length of the group modulus.
+	 *
+	 * @param element the group element, which may be null
+	 * @return the encoding
+	 */
+	public static byte[] encode(final GroupElement element) {
+		if (element == null) {
+			return encode(-1);
+		}
+		byte[] bytes = element.getValue().toByteArray();
+		int offset = (bytes.length > 1 && bytes[0] == 0) ? 1 : 0;
+		int length = bytes.length - offset;
+		int width = Math.max((element.getGroup().getModulus().bitLength() + 7) / 8, length);
+
+		byte[] encoding = new byte[4 + width];
+		writeInt(encoding, width);
+		System.arraycopy(bytes, offset, encoding, 4 + width - length, length);
+		return encoding;
+	}
+
+	private static byte[] encode(final int value) {
+		byte[] encoding = new byte[4];
+		writeInt(encoding, value);
+		return encoding;
+	}
+
+	private static void writeInt(final byte[] encoding, final int value) {
+		encoding[0] = (byte) (value >>> 24);
+		encoding[1] = (byte) (value >>> 16);
+		encoding[2] = (byte) (value >>> 8);
+		encoding[3] = (byte) value;
+	}
+}
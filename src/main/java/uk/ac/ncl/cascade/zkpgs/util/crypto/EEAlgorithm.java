@@ -4,16 +4,17 @@ import java.math.BigInteger;
 import java.util.logging.Logger;
 
 
-// TODO This implementation is not thread-safe! 
-// if another EEA is called before s, t, d are retrieved, this implementation ends up in tatters.
-// Much better: Triple-class as return value of EAA.
-
-/** Extended Euclidean Algorithm */
+// TODO Much better: Triple-class as return value of EAA.
+
+/**
+ * Extended Euclidean Algorithm
+ *
+ * <p>The results s, t and d are held per thread, such that concurrent provers each retrieve the
+ * results of their own last computation.
+ */
 public class EEAlgorithm {
   private static final Logger log = Logger.getLogger(EEAlgorithm.class.getName());
-  private static BigInteger s;
-  private static BigInteger t;
-  private static BigInteger d;
+  private static final ThreadLocal<BigInteger[]> results = new ThreadLocal<BigInteger[]>();
 
   private EEAlgorithm() {}
 
@@ -38,11 +39,11 @@ public class EEAlgorithm {
 
     BigInteger r = a;
     BigInteger r_prime = b;
-    s = BigInteger.ONE;
+    BigInteger s = BigInteger.ONE;
     temps = BigInteger.ZERO;
     tempt = BigInteger.ONE;
     BigInteger s_prime = BigInteger.ZERO;
-    t = BigInteger.ZERO;
+    BigInteger t = BigInteger.ZERO;
     BigInteger t_prime = BigInteger.ONE;
 
     while (r_prime.compareTo(BigInteger.ZERO) != 0) {
@@ -64,18 +65,23 @@ public class EEAlgorithm {
       t = tempt;
     }
 
-    d = r;
+    results.set(new BigInteger[] {s, t, r});
   }
 
   public static BigInteger getS() {
-    return s;
+    return getResult(0);
   }
 
   public static BigInteger getT() {
-    return t;
+    return getResult(1);
   }
 
   public static BigInteger getD() {
-    return d;
+    return getResult(2);
+  }
+
+  private static BigInteger getResult(final int index) {
+    BigInteger[] result = results.get();
+    return (result == null) ? null : result[index];
   }
 }
@@ -0,0 +1,144 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed powers of a fixed base for repeated modular exponentiations with that base.
+ *
+ * <p>The table holds g_i = g^(2^(w*i)) mod N for a window width w and evaluates g^e with the
+ * fixed-base windowing method (Menezes et al., Handbook of Applied Cryptography, Alg. 14.109),
+ * which takes about t + 2^(w+1) multiplications for t = ceil(bitLength(e) / w) instead of the
+ * bitLength(e) squarings of a general exponentiation. Products are reduced with Barrett
+ * reduction, which replaces the long division of BigInteger.mod() by two multiplications.
+ *
+ * <p>The table is extended on demand to the longest exponent seen and is safe for concurrent use.
+ * Negative exponents are evaluated as the inverse of g^|e|.
+ */
+public final class FixedBaseTable {
+	/** Default window width; balances table size against the 2^w accumulation steps. */
+	public static final int DEFAULT_WINDOW_WIDTH = 6;
+
+	private final BigInteger base;
+	private final BigInteger modulus;
+	private final int windowWidth;
+	private final BarrettReducer reducer;
+	private volatile BigInteger[] powers;
+
+	/**
+	 * Creates a table for the base modulo the modulus with the default window width.
+	 *
+	 * @param base the fixed base
+	 * @param modulus the modulus
+	 */
+	public FixedBaseTable(final BigInteger base, final BigInteger modulus) {
+		this(base, modulus, DEFAULT_WINDOW_WIDTH);
+	}
+
+	/**
+	 * Creates a table for the base modulo the modulus.
+	 *
+	 * @param base the fixed base
+	 * @param modulus the modulus
+	 * @param windowWidth the window width w in bits, at least 1
+	 */
+	public FixedBaseTable(final BigInteger base, final BigInteger modulus, final int windowWidth) {
+		Assert.notNull(base, "base must not be null");
+		Assert.notNull(modulus, "modulus must not be null");
+		if (windowWidth < 1 || windowWidth > 16) {
+			throw new IllegalArgumentException("The window width must be between 1 and 16 bits.");
+		}
+		this.base = base.mod(modulus);
+		this.modulus = modulus;
+		this.windowWidth = windowWidth;
+		this.reducer = new BarrettReducer(modulus);
+		this.powers = new BigInteger[]{this.base};
+	}
+
+	public BigInteger getBase() {
+		return base;
+	}
+
+	public BigInteger getModulus() {
+		return modulus;
+	}
+
+	/**
+	 * Returns the number of precomputed powers currently held by the table.
+	 *
+	 * @return the table size
+	 */
+	public int size() {
+		return powers.length;
+	}
+
+	/**
+	 * Computes base^exponent mod modulus.
+	 *
+	 * @param exponent the exponent, which may be negative
+	 * @return base^exponent mod modulus
+	 */
+	public BigInteger modPow(final BigInteger exponent) {
+		if (exponent.signum() < 0) {
+			return modPow(exponent.negate()).modInverse(modulus);
+		}
+		if (exponent.signum() == 0) {
+			return BigInteger.ONE.mod(modulus);
+		}
+
+		int digits = (exponent.bitLength() + windowWidth - 1) / windowWidth;
+		BigInteger[] g = ensureCapacity(digits);
+		int[] e = toDigits(exponent, digits);
+
+		BigInteger a = BigInteger.ONE;
+		BigInteger b = BigInteger.ONE;
+		for (int j = (1 << windowWidth) - 1; j >= 1; j--) {
+			for (int i = 0; i < digits; i++) {
+				if (e[i] == j) {
+					b = reducer.multiply(b, g[i]);
+				}
+			}
+			if (!b.equals(BigInteger.ONE)) {
+				a = reducer.multiply(a, b);
+			}
+		}
+		return a;
+	}
+
+	private int[] toDigits(final BigInteger exponent, final int digits) {
+		int[] e = new int[digits];
+		for (int i = 0; i < digits; i++) {
+			int digit = 0;
+			int offset = i * windowWidth;
+			for (int k = 0; k < windowWidth; k++) {
+				if (exponent.testBit(offset + k)) {
+					digit |= 1 << k;
+				}
+			}
+			e[i] = digit;
+		}
+		return e;
+	}
+
+	private BigInteger[] ensureCapacity(final int digits) {
+		BigInteger[] current = powers;
+		if (current.length >= digits) {
+			return current;
+		}
+		synchronized (this) {
+			current = powers;
+			if (current.length >= digits) {
+				return current;
+			}
+			BigInteger[] extended = new BigInteger[digits];
+			System.arraycopy(current, 0, extended, 0, current.length);
+			BigInteger shift = BigInteger.ONE.shiftLeft(windowWidth);
+			for (int i = current.length; i < digits; i++) {
+				extended[i] = extended[i - 1].modPow(shift, modulus);
+			}
+			powers = extended;
+			return extended;
+		}
+	}
+}
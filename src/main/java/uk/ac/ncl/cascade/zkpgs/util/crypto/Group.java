@@ -2,8 +2,12 @@ package uk.ac.ncl.cascade.zkpgs.util.crypto;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import uk.ac.ncl.cascade.zkpgs.PublicCloneable;
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
 
 /** High-level abstraction of a number-theoretic group. */
 public abstract class Group implements Serializable, Cloneable, PublicCloneable {
@@ -103,5 +107,57 @@ public abstract class Group implements Serializable, Cloneable, PublicCloneable
 	 * @return public group representation.
 	 */
 	public abstract Group publicClone();
-	
+
+	/**
+	 * Inverts a list of elements of this group with a single modular inversion by Montgomery's
+	 * simultaneous-inversion trick, which replaces each further inversion by three multiplications.
+	 *
+	 * <p>The inverses are recorded on the elements, such that subsequent inversions and
+	 * exponentiations with negative exponents of the same element objects, for instance
+	 * with a negated challenge in a verification, do not invert again. Elements which already
+	 * carry a recorded inverse are not included in the product.
+	 *
+	 * @param elements the elements to invert
+	 * @return the inverses in the order of the elements
+	 * @throws ArithmeticException if an element is not invertible
+	 */
+	public List<GroupElement> batchModInverse(final List<? extends GroupElement> elements) {
+		Assert.notNull(elements, "The elements to invert must not be null.");
+
+		GroupElement[] inverses = new GroupElement[elements.size()];
+		List<Integer> pending = new ArrayList<Integer>(elements.size());
+		for (int i = 0; i < inverses.length; i++) {
+			GroupElement element = elements.get(i);
+			Assert.notNull(element, "The elements to invert must not be null.");
+			inverses[i] = element.getCachedInverse();
+			if (inverses[i] == null) {
+				pending.add(i);
+			}
+		}
+		if (pending.isEmpty()) {
+			return Arrays.asList(inverses);
+		}
+
+		// prefix[k] holds the product of the first k + 1 pending elements
+		GroupElement[] prefix = new GroupElement[pending.size()];
+		prefix[0] = elements.get(pending.get(0));
+		for (int k = 1; k < prefix.length; k++) {
+			prefix[k] = prefix[k - 1].multiply(elements.get(pending.get(k)));
+		}
+
+		GroupElement inverse = prefix[prefix.length - 1].modInverse();
+		for (int k = prefix.length - 1; k > 0; k--) {
+			GroupElement element = elements.get(pending.get(k));
+			inverses[pending.get(k)] = inverse.multiply(prefix[k - 1]);
+			inverse = inverse.multiply(element);
+		}
+		inverses[pending.get(0)] = inverse;
+
+		for (int index : pending) {
+			GroupElement element = elements.get(index);
+			element.cacheInverse(inverses[index]);
+			inverses[index].cacheInverse(element);
+		}
+		return Arrays.asList(inverses);
+	}
 }
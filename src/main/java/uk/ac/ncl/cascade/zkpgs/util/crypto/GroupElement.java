@@ -77,4 +77,24 @@ public abstract class GroupElement implements Serializable, Cloneable, PublicClo
    * @return public clone of this group element.
    */
   public abstract GroupElement publicClone();
+
+  /**
+   * Returns the inverse of this element if it has been recorded by
+   * {@link Group#batchModInverse(List)}, and null otherwise.
+   *
+   * @return the recorded inverse or null
+   */
+  GroupElement getCachedInverse() {
+    return null;
+  }
+
+  /**
+   * Records the inverse of this element for later inversions and negative exponents.
+   * Realizations that do not keep inverses ignore it.
+   *
+   * @param inverse the inverse of this element
+   */
+  void cacheInverse(GroupElement inverse) {
+    // not recorded by default
+  }
 }
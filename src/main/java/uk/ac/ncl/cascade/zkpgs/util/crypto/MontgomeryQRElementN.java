@@ -0,0 +1,157 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Element of a {@link MontgomeryQRGroupN}, held in Montgomery form xR mod N on an array of 32-bit
+ * limbs.
+ *
+ * <p>Products are computed by Montgomery multiplication on the limbs, which needs neither a
+ * division nor an intermediate BigInteger, such that chains of multiplications only allocate the
+ * limbs of their results. The canonical value is only converted on demand by getValue(), for
+ * instance when the element is hashed, compared or serialized, and is cached afterwards.
+ *
+ * <p>Exponentiations convert the element to its canonical value and use BigInteger.modPow() and
+ * the MultiExponentiation engine, which run on intrinsified Montgomery arithmetic and outperform
+ * exponentiations on the limbs; the two conversions cost about two multiplications.
+ */
+public class MontgomeryQRElementN extends QRElementN {
+
+	private static final long serialVersionUID = -4100537612447917962L;
+
+	private final MontgomeryQRGroupN qrGroup;
+	private volatile BigInteger value;
+	private transient volatile int[] residue;
+
+	/**
+	 * Instantiates a new element from its value, which must be a Quadratic Residue by
+	 * construction.
+	 *
+	 * @param qrGroup the QR group
+	 * @param value the value
+	 */
+	public MontgomeryQRElementN(final MontgomeryQRGroupN qrGroup, final BigInteger value) {
+		super(qrGroup, null);
+		if (value == null) {
+			throw new IllegalArgumentException("The value of the element must not be null.");
+		}
+		this.qrGroup = qrGroup;
+		this.value = value;
+	}
+
+	/**
+	 * Instantiates a new element from its Montgomery form; the value is converted on demand.
+	 *
+	 * @param qrGroup the QR group
+	 * @param residue the limbs of the Montgomery form
+	 */
+	private MontgomeryQRElementN(final MontgomeryQRGroupN qrGroup, final int[] residue) {
+		super(qrGroup, null);
+		this.qrGroup = qrGroup;
+		this.residue = residue;
+	}
+
+	@Override
+	public MontgomeryQRGroupN getGroup() {
+		return this.qrGroup;
+	}
+
+	@Override
+	public BigInteger getValue() {
+		BigInteger result = this.value;
+		if (result == null) {
+			result = this.qrGroup.getReducer().toBigInteger(this.residue);
+			this.value = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the limbs of the Montgomery form of this element, which must not be modified.
+	 *
+	 * @return the Montgomery form
+	 */
+	int[] getResidue() {
+		int[] result = this.residue;
+		if (result == null) {
+			result = this.qrGroup.getReducer().toMontgomery(this.value);
+			this.residue = result;
+		}
+		return result;
+	}
+
+	@Override
+	public MontgomeryQRElementN multiply(GroupElement multiplier) {
+		if (!this.getGroup().equals(multiplier.getGroup())) {
+			throw new UnsupportedOperationException("The two elements are from different groups.");
+		}
+
+		MontgomeryReducer reducer = this.qrGroup.getReducer();
+		int[] product = new int[reducer.length()];
+		reducer.multiply(this.getResidue(), residueOf(multiplier), product, reducer.scratch());
+		return new MontgomeryQRElementN(this.qrGroup, product);
+	}
+
+	@Override
+	public MontgomeryQRElementN modPow(BigInteger exponent) {
+		FixedBaseTable table = this.getFixedBaseTable();
+		GroupElement recordedInverse = this.getCachedInverse();
+		BigInteger result;
+		if (table != null) {
+			result = table.modPow(exponent);
+		} else if (exponent.signum() < 0 && recordedInverse != null) {
+			result = recordedInverse.getValue().modPow(exponent.negate(), this.qrGroup.getModulus());
+		} else {
+			result = this.getValue().modPow(exponent, this.qrGroup.getModulus());
+		}
+		return this.qrGroup.valueOf(result);
+	}
+
+	@Override
+	public MontgomeryQRElementN modInverse() {
+		GroupElement recordedInverse = this.getCachedInverse();
+		if (recordedInverse instanceof MontgomeryQRElementN) {
+			return (MontgomeryQRElementN) recordedInverse;
+		}
+		return this.qrGroup.valueOf(this.getValue().modInverse(this.qrGroup.getModulus()));
+	}
+
+	@Override
+	public MontgomeryQRElementN multiBaseExp(List<GroupElement> bases, List<BigInteger> exponents) {
+		return this.qrGroup.valueOf(super.multiBaseExp(bases, exponents).getValue());
+	}
+
+	@Override
+	public GroupElement publicClone() {
+		MontgomeryQRElementN theClone = new MontgomeryQRElementN(this.qrGroup.clone(), this.getValue());
+		theClone.residue = this.residue;
+		theClone.setFixedBaseTable(this.getFixedBaseTable());
+		return theClone;
+	}
+
+	private int[] residueOf(final GroupElement element) {
+		if (element instanceof MontgomeryQRElementN) {
+			return ((MontgomeryQRElementN) element).getResidue();
+		}
+		return this.qrGroup.getReducer().toMontgomery(element.getValue());
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		// Serialized elements carry the canonical value.
+		getValue();
+		out.defaultWriteObject();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb =
+				new StringBuilder("uk.ac.ncl.cascade.zkpgs.util.crypto.MontgomeryQRElementN{");
+		sb.append("qrGroup=").append(qrGroup);
+		sb.append(", value=").append(getValue());
+		sb.append('}');
+		return sb.toString();
+	}
+}
@@ -0,0 +1,86 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Quadratic Residue Group without known modulus factorization, whose elements are held in
+ * Montgomery form.
+ *
+ * <p>The group is interchangeable with a QRGroupN of the same modulus: both are equal and their
+ * elements of equal value are equal. Elements of other realizations are converted into Montgomery
+ * form when they are multiplied with elements of this group.
+ */
+public class MontgomeryQRGroupN extends QRGroupN {
+
+	private static final long serialVersionUID = -2385207143622934711L;
+
+	private transient volatile MontgomeryReducer reducer;
+	private transient volatile MontgomeryQRElementN one;
+
+	/**
+	 * Creates the group for an odd modulus.
+	 *
+	 * @param modulus the special RSA modulus N
+	 */
+	public MontgomeryQRGroupN(final BigInteger modulus) {
+		super(modulus);
+		if (modulus == null || !modulus.testBit(0)) {
+			throw new IllegalArgumentException("The Montgomery representation requires an odd modulus.");
+		}
+	}
+
+	/**
+	 * Returns the Montgomery arithmetic for the modulus; it is not serialized with the group.
+	 *
+	 * @return the reducer for the modulus
+	 */
+	MontgomeryReducer getReducer() {
+		MontgomeryReducer result = this.reducer;
+		if (result == null) {
+			result = new MontgomeryReducer(this.getModulus());
+			this.reducer = result;
+		}
+		return result;
+	}
+
+	@Override
+	public MontgomeryQRElementN valueOf(final BigInteger value) {
+		return new MontgomeryQRElementN(this, value);
+	}
+
+	@Override
+	public MontgomeryQRElementN createElement() {
+		return valueOf(super.createElement().getValue());
+	}
+
+	@Override
+	public MontgomeryQRElementN createGenerator() {
+		return valueOf(super.createGenerator().getValue());
+	}
+
+	@Override
+	public GroupElement getGenerator() {
+		GroupElement generator = super.getGenerator();
+		return (generator == null) ? null : valueOf(generator.getValue());
+	}
+
+	@Override
+	public MontgomeryQRElementN createRandomElement() {
+		return valueOf(super.createRandomElement().getValue());
+	}
+
+	@Override
+	public MontgomeryQRElementN getOne() {
+		MontgomeryQRElementN result = this.one;
+		if (result == null) {
+			result = valueOf(BigInteger.ONE);
+			this.one = result;
+		}
+		return result;
+	}
+
+	@Override
+	public MontgomeryQRGroupN clone() {
+		return (MontgomeryQRGroupN) super.clone();
+	}
+}
@@ -0,0 +1,172 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Montgomery arithmetic for a fixed odd modulus on little-endian arrays of 32-bit limbs.
+ *
+ * <p>A residue x is held in Montgomery form xR mod N for R = 2^(32n), where n is the number of
+ * limbs of the modulus N. The Montgomery product of aR and bR is abR mod N and is computed by
+ * the CIOS method, which interleaves the multiplication with the reduction and needs no division.
+ * Results are written into arrays supplied by the caller, such that long chains of
+ * multiplications reuse the same buffers instead of allocating a BigInteger per step.
+ *
+ * <p>The arrays in Montgomery form always hold a value in [0, N). The reducer is safe for
+ * concurrent use: its state is immutable and each thread has a scratch buffer of its own.
+ */
+final class MontgomeryReducer {
+	private static final long MASK = 0xFFFFFFFFL;
+
+	private final BigInteger modulus;
+	private final int length;
+	private final int[] modulusLimbs;
+	private final int inverse;
+	private final int[] one;
+	private final int[] rSquared;
+	private final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(this::newScratch);
+
+	MontgomeryReducer(final BigInteger modulus) {
+		if (modulus.signum() <= 0 || !modulus.testBit(0)) {
+			throw new IllegalArgumentException("The Montgomery modulus must be positive and odd.");
+		}
+		this.modulus = modulus;
+		this.length = (modulus.bitLength() + 31) >>> 5;
+		this.modulusLimbs = toLimbs(modulus, length);
+		this.inverse = -inverse32(modulusLimbs[0]);
+		this.one = toLimbs(BigInteger.ONE.shiftLeft(32 * length).mod(modulus), length);
+		this.rSquared = toLimbs(BigInteger.ONE.shiftLeft(64 * length).mod(modulus), length);
+	}
+
+	BigInteger getModulus() {
+		return modulus;
+	}
+
+	/** Returns the number of limbs of a residue. */
+	int length() {
+		return length;
+	}
+
+	/** Allocates a scratch buffer as needed by multiply(). */
+	int[] newScratch() {
+		return new int[length + 2];
+	}
+
+	/** Returns the scratch buffer of the calling thread, which is reused by its multiplications. */
+	int[] scratch() {
+		return scratch.get();
+	}
+
+	/** Returns the Montgomery form of 1, which must not be modified. */
+	int[] one() {
+		return one;
+	}
+
+	/** Converts a residue into Montgomery form. */
+	int[] toMontgomery(final BigInteger x) {
+		BigInteger value = (x.signum() < 0 || x.compareTo(modulus) >= 0) ? x.mod(modulus) : x;
+		int[] result = toLimbs(value, length);
+		multiply(result, rSquared, result, scratch());
+		return result;
+	}
+
+	/** Converts a residue from Montgomery form into its canonical value. */
+	BigInteger toBigInteger(final int[] x) {
+		int[] unit = new int[length];
+		unit[0] = 1;
+		int[] result = new int[length];
+		multiply(x, unit, result, scratch());
+		return fromLimbs(result);
+	}
+
+	/**
+	 * Computes the Montgomery product abR^-1 mod N into result, which may alias a or b.
+	 *
+	 * @param a the first factor in Montgomery form
+	 * @param b the second factor in Montgomery form
+	 * @param result the array receiving the product
+	 * @param scratch a scratch buffer of length() + 2 limbs
+	 */
+	void multiply(final int[] a, final int[] b, final int[] result, final int[] scratch) {
+		final int n = length;
+		final int[] m = modulusLimbs;
+		final int[] t = scratch;
+		Arrays.fill(t, 0);
+
+		for (int i = 0; i < n; i++) {
+			long ai = a[i] & MASK;
+			long carry = 0;
+			for (int j = 0; j < n; j++) {
+				long sum = (t[j] & MASK) + ai * (b[j] & MASK) + carry;
+				t[j] = (int) sum;
+				carry = sum >>> 32;
+			}
+			long sum = (t[n] & MASK) + carry;
+			t[n] = (int) sum;
+			t[n + 1] = (int) (sum >>> 32);
+
+			long q = (t[0] * inverse) & MASK;
+			sum = (t[0] & MASK) + q * (m[0] & MASK);
+			carry = sum >>> 32;
+			for (int j = 1; j < n; j++) {
+				sum = (t[j] & MASK) + q * (m[j] & MASK) + carry;
+				t[j - 1] = (int) sum;
+				carry = sum >>> 32;
+			}
+			sum = (t[n] & MASK) + carry;
+			t[n - 1] = (int) sum;
+			t[n] = t[n + 1] + (int) (sum >>> 32);
+		}
+
+		if (t[n] != 0 || compare(t, m, n) >= 0) {
+			long borrow = 0;
+			for (int j = 0; j < n; j++) {
+				long difference = (t[j] & MASK) - (m[j] & MASK) - borrow;
+				result[j] = (int) difference;
+				borrow = (difference >>> 63);
+			}
+		} else {
+			System.arraycopy(t, 0, result, 0, n);
+		}
+	}
+
+	private static int compare(final int[] a, final int[] b, final int n) {
+		for (int j = n - 1; j >= 0; j--) {
+			if (a[j] != b[j]) {
+				return Integer.compareUnsigned(a[j], b[j]);
+			}
+		}
+		return 0;
+	}
+
+	/* Computes x^-1 mod 2^32 for odd x by Newton iteration. */
+	private static int inverse32(final int x) {
+		int inverse = x;
+		for (int i = 0; i < 5; i++) {
+			inverse *= 2 - x * inverse;
+		}
+		return inverse;
+	}
+
+	private static int[] toLimbs(final BigInteger x, final int length) {
+		int[] limbs = new int[length];
+		byte[] bytes = x.toByteArray();
+		for (int i = 0; i < bytes.length && i < 4 * length; i++) {
+			limbs[i >>> 2] |= (bytes[bytes.length - 1 - i] & 0xFF) << (8 * (i & 3));
+		}
+		return limbs;
+	}
+
+	private static BigInteger fromLimbs(final int[] limbs) {
+		byte[] bytes = new byte[4 * limbs.length + 1];
+		for (int i = 0; i < limbs.length; i++) {
+			int limb = limbs[i];
+			int offset = bytes.length - 1 - 4 * i;
+			bytes[offset] = (byte) limb;
+			bytes[offset - 1] = (byte) (limb >>> 8);
+			bytes[offset - 2] = (byte) (limb >>> 16);
+			bytes[offset - 3] = (byte) (limb >>> 24);
+		}
+		return new BigInteger(bytes);
+	}
+}
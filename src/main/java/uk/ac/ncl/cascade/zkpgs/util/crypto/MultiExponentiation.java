@@ -0,0 +1,415 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Simultaneous multi-exponentiation computing prod_i b_i^e_i mod N.
+ *
+ * <p>Instead of exponentiating each base separately, the engine shares the squarings of all
+ * exponentiations. It chooses between three strategies by an estimated cost:
+ *
+ * <ul>
+ *   <li>{@link Strategy#SEPARATE}: one BigInteger.modPow per base, which is best for one or two
+ *       bases since modPow runs on intrinsified Montgomery arithmetic;
+ *   <li>{@link Strategy#STRAUS}: interleaved sliding windows with precomputed odd powers per base
+ *       (Straus/Yao), which is best for a moderate number of bases;
+ *   <li>{@link Strategy#PIPPENGER}: the bucket method, whose precomputation does not grow with
+ *       the number of bases and which wins for several hundred bases.
+ * </ul>
+ *
+ * <p>In the automatic mode, exponents that are much longer than the others (such as the
+ * randomness exponents next to message exponents) are computed separately such that they do not
+ * impose their squaring chain on all other bases. Negative exponents are evaluated with the
+ * inverse of the base, where the bases with negative exponents are inverted together with a
+ * single modular inversion; null or zero exponents are treated as a factor of 1.
+ */
+public final class MultiExponentiation {
+
+	/** Strategies of the multi-exponentiation engine. */
+	public enum Strategy {
+		AUTO,
+		SEPARATE,
+		STRAUS,
+		PIPPENGER
+	}
+
+	/**
+	 * Estimated cost of a Barrett multiplication relative to a multiplication step within
+	 * BigInteger.modPow, which uses intrinsified Montgomery multiplication on HotSpot.
+	 */
+	static final double BARRETT_COST_FACTOR = 3.0;
+
+	private static final int MAX_STRAUS_WINDOW = 7;
+	private static final int MAX_PIPPENGER_WINDOW = 14;
+
+	private MultiExponentiation() {
+	}
+
+	/**
+	 * Computes prod_i bases[i]^exponents[i] mod modulus with the cheapest strategy.
+	 *
+	 * @param bases the bases
+	 * @param exponents the exponents, matching the bases by position
+	 * @param modulus the modulus
+	 * @return the product of the exponentiations, reduced modulo the modulus
+	 */
+	public static BigInteger compute(
+			final List<BigInteger> bases, final List<BigInteger> exponents, final BigInteger modulus) {
+		return compute(bases, exponents, modulus, Strategy.AUTO);
+	}
+
+	/**
+	 * Computes prod_i bases[i]^exponents[i] mod modulus with a given strategy.
+	 *
+	 * @param bases the bases
+	 * @param exponents the exponents, matching the bases by position
+	 * @param modulus the modulus
+	 * @param strategy the strategy to use
+	 * @return the product of the exponentiations, reduced modulo the modulus
+	 */
+	public static BigInteger compute(
+			final List<BigInteger> bases,
+			final List<BigInteger> exponents,
+			final BigInteger modulus,
+			final Strategy strategy) {
+		Assert.notNull(bases, "bases must not be null");
+		Assert.notNull(exponents, "exponents must not be null");
+		Assert.notNull(modulus, "modulus must not be null");
+		Assert.notNull(strategy, "strategy must not be null");
+		Assert.checkSize(bases.size(), exponents.size(), "bases and exponents must have the same size");
+
+		BarrettReducer reducer = new BarrettReducer(modulus);
+		List<Term> terms = normalize(bases, exponents, modulus);
+		if (terms.isEmpty()) {
+			return BigInteger.ONE.mod(modulus);
+		}
+
+		switch (strategy) {
+			case SEPARATE:
+				return finish(computeSeparately(terms, 0, terms.size(), reducer), modulus);
+			case STRAUS:
+				return finish(computeStraus(terms, 0, terms.size(), reducer), modulus);
+			case PIPPENGER:
+				return finish(computePippenger(terms, 0, terms.size(), reducer), modulus);
+			default:
+				return finish(computeAutomatically(terms, reducer), modulus);
+		}
+	}
+
+	private static BigInteger finish(final BigInteger result, final BigInteger modulus) {
+		return result == null ? BigInteger.ONE.mod(modulus) : result;
+	}
+
+	private static List<Term> normalize(
+			final List<BigInteger> bases, final List<BigInteger> exponents, final BigInteger modulus) {
+		List<Term> terms = new ArrayList<Term>(bases.size());
+		List<Integer> negative = new ArrayList<Integer>();
+		for (int i = 0; i < bases.size(); i++) {
+			BigInteger base = bases.get(i);
+			BigInteger exponent = exponents.get(i);
+			Assert.notNull(base, "base must not be null");
+			if (exponent == null || exponent.signum() == 0) {
+				continue;
+			}
+			base = base.mod(modulus);
+			if (base.equals(BigInteger.ONE)) {
+				continue;
+			}
+			if (exponent.signum() < 0) {
+				negative.add(terms.size());
+			}
+			terms.add(new Term(base, exponent));
+		}
+
+		if (!negative.isEmpty()) {
+			BigInteger[] inverses = batchModInverse(terms, negative, modulus);
+			for (int k = 0; k < inverses.length; k++) {
+				int index = negative.get(k);
+				terms.set(index, new Term(inverses[k], terms.get(index).exponent.negate()));
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * Inverts the bases of the selected terms with a single modular inversion by Montgomery's
+	 * simultaneous-inversion trick.
+	 */
+	private static BigInteger[] batchModInverse(
+			final List<Term> terms, final List<Integer> selected, final BigInteger modulus) {
+		int n = selected.size();
+		BigInteger[] prefix = new BigInteger[n];
+		prefix[0] = terms.get(selected.get(0)).base;
+		for (int k = 1; k < n; k++) {
+			prefix[k] = prefix[k - 1].multiply(terms.get(selected.get(k)).base).mod(modulus);
+		}
+
+		BigInteger[] inverses = new BigInteger[n];
+		BigInteger inverse = prefix[n - 1].modInverse(modulus);
+		for (int k = n - 1; k > 0; k--) {
+			inverses[k] = inverse.multiply(prefix[k - 1]).mod(modulus);
+			inverse = inverse.multiply(terms.get(selected.get(k)).base).mod(modulus);
+		}
+		inverses[0] = inverse;
+		return inverses;
+	}
+
+	/**
+	 * Splits off the longest exponents for separate exponentiation where the estimated cost says
+	 * so, and combines the remainder with Straus or Pippenger.
+	 */
+	private static BigInteger computeAutomatically(final List<Term> terms, final BarrettReducer reducer) {
+		Term[] sorted = terms.toArray(new Term[0]);
+		Arrays.sort(sorted, new Comparator<Term>() {
+			@Override
+			public int compare(Term a, Term b) {
+				return Integer.compare(b.exponent.bitLength(), a.exponent.bitLength());
+			}
+		});
+		List<Term> ordered = Arrays.asList(sorted);
+		int n = sorted.length;
+
+		double[] suffixStraus = new double[n + 1];
+		for (int i = n - 1; i >= 0; i--) {
+			suffixStraus[i] = suffixStraus[i + 1] + strausTermCost(sorted[i].exponent.bitLength());
+		}
+
+		int bestSplit = n;
+		Strategy bestStrategy = Strategy.SEPARATE;
+		double separateCost = 0;
+		double bestCost = Double.MAX_VALUE;
+		for (int split = 0; split <= n; split++) {
+			double cost;
+			Strategy strategy;
+			if (split == n) {
+				cost = separateCost;
+				strategy = Strategy.SEPARATE;
+			} else {
+				int maxBits = sorted[split].exponent.bitLength();
+				double straus = BARRETT_COST_FACTOR * (maxBits + suffixStraus[split]);
+				double pippenger = BARRETT_COST_FACTOR * pippengerCost(maxBits, n - split);
+				strategy = straus <= pippenger ? Strategy.STRAUS : Strategy.PIPPENGER;
+				cost = separateCost + Math.min(straus, pippenger);
+			}
+			if (cost < bestCost) {
+				bestCost = cost;
+				bestSplit = split;
+				bestStrategy = strategy;
+			}
+			if (split < n) {
+				separateCost += separateCost(sorted[split].exponent.bitLength());
+			}
+		}
+
+		BigInteger separate = computeSeparately(ordered, 0, bestSplit, reducer);
+		BigInteger simultaneous = null;
+		if (bestStrategy == Strategy.STRAUS) {
+			simultaneous = computeStraus(ordered, bestSplit, n, reducer);
+		} else if (bestStrategy == Strategy.PIPPENGER) {
+			simultaneous = computePippenger(ordered, bestSplit, n, reducer);
+		}
+		return multiply(separate, simultaneous, reducer);
+	}
+
+	private static double separateCost(final int bits) {
+		// sliding window modPow: one squaring per bit and about one multiplication per six bits
+		return bits + bits / 6.0;
+	}
+
+	private static int strausWindow(final int bits) {
+		int bestWindow = 1;
+		double bestCost = Double.MAX_VALUE;
+		for (int w = 1; w <= MAX_STRAUS_WINDOW; w++) {
+			double cost = bits / (w + 1.0) + (1 << (w - 1));
+			if (cost < bestCost) {
+				bestCost = cost;
+				bestWindow = w;
+			}
+		}
+		return bestWindow;
+	}
+
+	private static double strausTermCost(final int bits) {
+		int w = strausWindow(bits);
+		return bits / (w + 1.0) + (1 << (w - 1));
+	}
+
+	private static int pippengerWindow(final int maxBits, final int count) {
+		int bestWindow = 1;
+		double bestCost = Double.MAX_VALUE;
+		for (int c = 1; c <= MAX_PIPPENGER_WINDOW; c++) {
+			double cost = Math.ceil(maxBits / (double) c) * (count + (2 << c));
+			if (cost < bestCost) {
+				bestCost = cost;
+				bestWindow = c;
+			}
+		}
+		return bestWindow;
+	}
+
+	private static double pippengerCost(final int maxBits, final int count) {
+		int c = pippengerWindow(maxBits, count);
+		return maxBits + Math.ceil(maxBits / (double) c) * (count + (2 << c));
+	}
+
+	private static BigInteger computeSeparately(
+			final List<Term> terms, final int from, final int to, final BarrettReducer reducer) {
+		BigInteger result = null;
+		for (int i = from; i < to; i++) {
+			Term term = terms.get(i);
+			result = multiply(result, term.base.modPow(term.exponent, reducer.getModulus()), reducer);
+		}
+		return result;
+	}
+
+	/**
+	 * Interleaved left-to-right sliding window exponentiation with per-base window widths.
+	 */
+	private static BigInteger computeStraus(
+			final List<Term> terms, final int from, final int to, final BarrettReducer reducer) {
+		int count = to - from;
+		int maxBits = 0;
+		for (int i = from; i < to; i++) {
+			maxBits = Math.max(maxBits, terms.get(i).exponent.bitLength());
+		}
+
+		// Windows indexed by the position of their least significant bit, as linked lists.
+		int[] head = new int[maxBits];
+		Arrays.fill(head, -1);
+		List<BigInteger> windowValues = new ArrayList<BigInteger>();
+		int[] next = new int[16];
+
+		for (int t = 0; t < count; t++) {
+			Term term = terms.get(from + t);
+			int w = strausWindow(term.exponent.bitLength());
+			BigInteger[] oddPowers = computeOddPowers(term.base, w, reducer);
+
+			BigInteger exponent = term.exponent;
+			int i = exponent.bitLength() - 1;
+			while (i >= 0) {
+				if (!exponent.testBit(i)) {
+					i--;
+					continue;
+				}
+				int low = Math.max(i - w + 1, 0);
+				while (!exponent.testBit(low)) {
+					low++;
+				}
+				int value = 0;
+				for (int k = i; k >= low; k--) {
+					value = (value << 1) | (exponent.testBit(k) ? 1 : 0);
+				}
+				int index = windowValues.size();
+				windowValues.add(oddPowers[value >>> 1]);
+				if (index >= next.length) {
+					next = Arrays.copyOf(next, next.length * 2);
+				}
+				next[index] = head[low];
+				head[low] = index;
+				i = low - 1;
+			}
+		}
+
+		BigInteger result = null;
+		for (int position = maxBits - 1; position >= 0; position--) {
+			if (result != null) {
+				result = reducer.square(result);
+			}
+			for (int index = head[position]; index >= 0; index = next[index]) {
+				result = multiply(result, windowValues.get(index), reducer);
+			}
+		}
+		return result;
+	}
+
+	private static BigInteger[] computeOddPowers(final BigInteger base, final int w, final BarrettReducer reducer) {
+		BigInteger[] oddPowers = new BigInteger[1 << (w - 1)];
+		oddPowers[0] = base;
+		if (oddPowers.length > 1) {
+			BigInteger square = reducer.square(base);
+			for (int j = 1; j < oddPowers.length; j++) {
+				oddPowers[j] = reducer.multiply(oddPowers[j - 1], square);
+			}
+		}
+		return oddPowers;
+	}
+
+	/**
+	 * Bucket method: per window of c bits, bases are sorted into buckets by their digit and the
+	 * buckets are combined with a running product.
+	 */
+	private static BigInteger computePippenger(
+			final List<Term> terms, final int from, final int to, final BarrettReducer reducer) {
+		int count = to - from;
+		int maxBits = 0;
+		for (int i = from; i < to; i++) {
+			maxBits = Math.max(maxBits, terms.get(i).exponent.bitLength());
+		}
+		int c = pippengerWindow(maxBits, count);
+		int windows = (maxBits + c - 1) / c;
+
+		BigInteger result = null;
+		for (int window = windows - 1; window >= 0; window--) {
+			if (result != null) {
+				for (int k = 0; k < c; k++) {
+					result = reducer.square(result);
+				}
+			}
+
+			BigInteger[] buckets = new BigInteger[1 << c];
+			int offset = window * c;
+			for (int i = from; i < to; i++) {
+				Term term = terms.get(i);
+				int digit = 0;
+				for (int k = c - 1; k >= 0; k--) {
+					digit = (digit << 1) | (term.exponent.testBit(offset + k) ? 1 : 0);
+				}
+				if (digit != 0) {
+					buckets[digit] = multiply(buckets[digit], term.base, reducer);
+				}
+			}
+
+			BigInteger running = null;
+			BigInteger windowSum = null;
+			for (int digit = buckets.length - 1; digit >= 1; digit--) {
+				if (buckets[digit] != null) {
+					running = multiply(running, buckets[digit], reducer);
+				}
+				if (running != null) {
+					windowSum = multiply(windowSum, running, reducer);
+				}
+			}
+			if (windowSum != null) {
+				result = multiply(result, windowSum, reducer);
+			}
+		}
+		return result;
+	}
+
+	/** Multiplies two residues where null stands for 1. */
+	private static BigInteger multiply(final BigInteger a, final BigInteger b, final BarrettReducer reducer) {
+		if (a == null) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+		return reducer.multiply(a, b);
+	}
+
+	private static final class Term {
+		private final BigInteger base;
+		private final BigInteger exponent;
+
+		private Term(final BigInteger base, final BigInteger exponent) {
+			this.base = base;
+			this.exponent = exponent;
+		}
+	}
+}
@@ -0,0 +1,370 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Incremental sieve for finding primes.
+ *
+ * <p>Instead of testing random numbers one by one with BigInteger.isProbablePrime(), the sieve
+ * takes a start, marks the multiples of a table of small primes within a window of odd candidates
+ * following the start and only tests the remaining candidates with the probabilistic test. About
+ * 90% of the odd candidates are removed by the sieve at the cost of a single division of the start
+ * by the small primes per window. The residues of a number modulo the small primes are computed
+ * from its residues modulo products of several small primes that fit into a long, such that the
+ * table costs only a few hundred BigInteger divisions.
+ *
+ * <p>A random prime in a range is found by sieving upwards from a uniformly random start in the
+ * range. Note that the prime found thereby is not distributed uniformly among the primes of the
+ * range: primes following a large gap are found more often.
+ */
+public final class PrimeSieve {
+	/** The certainty used by BigInteger.nextProbablePrime(). */
+	public static final int DEFAULT_CERTAINTY = 100;
+
+	/** Upper bound of the small primes in the sieve. */
+	static final int SIEVE_BOUND = 1 << 15;
+
+	/** Number of odd candidates of a sieve window. */
+	static final int WINDOW_SIZE = 1 << 12;
+
+	private static final BigInteger TWO = BigInteger.valueOf(2);
+	private static final BigInteger BOUND = BigInteger.valueOf(SIEVE_BOUND);
+	private static final int[] SMALL_PRIMES = computeSmallPrimes(SIEVE_BOUND);
+	private static final BigInteger[] PRIME_PRODUCTS;
+	private static final int[] PRODUCT_ENDS;
+
+	static {
+		List<BigInteger> products = new ArrayList<BigInteger>();
+		List<Integer> ends = new ArrayList<Integer>();
+		long product = 1;
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			if (product > Long.MAX_VALUE / SMALL_PRIMES[i]) {
+				products.add(BigInteger.valueOf(product));
+				ends.add(i);
+				product = 1;
+			}
+			product *= SMALL_PRIMES[i];
+		}
+		products.add(BigInteger.valueOf(product));
+		ends.add(SMALL_PRIMES.length);
+
+		PRIME_PRODUCTS = products.toArray(new BigInteger[0]);
+		PRODUCT_ENDS = new int[ends.size()];
+		for (int i = 0; i < PRODUCT_ENDS.length; i++) {
+			PRODUCT_ENDS[i] = ends.get(i);
+		}
+	}
+
+	private PrimeSieve() {
+	}
+
+	/**
+	 * Returns whether a number is divisible by an odd prime of the sieve table, other than the
+	 * number itself.
+	 *
+	 * @param number the positive number
+	 * @return true if the number has a small odd prime factor
+	 */
+	public static boolean hasSmallFactor(final BigInteger number) {
+		Assert.notNull(number, "number must not be null");
+		boolean small = number.compareTo(BOUND) <= 0;
+		int[] residues = residues(number);
+		for (int i = 0; i < residues.length; i++) {
+			if (residues[i] == 0 && !(small && number.intValue() == SMALL_PRIMES[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tests a number for primality, rejecting numbers with small factors before the probabilistic
+	 * test.
+	 *
+	 * @param number the number
+	 * @param certainty the certainty of BigInteger.isProbablePrime()
+	 * @return true if the number is probably prime
+	 */
+	public static boolean isProbablePrime(final BigInteger number, final int certainty) {
+		Assert.notNull(number, "number must not be null");
+		if (number.compareTo(TWO) <= 0) return number.equals(TWO);
+		if (!number.testBit(0)) return false;
+		return !hasSmallFactor(number) && number.isProbablePrime(certainty);
+	}
+
+	/**
+	 * Returns the least probable prime in the range [from, max].
+	 *
+	 * @param from the lower bound of the range
+	 * @param max the upper bound of the range
+	 * @param certainty the certainty of BigInteger.isProbablePrime()
+	 * @return the least probable prime in the range, or null if the range contains no prime
+	 */
+	public static BigInteger nextPrime(final BigInteger from, final BigInteger max, final int certainty) {
+		Assert.notNull(from, "lower bound must not be null");
+		Assert.notNull(max, "upper bound must not be null");
+
+		if (from.compareTo(TWO) <= 0) {
+			if (max.compareTo(TWO) >= 0) return TWO;
+			return null;
+		}
+
+		BitSet composite = new BitSet(WINDOW_SIZE);
+		BigInteger start = from.testBit(0) ? from : from.add(BigInteger.ONE);
+		while (start.compareTo(max) <= 0) {
+			sieve(start, composite);
+			for (int k = composite.nextClearBit(0); k < WINDOW_SIZE; k = composite.nextClearBit(k + 1)) {
+				BigInteger candidate = start.add(BigInteger.valueOf(2L * k));
+				if (candidate.compareTo(max) > 0) return null;
+				if (candidate.isProbablePrime(certainty)) return candidate;
+			}
+			start = start.add(BigInteger.valueOf(2L * WINDOW_SIZE));
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the count successive probable primes starting from a lower bound.
+	 *
+	 * @param from the lower bound, which is included if it is prime
+	 * @param count the number of primes
+	 * @param certainty the certainty of BigInteger.isProbablePrime()
+	 * @return the successive primes in ascending order
+	 */
+	public static List<BigInteger> nextPrimes(final BigInteger from, final int count, final int certainty) {
+		Assert.notNull(from, "lower bound must not be null");
+		List<BigInteger> primes = new ArrayList<BigInteger>(Math.max(count, 0));
+		if (count <= 0) return primes;
+
+		BigInteger start = from;
+		if (start.compareTo(TWO) <= 0) {
+			primes.add(TWO);
+			start = BigInteger.valueOf(3);
+		}
+
+		BitSet composite = new BitSet(WINDOW_SIZE);
+		start = start.testBit(0) ? start : start.add(BigInteger.ONE);
+		while (primes.size() < count) {
+			sieve(start, composite);
+			for (int k = composite.nextClearBit(0);
+					k < WINDOW_SIZE && primes.size() < count;
+					k = composite.nextClearBit(k + 1)) {
+				BigInteger candidate = start.add(BigInteger.valueOf(2L * k));
+				if (candidate.isProbablePrime(certainty)) primes.add(candidate);
+			}
+			start = start.add(BigInteger.valueOf(2L * WINDOW_SIZE));
+		}
+		return primes;
+	}
+
+	/**
+	 * Returns the least probable prime of the arithmetic progression start + k * step in the range
+	 * [start, max]. The candidates are sieved in windows, such that the probabilistic test only runs
+	 * on candidates without small factors; this finds primes of the form rho * m + 1 by searching many
+	 * multipliers m at once.
+	 *
+	 * @param start the first candidate
+	 * @param step the positive difference of successive candidates
+	 * @param max the upper bound of the range
+	 * @param certainty the certainty of BigInteger.isProbablePrime()
+	 * @return the least probable prime of the progression in the range, or null if there is none
+	 */
+	public static BigInteger nextPrimeInProgression(
+			final BigInteger start, final BigInteger step, final BigInteger max, final int certainty) {
+		Assert.notNull(start, "start must not be null");
+		Assert.notNull(step, "step must not be null");
+		Assert.notNull(max, "upper bound must not be null");
+		if (step.signum() <= 0) {
+			throw new IllegalArgumentException("The step of the progression must be positive.");
+		}
+		if (!step.testBit(0) && !start.testBit(0)) {
+			// All candidates are even.
+			return (start.equals(TWO) && max.compareTo(TWO) >= 0) ? TWO : null;
+		}
+
+		BigInteger windowStep = step.multiply(BigInteger.valueOf(WINDOW_SIZE));
+		int[] inverses = stepInverses(step);
+		BitSet composite = new BitSet(WINDOW_SIZE);
+		BigInteger windowStart = start;
+		while (windowStart.compareTo(max) <= 0) {
+			sieve(windowStart, inverses, composite);
+			BigInteger candidate = windowStart;
+			int previous = 0;
+			for (int k = composite.nextClearBit(0); k < WINDOW_SIZE; k = composite.nextClearBit(k + 1)) {
+				candidate = candidate.add(step.multiply(BigInteger.valueOf(k - previous)));
+				previous = k;
+				if (candidate.compareTo(max) > 0) return null;
+				if (candidate.compareTo(TWO) >= 0 && candidate.isProbablePrime(certainty)) return candidate;
+			}
+			windowStart = windowStart.add(windowStep);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a random probable prime in the range [min, max]. The sieve starts from a uniformly
+	 * random number in the range and wraps around to min if it reaches max.
+	 *
+	 * @param min the lower bound of the range
+	 * @param max the upper bound of the range
+	 * @param certainty the certainty of BigInteger.isProbablePrime()
+	 * @param random the source of randomness
+	 * @return a probable prime in the range
+	 * @throws IllegalArgumentException if the range contains no prime
+	 */
+	public static BigInteger randomPrimeInRange(
+			final BigInteger min, final BigInteger max, final int certainty, final Random random) {
+		Assert.notNull(min, "lower bound must not be null");
+		Assert.notNull(max, "upper bound must not be null");
+		Assert.notNull(random, "random must not be null");
+		if (min.compareTo(max) > 0) {
+			throw new IllegalArgumentException("The lower bound must not exceed the upper bound.");
+		}
+
+		BigInteger range = max.subtract(min);
+		BigInteger offset;
+		do {
+			offset = new BigInteger(range.bitLength(), random);
+		} while (offset.compareTo(range) > 0);
+		BigInteger start = min.add(offset);
+
+		BigInteger prime = nextPrime(start, max, certainty);
+		if (prime == null && start.compareTo(min) > 0) {
+			prime = nextPrime(min, start.subtract(BigInteger.ONE), certainty);
+		}
+		if (prime == null) {
+			throw new IllegalArgumentException("The range [" + min + ", " + max + "] contains no prime.");
+		}
+		return prime;
+	}
+
+	/**
+	 * Marks the candidates start + 2k of the window that are divisible by a small prime, except for
+	 * the small primes themselves.
+	 *
+	 * @param start the odd start of the window
+	 * @param composite the marks of the window
+	 */
+	private static void sieve(final BigInteger start, final BitSet composite) {
+		composite.clear();
+		boolean small = start.compareTo(BOUND) <= 0;
+		long smallStart = small ? start.longValue() : 0;
+		int[] residues = residues(start);
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			int r = SMALL_PRIMES[i];
+			// start + 2k = 0 (mod r) for k = -start / 2 = (r - residue) * (r + 1) / 2 (mod r)
+			int k = (int) (((long) (r - residues[i]) * ((r + 1) / 2)) % r);
+			if (small && smallStart + 2L * k == r) {
+				k += r;
+			}
+			for (; k < WINDOW_SIZE; k += r) {
+				composite.set(k);
+			}
+		}
+	}
+
+	/**
+	 * Marks the candidates start + k * step of the window that are divisible by a small prime. Windows
+	 * starting at or below the sieve bound are not sieved, such that the small primes themselves are
+	 * not marked.
+	 *
+	 * @param start the start of the window
+	 * @param inverses the inverses of the step modulo the small primes, or 0 for a multiple
+	 * @param composite the marks of the window
+	 */
+	private static void sieve(final BigInteger start, final int[] inverses, final BitSet composite) {
+		composite.clear();
+		if (start.compareTo(BOUND) <= 0) {
+			return;
+		}
+		int[] residues = residues(start);
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			int r = SMALL_PRIMES[i];
+			if (inverses[i] == 0) {
+				// Every candidate has the residue of the start.
+				if (residues[i] == 0) {
+					composite.set(0, WINDOW_SIZE);
+					return;
+				}
+				continue;
+			}
+			// start + k * step = 0 (mod r) for k = -start / step (mod r)
+			int k = (int) (((long) (r - residues[i]) * inverses[i]) % r);
+			for (; k < WINDOW_SIZE; k += r) {
+				composite.set(k);
+			}
+		}
+	}
+
+	/* Computes the inverses of the step modulo the small primes by Fermat's little theorem. */
+	private static int[] stepInverses(final BigInteger step) {
+		int[] residues = residues(step);
+		int[] inverses = new int[SMALL_PRIMES.length];
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			long r = SMALL_PRIMES[i];
+			long base = residues[i];
+			if (base == 0) {
+				continue;
+			}
+			long result = 1;
+			for (long e = r - 2; e > 0; e >>= 1) {
+				if ((e & 1) != 0) result = result * base % r;
+				base = base * base % r;
+			}
+			inverses[i] = (int) result;
+		}
+		return inverses;
+	}
+
+	/**
+	 * Returns the residues of a number modulo the small primes, in the order of the sieve table.
+	 *
+	 * @param number the non-negative number
+	 * @return the residues
+	 */
+	static int[] residues(final BigInteger number) {
+		int[] residues = new int[SMALL_PRIMES.length];
+		int begin = 0;
+		for (int j = 0; j < PRIME_PRODUCTS.length; j++) {
+			long remainder = number.mod(PRIME_PRODUCTS[j]).longValue();
+			for (int i = begin; i < PRODUCT_ENDS[j]; i++) {
+				residues[i] = (int) (remainder % SMALL_PRIMES[i]);
+			}
+			begin = PRODUCT_ENDS[j];
+		}
+		return residues;
+	}
+
+	/**
+	 * Returns the odd primes of the sieve table in ascending order. The array must not be modified.
+	 *
+	 * @return the small odd primes
+	 */
+	static int[] getSmallPrimes() {
+		return SMALL_PRIMES;
+	}
+
+	/* Sieve of Eratosthenes for the odd primes below the bound. */
+	private static int[] computeSmallPrimes(final int bound) {
+		BitSet composite = new BitSet(bound);
+		List<Integer> primes = new ArrayList<Integer>();
+		for (int i = 2; i < bound; i++) {
+			if (composite.get(i)) continue;
+			if (i > 2) primes.add(i);
+			for (long j = (long) i * i; j < bound; j += i) {
+				composite.set((int) j);
+			}
+		}
+		int[] result = new int[primes.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = primes.get(i);
+		}
+		return result;
+	}
+}
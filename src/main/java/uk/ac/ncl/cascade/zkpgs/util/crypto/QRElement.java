@@ -19,6 +19,10 @@ public class QRElement extends GroupElement {
 
 	private final BigInteger value;
 
+	private transient volatile FixedBaseTable fixedBaseTable;
+
+	private transient volatile GroupElement inverse;
+
 	public QRElement(final Group group, final BigInteger value) {
 		this.group = group;
 		this.value = value;
@@ -42,14 +46,25 @@ public class QRElement extends GroupElement {
 	@Override
 	public QRElement multiBaseExp(List<GroupElement> bases, List<BigInteger> exponents) {
 		List<BigInteger> baseList = new ArrayList<BigInteger>(bases.size());
+		List<BigInteger> exponentList = exponents;
 		Iterator<GroupElement> baseIter = bases.iterator();
-		while (baseIter.hasNext()) {
+		for (int i = 0; baseIter.hasNext(); i++) {
 			GroupElement groupElement = (GroupElement) baseIter.next();
 			BigInteger bigInteger = groupElement.getValue();
+			BigInteger exponent = (exponents != null && i < exponents.size()) ? exponents.get(i) : null;
+			GroupElement recordedInverse = groupElement.getCachedInverse();
+			if (exponent != null && exponent.signum() < 0 && recordedInverse != null) {
+				// Negative exponents of bases with a recorded inverse need no inversion.
+				if (exponentList == exponents) {
+					exponentList = new ArrayList<BigInteger>(exponents);
+				}
+				bigInteger = recordedInverse.getValue();
+				exponentList.set(i, exponent.negate());
+			}
 			baseList.add(bigInteger);
 		}
 		// TODO Provide a CryptoUtils function that operates directly on GroupElements!
-		BigInteger expProduct = CryptoUtilsFacade.computeMultiBaseExp(baseList, exponents, this.group.getModulus());
+		BigInteger expProduct = CryptoUtilsFacade.computeMultiBaseExp(baseList, exponentList, this.group.getModulus());
 		return new QRElement(this.getGroup(), expProduct);
 	}
 
@@ -66,80 +81,121 @@ public class QRElement extends GroupElement {
 			// Exception
 		}
 
-		BigInteger product = (this.value.multiply(value.getValue())).mod(this.getGroup().getModulus());
+		BigInteger product = (this.getValue().multiply(value.getValue())).mod(this.getGroup().getModulus());
 		return new QRElement(this.group, product);
 	}
 
 	BigInteger divide(BigInteger val) {
-		return value.divide(val);
+		return getValue().divide(val);
 	}
 
 	BigInteger[] divideAndRemainder(BigInteger val) {
-		return value.divideAndRemainder(val);
+		return getValue().divideAndRemainder(val);
 	}
 
 	BigInteger remainder(BigInteger val) {
-		return value.remainder(val);
+		return getValue().remainder(val);
 	}
 
 	BigInteger gcd(BigInteger val) {
-		return value.gcd(val);
+		return getValue().gcd(val);
 	}
 
 	BigInteger abs() {
-		return value.abs();
+		return getValue().abs();
 	}
 
 	BigInteger negate() {
-		return value.negate();
+		return getValue().negate();
 	}
 
 	int signum() {
-		return value.signum();
+		return getValue().signum();
 	}
 
 	BigInteger mod(BigInteger m) {
-		return value.mod(m);
+		return getValue().mod(m);
 	}
 
 	@Override
 	public QRElement modPow(BigInteger exponent) {
-		BigInteger result = this.value.modPow(exponent, this.getGroup().getModulus());
+		FixedBaseTable table = this.fixedBaseTable;
+		GroupElement recordedInverse = this.inverse;
+		BigInteger result;
+		if (table != null) {
+			result = table.modPow(exponent);
+		} else if (exponent.signum() < 0 && recordedInverse != null) {
+			result = recordedInverse.getValue().modPow(exponent.negate(), this.getGroup().getModulus());
+		} else {
+			result = this.getValue().modPow(exponent, this.getGroup().getModulus());
+		}
 		return new QRElement(this.getGroup(), result);
 	}
 
+	/**
+	 * Attaches a table of precomputed powers of this element, which is used by subsequent
+	 * modPow computations. The table is not serialized.
+	 *
+	 * @param table the fixed-base table for this element's value, or null to detach it
+	 */
+	public void setFixedBaseTable(FixedBaseTable table) {
+		if (table != null && (!table.getBase().equals(this.getValue())
+				|| !table.getModulus().equals(this.getGroup().getModulus()))) {
+			throw new IllegalArgumentException("The fixed-base table does not match this element.");
+		}
+		this.fixedBaseTable = table;
+	}
+
+	public FixedBaseTable getFixedBaseTable() {
+		return this.fixedBaseTable;
+	}
+
+	@Override
+	GroupElement getCachedInverse() {
+		return this.inverse;
+	}
+
+	@Override
+	void cacheInverse(GroupElement inverse) {
+		this.inverse = inverse;
+	}
+
 	@Override
 	public QRElement modInverse() {
-		BigInteger inverse = this.value.modInverse(this.getGroup().getModulus());
+		GroupElement recordedInverse = this.inverse;
+		if (recordedInverse instanceof QRElement) {
+			return (QRElement) recordedInverse;
+		}
+		BigInteger inverse = this.getValue().modInverse(this.getGroup().getModulus());
 		return new QRElement(this.getGroup(), inverse);
 	}
 
 	int getLowestSetBit() {
-		return value.getLowestSetBit();
+		return getValue().getLowestSetBit();
 	}
 
 	@Override
 	public int bitLength() {
-		return value.bitLength();
+		return getValue().bitLength();
 	}
 
 	@Override
 	public int bitCount() {
-		return value.bitCount();
+		return getValue().bitCount();
 	}
 
 	public boolean isProbablePrime(int certainty) {
-		return value.isProbablePrime(certainty);
+		return getValue().isProbablePrime(certainty);
 	}
 
 	@Override
 	public int compareTo(BigInteger val) {
-		return value.compareTo(val);
+		return getValue().compareTo(val);
 	}
 
 	@Override
 	public int compareTo(GroupElement val) {
-		return this.value.compareTo(val.getValue());
+		return this.getValue().compareTo(val.getValue());
 	}
 
 	@Override
@@ -156,10 +212,10 @@ public class QRElement extends GroupElement {
 				return false;
 		} else if (!group.equals(other.group))
 			return false;
-		if (value == null) {
-			if (other.value != null)
+		if (getValue() == null) {
+			if (other.getValue() != null)
 				return false;
-		} else if (!value.equals(other.value))
+		} else if (!getValue().equals(other.getValue()))
 			return false;
 		return true;
 	}
@@ -169,29 +225,29 @@ public class QRElement extends GroupElement {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((group == null) ? 0 : group.hashCode());
-		result = prime * result + ((value == null) ? 0 : value.hashCode());
+		result = prime * result + ((getValue() == null) ? 0 : getValue().hashCode());
 		return result;
 	}
 
 	public BigInteger min(BigInteger val) {
-		return value.min(val);
+		return getValue().min(val);
 	}
 
 	public BigInteger max(BigInteger val) {
-		return value.max(val);
+		return getValue().max(val);
 	}
 
 	public String toString(int radix) {
-		return value.toString(radix);
+		return getValue().toString(radix);
 	}
 
 	@Override
 	public String toString() {
-		return value.toString();
+		return getValue().toString();
 	}
 
 	public byte[] toByteArray() {
-		return value.toByteArray();
+		return getValue().toByteArray();
 	}
 
 	@Override
@@ -201,7 +257,9 @@ public class QRElement extends GroupElement {
 
 	@Override
 	public GroupElement publicClone() {
-		return new QRElement((Group) this.getGroup().publicClone(), value);
+		QRElement theClone = new QRElement((Group) this.getGroup().publicClone(), getValue());
+		theClone.fixedBaseTable = this.fixedBaseTable;
+		return theClone;
 	}
 
 
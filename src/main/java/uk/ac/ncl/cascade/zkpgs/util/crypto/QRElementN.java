@@ -96,7 +96,7 @@ public class QRElementN extends QRElement {
 	 * @return the big integer
 	 */
 	public QRElementN multiBaseExp(List<GroupElement> bases, List<BigInteger> exponents) {
-		return (QRElementN) super.multiBaseExp(bases, exponents);
+		return new QRElementN(this.getGroup(), super.multiBaseExp(bases, exponents).getValue());
 	}
 
 	@Override
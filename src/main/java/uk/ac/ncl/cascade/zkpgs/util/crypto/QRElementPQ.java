@@ -1,24 +1,32 @@
 package uk.ac.ncl.cascade.zkpgs.util.crypto;
 
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Class that represents an element in the Quadratic Residues group when the modulus factorization
  * is known.
+ *
+ * <p>The element is held in its Chinese Remainder representation (x mod p, x mod q). Products,
+ * inverses and exponentiations are computed on the two half-size residues, with exponents reduced
+ * modulo the orders p' and q' of the Quadratic Residues modulo p and q. The value modulo N is only
+ * recombined when it is requested with getValue(), such that chains of operations do not pay for
+ * a CRT recombination at every step.
  */
 public class QRElementPQ extends QRElement {
 
 	private static final long serialVersionUID = 6659291010231881173L;
 
 	private final QRGroupPQ qrGroupPQ;
-	private final BigInteger value;
+	private volatile BigInteger value;
 	private BigInteger order;
 	private final BigInteger xp;
 	private final BigInteger xq;
-	private BigInteger lgdrP;
-	private BigInteger lgdrQ;
 
 
 	/**
@@ -38,6 +46,21 @@ public class QRElementPQ extends QRElement {
 
 	}
 
+	/**
+	 * Instantiates a new QR element from its residues modulo p and q; the value modulo N is
+	 * recombined on demand.
+	 *
+	 * @param qrGroupPQ the Quadratic Residues with known modulus factorization.
+	 * @param xp the residue modulo p
+	 * @param xq the residue modulo q
+	 */
+	private QRElementPQ(final QRGroupPQ qrGroupPQ, final BigInteger xp, final BigInteger xq) {
+		super(qrGroupPQ, null);
+		this.qrGroupPQ = qrGroupPQ;
+		this.xp = xp;
+		this.xq = xq;
+	}
+
 	@Override
 	public Group getGroup() {
 		return this.qrGroupPQ;
@@ -45,7 +68,36 @@ public class QRElementPQ extends QRElement {
 
 	@Override
 	public BigInteger getValue() {
-		return this.value;
+		BigInteger result = this.value;
+		if (result == null) {
+			// uses precomputation for 1p and 1q
+			result = CRT.computeCRT(
+					this.xp,
+					this.qrGroupPQ.getOneP(),
+					this.xq,
+					this.qrGroupPQ.getOneQ(),
+					this.qrGroupPQ.getModulus());
+			this.value = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the residue of this element modulo p.
+	 *
+	 * @return x mod p
+	 */
+	public BigInteger getXp() {
+		return this.xp;
+	}
+
+	/**
+	 * Returns the residue of this element modulo q.
+	 *
+	 * @return x mod q
+	 */
+	public BigInteger getXq() {
+		return this.xq;
 	}
 
 	/**
@@ -59,68 +111,40 @@ public class QRElementPQ extends QRElement {
 		return this.order;
 	}
 
+	/**
+	 * Computes the exponentiation on the residues modulo p and q. As the element is a Quadratic
+	 * Residue, its residues have orders dividing p' and q', respectively, and the exponent is
+	 * reduced accordingly; negative exponents therefore need no inversion.
+	 */
 	@Override
-	public QRElement modPow(BigInteger exponent) {
-		// TODO The computation does not work.
-		// The order of the QR_p is p', the order of QR_q is q', not those values minus 1.
-		//      compute exponentiation using CRT for modulo p and q representation
-		BigInteger expP = this.xp.modPow(exponent, this.qrGroupPQ.getP());
-
-		BigInteger expQ =  this.xq.modPow(exponent, this.qrGroupPQ.getQ());
-
-		// uses precomputation for 1p and 1q
-		BigInteger crt =
-				CRT.computeCRT(
-						expP,
-						this.qrGroupPQ.getOneP(),
-						expQ,
-						this.qrGroupPQ.getOneQ(),
-						this.qrGroupPQ.getModulus());
-
-		return new QRElementPQ(this.qrGroupPQ, crt);
+	public QRElementPQ modPow(BigInteger exponent) {
+		BigInteger expP = this.xp.modPow(exponent.mod(this.qrGroupPQ.getPPrime()), this.qrGroupPQ.getP());
+		BigInteger expQ = this.xq.modPow(exponent.mod(this.qrGroupPQ.getQPrime()), this.qrGroupPQ.getQ());
+
+		return new QRElementPQ(this.qrGroupPQ, expP, expQ);
 	}
 
 	@Override
 	public QRElementPQ modInverse(){
-		return new QRElementPQ(this.qrGroupPQ, this.value.modInverse(this.getGroup().getModulus()));
+		return new QRElementPQ(this.qrGroupPQ,
+				this.xp.modInverse(this.qrGroupPQ.getP()),
+				this.xq.modInverse(this.qrGroupPQ.getQ()));
 	}
 
 	@Override
 	public QRElementPQ multiply(GroupElement multiplier) {
-		BigInteger multiplierP = (multiplier.getValue()).mod(this.qrGroupPQ.getP());
-		BigInteger multiplierQ = (multiplier.getValue()).mod(this.qrGroupPQ.getQ());
-
-		// uses precomputation for 1p and 1q
-		BigInteger productP = (this.xp.multiply(multiplierP)).mod(this.qrGroupPQ.getP());
-		BigInteger productQ = (this.xq.multiply(multiplierQ)).mod(this.qrGroupPQ.getQ());
-
-		BigInteger crt = CRT.computeCRT(
-				productP,
-				this.qrGroupPQ.getOneP(),
-				productQ,
-				this.qrGroupPQ.getOneQ(),
-				this.qrGroupPQ.getModulus());
-
-		//	log.info("----- Multiplication Profile -----");
-		//	log.info("element value = " + this.value);
-		//	log.info("element in ZPS = " + this.xp);
-		//	log.info("element in ZQS = " + this.xq);
-		//	log.info("---");
-		//	log.info("multiplier = " + multiplier);
-		//	log.info("multiplier in ZPS = " + multiplierP);
-		//	log.info("multiplier in ZQS = " + multiplierQ);
-		//	log.info("---");
-		//	log.info("product in ZPS = " + productP);
-		//	log.info("product in ZQS = " + productQ);
-		//	log.info("product in ZNS = " + crt);
-
-		return new QRElementPQ(this.qrGroupPQ, crt);
-	}
+		BigInteger productP = (this.xp.multiply(residueP(multiplier))).mod(this.qrGroupPQ.getP());
+		BigInteger productQ = (this.xq.multiply(residueQ(multiplier))).mod(this.qrGroupPQ.getQ());
 
+		return new QRElementPQ(this.qrGroupPQ, productP, productQ);
+	}
 
 	/**
 	 * Multi base exp big integer.
 	 *
+	 * <p>The multi-exponentiation is computed on the residues modulo p and q, with exponents
+	 * reduced modulo p' and q'.
+	 *
 	 * @param bases the bases
 	 * @param exponents the exponents
 	 * @return the big integer
@@ -130,11 +154,41 @@ public class QRElementPQ extends QRElement {
 		Assert.notNull(exponents, "exponents must not be null");
 		Assert.checkSize(bases.size(), exponents.size(), "bases and exponents must have the same size");
 
-		QRElementPQ result = (QRElementPQ) this.qrGroupPQ.getOne();
+		List<BigInteger> basesP = new ArrayList<BigInteger>(bases.size());
+		List<BigInteger> basesQ = new ArrayList<BigInteger>(bases.size());
+		List<BigInteger> exponentsP = new ArrayList<BigInteger>(exponents.size());
+		List<BigInteger> exponentsQ = new ArrayList<BigInteger>(exponents.size());
 		for (int i = 0; i < bases.size(); i++) {
-			result = result.multiply(bases.get(i).modPow(exponents.get(i)));
+			BigInteger exponent = exponents.get(i);
+			basesP.add(residueP(bases.get(i)));
+			basesQ.add(residueQ(bases.get(i)));
+			exponentsP.add(exponent == null ? null : exponent.mod(this.qrGroupPQ.getPPrime()));
+			exponentsQ.add(exponent == null ? null : exponent.mod(this.qrGroupPQ.getQPrime()));
 		}
-		return result;
+
+		return new QRElementPQ(this.qrGroupPQ,
+				MultiExponentiation.compute(basesP, exponentsP, this.qrGroupPQ.getP()),
+				MultiExponentiation.compute(basesQ, exponentsQ, this.qrGroupPQ.getQ()));
+	}
+
+	private BigInteger residueP(GroupElement element) {
+		if (element instanceof QRElementPQ && this.qrGroupPQ.equals(element.getGroup())) {
+			return ((QRElementPQ) element).getXp();
+		}
+		return element.getValue().mod(this.qrGroupPQ.getP());
+	}
+
+	private BigInteger residueQ(GroupElement element) {
+		if (element instanceof QRElementPQ && this.qrGroupPQ.equals(element.getGroup())) {
+			return ((QRElementPQ) element).getXq();
+		}
+		return element.getValue().mod(this.qrGroupPQ.getQ());
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		// Serialized elements carry the recombined value.
+		getValue();
+		out.defaultWriteObject();
 	}
 
 	/**
@@ -143,6 +197,6 @@ public class QRElementPQ extends QRElement {
 	 * @return public clone of this group element.
 	 */
 	public GroupElement publicClone() {
-		return new QRElementN(this.getGroup().publicClone(), this.value);
+		return ((QRGroupN) this.getGroup().publicClone()).valueOf(this.getValue());
 	}
 }
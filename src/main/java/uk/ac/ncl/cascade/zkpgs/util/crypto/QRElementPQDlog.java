@@ -34,6 +34,6 @@ public abstract class QRElementPQDlog extends QRElement {
 	 * @return public clone of this group element.
 	 */
 	public GroupElement publicClone() {
-		return new QRElementN(this.getGroup().publicClone(), this.value);
+		return ((QRGroupN) this.getGroup().publicClone()).valueOf(this.value);
 	}
 }
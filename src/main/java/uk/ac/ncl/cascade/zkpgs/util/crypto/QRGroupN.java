@@ -4,8 +4,15 @@ import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.NumberConstants;
 import java.math.BigInteger;
 
-/** Quadratic Residue Group where we don't know the modulus factorization in \(Z^*_p \) */
-public final class QRGroupN extends QRGroup {
+/**
+ * Quadratic Residue Group where we don't know the modulus factorization in \(Z^*_p \)
+ *
+ * <p>{@link MontgomeryQRGroupN} provides an alternative realization, whose elements are held in
+ * Montgomery form.
+ */
+public class QRGroupN extends QRGroup {
+
+	private static final long serialVersionUID = 7388217958920183636L;
 
 	public QRGroupN(final BigInteger modulus) {
 		super(modulus);
@@ -33,7 +40,18 @@ public final class QRGroupN extends QRGroup {
 			s = s_prime.modPow(NumberConstants.TWO.getValue(), this.getModulus());
 
 		} while (!this.isElement(s));
-		return new QRElementN(this, s);
+		return valueOf(s);
+	}
+
+	/**
+	 * Creates an element of this group from a value, which must be a Quadratic Residue by
+	 * construction, as the group membership cannot be checked.
+	 *
+	 * @param value the value of the element
+	 * @return QRElementN with the given value
+	 */
+	public QRElementN valueOf(final BigInteger value) {
+		return new QRElementN(this, value);
 	}
 
 
@@ -1,13 +1,24 @@
 package uk.ac.ncl.cascade.zkpgs.util.crypto;
 
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
 import uk.ac.ncl.cascade.zkpgs.util.Assert;
 import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFactory;
 import uk.ac.ncl.cascade.zkpgs.util.NumberConstants;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /** Quadratic Residues Group when the modulus factorization is known. */
 public final class QRGroupPQ extends QRGroup {
 
+	private static final long serialVersionUID = 8787799247741751734L;
+
 	private final BigInteger pPrime;
 	private final BigInteger qPrime;
 	private final BigInteger p;
@@ -185,6 +196,128 @@ public final class QRGroupPQ extends QRGroup {
 		return this.q;
 	}
 
+	/**
+	 * Computes base^exponent for a Quadratic Residue of the public group with the same modulus,
+	 * using the Chinese Remainder representation of this group with known factorization. The
+	 * result is returned as an element of the base's group, such that no private information is
+	 * attached to it.
+	 *
+	 * @param base a Quadratic Residue modulo the modulus of this group
+	 * @param exponent the exponent
+	 * @return base^exponent as an element of the base's group
+	 */
+	public QRElement modPow(final GroupElement base, final BigInteger exponent) {
+		Assert.notNull(base, "base must not be null");
+		Assert.notNull(exponent, "exponent must not be null");
+		if (!this.getModulus().equals(base.getGroup().getModulus())) {
+			throw new IllegalArgumentException("The base is not an element modulo this group's modulus.");
+		}
+
+		BigInteger result = new QRElementPQ(this, base.getValue()).modPow(exponent).getValue();
+		return new QRElement(base.getGroup(), result);
+	}
+
+	/**
+	 * Computes base^exponent for a list of exponents of the same base, as needed to derive many
+	 * bases from a generator. The residues of the base modulo p and q receive a FixedBaseTable
+	 * each, such that every exponentiation only costs the multiplications of the fixed-base
+	 * method with exponents reduced modulo p' and q', followed by the CRT recombination.
+	 *
+	 * <p>If an executor is given, the exponentiations are distributed over it in contiguous
+	 * blocks. The results are returned in the order of the exponents in either case.
+	 *
+	 * @param base a Quadratic Residue modulo the modulus of this group
+	 * @param exponents the exponents
+	 * @param executor the executor to distribute the exponentiations over, or null to compute
+	 *     them on the calling thread
+	 * @return base^exponent for each exponent as elements of the base's group
+	 */
+	public List<QRElement> modPow(
+			final GroupElement base, final List<BigInteger> exponents, final ExecutorService executor) {
+		Assert.notNull(base, "base must not be null");
+		Assert.notNull(exponents, "exponents must not be null");
+		if (!this.getModulus().equals(base.getGroup().getModulus())) {
+			throw new IllegalArgumentException("The base is not an element modulo this group's modulus.");
+		}
+
+		final FixedBaseTable tableP = new FixedBaseTable(base.getValue(), this.p);
+		final FixedBaseTable tableQ = new FixedBaseTable(base.getValue(), this.q);
+		final Group baseGroup = base.getGroup();
+		final QRElement[] results = new QRElement[exponents.size()];
+
+		int blocks = 1;
+		if (executor != null && exponents.size() > 1) {
+			blocks = Math.min(exponents.size() - 1, 4 * Runtime.getRuntime().availableProcessors());
+		}
+		if (blocks <= 1) {
+			computeFixedBasePowers(tableP, tableQ, baseGroup, exponents, results, 0, results.length);
+			return Arrays.asList(results);
+		}
+
+		// The first exponentiation extends the tables to their full length before they are shared.
+		computeFixedBasePowers(tableP, tableQ, baseGroup, exponents, results, 0, 1);
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(blocks);
+		int remaining = results.length - 1;
+		for (int block = 0; block < blocks; block++) {
+			final int from = 1 + (int) ((long) remaining * block / blocks);
+			final int to = 1 + (int) ((long) remaining * (block + 1) / blocks);
+			tasks.add(() -> {
+				computeFixedBasePowers(tableP, tableQ, baseGroup, exponents, results, from, to);
+				return null;
+			});
+		}
+
+		try {
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GSInternalError("Interrupted while computing exponentiations.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new GSInternalError(cause);
+		}
+		return Arrays.asList(results);
+	}
+
+	private void computeFixedBasePowers(
+			final FixedBaseTable tableP,
+			final FixedBaseTable tableQ,
+			final Group baseGroup,
+			final List<BigInteger> exponents,
+			final QRElement[] results,
+			final int from,
+			final int to) {
+		for (int i = from; i < to; i++) {
+			BigInteger exponent = exponents.get(i);
+			Assert.notNull(exponent, "exponent must not be null");
+			BigInteger xp = tableP.modPow(exponent.mod(this.pPrime));
+			BigInteger xq = tableQ.modPow(exponent.mod(this.qPrime));
+			results[i] = new QRElement(baseGroup, CRT.computeCRT(xp, this.oneP, xq, this.oneQ, this.getModulus()));
+		}
+	}
+
+	/**
+	 * Returns the Sophie Germain prime p', the order of the Quadratic Residues modulo p.
+	 *
+	 * @return p'
+	 */
+	public BigInteger getPPrime() {
+		return this.pPrime;
+	}
+
+	/**
+	 * Returns the Sophie Germain prime q', the order of the Quadratic Residues modulo q.
+	 *
+	 * @return q'
+	 */
+	public BigInteger getQPrime() {
+		return this.qPrime;
+	}
+
 	/**
 	 * Computes the Legendre symbol of a BigInteger value with respect to the
 	 * prime factor p of this QRGroupPQ.
@@ -217,7 +350,7 @@ public final class QRGroupPQ extends QRGroup {
 	 * @return QRGroupN corresponding to this group
 	 */
 	public QRGroupN getPublicQRGroup() {
-		return new QRGroupN(this.getModulus());
+		return CryptoUtilsFactory.createQRGroupN(this.getModulus());
 	}
 
 	@Override
@@ -289,7 +422,7 @@ public final class QRGroupPQ extends QRGroup {
 
 	@Override
 	public Group publicClone() {
-		return new QRGroupN(this.getModulus());
+		return CryptoUtilsFactory.createQRGroupN(this.getModulus());
 	}
 
 	@Override
@@ -0,0 +1,141 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+
+import java.math.BigInteger;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.SecureRandom;
+
+/**
+ * Source of the randomness drawn by provers and the signing oracle, such as witness randomness and
+ * blinding randomness.
+ *
+ * <p>The default provider, {@link #perThread()}, keeps a deterministic random bit generator per
+ * thread, each seeded from the system source of randomness when the thread first draws. Threads
+ * thus neither contend on a single shared generator nor read the system source for every draw.
+ * The provider created by {@link #seeded(byte[])} draws from a single generator with a fixed seed,
+ * such that benchmarks repeat the same draws; it must not be used to create keys or proofs.
+ *
+ * <p>Many random exponents are drawn at once by {@link #nextNumbers(int...)}, which takes the
+ * bytes for all exponents from a single request to the generator.
+ */
+public abstract class RandomnessProvider {
+	private static final String DRBG_ALGORITHM = "SHA1PRNG";
+	private static final String DRBG_PROVIDER = "SUN";
+	private static final int SEED_LENGTH = 32;
+
+	/**
+	 * Returns the generator from which the calling thread draws.
+	 *
+	 * @return the generator
+	 */
+	public abstract SecureRandom getSecureRandom();
+
+	/**
+	 * Draws a uniformly random number in the range [0, 2^bitLength - 1].
+	 *
+	 * @param bitLength the maximum bit length of the number
+	 * @return the random number
+	 */
+	public BigInteger nextNumber(final int bitLength) {
+		return new BigInteger(bitLength, getSecureRandom());
+	}
+
+	/**
+	 * Draws uniformly random numbers in the ranges [0, 2^bitLengths[i] - 1] from a single request to
+	 * the generator.
+	 *
+	 * @param bitLengths the maximum bit lengths of the numbers
+	 * @return the random numbers, in the order of the bit lengths
+	 */
+	public BigInteger[] nextNumbers(final int... bitLengths) {
+		int byteLength = 0;
+		for (int bitLength : bitLengths) {
+			if (bitLength < 0) {
+				throw new IllegalArgumentException("The bit length must not be negative.");
+			}
+			byteLength += (bitLength + 7) / 8;
+		}
+		byte[] bytes = new byte[byteLength];
+		getSecureRandom().nextBytes(bytes);
+
+		BigInteger[] numbers = new BigInteger[bitLengths.length];
+		int offset = 0;
+		for (int i = 0; i < bitLengths.length; i++) {
+			int length = (bitLengths[i] + 7) / 8;
+			byte[] magnitude = new byte[length];
+			System.arraycopy(bytes, offset, magnitude, 0, length);
+			if (length > 0) {
+				// Discarding the excess bits of the most significant byte.
+				magnitude[0] &= (byte) (0xff >>> (8 * length - bitLengths[i]));
+			}
+			numbers[i] = new BigInteger(1, magnitude);
+			offset += length;
+		}
+		return numbers;
+	}
+
+	/**
+	 * Creates the provider that keeps a generator per thread, seeded from the system source of
+	 * randomness.
+	 *
+	 * @return the per-thread provider
+	 */
+	public static RandomnessProvider perThread() {
+		return new PerThread();
+	}
+
+	/**
+	 * Creates a provider that draws from a single generator with a fixed seed, for benchmarks. The
+	 * draws repeat for the same seed as long as they are taken in the same order.
+	 *
+	 * @param seed the seed of the generator
+	 * @return the seeded provider
+	 */
+	public static RandomnessProvider seeded(final byte[] seed) {
+		Assert.notNull(seed, "The seed must not be null.");
+		SecureRandom random = createGenerator();
+		// Seeding before the first draw replaces the self-seeding of the generator.
+		random.setSeed(seed);
+		return new Seeded(random);
+	}
+
+	private static SecureRandom createGenerator() {
+		try {
+			return SecureRandom.getInstance(DRBG_ALGORITHM, DRBG_PROVIDER);
+		} catch (NoSuchAlgorithmException | NoSuchProviderException e) {
+			throw new GSInternalError(e);
+		}
+	}
+
+	private static final class PerThread extends RandomnessProvider {
+		private final SecureRandom seedSource = new SecureRandom();
+		private final ThreadLocal<SecureRandom> generators =
+				ThreadLocal.withInitial(
+						() -> {
+							SecureRandom random = createGenerator();
+							random.setSeed(seedSource.generateSeed(SEED_LENGTH));
+							return random;
+						});
+
+		@Override
+		public SecureRandom getSecureRandom() {
+			return generators.get();
+		}
+	}
+
+	private static final class Seeded extends RandomnessProvider {
+		private final SecureRandom random;
+
+		Seeded(final SecureRandom random) {
+			this.random = random;
+		}
+
+		@Override
+		public SecureRandom getSecureRandom() {
+			return random;
+		}
+	}
+}
@@ -0,0 +1,372 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import uk.ac.ncl.cascade.zkpgs.util.Assert;
+import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * On-disk pool of pre-generated safe primes, such that key generation takes safe primes from the
+ * pool instead of searching them.
+ *
+ * <p>The pool keeps a file per bit length in its directory. Each line of a file holds a status
+ * character and the safe prime p in hexadecimal, where the status is {@code A} for an available
+ * and {@code U} for a used prime. A prime is marked as used on disk before it is handed out and is
+ * never handed out again, even if the taking process terminates right afterwards. Its digits are
+ * overwritten with zeros at the same time, such that the pool does not retain the factors of the
+ * keys generated from it. All accesses hold an exclusive lock on the file, such that several
+ * processes may share the pool.
+ *
+ * <p>The pool directory and files are created with access for their owner only, where the file
+ * system supports POSIX permissions.
+ *
+ * <p>The pool is filled and refilled by {@link #fill(int, int, int)} and {@link #refill(int, int,
+ * int, int)}, or from the command line by {@link #main(String[])}, for instance as a background
+ * process that tops the pool up whenever it runs low.
+ */
+public final class SafePrimePool {
+	private static final Logger gslog = GSLoggerConfiguration.getGSlog();
+
+	private static final byte AVAILABLE = 'A';
+	private static final byte USED = 'U';
+	private static final ConcurrentMap<Path, Object> MONITORS = new ConcurrentHashMap<Path, Object>();
+
+	private final Path directory;
+
+	/**
+	 * Creates a pool in a directory, which is created when primes are first added.
+	 *
+	 * @param directory the directory of the pool files
+	 */
+	public SafePrimePool(final Path directory) {
+		Assert.notNull(directory, "The pool directory must not be null.");
+		this.directory = directory.toAbsolutePath().normalize();
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the pool file for safe primes of a bit length.
+	 *
+	 * @param bitLength the bit length of the safe primes p
+	 * @return the path of the pool file
+	 */
+	public Path getPoolFile(final int bitLength) {
+		return directory.resolve("safeprimes-" + bitLength + ".pool");
+	}
+
+	/**
+	 * Takes an available safe prime of the bit length, marks it as used and erases it from the pool
+	 * file. Entries that do not hold a safe prime of the bit length at the given certainty are
+	 * marked as used and skipped.
+	 *
+	 * @param bitLength the bit length of the safe prime p
+	 * @param certainty the certainty of the primality tests of p and p'
+	 * @return the safe prime, or null if the pool holds no available safe prime of the bit length
+	 * @throws IOException if the pool file cannot be accessed
+	 */
+	public SafePrime take(final int bitLength, final int certainty) throws IOException {
+		Path file = getPoolFile(bitLength);
+		if (!Files.exists(file)) {
+			return null;
+		}
+
+		synchronized (monitor(file)) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				FileLock lock = channel.lock();
+				try {
+					for (Entry entry : readEntries(channel)) {
+						if (entry.status != AVAILABLE) {
+							continue;
+						}
+						channel.write(ByteBuffer.wrap(usedLine(entry.length)), entry.offset);
+						channel.force(false);
+
+						SafePrime safePrime = toSafePrime(entry.value, bitLength, certainty);
+						if (safePrime != null) {
+							return safePrime;
+						}
+						gslog.log(Level.WARNING, "Discarded an invalid entry of the safe-prime pool " + file);
+					}
+				} finally {
+					lock.release();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Counts the available safe primes of a bit length.
+	 *
+	 * @param bitLength the bit length of the safe primes p
+	 * @return the number of available safe primes
+	 * @throws IOException if the pool file cannot be read
+	 */
+	public int available(final int bitLength) throws IOException {
+		Path file = getPoolFile(bitLength);
+		if (!Files.exists(file)) {
+			return 0;
+		}
+
+		synchronized (monitor(file)) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				FileLock lock = channel.lock();
+				try {
+					int count = 0;
+					for (Entry entry : readEntries(channel)) {
+						if (entry.status == AVAILABLE) {
+							count++;
+						}
+					}
+					return count;
+				} finally {
+					lock.release();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds safe primes to the pool as available.
+	 *
+	 * @param safePrimes the safe primes
+	 * @throws IOException if the pool file cannot be written
+	 */
+	public void add(final List<SafePrime> safePrimes) throws IOException {
+		Assert.notNull(safePrimes, "The safe primes must not be null.");
+		createDirectory(directory);
+		for (SafePrime safePrime : safePrimes) {
+			Assert.notNull(safePrime, "The safe primes must not be null.");
+			Path file = getPoolFile(safePrime.getSafePrime().bitLength());
+			String line = (char) AVAILABLE + " " + safePrime.getSafePrime().toString(16) + "\n";
+
+			synchronized (monitor(file)) {
+				createFile(file);
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+					FileLock lock = channel.lock();
+					try {
+						channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII)), channel.size());
+						channel.force(false);
+					} finally {
+						lock.release();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Searches safe primes of a bit length and adds them to the pool.
+	 *
+	 * @param bitLength the bit length of the safe primes p
+	 * @param certainty the certainty of the primality tests of p and p'
+	 * @param count the number of safe primes to add
+	 * @throws IOException if the pool file cannot be written
+	 */
+	public void fill(final int bitLength, final int certainty, final int count) throws IOException {
+		SafePrimeSearch search = new SafePrimeSearch(bitLength, certainty);
+		for (int i = 0; i < count; i++) {
+			List<SafePrime> safePrime = new ArrayList<SafePrime>(1);
+			safePrime.add(search.search());
+			add(safePrime);
+		}
+	}
+
+	/**
+	 * Tops the pool up to the target number of available safe primes, if fewer than the low
+	 * watermark are available.
+	 *
+	 * @param bitLength the bit length of the safe primes p
+	 * @param certainty the certainty of the primality tests of p and p'
+	 * @param lowWatermark the number of available safe primes below which the pool is refilled
+	 * @param target the number of available safe primes after a refill
+	 * @return the number of safe primes added
+	 * @throws IOException if the pool file cannot be accessed
+	 */
+	public int refill(final int bitLength, final int certainty, final int lowWatermark, final int target)
+			throws IOException {
+		if (target < lowWatermark) {
+			throw new IllegalArgumentException("The refill target must not be below the low watermark.");
+		}
+		int available = available(bitLength);
+		if (available >= lowWatermark) {
+			return 0;
+		}
+		int missing = target - available;
+		fill(bitLength, certainty, missing);
+		return missing;
+	}
+
+	/**
+	 * Fills or refills a pool from the command line.
+	 *
+	 * <pre>
+	 * SafePrimePool fill &lt;directory&gt; &lt;bitLength&gt; &lt;count&gt; [certainty]
+	 * SafePrimePool refill &lt;directory&gt; &lt;bitLength&gt; &lt;low&gt; &lt;target&gt; [intervalSeconds] [certainty]
+	 * </pre>
+	 *
+	 * <p>With an interval, the refill mode keeps running and checks the pool periodically.
+	 *
+	 * @param args the command line arguments
+	 * @throws IOException if the pool cannot be accessed
+	 * @throws InterruptedException if the refill mode is interrupted while waiting
+	 */
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		if (args.length >= 4 && "fill".equals(args[0])) {
+			SafePrimePool pool = new SafePrimePool(Paths.get(args[1]));
+			int bitLength = Integer.parseInt(args[2]);
+			int certainty = args.length > 4 ? Integer.parseInt(args[4]) : PrimeSieve.DEFAULT_CERTAINTY;
+			pool.fill(bitLength, certainty, Integer.parseInt(args[3]));
+			System.out.println(pool.available(bitLength) + " safe primes of " + bitLength + " bits available.");
+		} else if (args.length >= 5 && "refill".equals(args[0])) {
+			SafePrimePool pool = new SafePrimePool(Paths.get(args[1]));
+			int bitLength = Integer.parseInt(args[2]);
+			int low = Integer.parseInt(args[3]);
+			int target = Integer.parseInt(args[4]);
+			long interval = args.length > 5 ? Long.parseLong(args[5]) : 0;
+			int certainty = args.length > 6 ? Integer.parseInt(args[6]) : PrimeSieve.DEFAULT_CERTAINTY;
+			do {
+				int added = pool.refill(bitLength, certainty, low, target);
+				if (added > 0) {
+					System.out.println("Added " + added + " safe primes of " + bitLength + " bits.");
+				}
+				if (interval > 0) {
+					TimeUnit.SECONDS.sleep(interval);
+				}
+			} while (interval > 0);
+		} else {
+			System.err.println("Usage: SafePrimePool fill <directory> <bitLength> <count> [certainty]");
+			System.err.println(
+					"       SafePrimePool refill <directory> <bitLength> <low> <target> [intervalSeconds] [certainty]");
+			System.exit(1);
+		}
+	}
+
+	private static void createDirectory(final Path directory) throws IOException {
+		if (Files.isDirectory(directory)) {
+			return;
+		}
+		if (isPosix(directory.getParent())) {
+			Files.createDirectories(directory, ownerOnly("rwx------"));
+		} else {
+			Files.createDirectories(directory);
+		}
+	}
+
+	private static void createFile(final Path file) throws IOException {
+		if (Files.exists(file)) {
+			return;
+		}
+		try {
+			if (isPosix(file.getParent())) {
+				Files.createFile(file, ownerOnly("rw-------"));
+			} else {
+				Files.createFile(file);
+			}
+		} catch (FileAlreadyExistsException e) {
+			// created by another process in the meantime
+		}
+	}
+
+	private static boolean isPosix(final Path path) {
+		Path existing = path;
+		while (existing != null && !Files.exists(existing)) {
+			existing = existing.getParent();
+		}
+		return existing != null
+				&& existing.getFileSystem().supportedFileAttributeViews().contains("posix");
+	}
+
+	private static FileAttribute<?> ownerOnly(final String permissions) {
+		return PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(permissions));
+	}
+
+	/* The status of a used entry followed by zeros in place of the digits of the prime. */
+	private static byte[] usedLine(final int length) {
+		byte[] line = new byte[length];
+		Arrays.fill(line, (byte) '0');
+		line[0] = USED;
+		line[1] = ' ';
+		return line;
+	}
+
+	private static Object monitor(final Path file) {
+		return MONITORS.computeIfAbsent(file, key -> new Object());
+	}
+
+	private static SafePrime toSafePrime(final BigInteger p, final int bitLength, final int certainty) {
+		if (p == null || p.bitLength() != bitLength || !p.testBit(0)) {
+			return null;
+		}
+		BigInteger pPrime = p.shiftRight(1);
+		if (!PrimeSieve.isProbablePrime(pPrime, certainty) || !p.isProbablePrime(certainty)) {
+			return null;
+		}
+		return new SafePrime(p, pPrime);
+	}
+
+	/** Reads the entries of a pool file; lines that cannot be parsed keep a null value. */
+	private static List<Entry> readEntries(final FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+		while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+			// read the whole file
+		}
+		byte[] content = buffer.array();
+
+		List<Entry> entries = new ArrayList<Entry>();
+		int start = 0;
+		for (int i = 0; i < content.length; i++) {
+			if (content[i] != '\n') {
+				continue;
+			}
+			if (i - start >= 3 && content[start + 1] == ' ') {
+				BigInteger value;
+				try {
+					value = new BigInteger(new String(content, start + 2, i - start - 2, StandardCharsets.US_ASCII), 16);
+				} catch (NumberFormatException e) {
+					value = null;
+				}
+				entries.add(new Entry(start, i - start, content[start], value));
+			}
+			start = i + 1;
+		}
+		return entries;
+	}
+
+	private static final class Entry {
+		private final long offset;
+		private final int length;
+		private final byte status;
+		private final BigInteger value;
+
+		private Entry(final long offset, final int length, final byte status, final BigInteger value) {
+			this.offset = offset;
+			this.length = length;
+			this.status = status;
+			this.value = value;
+		}
+	}
+}
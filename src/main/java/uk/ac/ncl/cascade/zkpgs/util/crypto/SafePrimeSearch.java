@@ -0,0 +1,244 @@
+package uk.ac.ncl.cascade.zkpgs.util.crypto;
+
+import uk.ac.ncl.cascade.zkpgs.exception.GSInternalError;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Searches for a random safe prime p = 2p' + 1 of a given bit length on several threads.
+ *
+ * <p>Each worker draws a random start for the Sophie Germain prime p' and sieves a window of
+ * candidates p' = start + 6k against a table of small primes. A small prime r eliminates a
+ * candidate if it divides p' or 2p' + 1, such that the sieve removes the candidates failing for
+ * either of the two numbers before any exponentiation is spent on them. The candidates are
+ * congruent to 5 mod 6, which excludes the factors 2 and 3 of p' and p from the outset. The
+ * survivors are first tested with a Fermat test to base 2 and finally with the Miller-Rabin tests
+ * of BigInteger.isProbablePrime() at the requested certainty.
+ *
+ * <p>The workers share a cancellation flag. The first worker that finds a safe prime sets it and
+ * the remaining workers stop after the candidate they are testing. The flag is also set by
+ * cancel() and by interrupting the thread waiting in search().
+ */
+public class SafePrimeSearch {
+	/** Number of candidates of a sieve window. */
+	static final int WINDOW_SIZE = PrimeSieve.WINDOW_SIZE;
+
+	private static final BigInteger SIX = BigInteger.valueOf(6);
+	private static final int[] SMALL_PRIMES = PrimeSieve.getSmallPrimes();
+	private static final int[] INVERSES_OF_SIX = computeInversesOfSix(SMALL_PRIMES);
+
+	private final int bitLength;
+	private final int certainty;
+	private final int parallelism;
+	private final int sievePrimes;
+	private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+	/**
+	 * Creates a search for safe primes on all available processors.
+	 *
+	 * @param bitLength the bit length of the safe prime p
+	 * @param certainty the certainty of the primality tests of p and p'
+	 */
+	public SafePrimeSearch(final int bitLength, final int certainty) {
+		this(bitLength, certainty, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a search for safe primes.
+	 *
+	 * @param bitLength the bit length of the safe prime p
+	 * @param certainty the certainty of the primality tests of p and p'
+	 * @param parallelism the number of threads to search on
+	 */
+	public SafePrimeSearch(final int bitLength, final int certainty, final int parallelism) {
+		if (bitLength < 4) {
+			throw new IllegalArgumentException("The bit length of a safe prime must be at least 4.");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism must be positive.");
+		}
+		this.bitLength = bitLength;
+		this.certainty = certainty;
+		this.parallelism = parallelism;
+		this.sievePrimes = countSievePrimes(bitLength);
+	}
+
+	/**
+	 * Searches a random safe prime.
+	 *
+	 * @return the safe prime p together with its Sophie Germain prime p'
+	 * @throws CancellationException if the search was cancelled or the waiting thread was
+	 *     interrupted
+	 */
+	public SafePrime search() {
+		final AtomicBoolean stop = new AtomicBoolean(false);
+		if (parallelism == 1) {
+			return new Worker(stop).call();
+		}
+
+		List<Callable<SafePrime>> workers = new ArrayList<Callable<SafePrime>>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			workers.add(new Worker(stop));
+		}
+
+		ExecutorService executor =
+				Executors.newFixedThreadPool(
+						parallelism,
+						runnable -> {
+							Thread thread = new Thread(runnable, "gs-safe-prime-search");
+							thread.setDaemon(true);
+							return thread;
+						});
+		try {
+			return executor.invokeAny(workers);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while searching a safe prime.");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new GSInternalError(cause);
+		} finally {
+			stop.set(true);
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Cancels the running searches and all further searches of this instance. Searches waiting for
+	 * their workers throw a CancellationException.
+	 */
+	public void cancel() {
+		cancelled.set(true);
+	}
+
+	/**
+	 * Returns whether the search was cancelled.
+	 *
+	 * @return true if cancel() was called
+	 */
+	public boolean isCancelled() {
+		return cancelled.get();
+	}
+
+	/** Searches sieve windows until a safe prime is found or the search is stopped. */
+	private final class Worker implements Callable<SafePrime> {
+		private final AtomicBoolean stop;
+		private final SecureRandom random = new SecureRandom();
+		private final BitSet composite = new BitSet(WINDOW_SIZE);
+
+		Worker(final AtomicBoolean stop) {
+			this.stop = stop;
+		}
+
+		@Override
+		public SafePrime call() {
+			while (!isStopped()) {
+				BigInteger start = randomStart();
+				sieve(start);
+
+				for (int k = composite.nextClearBit(0); k < WINDOW_SIZE; k = composite.nextClearBit(k + 1)) {
+					if (isStopped()) break;
+
+					BigInteger pPrime = start.add(BigInteger.valueOf(6L * k));
+					if (pPrime.bitLength() != bitLength - 1) break;
+
+					BigInteger p = pPrime.shiftLeft(1).setBit(0);
+					if (isSafePrime(p, pPrime)) {
+						if (stop.compareAndSet(false, true)) {
+							return new SafePrime(p, pPrime);
+						}
+						break;
+					}
+				}
+			}
+			throw new CancellationException("The safe prime search was stopped.");
+		}
+
+		private boolean isStopped() {
+			return stop.get() || cancelled.get() || Thread.currentThread().isInterrupted();
+		}
+
+		/* Draws a random p' of bitLength - 1 bits that is congruent to 5 mod 6. */
+		private BigInteger randomStart() {
+			BigInteger start = new BigInteger(bitLength - 1, random).setBit(bitLength - 2);
+			start = start.subtract(start.mod(SIX)).add(BigInteger.valueOf(5));
+			if (start.bitLength() != bitLength - 1) {
+				start = start.subtract(SIX);
+			}
+			return start;
+		}
+
+		/*
+		 * Marks the offsets k for which a small prime r divides p' = start + 6k or 2p' + 1, that
+		 * is, for which p' is congruent to 0 or (r - 1) / 2 mod r.
+		 */
+		private void sieve(final BigInteger start) {
+			composite.clear();
+			int[] residues = PrimeSieve.residues(start);
+			for (int i = 1; i < sievePrimes; i++) {
+				int r = SMALL_PRIMES[i];
+				int startMod = residues[i];
+				mark(offset(0, startMod, INVERSES_OF_SIX[i], r), r);
+				mark(offset((r - 1) / 2, startMod, INVERSES_OF_SIX[i], r), r);
+			}
+		}
+
+		private void mark(final int first, final int step) {
+			for (int k = first; k < WINDOW_SIZE; k += step) {
+				composite.set(k);
+			}
+		}
+
+		private boolean isSafePrime(final BigInteger p, final BigInteger pPrime) {
+			return isFermatProbablePrime(pPrime)
+					&& isFermatProbablePrime(p)
+					&& pPrime.isProbablePrime(certainty)
+					&& p.isProbablePrime(certainty);
+		}
+	}
+
+	/* Returns the smallest k >= 0 with start + 6k = target (mod r). */
+	private static int offset(final int target, final int startMod, final int inverseSix, final int r) {
+		long difference = ((long) target - startMod + r) % r;
+		return (int) ((difference * inverseSix) % r);
+	}
+
+	private static boolean isFermatProbablePrime(final BigInteger candidate) {
+		BigInteger two = BigInteger.valueOf(2);
+		return two.modPow(candidate.subtract(BigInteger.ONE), candidate).equals(BigInteger.ONE);
+	}
+
+	/*
+	 * Only small primes below every candidate p' may sieve, such that a small prime is never
+	 * eliminated as a multiple of itself. The prime 3 at the start of the table is skipped, as it
+	 * is excluded by the candidate form.
+	 */
+	private static int countSievePrimes(final int bitLength) {
+		long lowerBound = (bitLength - 2 >= 62) ? Long.MAX_VALUE : 1L << (bitLength - 2);
+		int count = 0;
+		while (count < SMALL_PRIMES.length && SMALL_PRIMES[count] < lowerBound) {
+			count++;
+		}
+		return count;
+	}
+
+	private static int[] computeInversesOfSix(final int[] primes) {
+		int[] inverses = new int[primes.length];
+		for (int i = 1; i < primes.length; i++) {
+			inverses[i] = SIX.modInverse(BigInteger.valueOf(primes[i])).intValue();
+		}
+		return inverses;
+	}
+}
@@ -1,7 +1,9 @@
 package uk.ac.ncl.cascade.zkpgs.verifier;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import uk.ac.ncl.cascade.zkpgs.BaseRepresentation;
@@ -77,12 +79,16 @@ public abstract class AbstractCommitmentVerifier implements IVerifier {
 	private GroupElement computeVerifierWitness(BigInteger cChallenge) {
 		Assert.notNull(cChallenge, "The challenge cannot be null.");
 		// Combine the commitment public value with the negated challenge.
-		GroupElement hatWitness = commitmentValue.modPow(cChallenge.negate());
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> exponents = new ArrayList<BigInteger>();
+		bases.add(commitmentValue);
+		exponents.add(cChallenge.negate());
 
 		// Including the randomness response.
 		BigInteger hatRandomness = (BigInteger) proofStore.get(getHatRandomnessURN());
 		Assert.notNull(hatRandomness, "The response for the commitment randomness, Commitment " + getCommitmentIndex() + " was found null.");
-		hatWitness = hatWitness.multiply(epk.getPublicKey().getBaseS().modPow(hatRandomness));
+		bases.add(epk.getPublicKey().getBaseS());
+		exponents.add(hatRandomness);
 
 		// Iterating over all committed bases to include their hat-values
 		BaseIterator baseIterator = baseCollection.createIterator(BASE.ALL);
@@ -91,9 +97,11 @@ public abstract class AbstractCommitmentVerifier implements IVerifier {
 
 			BigInteger hatm = (BigInteger) proofStore.get(getURNbyBaseType(base, URNClass.HAT));
 			Assert.notNull(hatm, "The message response for base " + base.getBaseIndex() + "was found null.");
-			hatWitness = hatWitness.multiply(base.getBase().modPow(hatm));
+			bases.add(base.getBase());
+			exponents.add(hatm);
 		}
 
+		GroupElement hatWitness = epk.getPublicKey().getGroup().getOne().multiBaseExp(bases, exponents);
 		return hatWitness;
 	}
 
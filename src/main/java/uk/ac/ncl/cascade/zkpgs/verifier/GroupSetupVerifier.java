@@ -17,6 +17,7 @@ import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -113,54 +114,55 @@ public class GroupSetupVerifier implements IVerifier {
      * @return map of group elements for the hat values
      */
     public Map<URN, GroupElement> computeHatValues() {
-		BigInteger hatVertexResponse;
-		BigInteger hatEdgeResponse;
-
-		Map<URN, GroupElement> hatValues = new HashMap<URN, GroupElement>();
-
-		// Compute the negation of the challenge once.
-		BigInteger negChallenge = c.negate();
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> responses = new ArrayList<BigInteger>();
+		List<URN> hatURNs = new ArrayList<URN>();
 
 		/** TODO check computation if it is computed correctly according to spec. */
-		GroupElement hatZ = baseZ.modPow(negChallenge).multiply(baseS.modPow(hatr_z));
-		hatValues.put(URN.createZkpgsURN(getVerifierURN(URNType.HATZ)), hatZ);
-		//    proofStore.store(getVerifierURN(URNType.HATZ),hatZ );
+		bases.add(baseZ);
+		responses.add(hatr_z);
+		hatURNs.add(URN.createZkpgsURN(getVerifierURN(URNType.HATZ)));
 
-		GroupElement hatR = baseR.modPow(negChallenge).multiply(baseS.modPow(hatr));
-		hatValues.put(URN.createZkpgsURN(getVerifierURN(URNType.HATBASER)), hatR);
+		bases.add(baseR);
+		responses.add(hatr);
+		hatURNs.add(URN.createZkpgsURN(getVerifierURN(URNType.HATBASER)));
 
-		GroupElement hatR_0 = baseR_0.modPow(negChallenge).multiply(baseS.modPow(hatr_0));
-		hatValues.put(URN.createZkpgsURN(getVerifierURN(URNType.HATBASER0)), hatR_0);
+		bases.add(baseR_0);
+		responses.add(hatr_0);
+		hatURNs.add(URN.createZkpgsURN(getVerifierURN(URNType.HATBASER0)));
 
-		GroupElement hatR_i;
 		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
 		for (BaseRepresentation baseRepresentation : vertexIterator) {
-			hatVertexResponse =
+			bases.add(baseRepresentation.getBase());
+			responses.add(
 					vertexResponses.get(
-							URN.createZkpgsURN(getVerifierURN(URNType.HATRI, baseRepresentation.getBaseIndex())));
-			hatR_i =
-					baseRepresentation
-					.getBase()
-					.modPow(negChallenge)
-					.multiply(baseS.modPow(hatVertexResponse));
-
-			hatValues.put(
-					URN.createZkpgsURN(getVerifierURN(URNType.HATBASERI, baseRepresentation.getBaseIndex())),
-					hatR_i);
+							URN.createZkpgsURN(getVerifierURN(URNType.HATRI, baseRepresentation.getBaseIndex()))));
+			hatURNs.add(
+					URN.createZkpgsURN(getVerifierURN(URNType.HATBASERI, baseRepresentation.getBaseIndex())));
 		}
 
-		GroupElement hatR_i_j;
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
 		for (BaseRepresentation baseRepresentation : edgeIterator) {
-			hatEdgeResponse =
+			bases.add(baseRepresentation.getBase());
+			responses.add(
 					edgeResponses.get(
 							URN.createZkpgsURN(
-									getVerifierURN(URNType.HATRIJ, baseRepresentation.getBaseIndex())));
-			hatR_i_j =
-					baseRepresentation.getBase().modPow(negChallenge).multiply(baseS.modPow(hatEdgeResponse));
-			hatValues.put(
-					URN.createZkpgsURN(getVerifierURN(URNType.HATBASERIJ, baseRepresentation.getBaseIndex())),
-					hatR_i_j);
+									getVerifierURN(URNType.HATRIJ, baseRepresentation.getBaseIndex()))));
+			hatURNs.add(
+					URN.createZkpgsURN(getVerifierURN(URNType.HATBASERIJ, baseRepresentation.getBaseIndex())));
+		}
+
+		// Each hat value is base^(-c) * S^response. The positive powers base^c use the fixed-base
+		// tables of the bases and are inverted together with a single modular inversion.
+		List<GroupElement> challengePowers = new ArrayList<GroupElement>(bases.size());
+		for (GroupElement base : bases) {
+			challengePowers.add(base.modPow(c));
+		}
+		List<GroupElement> inverses = baseS.getGroup().batchModInverse(challengePowers);
+
+		Map<URN, GroupElement> hatValues = new HashMap<URN, GroupElement>();
+		for (int i = 0; i < bases.size(); i++) {
+			hatValues.put(hatURNs.get(i), inverses.get(i).multiply(baseS.modPow(responses.get(i))));
 		}
 
 		return hatValues;
@@ -14,6 +14,7 @@ import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -89,21 +90,20 @@ public class PairWiseDifferenceVerifier implements IVerifier {
     // Aborting verification with output null, if lengths check rejects hat-values.
     if (!checkLengths()) return null;
 
-    // Computing Bezout's identity on the commitments
-    GroupElement C_iHata = C_i.getCommitmentValue().modPow(hata_BariBarj);
-    GroupElement C_jHatb = C_j.getCommitmentValue().modPow(hatb_BariBarj);
-    Assert.notNull(C_iHata, "C_i commitment computation turned out null.");
-    Assert.notNull(C_iHata, "C_j commitment computation turned out null.");
-
-    // Adjusting the blinding randomness
-    GroupElement baseShatR = baseS.modPow(hatr_BariBarj);
-    Assert.notNull(baseShatR, "Blinding adjustment commitment computation turned out null.");
-
-    // Cancelling out the challenge
-    GroupElement baseRnegC = baseR.modPow(cChallenge.negate());
-    Assert.notNull(baseRnegC, "Challenge negation returned null.");
-
-    this.hatR = baseRnegC.multiply(C_iHata).multiply(C_jHatb).multiply(baseShatR);
+    // Computing Bezout's identity on the commitments, adjusting the blinding randomness and
+    // cancelling out the challenge in a single simultaneous multi-exponentiation.
+    List<GroupElement> bases = new ArrayList<GroupElement>();
+    List<BigInteger> exponents = new ArrayList<BigInteger>();
+    bases.add(C_i.getCommitmentValue());
+    exponents.add(hata_BariBarj);
+    bases.add(C_j.getCommitmentValue());
+    exponents.add(hatb_BariBarj);
+    bases.add(baseS);
+    exponents.add(hatr_BariBarj);
+    bases.add(baseR);
+    exponents.add(cChallenge.negate());
+
+    this.hatR = baseR.getGroup().getOne().multiBaseExp(bases, exponents);
     Assert.notNull(this.hatR, "hatR computed was null.");
 
     return this.hatR;
@@ -12,9 +12,9 @@ import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.*;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
-import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElement;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -111,7 +111,8 @@ public class PossessionVerifier implements IVerifier {
 		// Aborting verification with output null, if lengths check rejects hat-values.
 		if (!checkLengths()) return null;
 
-		QRElement basesProduct = (QRElement) extendedPublicKey.getPublicKey().getGroup().getOne();
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> exponents = new ArrayList<BigInteger>();
 
 		BaseIterator vertexIterator = baseCollection.createIterator(BASE.VERTEX);
 		for (BaseRepresentation baseRepresentation : vertexIterator) {
@@ -120,9 +121,8 @@ public class PossessionVerifier implements IVerifier {
 			Assert.notNull(hatm, "Hat value could not be retrieved.");
 //			gslog.info("hatm_i: " + hatm);
 
-			basesProduct =
-					basesProduct.multiply(
-							baseRepresentation.getBase().modPow(hatm));
+			bases.add(baseRepresentation.getBase());
+			exponents.add(hatm);
 		}
 
 		BaseIterator edgeIterator = baseCollection.createIterator(BASE.EDGE);
@@ -131,26 +131,26 @@ public class PossessionVerifier implements IVerifier {
 					URNType.buildURNComponent(URNType.HATMIJ, PossessionProver.class, baseRepresentation.getBaseIndex()));
 			Assert.notNull(hatm, "Hat value could not be retrieved.");
 
-			basesProduct =
-					basesProduct.multiply(
-							baseRepresentation.getBase().modPow(hatm));
+			bases.add(baseRepresentation.getBase());
+			exponents.add(hatm);
 		}
 
-//		gslog.info("bases product: " + basesProduct);
 //		gslog.info("cChallenge " + cChallenge);
 
 		BigInteger offsetExp = NumberConstants.TWO.getValue().pow(keyGenParameters.getL_e() - 1);
 
-		GroupElement aPrimeMulti = APrime.modPow(offsetExp);
-
-		GroupElement baseZdividedAPrime = baseZ.multiply(aPrimeMulti.modInverse());
-		GroupElement adjustedZ = baseZdividedAPrime.modPow(cChallenge.negate());
-
-		GroupElement baseR0hatm_0 = baseR0.modPow(hatm_0);
-		GroupElement aPrimeHate = APrime.modPow(hate);
-		GroupElement baseShatvPrime = baseS.modPow(hatvPrime);
-
-		hatZ = adjustedZ.multiply(aPrimeHate).multiply(baseShatvPrime).multiply(baseR0hatm_0).multiply(basesProduct);
+		// (Z / A'^offset)^-c * A'^hate is evaluated as Z^-c * A'^(hate + c * offset), such that
+		// hatZ is a single simultaneous multi-exponentiation.
+		bases.add(baseZ);
+		exponents.add(cChallenge.negate());
+		bases.add(APrime);
+		exponents.add(hate.add(cChallenge.multiply(offsetExp)));
+		bases.add(baseS);
+		exponents.add(hatvPrime);
+		bases.add(baseR0);
+		exponents.add(hatm_0);
+
+		hatZ = extendedPublicKey.getPublicKey().getGroup().getOne().multiBaseExp(bases, exponents);
 //		gslog.info(
 //					"||HatZ Graph: "
 //							+ GraphUtils.iteratedGraphToExpString(vertexIterator.iterator(), proofStore));
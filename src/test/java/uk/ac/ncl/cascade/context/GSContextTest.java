@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -26,7 +27,9 @@ import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
 import uk.ac.ncl.cascade.zkpgs.parameters.GraphEncodingParameters;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
 
 @TestInstance(Lifecycle.PER_CLASS)
 class GSContextTest {
@@ -69,6 +72,22 @@ class GSContextTest {
 		assertEquals(expectedList, ctxList);
 	}
 
+	@Test
+	void testCreateChallengeHash() throws NoSuchAlgorithmException {
+		BigInteger nonce = CryptoUtilsFacade.computeRandomNumber(keyGenParameters.getL_H());
+		ChallengeHash expected = new ChallengeHash(keyGenParameters.getL_H());
+		context.addToChallengeHash(expected);
+		BigInteger expectedChallenge = expected.update(nonce).digest();
+
+		ChallengeHash first = context.createChallengeHash(keyGenParameters.getL_H());
+		ChallengeHash second = new GSContext(epk).createChallengeHash(keyGenParameters.getL_H());
+		second.update(BigInteger.ONE);
+
+		assertEquals(expectedChallenge, first.update(nonce).digest());
+		assertNotEquals(expectedChallenge, second.update(nonce).digest());
+		assertEquals(expectedChallenge, context.createChallengeHash(keyGenParameters.getL_H()).update(nonce).digest());
+	}
+
 	/**
 	 * Creates a context list as comparison.
 	 * 
@@ -17,6 +17,9 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -201,6 +204,60 @@ class HashToPrimeEliminationTest {
 		log.info("size of candidates: " + cand.size());
 	}
 
+	@Test
+	@DisplayName("test computing a prime concurrently in the sequential candidate order")
+	void computePrimeConcurrently() {
+		SafePrime sqSafePrime = CryptoUtilsFacade.computeRandomSafePrime(keyGenParameters);
+		BigInteger sqPrime = sqSafePrime.getSafePrime();
+		BigInteger z = CryptoUtilsFacade.computeRandomNumber(sqPrime.bitLength());
+		BigInteger b = CryptoUtilsFacade.computeRandomNumber(sqPrime.bitLength());
+		SquareHashing squareHash = new SquareHashing(sqPrime, z, b);
+
+		HashToPrimeElimination sequential =
+				new HashToPrimeElimination(squareHash, new SeededNaorReingoldPRG(group, 42), keyGenParameters);
+		HashToPrimeElimination concurrent =
+				new HashToPrimeElimination(squareHash, new SeededNaorReingoldPRG(group, 42), keyGenParameters);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			concurrent.setExecutor(executor);
+			concurrent.setBatchSize(7);
+
+			BigInteger res = sequential.computeSquareHash(new BigInteger(N_G, 16));
+			BigInteger expected = sequential.computePrime(res);
+			BigInteger prime = concurrent.computePrime(res);
+
+			assertTrue(prime.isProbablePrime(keyGenParameters.getL_pt()));
+			assertEquals(expected, prime);
+			assertEquals(sequential.getPrimeSequence(), concurrent.getPrimeSequence());
+			assertEquals(sequential.getCandidates(), concurrent.getCandidates());
+			assertEquals(prime, new NaorReingoldPRG(group).compute(res, concurrent.getPrimeSequence()));
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThrows(IllegalArgumentException.class, () -> concurrent.setBatchSize(0));
+	}
+
+	/** Draws the random sequences from a seeded source, such that runs are reproducible. */
+	private static final class SeededNaorReingoldPRG extends NaorReingoldPRG {
+		private final Random random;
+		private final int bitLength;
+
+		private SeededNaorReingoldPRG(final PrimeOrderGroup group, final long seed) {
+			super(group);
+			this.random = new Random(seed);
+			this.bitLength = group.getOrder().bitLength();
+		}
+
+		@Override
+		public List<BigInteger> computeVectorA(final int size) {
+			List<BigInteger> vector = new ArrayList<BigInteger>();
+			for (int i = 0; i < size; i++) {
+				vector.add(new BigInteger(bitLength, random));
+			}
+			return vector;
+		}
+	}
+
 	@Test
 	@DisplayName("test computing primes with multiple input N_{G} pseudonyms")
 	void computePrimesWithNGs() throws IOException {
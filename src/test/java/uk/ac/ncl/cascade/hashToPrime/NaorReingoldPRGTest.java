@@ -145,6 +145,31 @@ class NaorReingoldPRGTest {
 	}
 
 
+	@Test
+	@DisplayName("check the reduced evaluation against the product over the bitstring")
+	void computeMatchesBitStringProduct() {
+		NaorReingoldPRG nr = new NaorReingoldPRG(group);
+		BigInteger[] inputs = {
+			CryptoUtilsFacade.computeRandomNumber(512),
+			BigInteger.ZERO,
+			BigInteger.ONE,
+			CryptoUtilsFacade.computeRandomNumber(64).negate()
+		};
+		for (BigInteger x : inputs) {
+			String bits = x.toString(2);
+			List<BigInteger> sequence = nr.computeVectorA(bits.length() + 1);
+			BigInteger prod = sequence.get(0);
+			for (int i = 0; i < bits.length(); i++) {
+				if (bits.charAt(i) == '1') prod = prod.multiply(sequence.get(i + 1));
+			}
+			BigInteger expected = group.getGenerator().getValue().modPow(prod, group.getModulus());
+
+			assertEquals(expected, nr.compute(x, sequence), "input " + x);
+			assertEquals(expected, nr.compute(x, sequence), "input " + x);
+		}
+		assertThrows(IllegalArgumentException.class, () -> nr.compute(BigInteger.TEN, nr.computeVectorA(4)));
+	}
+
 	@Test
 	@DisplayName("check if the NR generator outputs the same prime")
 	void checkIfNROutputSamePrime() {
@@ -0,0 +1,224 @@
+package uk.ac.ncl.cascade.hashToPrime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.PrimeOrderGroup;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrime;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test the persistent pseudonym-to-prime index */
+@DisplayName("Testing the pseudonym prime index")
+class PseudonymPrimeIndexTest {
+	private final Random random = new Random(7);
+	private Path directory;
+	private Path base;
+
+	@BeforeEach
+	void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("pseudonymindex");
+		base = directory.resolve("pseudonyms-primes");
+	}
+
+	@AfterEach
+	void deleteDirectory() throws IOException {
+		for (Path file : Files.newDirectoryStream(directory)) {
+			Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	private PseudonymPrimeIndex.Entry randomEntry(final String pseudonym) {
+		List<BigInteger> sequence = new ArrayList<BigInteger>();
+		for (int i = 0; i < 1 + random.nextInt(5); i++) {
+			sequence.add(new BigInteger(256, random));
+		}
+		return new PseudonymPrimeIndex.Entry(
+				pseudonym, BigInteger.probablePrime(64, random), new BigInteger(128, random), sequence);
+	}
+
+	private static void assertEntryEquals(PseudonymPrimeIndex.Entry expected, PseudonymPrimeIndex.Entry actual) {
+		assertNotNull(actual);
+		assertEquals(expected.getPseudonym(), actual.getPseudonym());
+		assertEquals(expected.getPrime(), actual.getPrime());
+		assertEquals(expected.getInput(), actual.getInput());
+		assertEquals(expected.getSequence(), actual.getSequence());
+	}
+
+	@Test
+	void testPutAndGet() throws IOException {
+		PseudonymPrimeIndex.Entry entry = randomEntry("a1b2c3");
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			assertNull(index.get("a1b2c3"));
+			assertTrue(index.put(entry));
+			assertFalse(index.put(randomEntry("a1b2c3")));
+			assertEquals(1, index.size());
+			assertEntryEquals(entry, index.get("a1b2c3"));
+			assertFalse(index.contains("a1b2c4"));
+			assertThrows(IOException.class, () -> PseudonymPrimeIndex.open(base));
+		}
+
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			assertEquals(1, index.size());
+			assertEntryEquals(entry, index.get("a1b2c3"));
+		}
+	}
+
+	@Test
+	void testGrowth() throws IOException {
+		List<PseudonymPrimeIndex.Entry> entries = new ArrayList<PseudonymPrimeIndex.Entry>();
+		for (int i = 0; i < 3000; i++) {
+			entries.add(randomEntry(Integer.toHexString(i * 7919)));
+		}
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			assertEquals(1000, index.putAll(entries.subList(0, 1000)));
+			for (PseudonymPrimeIndex.Entry entry : entries.subList(1000, 3000)) {
+				assertTrue(index.put(entry));
+			}
+			assertEquals(3000, index.size());
+		}
+
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			assertEquals(3000, index.size());
+			for (PseudonymPrimeIndex.Entry entry : entries) {
+				assertEntryEquals(entry, index.get(entry.getPseudonym()));
+			}
+		}
+	}
+
+	@Test
+	void testRecovery() throws IOException {
+		List<PseudonymPrimeIndex.Entry> entries = new ArrayList<PseudonymPrimeIndex.Entry>();
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			for (int i = 0; i < 20; i++) {
+				entries.add(randomEntry("beef" + i));
+			}
+			index.putAll(entries);
+		}
+		Path dataFile = base.resolveSibling("pseudonyms-primes.dat");
+		long length = Files.size(dataFile);
+
+		// A torn record at the end of the log is truncated and a lost table is rebuilt.
+		Files.write(dataFile, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+		Files.delete(base.resolveSibling("pseudonyms-primes.idx"));
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			assertEquals(length, Files.size(dataFile));
+			assertEquals(20, index.size());
+			for (PseudonymPrimeIndex.Entry entry : entries) {
+				assertEntryEquals(entry, index.get(entry.getPseudonym()));
+			}
+		}
+	}
+
+	@Test
+	void testRecoveryAfterGrowth() throws IOException {
+		// The table grows while the entries of a single putAll() are entered.
+		int count = PseudonymPrimeIndex.INITIAL_CAPACITY / 2 + 100;
+		List<PseudonymPrimeIndex.Entry> entries = new ArrayList<PseudonymPrimeIndex.Entry>();
+		for (int i = 0; i < count; i++) {
+			entries.add(randomEntry("cafe" + i));
+		}
+		Path crashed = directory.resolve("crashed");
+		Path crashedIndex = crashed.resolveSibling("crashed.idx");
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			assertEquals(count, index.putAll(entries));
+			// Copy the files of the open index as a crash would leave them.
+			Files.copy(index.getDataFile(), crashed.resolveSibling("crashed.dat"));
+			Files.copy(index.getIndexFile(), crashedIndex);
+		}
+
+		// The slots entered after the table was grown were not forced to disk and are lost.
+		long grownAt = recordOffset(crashed.resolveSibling("crashed.dat"), PseudonymPrimeIndex.INITIAL_CAPACITY / 2);
+		try (FileChannel channel = FileChannel.open(crashedIndex, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+			for (int position = PseudonymPrimeIndex.HEADER_SIZE;
+					position < table.capacity();
+					position += PseudonymPrimeIndex.SLOT_SIZE) {
+				if (table.getLong(position) != 0 && table.getLong(position + 8) >= grownAt) {
+					table.putLong(position, 0);
+					table.putLong(position + 8, 0);
+				}
+			}
+		}
+
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(crashed)) {
+			assertEquals(count, index.size());
+			for (PseudonymPrimeIndex.Entry entry : entries) {
+				assertEntryEquals(entry, index.get(entry.getPseudonym()));
+			}
+		}
+	}
+
+	/* Returns the offset of the record with the given position in the data file. */
+	private static long recordOffset(final Path dataFile, final int record) throws IOException {
+		try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+			ByteBuffer length = ByteBuffer.allocate(4);
+			long offset = 0;
+			for (int i = 0; i < record; i++) {
+				length.clear();
+				channel.read(length, offset);
+				offset += length.getInt(0) + 4;
+			}
+			return offset;
+		}
+	}
+
+	@Test
+	void testBuildConcurrently() throws IOException {
+		KeyGenParameters keyGenParameters =
+				KeyGenParameters.createKeyGenParameters(256, 1632, 80, 256, 1, 597, 120, 2724, 80, 256, 80, 80);
+		SafePrime safePrime = CryptoUtilsFacade.computeRandomSafePrime(keyGenParameters);
+		PrimeOrderGroup group = new PrimeOrderGroup(safePrime.getSafePrime(), safePrime.getSophieGermain());
+		group.createGenerator();
+		Supplier<HashToPrimeElimination> schemes =
+				() -> {
+					BigInteger modulus = group.getModulus();
+					SquareHashing squareHash =
+							new SquareHashing(
+									modulus,
+									CryptoUtilsFacade.computeRandomNumber(modulus.bitLength()),
+									CryptoUtilsFacade.computeRandomNumber(modulus.bitLength()));
+					return new HashToPrimeElimination(squareHash, new NaorReingoldPRG(group), keyGenParameters);
+				};
+
+		List<String> pseudonyms = new ArrayList<String>();
+		for (int i = 0; i < PseudonymPrimeIndex.BUILD_BLOCK_SIZE + 6; i++) {
+			pseudonyms.add(new BigInteger(128, random).toString(16));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try (PseudonymPrimeIndex index = PseudonymPrimeIndex.open(base)) {
+			assertEquals(1, index.build(pseudonyms.subList(0, 1), schemes, null));
+			assertEquals(pseudonyms.size() - 1, index.build(pseudonyms, schemes, executor));
+			assertEquals(0, index.build(Arrays.asList(pseudonyms.get(3)), schemes, executor));
+
+			NaorReingoldPRG prg = new NaorReingoldPRG(group);
+			for (String pseudonym : pseudonyms) {
+				PseudonymPrimeIndex.Entry entry = index.get(pseudonym);
+				assertTrue(entry.getPrime().isProbablePrime(80));
+				assertEquals(entry.getPrime(), prg.compute(entry.getInput(), entry.getSequence()));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
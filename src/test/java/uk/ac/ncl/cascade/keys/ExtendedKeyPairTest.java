@@ -1,15 +1,23 @@
 package uk.ac.ncl.cascade.keys;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import uk.ac.ncl.cascade.BaseTest;
+import uk.ac.ncl.cascade.zkpgs.BaseRepresentation;
+import uk.ac.ncl.cascade.zkpgs.BaseRepresentation.BASE;
 import uk.ac.ncl.cascade.zkpgs.exception.EncodingException;
 import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
 import uk.ac.ncl.cascade.zkpgs.keys.SignerKeyPair;
 import uk.ac.ncl.cascade.zkpgs.parameters.GraphEncodingParameters;
 import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
+import uk.ac.ncl.cascade.zkpgs.store.URNType;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -134,6 +142,41 @@ class ExtendedKeyPairTest {
     assertNotNull(extendedKeyPair.getExtendedPublicKey().getBases());
   }
 
+  @Test
+  void generateBasesConcurrently() {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      ExtendedKeyPair concurrentKeyPair =
+          new ExtendedKeyPair(gsk, graphEncodingParameters, keyGenParameters);
+      concurrentKeyPair.setExecutor(executor);
+      concurrentKeyPair.generateBases();
+      concurrentKeyPair.createExtendedKeyPair();
+
+      Map<?, BaseRepresentation> bases = concurrentKeyPair.getExtendedPublicKey().getBases();
+      Map<?, BigInteger> discLogs = concurrentKeyPair.getExtendedPrivateKey().getDiscLogOfBases();
+      int numberOfVertices = graphEncodingParameters.getL_V();
+      assertEquals(numberOfVertices + graphEncodingParameters.getL_E(), bases.size());
+
+      BigInteger modN = gsk.getPublicKey().getModN();
+      BigInteger baseS = gsk.getPublicKey().getBaseS().getValue();
+      for (int index = 1; index <= bases.size(); index++) {
+        boolean isVertex = index <= numberOfVertices;
+        BaseRepresentation base =
+            bases.get(
+                URNType.buildURN(isVertex ? URNType.RV : URNType.RE, ExtendedKeyPair.class, index));
+        BigInteger discLog =
+            discLogs.get(
+                URNType.buildURN(isVertex ? URNType.DLRV : URNType.DLRE, ExtendedKeyPair.class, index));
+        assertNotNull(base);
+        assertEquals(isVertex ? BASE.VERTEX : BASE.EDGE, base.getBaseType());
+        assertEquals(index, base.getBaseIndex());
+        assertEquals(baseS.modPow(discLog, modN), base.getBase().getValue());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void getLabelRepresentatives() throws EncodingException {
     assertNotNull(extendedKeyPair);
@@ -7,11 +7,14 @@ import uk.ac.ncl.cascade.zkpgs.exception.ProofException;
 import uk.ac.ncl.cascade.zkpgs.exception.ProofStoreException;
 import uk.ac.ncl.cascade.zkpgs.exception.VerificationException;
 import uk.ac.ncl.cascade.integration.MockGatewayProxy;
+import uk.ac.ncl.cascade.zkpgs.commitment.GSCommitment;
 import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
 import uk.ac.ncl.cascade.zkpgs.keys.SignerKeyPair;
 import uk.ac.ncl.cascade.zkpgs.message.GSMessage;
+import uk.ac.ncl.cascade.zkpgs.message.IMessageGateway;
 import uk.ac.ncl.cascade.zkpgs.message.ProofRequest;
 import uk.ac.ncl.cascade.zkpgs.message.ProofType;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.PairWiseCommitments;
 import uk.ac.ncl.cascade.zkpgs.orchestrator.ProverOrchestrator;
 import uk.ac.ncl.cascade.zkpgs.orchestrator.VerifierOrchestrator;
 import uk.ac.ncl.cascade.zkpgs.parameters.GraphEncodingParameters;
@@ -23,18 +26,26 @@ import uk.ac.ncl.cascade.zkpgs.signer.GSSigningOracle;
 import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
 import uk.ac.ncl.cascade.zkpgs.store.URN;
 import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFactory;
 import uk.ac.ncl.cascade.zkpgs.util.FilePersistenceUtil;
 import uk.ac.ncl.cascade.zkpgs.util.GSLoggerConfiguration;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.RandomnessProvider;
 import org.junit.jupiter.api.*;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import static junit.framework.TestCase.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -52,6 +63,7 @@ class ProverOrchestratorTest {
 	private BigInteger n_2;
 	private ProverOrchestrator prover;
 	private static final String SIGNER_INFRA_GS_SER = "graphSignature.ser";
+	private static final byte[] SEED = "prover".getBytes(StandardCharsets.UTF_8);
 	private VerifierOrchestrator verifier;
 	private Logger gslog = GSLoggerConfiguration.getGSlog();
 	private static final String HOST = "127.0.0.1";
@@ -182,6 +194,134 @@ class ProverOrchestratorTest {
 		assertTrue(elemSize > 0);
 	}
 
+	@Test
+	@DisplayName("Test verifying a proof signature created with pair-wise difference provers on an executor")
+	void createProofSignatureOnExecutor() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ProofSignature proofSignature = proveAndVerify(executor, null);
+			assertNotNull(proofSignature);
+			assertTrue(proofSignature.getProofSignatureElements().size() > 0);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("Test verifying a proof signature with pair-wise difference verifiers on an executor")
+	void verifyProofSignatureOnExecutor() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			assertNotNull(proveAndVerify(null, executor));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("Test that the executor creates the same proof signature as the sequential path")
+	void createSameProofSignatureOnExecutor() throws Exception {
+		// A single worker draws from the seeded generator in the same order as the calling thread.
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CryptoUtilsFactory.setRandomnessProvider(RandomnessProvider.seeded(SEED));
+			ProofSignature sequential = proveAndVerify(null, null);
+			CryptoUtilsFactory.setRandomnessProvider(RandomnessProvider.seeded(SEED));
+			ProofSignature concurrent = proveAndVerify(executor, executor);
+
+			Map<URN, Object> expected = sequential.getProofSignatureElements();
+			Map<URN, Object> actual = concurrent.getProofSignatureElements();
+			assertEquals(expected.keySet(), actual.keySet());
+			for (Map.Entry<URN, Object> element : expected.entrySet()) {
+				assertSameElement(element.getValue(), actual.get(element.getKey()));
+			}
+		} finally {
+			CryptoUtilsFactory.setRandomnessProvider(RandomnessProvider.perThread());
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Runs the prover and the verifier on linked gateways for a query of vertices with pair-wise
+	 * distinct locations, such that the pair-wise difference provers and verifiers are run on the
+	 * executors, and returns the verified proof signature.
+	 */
+	private ProofSignature proveAndVerify(ExecutorService proverExecutor, ExecutorService verifierExecutor)
+			throws IOException, ClassNotFoundException, VerificationException {
+		LinkedGateway proverGateway = new LinkedGateway();
+		LinkedGateway verifierGateway = new LinkedGateway();
+		proverGateway.peer = verifierGateway;
+		verifierGateway.peer = proverGateway;
+
+		ProverOrchestrator prover = new ProverOrchestrator(extendedKeyPair.getExtendedPublicKey(), proverGateway);
+		VerifierOrchestrator verifier = new VerifierOrchestrator(extendedKeyPair.getExtendedPublicKey(), verifierGateway);
+		prover.setExecutor(proverExecutor);
+		verifier.setExecutor(verifierExecutor);
+		prover.readSignature(SIGNER_INFRA_GS_SER);
+
+		// vertex 1 is located in GB, vertex 7 has no location and vertex 11 is located in IT
+		Vector<Integer> vertexQuery = new Vector<Integer>();
+		vertexQuery.add(1);
+		vertexQuery.add(7);
+		vertexQuery.add(11);
+		verifier.createQuery(vertexQuery);
+		verifier.init();
+		prover.init();
+
+		prover.executePreChallengePhase();
+		BigInteger cChallenge = prover.computeChallenge();
+		prover.executePostChallengePhase(cChallenge);
+
+		verifier.receiveProverMessage();
+		verifier.executeVerification();
+		assertEquals(cChallenge, verifier.computeChallenge());
+		verifier.verifyChallenge();
+
+		return prover.createProofSignature();
+	}
+
+	private static void assertSameElement(Object expected, Object actual) {
+		if (expected instanceof GSCommitment) {
+			assertEquals(
+					((GSCommitment) expected).getCommitmentValue(), ((GSCommitment) actual).getCommitmentValue());
+		} else if (expected instanceof PairWiseCommitments) {
+			assertSameElement(((PairWiseCommitments) expected).getC_i(), ((PairWiseCommitments) actual).getC_i());
+			assertSameElement(((PairWiseCommitments) expected).getC_j(), ((PairWiseCommitments) actual).getC_j());
+		} else {
+			assertEquals(expected, actual);
+		}
+	}
+
+	/**
+	 * Gateway delivering the messages sent to its peer gateway, such that the prover and the
+	 * verifier can be run alternately on the test thread. As the MockGatewayProxy, it drops empty
+	 * messages and receives an empty message if none is pending.
+	 */
+	private static final class LinkedGateway implements IMessageGateway {
+		private final Deque<GSMessage> pending = new ArrayDeque<GSMessage>();
+		private LinkedGateway peer;
+
+		@Override
+		public void init() {
+		}
+
+		@Override
+		public void send(GSMessage message) {
+			if (!message.getMessageElements().isEmpty()) {
+				peer.pending.addLast(message);
+			}
+		}
+
+		@Override
+		public GSMessage receive() {
+			return pending.isEmpty() ? new GSMessage() : pending.pollFirst();
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
 	@Test
 	@DisplayName("Test computing challenge for prover orchestrator")
 	void computeChallenge() throws IOException, ClassNotFoundException {
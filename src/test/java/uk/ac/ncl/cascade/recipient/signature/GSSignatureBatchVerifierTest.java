@@ -0,0 +1,177 @@
+package uk.ac.ncl.cascade.recipient.signature;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import uk.ac.ncl.cascade.BaseTest;
+import uk.ac.ncl.cascade.zkpgs.BaseRepresentation;
+import uk.ac.ncl.cascade.zkpgs.BaseRepresentation.BASE;
+import uk.ac.ncl.cascade.zkpgs.exception.EncodingException;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedPublicKey;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerKeyPair;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
+import uk.ac.ncl.cascade.zkpgs.parameters.KeyGenParameters;
+import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
+import uk.ac.ncl.cascade.zkpgs.signature.GSSignatureBatchVerifier;
+import uk.ac.ncl.cascade.zkpgs.signature.GSSignatureValidator;
+import uk.ac.ncl.cascade.zkpgs.signer.GSSigningOracle;
+import uk.ac.ncl.cascade.zkpgs.util.BaseCollection;
+import uk.ac.ncl.cascade.zkpgs.util.BaseCollectionImpl;
+import uk.ac.ncl.cascade.zkpgs.util.BaseIterator;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(Lifecycle.PER_CLASS)
+class GSSignatureBatchVerifierTest {
+	private static final int BATCH_SIZE = 12;
+
+	private KeyGenParameters keyGenParameters;
+	private ExtendedPublicKey extendedPublicKey;
+	private SignerPublicKey publicKey;
+	private GSSigningOracle oracle;
+	private List<GSSignature> signatures;
+	private List<BaseCollection> encodings;
+
+	@BeforeAll
+	void setupKey() throws IOException, ClassNotFoundException, EncodingException {
+		BaseTest baseTest = new BaseTest();
+		baseTest.setup();
+		baseTest.shouldCreateASignerKeyPair(BaseTest.MODULUS_BIT_LENGTH);
+		SignerKeyPair signerKeyPair = baseTest.getSignerKeyPair();
+		keyGenParameters = baseTest.getKeyGenParameters();
+		ExtendedKeyPair extendedKeyPair =
+				new ExtendedKeyPair(signerKeyPair, baseTest.getGraphEncodingParameters(), keyGenParameters);
+		extendedKeyPair.generateBases();
+		extendedKeyPair.setupEncoding();
+		extendedKeyPair.createExtendedKeyPair();
+		extendedPublicKey = extendedKeyPair.getExtendedPublicKey();
+		publicKey = signerKeyPair.getPublicKey();
+		oracle = new GSSigningOracle(signerKeyPair, keyGenParameters);
+
+		signatures = new ArrayList<GSSignature>();
+		encodings = new ArrayList<BaseCollection>();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			BaseCollection encoding = createEncoding();
+			encodings.add(encoding);
+			signatures.add(oracle.sign(encoding));
+		}
+	}
+
+	/** Encodes a random message on R_0 and random exponents on the first vertex bases. */
+	private BaseCollection createEncoding() {
+		BaseCollection encoding = new BaseCollectionImpl();
+		BaseRepresentation baseR0 = new BaseRepresentation(publicKey.getBaseR_0(), -1, BASE.BASE0);
+		baseR0.setExponent(CryptoUtilsFacade.computeRandomNumber(keyGenParameters.getL_m()));
+		encoding.add(baseR0);
+
+		BaseIterator vertexIter = extendedPublicKey.getBaseCollection().createIterator(BASE.VERTEX);
+		for (int i = 0; i < 3 && vertexIter.hasNext(); i++) {
+			BaseRepresentation vertexBase = vertexIter.next();
+			BaseRepresentation encodedBase =
+					new BaseRepresentation(vertexBase.getBase(), vertexBase.getBaseIndex(), BASE.VERTEX);
+			encodedBase.setExponent(CryptoUtilsFacade.computeRandomNumber(keyGenParameters.getL_m()));
+			encoding.add(encodedBase);
+		}
+		return encoding;
+	}
+
+	@Test
+	void testVerifyValidBatch() {
+		GSSignatureBatchVerifier verifier = new GSSignatureBatchVerifier(publicKey);
+		assertTrue(verifier.verify(signatures, encodings));
+		assertTrue(verifier.verify(signatures));
+		assertTrue(verifier.verify(Collections.<GSSignature>emptyList()));
+		assertTrue(verifier.findInvalidSignatures(signatures, encodings).isEmpty());
+
+		assertTrue(GSSignature.verify(extendedPublicKey, signatures, encodings));
+		assertTrue(GSSignatureValidator.verifyBatch(signatures, publicKey));
+
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			assertTrue(signatures.get(i).verify(extendedPublicKey, encodings.get(i)));
+		}
+	}
+
+	@Test
+	void testFindInvalidSignatures() {
+		List<GSSignature> tampered = new ArrayList<GSSignature>(signatures);
+		GSSignature sigma = signatures.get(2);
+		tampered.set(2, new GSSignature(publicKey, sigma.getA(), sigma.getE(), sigma.getV().add(BigInteger.ONE)));
+
+		// A signature off by the element -1 of order two.
+		tampered.set(7, negateA(signatures.get(7)));
+
+		// A signature on another graph.
+		sigma = signatures.get(9);
+		tampered.set(9, new GSSignature(publicKey, sigma.getA(), sigma.getE(), sigma.getV()));
+
+		GSSignatureBatchVerifier verifier = new GSSignatureBatchVerifier(publicKey);
+		List<BaseCollection> swappedEncodings = new ArrayList<BaseCollection>(encodings);
+		swappedEncodings.set(9, encodings.get(10));
+
+		assertFalse(verifier.verify(tampered, swappedEncodings));
+		assertEquals(Arrays.asList(2, 7, 9), verifier.findInvalidSignatures(tampered, swappedEncodings));
+		assertFalse(GSSignature.verify(extendedPublicKey, tampered, swappedEncodings));
+	}
+
+	private GSSignature negateA(final GSSignature sigma) {
+		QRGroupN group = new QRGroupN(publicKey.getModN());
+		GroupElement minusA = new QRElementN(group, publicKey.getModN().subtract(sigma.getA().getValue()));
+		return new GSSignature(publicKey, minusA, sigma.getE(), sigma.getV());
+	}
+
+	@Test
+	void testFindSingleSignOffSignature() {
+		List<GSSignature> tampered = Collections.singletonList(negateA(signatures.get(0)));
+
+		GSSignatureBatchVerifier verifier = new GSSignatureBatchVerifier(publicKey);
+		// The batch test holds up to the sign of A only.
+		assertTrue(verifier.verify(tampered, encodings.subList(0, 1)));
+		assertEquals(Collections.singletonList(0), verifier.findInvalidSignatures(tampered, encodings.subList(0, 1)));
+	}
+
+	@Test
+	void testFindTwoSignOffSignatures() {
+		List<GSSignature> tampered = new ArrayList<GSSignature>(signatures);
+		tampered.set(3, negateA(signatures.get(3)));
+		tampered.set(8, negateA(signatures.get(8)));
+		assertTrue(tampered.get(3).getE().testBit(0));
+		assertTrue(tampered.get(8).getE().testBit(0));
+		assertFalse(tampered.get(3).verify(extendedPublicKey, encodings.get(3)));
+		assertFalse(tampered.get(8).verify(extendedPublicKey, encodings.get(8)));
+
+		GSSignatureBatchVerifier verifier = new GSSignatureBatchVerifier(publicKey);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(verifier.verify(tampered, encodings));
+		}
+		assertEquals(Arrays.asList(3, 8), verifier.findInvalidSignatures(tampered, encodings));
+
+		// Negating A again recovers the valid signatures.
+		tampered.set(3, negateA(tampered.get(3)));
+		tampered.set(8, negateA(tampered.get(8)));
+		assertTrue(verifier.findInvalidSignatures(tampered, encodings).isEmpty());
+	}
+
+	@Test
+	void testSignaturesWithoutEncoding() {
+		List<GSSignature> withoutEncoding = new ArrayList<GSSignature>(signatures);
+		GSSignature sigma = signatures.get(4);
+		withoutEncoding.set(4, new GSSignature(publicKey, sigma.getA(), sigma.getE(), sigma.getV()));
+		withoutEncoding.get(4).setEncodedBases(null);
+
+		assertFalse(GSSignatureValidator.verifyBatch(withoutEncoding, publicKey));
+		assertEquals(Collections.singletonList(4), GSSignatureValidator.findInvalidSignatures(withoutEncoding, publicKey));
+	}
+}
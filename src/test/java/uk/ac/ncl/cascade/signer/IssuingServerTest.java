@@ -0,0 +1,177 @@
+package uk.ac.ncl.cascade.signer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import uk.ac.ncl.cascade.BaseTest;
+import uk.ac.ncl.cascade.zkpgs.DefaultValues;
+import uk.ac.ncl.cascade.zkpgs.exception.EncodingException;
+import uk.ac.ncl.cascade.zkpgs.keys.ExtendedKeyPair;
+import uk.ac.ncl.cascade.zkpgs.message.GSMessage;
+import uk.ac.ncl.cascade.zkpgs.message.IMessageGateway;
+import uk.ac.ncl.cascade.zkpgs.message.MessageGatewayProxy;
+import uk.ac.ncl.cascade.zkpgs.message.MessageEncoding;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.ISignerOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.orchestrator.RecipientOrchestrator;
+import uk.ac.ncl.cascade.zkpgs.signature.GSSignature;
+import uk.ac.ncl.cascade.zkpgs.signer.IssuingServer;
+import uk.ac.ncl.cascade.zkpgs.store.URN;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test the issuing service for concurrent Recipient sessions */
+@TestInstance(Lifecycle.PER_CLASS)
+class IssuingServerTest {
+	private static final String HOST = "127.0.0.1";
+	private static final int RECIPIENTS = 4;
+
+	private ExtendedKeyPair extendedKeyPair;
+	private ExecutorService clientExecutor;
+	private IssuingServer server;
+
+	@BeforeAll
+	void setupKey() throws IOException, ClassNotFoundException, EncodingException {
+		BaseTest baseTest = new BaseTest();
+		baseTest.setup();
+		baseTest.shouldCreateASignerKeyPair(BaseTest.MODULUS_BIT_LENGTH);
+		extendedKeyPair =
+				new ExtendedKeyPair(
+						baseTest.getSignerKeyPair(),
+						baseTest.getGraphEncodingParameters(),
+						baseTest.getKeyGenParameters());
+		extendedKeyPair.generateBases();
+		extendedKeyPair.setupEncoding();
+		extendedKeyPair.createExtendedKeyPair();
+	}
+
+	@BeforeEach
+	void setUp() throws IOException {
+		clientExecutor = Executors.newFixedThreadPool(RECIPIENTS);
+		server = new IssuingServer(HOST, 0, extendedKeyPair, DefaultValues.SIGNER_GRAPH_FILE, 2, RECIPIENTS);
+		server.init();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		server.close();
+		clientExecutor.shutdownNow();
+	}
+
+	private IMessageGateway connect() {
+		IMessageGateway gateway = new MessageGatewayProxy(DefaultValues.CLIENT, HOST, server.getLocalPort());
+		gateway.setMessageEncoding(MessageEncoding.BINARY);
+		return gateway;
+	}
+
+	private GSSignature runRecipient() throws Exception {
+		RecipientOrchestrator recipient =
+				new RecipientOrchestrator(extendedKeyPair.getExtendedPublicKey(), connect());
+		recipient.init();
+		try {
+			recipient.round1();
+			recipient.round3();
+			return recipient.getGraphSignature();
+		} finally {
+			recipient.close();
+		}
+	}
+
+	@Test
+	void issueToConcurrentRecipients() throws Exception {
+		List<Future<GSSignature>> signatures = new ArrayList<Future<GSSignature>>();
+		for (int i = 0; i < RECIPIENTS; i++) {
+			signatures.add(clientExecutor.submit(this::runRecipient));
+		}
+
+		for (Future<GSSignature> signature : signatures) {
+			assertNotNull(signature.get(5, TimeUnit.MINUTES));
+		}
+		assertEquals(RECIPIENTS, server.getIssuedCount());
+		assertEquals(0, server.getFailedCount());
+	}
+
+	@Test
+	void closeUnresponsiveSession() throws Exception {
+		server.setSessionTimeout(200, TimeUnit.MILLISECONDS);
+		IMessageGateway client = connect();
+		client.init();
+		try {
+			// The Recipient receives the nonce but never answers.
+			assertNotNull(client.receive());
+			for (int i = 0; i < 100 && server.getFailedCount() == 0; i++) {
+				Thread.sleep(20);
+			}
+			assertEquals(1, server.getFailedCount());
+			assertEquals(0, server.getIssuedCount());
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	void abortSessionOfClientThatDoesNotRead() throws Exception {
+		IssuingServer floodingServer =
+				new IssuingServer(HOST, 0, extendedKeyPair, (ekp, session) -> new FloodingSigner(session), 1, 0);
+		// Encoding the large frame takes a while, which the timeout leaves room for.
+		floodingServer.setSessionTimeout(1, TimeUnit.SECONDS);
+		floodingServer.init();
+		try (Socket client = new Socket()) {
+			// The client never reads, such that the frame of round0 cannot be written completely.
+			client.setReceiveBufferSize(1024);
+			client.connect(new InetSocketAddress(HOST, floodingServer.getLocalPort()));
+			for (int i = 0; i < 400 && (floodingServer.getFailedCount() == 0 || floodingServer.getSessionCount() > 0); i++) {
+				Thread.sleep(20);
+			}
+			assertEquals(1, floodingServer.getFailedCount());
+			assertEquals(0, floodingServer.getSessionCount());
+		} finally {
+			floodingServer.close();
+		}
+	}
+
+	/** Sends a frame larger than the socket buffers and waits for an answer. */
+	private static final class FloodingSigner implements ISignerOrchestrator {
+		private static final int PAYLOAD_LENGTH = 16 * 1024 * 1024;
+		private final IMessageGateway session;
+
+		FloodingSigner(final IMessageGateway session) {
+			this.session = session;
+		}
+
+		@Override
+		public void init() {
+		}
+
+		@Override
+		public void round0() throws IOException {
+			Map<URN, Object> messageElements = new HashMap<URN, Object>();
+			messageElements.put(URN.createZkpgsURN("nonces.n_1"), new byte[PAYLOAD_LENGTH]);
+			session.send(new GSMessage(messageElements));
+		}
+
+		@Override
+		public void round2() throws IOException {
+			session.receive();
+		}
+
+		@Override
+		public void close() throws IOException {
+			session.close();
+		}
+	}
+}
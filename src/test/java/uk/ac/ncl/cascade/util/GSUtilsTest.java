@@ -147,6 +147,21 @@ class GSUtilsTest {
 		assertEquals(BigInteger.ZERO, res);
 	}
 
+	@Test
+	@DisplayName("search commitment group modulus of a bit length")
+	void computeCommitmentGroupModulusOfBitLength() {
+		BigInteger rho = classUnderTest.generateRandomPrime(keyGenParameters.getL_rho());
+		BigInteger gamma = classUnderTest.computeCommitmentGroupModulus(rho, keyGenParameters.getL_gamma());
+
+		assertEquals(keyGenParameters.getL_gamma(), gamma.bitLength());
+		assertTrue(gamma.isProbablePrime(80));
+		assertEquals(BigInteger.ZERO, gamma.subtract(BigInteger.ONE).mod(rho));
+
+		BigInteger g = classUnderTest.createCommitmentGroupGenerator(rho, gamma);
+		assertNotEquals(BigInteger.ONE, g);
+		assertEquals(BigInteger.ONE, g.modPow(rho, gamma));
+	}
+
 	@Test
 	@DisplayName("generate random number in range")
 	void createRandomNumber() {
@@ -399,6 +414,34 @@ class GSUtilsTest {
 		}
 	}
 
+	@Test
+	@DisplayName("createZPSGenerator with factors of a larger modulus")
+	void createZPSGeneratorOfOrder() {
+		// 2^2 * 3^2 * 5 * 7 * 11 * 13 + 1 = 180181 is prime
+		List<BigInteger> primeFactors =
+				Arrays.asList(
+						BigInteger.valueOf(2),
+						BigInteger.valueOf(2),
+						BigInteger.valueOf(3),
+						BigInteger.valueOf(3),
+						BigInteger.valueOf(5),
+						BigInteger.valueOf(7),
+						BigInteger.valueOf(11),
+						BigInteger.valueOf(13));
+		BigInteger gamma = BigInteger.valueOf(180181);
+		BigInteger order = gamma.subtract(BigInteger.ONE);
+
+		for (int i = 0; i < 10; i++) {
+			BigInteger g = classUnderTest.createZPSGenerator(gamma, primeFactors);
+			for (BigInteger factor : primeFactors) {
+				assertNotEquals(BigInteger.ONE, g.modPow(order.divide(factor), gamma));
+			}
+		}
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> classUnderTest.createZPSGenerator(gamma, Arrays.asList(BigInteger.valueOf(17))));
+	}
+
 	@Test
 		//  @RepeatedTest(10)
 	void randomMinusPlusNumber() {
@@ -435,7 +478,7 @@ class GSUtilsTest {
 
 		log.info("resultmultibase: " + resultMultiBaseEx);
 
-		BigInteger result = baseS.modPow(exp1, modN).multiply(baseR.modPow(exp2, modN));
+		BigInteger result = baseS.modPow(exp1, modN).multiply(baseR.modPow(exp2, modN)).mod(modN);
 		log.info("result: " + result);
 
 		assertEquals(result, resultMultiBaseEx);
@@ -0,0 +1,108 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import uk.ac.ncl.cascade.BaseTest;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MontgomeryQRGroupN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
+
+/** Test the simultaneous inversion of group elements */
+@TestInstance(Lifecycle.PER_CLASS)
+class BatchModInverseTest {
+  private SignerPublicKey signerPublicKey;
+  private BigInteger modN;
+
+  @BeforeAll
+  void setupKey() throws IOException, ClassNotFoundException {
+    BaseTest baseTest = new BaseTest();
+    baseTest.setup();
+    baseTest.shouldCreateASignerKeyPair(BaseTest.MODULUS_BIT_LENGTH);
+    signerPublicKey = baseTest.getSignerKeyPair().getPublicKey();
+    modN = signerPublicKey.getModN();
+  }
+
+  private GroupElement randomElement(QRGroupN group) {
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(signerPublicKey.getKeyGenParameters().getL_n());
+    return group.valueOf(signerPublicKey.getBaseS().getValue().modPow(exponent, modN));
+  }
+
+  @Test
+  @DisplayName("Test that the batch yields the single inverses")
+  void batchModInverse() {
+    checkBatch(new QRGroupN(modN));
+    checkBatch(new MontgomeryQRGroupN(modN));
+  }
+
+  private void checkBatch(QRGroupN group) {
+    List<GroupElement> elements = new ArrayList<GroupElement>();
+    for (int i = 0; i < 9; i++) {
+      elements.add(randomElement(group));
+    }
+    elements.add(elements.get(0));
+
+    List<GroupElement> inverses = group.batchModInverse(elements);
+    assertEquals(elements.size(), inverses.size());
+    for (int i = 0; i < elements.size(); i++) {
+      assertEquals(elements.get(i).getValue().modInverse(modN), inverses.get(i).getValue());
+      assertEquals(inverses.get(i).getValue(), elements.get(i).modInverse().getValue());
+    }
+    assertTrue(group.batchModInverse(Collections.<GroupElement>emptyList()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Test negative exponents of elements with recorded inverses")
+  void recordedInverses() {
+    QRGroupN group = (QRGroupN) signerPublicKey.getGroup();
+    GroupElement baseZ = randomElement(group);
+    GroupElement baseR = randomElement(group);
+    GroupElement baseS = randomElement(group);
+    group.batchModInverse(Arrays.asList(baseZ, baseR));
+
+    BigInteger challenge = CryptoUtilsFacade.computeRandomNumber(256);
+    BigInteger response = CryptoUtilsFacade.computeRandomNumber(signerPublicKey.getKeyGenParameters().getL_m());
+    BigInteger expected =
+        baseZ.getValue().modPow(challenge.negate(), modN)
+            .multiply(baseR.getValue().modPow(challenge.negate(), modN))
+            .multiply(baseS.getValue().modPow(response, modN))
+            .mod(modN);
+
+    List<GroupElement> bases = new ArrayList<GroupElement>();
+    List<BigInteger> exponents = new ArrayList<BigInteger>();
+    bases.add(baseZ);
+    exponents.add(challenge.negate());
+    bases.add(baseR);
+    exponents.add(challenge.negate());
+    bases.add(baseS);
+    exponents.add(response);
+    assertEquals(expected, group.getOne().multiBaseExp(bases, exponents).getValue());
+    assertEquals(challenge.negate(), exponents.get(0));
+
+    assertEquals(baseZ.getValue().modPow(challenge.negate(), modN), baseZ.modPow(challenge.negate()).getValue());
+  }
+
+  @Test
+  @DisplayName("Test that a non-invertible element is rejected")
+  void nonInvertible() {
+    QRGroupN group = new QRGroupN(modN);
+    List<GroupElement> elements = new ArrayList<GroupElement>();
+    elements.add(randomElement(group));
+    elements.add(group.valueOf(modN));
+    assertThrows(ArithmeticException.class, () -> group.batchModInverse(elements));
+  }
+}
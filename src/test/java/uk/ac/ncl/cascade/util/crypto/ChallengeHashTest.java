@@ -0,0 +1,78 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import org.junit.jupiter.api.Test;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.ChallengeHash;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChallengeHashTest {
+	private final Random random = new Random(11);
+	private final BigInteger modN = BigInteger.probablePrime(512, random).multiply(BigInteger.probablePrime(512, random));
+	private final QRGroupN group = new QRGroupN(modN);
+
+	@Test
+	void testFixedLengthEncoding() {
+		QRElementN small = group.valueOf(BigInteger.valueOf(4));
+		QRElementN large = group.valueOf(modN.subtract(BigInteger.ONE));
+		int width = (modN.bitLength() + 7) / 8;
+
+		byte[] encoding = ChallengeHash.encode(small);
+		assertEquals(4 + width, encoding.length);
+		assertEquals(4 + width, ChallengeHash.encode(large).length);
+		assertEquals(width, new BigInteger(1, Arrays.copyOf(encoding, 4)).intValue());
+		assertEquals(BigInteger.valueOf(4), new BigInteger(1, Arrays.copyOfRange(encoding, 4, encoding.length)));
+		assertEquals(4, ChallengeHash.encode((QRElementN) null).length);
+	}
+
+	@Test
+	void testDigest() throws NoSuchAlgorithmException {
+		QRElementN element = group.valueOf(new BigInteger(1000, random).mod(modN));
+		BigInteger nonce = new BigInteger(256, random);
+
+		BigInteger challenge = new ChallengeHash(256).update(80).update(element).update(nonce).digest();
+
+		MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+		messageDigest.update(new byte[]{0, 0, 0, 80});
+		messageDigest.update(ChallengeHash.encode(element));
+		messageDigest.update(ChallengeHash.encode(nonce));
+		BigInteger expected = new BigInteger(1, messageDigest.digest());
+		expected = expected.shiftLeft(256 - expected.bitLength());
+		assertEquals(expected, challenge);
+		assertEquals(256, challenge.bitLength());
+	}
+
+	@Test
+	void testLengthPrefixesSeparateValues() throws NoSuchAlgorithmException {
+		BigInteger joined = new ChallengeHash(256).update(new BigInteger("0102", 16)).digest();
+		BigInteger split =
+				new ChallengeHash(256).update(BigInteger.valueOf(1)).update(BigInteger.valueOf(2)).digest();
+		assertNotEquals(joined, split);
+	}
+
+	@Test
+	void testUpdateUnordered() throws NoSuchAlgorithmException {
+		List<byte[]> encodings = new ArrayList<byte[]>();
+		for (int i = 0; i < 10; i++) {
+			encodings.add(ChallengeHash.encode(group.valueOf(new BigInteger(1000, random).mod(modN))));
+			encodings.add(ChallengeHash.encode(new BigInteger(80, random)));
+		}
+		BigInteger expected = new ChallengeHash(256).update(modN).updateUnordered(encodings).digest();
+
+		Collections.shuffle(encodings, random);
+		assertEquals(expected, new ChallengeHash(256).update(modN).updateUnordered(encodings).digest());
+
+		encodings.remove(0);
+		assertNotEquals(expected, new ChallengeHash(256).update(modN).updateUnordered(encodings).digest());
+	}
+}
@@ -0,0 +1,101 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import uk.ac.ncl.cascade.BaseTest;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.FixedBaseTable;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElement;
+
+/** Test fixed-base exponentiation with precomputed tables */
+@TestInstance(Lifecycle.PER_CLASS)
+class FixedBaseTableTest {
+  private static final Logger log = Logger.getLogger(FixedBaseTableTest.class.getName());
+  private SignerPublicKey signerPublicKey;
+  private BigInteger modN;
+  private GroupElement baseS;
+  private FixedBaseTable table;
+
+  @BeforeAll
+  void setupKey() throws IOException, ClassNotFoundException {
+    BaseTest baseTest = new BaseTest();
+    baseTest.setup();
+    baseTest.shouldCreateASignerKeyPair(BaseTest.MODULUS_BIT_LENGTH);
+    signerPublicKey = baseTest.getSignerKeyPair().getPublicKey();
+    modN = signerPublicKey.getModN();
+    baseS = signerPublicKey.getBaseS();
+    table = new FixedBaseTable(baseS.getValue(), modN);
+  }
+
+  @RepeatedTest(10)
+  @DisplayName("Test fixed-base exponentiation against BigInteger.modPow")
+  void modPow() {
+    int bitLength = signerPublicKey.getKeyGenParameters().getL_v() + 200;
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(bitLength);
+
+    assertEquals(baseS.getValue().modPow(exponent, modN), table.modPow(exponent));
+  }
+
+  @Test
+  @DisplayName("Test fixed-base exponentiation with negative exponents")
+  void modPowNegative() {
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(signerPublicKey.getKeyGenParameters().getL_n());
+
+    assertEquals(baseS.getValue().modPow(exponent.negate(), modN), table.modPow(exponent.negate()));
+  }
+
+  @Test
+  @DisplayName("Test fixed-base exponentiation with small exponents")
+  void modPowSmall() {
+    assertEquals(BigInteger.ONE, table.modPow(BigInteger.ZERO));
+    assertEquals(baseS.getValue(), table.modPow(BigInteger.ONE));
+    assertEquals(baseS.getValue().modPow(BigInteger.valueOf(63), modN), table.modPow(BigInteger.valueOf(63)));
+    assertEquals(baseS.getValue().modPow(BigInteger.valueOf(64), modN), table.modPow(BigInteger.valueOf(64)));
+  }
+
+  @Test
+  @DisplayName("Test that the table grows with the exponent length")
+  void tableGrowth() {
+    FixedBaseTable localTable = new FixedBaseTable(baseS.getValue(), modN, 4);
+    assertEquals(1, localTable.size());
+
+    localTable.modPow(BigInteger.ONE.shiftLeft(399));
+    assertEquals(100, localTable.size());
+  }
+
+  @Test
+  @DisplayName("Test that a QRElement uses an attached table")
+  void attachedTable() {
+    QRElement element = (QRElement) baseS.publicClone();
+    element.setFixedBaseTable(new FixedBaseTable(element.getValue(), modN));
+    assertNotNull(element.getFixedBaseTable());
+
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(signerPublicKey.getKeyGenParameters().getL_n());
+    GroupElement result = element.modPow(exponent);
+    log.info("result bit length: " + result.bitLength());
+
+    assertEquals(baseS.getValue().modPow(exponent, modN), result.getValue());
+  }
+
+  @Test
+  @DisplayName("Test that a table for a different base is rejected")
+  void mismatchingTable() {
+    QRElement element = (QRElement) baseS.publicClone();
+    FixedBaseTable otherTable = new FixedBaseTable(signerPublicKey.getBaseZ().getValue(), modN);
+
+    assertThrows(IllegalArgumentException.class, () -> element.setFixedBaseTable(otherTable));
+  }
+}
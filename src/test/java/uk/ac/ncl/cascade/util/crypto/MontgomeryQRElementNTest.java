@@ -0,0 +1,157 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFactory;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFactory.QRGroupImplementation;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MontgomeryQRElementN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MontgomeryQRGroupN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementPQ;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupPQ;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrime;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrimeSearch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(Lifecycle.PER_CLASS)
+class MontgomeryQRElementNTest {
+	private final SecureRandom random = new SecureRandom();
+	private BigInteger pPrime;
+	private BigInteger qPrime;
+	private BigInteger modN;
+	private QRGroupN group;
+	private MontgomeryQRGroupN montgomeryGroup;
+
+	@BeforeAll
+	void setUpGroups() {
+		SafePrime p = new SafePrimeSearch(512, 80).search();
+		SafePrime q;
+		do {
+			q = new SafePrimeSearch(512, 80).search();
+		} while (q.getSafePrime().equals(p.getSafePrime()));
+		pPrime = p.getSophieGermain();
+		qPrime = q.getSophieGermain();
+		modN = p.getSafePrime().multiply(q.getSafePrime());
+		group = new QRGroupN(modN);
+		montgomeryGroup = new MontgomeryQRGroupN(modN);
+	}
+
+	@AfterEach
+	void resetFactory() {
+		CryptoUtilsFactory.setQRGroupImplementation(QRGroupImplementation.BIG_INTEGER);
+	}
+
+	private BigInteger randomResidue() {
+		return new BigInteger(modN.bitLength() + 64, random).modPow(BigInteger.valueOf(2), modN);
+	}
+
+	@Test
+	void testMultiplicationChain() {
+		QRElementN expected = group.valueOf(randomResidue());
+		MontgomeryQRElementN actual = montgomeryGroup.valueOf(expected.getValue());
+		for (int i = 0; i < 200; i++) {
+			BigInteger factor = randomResidue();
+			expected = expected.multiply(group.valueOf(factor));
+			actual = actual.multiply(montgomeryGroup.valueOf(factor));
+		}
+		assertEquals(expected.getValue(), actual.getValue());
+		assertEquals(expected, actual);
+		assertEquals(expected.hashCode(), actual.hashCode());
+	}
+
+	@Test
+	void testMixedMultiplication() {
+		BigInteger x = randomResidue();
+		BigInteger y = randomResidue();
+		BigInteger product = x.multiply(y).mod(modN);
+
+		assertEquals(product, montgomeryGroup.valueOf(x).multiply(group.valueOf(y)).getValue());
+		assertEquals(product, group.valueOf(x).multiply(montgomeryGroup.valueOf(y)).getValue());
+		assertEquals(x, montgomeryGroup.valueOf(x).multiply(montgomeryGroup.getOne()).getValue());
+	}
+
+	@Test
+	void testExponentiation() {
+		BigInteger x = randomResidue();
+		BigInteger exponent = new BigInteger(2000, random);
+		MontgomeryQRElementN element = montgomeryGroup.valueOf(x);
+
+		assertEquals(x.modPow(exponent, modN), element.modPow(exponent).getValue());
+		assertEquals(x.modPow(exponent.negate(), modN), element.modPow(exponent.negate()).getValue());
+		assertEquals(x.modInverse(modN), element.modInverse().getValue());
+		assertEquals(BigInteger.ONE, element.multiply(element.modInverse()).getValue());
+
+		List<GroupElement> bases = new ArrayList<GroupElement>();
+		List<BigInteger> exponents = new ArrayList<BigInteger>();
+		BigInteger expected = BigInteger.ONE;
+		for (int i = 0; i < 5; i++) {
+			BigInteger base = randomResidue();
+			BigInteger e = new BigInteger(600, random);
+			bases.add(montgomeryGroup.valueOf(base));
+			exponents.add(e);
+			expected = expected.multiply(base.modPow(e, modN)).mod(modN);
+		}
+		MontgomeryQRElementN product = element.multiBaseExp(bases, exponents);
+		assertEquals(expected, product.getValue());
+	}
+
+	@Test
+	void testSerialization() throws IOException, ClassNotFoundException {
+		MontgomeryQRElementN element =
+				montgomeryGroup.valueOf(randomResidue()).multiply(montgomeryGroup.valueOf(randomResidue()));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(element);
+		out.close();
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		MontgomeryQRElementN copy = (MontgomeryQRElementN) in.readObject();
+
+		assertEquals(element, copy);
+		BigInteger factor = randomResidue();
+		assertEquals(
+				element.getValue().multiply(factor).mod(modN),
+				copy.multiply(montgomeryGroup.valueOf(factor)).getValue());
+	}
+
+	@Test
+	void testGroupEquality() {
+		assertEquals(group, montgomeryGroup);
+		assertEquals(group.hashCode(), montgomeryGroup.hashCode());
+		assertEquals(group.getOne().getValue(), montgomeryGroup.getOne().getValue());
+		assertThrows(IllegalArgumentException.class, () -> new MontgomeryQRGroupN(modN.add(BigInteger.ONE)));
+	}
+
+	@Test
+	void testFactoryOption() {
+		assertEquals(QRGroupImplementation.BIG_INTEGER, CryptoUtilsFactory.getQRGroupImplementation());
+		assertFalse(CryptoUtilsFactory.createQRGroupN(modN) instanceof MontgomeryQRGroupN);
+
+		CryptoUtilsFactory.setQRGroupImplementation(QRGroupImplementation.MONTGOMERY);
+		assertTrue(CryptoUtilsFactory.createQRGroupN(modN) instanceof MontgomeryQRGroupN);
+
+		QRGroupPQ groupPQ = new QRGroupPQ(pPrime, qPrime);
+		assertTrue(groupPQ.publicClone() instanceof MontgomeryQRGroupN);
+
+		BigInteger x = randomResidue();
+		GroupElement publicElement = new QRElementPQ(groupPQ, x).publicClone();
+		assertTrue(publicElement instanceof MontgomeryQRElementN);
+		assertEquals(x, publicElement.getValue());
+	}
+}
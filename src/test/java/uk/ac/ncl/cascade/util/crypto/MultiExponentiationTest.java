@@ -0,0 +1,121 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.ac.ncl.cascade.BaseTest;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerPublicKey;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MultiExponentiation;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.MultiExponentiation.Strategy;
+
+/** Test the simultaneous multi-exponentiation engine against single exponentiations */
+@TestInstance(Lifecycle.PER_CLASS)
+class MultiExponentiationTest {
+  private static final Logger log = Logger.getLogger(MultiExponentiationTest.class.getName());
+  private SignerPublicKey signerPublicKey;
+  private BigInteger modN;
+
+  @BeforeAll
+  void setupKey() throws IOException, ClassNotFoundException {
+    BaseTest baseTest = new BaseTest();
+    baseTest.setup();
+    baseTest.shouldCreateASignerKeyPair(BaseTest.MODULUS_BIT_LENGTH);
+    signerPublicKey = baseTest.getSignerKeyPair().getPublicKey();
+    modN = signerPublicKey.getModN();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 5, 40})
+  @DisplayName("Test all strategies against the product of single exponentiations")
+  void computeStrategies(int numberOfBases) {
+    List<BigInteger> bases = new ArrayList<BigInteger>();
+    List<BigInteger> exponents = new ArrayList<BigInteger>();
+    int messageLength = signerPublicKey.getKeyGenParameters().getL_m();
+    for (int i = 0; i < numberOfBases; i++) {
+      bases.add(signerPublicKey.getGroup().createRandomElement().getValue());
+      exponents.add(CryptoUtilsFacade.computeRandomNumber(messageLength));
+    }
+    // One long randomness exponent, as in the proofs of possession.
+    bases.add(signerPublicKey.getBaseS().getValue());
+    exponents.add(CryptoUtilsFacade.computeRandomNumber(signerPublicKey.getKeyGenParameters().getL_v()));
+
+    BigInteger expected = naive(bases, exponents);
+    for (Strategy strategy : Strategy.values()) {
+      log.info("strategy: " + strategy);
+      assertEquals(expected, MultiExponentiation.compute(bases, exponents, modN, strategy));
+    }
+  }
+
+  @Test
+  @DisplayName("Test negative, zero and null exponents")
+  void computeSpecialExponents() {
+    GroupElement baseS = signerPublicKey.getBaseS();
+    GroupElement baseZ = signerPublicKey.getBaseZ();
+    GroupElement baseR = signerPublicKey.getBaseR();
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(signerPublicKey.getKeyGenParameters().getL_n());
+
+    List<BigInteger> bases = new ArrayList<BigInteger>();
+    List<BigInteger> exponents = new ArrayList<BigInteger>();
+    bases.add(baseS.getValue());
+    exponents.add(exponent.negate());
+    bases.add(baseZ.getValue());
+    exponents.add(BigInteger.ZERO);
+    bases.add(baseR.getValue());
+    exponents.add(null);
+    bases.add(baseR.getValue());
+    exponents.add(exponent);
+
+    BigInteger expected =
+        baseS.getValue().modPow(exponent.negate(), modN).multiply(baseR.getValue().modPow(exponent, modN)).mod(modN);
+    for (Strategy strategy : Strategy.values()) {
+      assertEquals(expected, MultiExponentiation.compute(bases, exponents, modN, strategy));
+    }
+  }
+
+  @Test
+  @DisplayName("Test several negative exponents, which are inverted together")
+  void computeNegativeExponents() {
+    List<BigInteger> bases = new ArrayList<BigInteger>();
+    List<BigInteger> exponents = new ArrayList<BigInteger>();
+    int messageLength = signerPublicKey.getKeyGenParameters().getL_m();
+    for (int i = 0; i < 7; i++) {
+      bases.add(signerPublicKey.getBaseS().getValue().modPow(CryptoUtilsFacade.computeRandomNumber(messageLength), modN));
+      BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(messageLength);
+      exponents.add(i % 3 == 0 ? exponent : exponent.negate());
+    }
+
+    BigInteger expected = naive(bases, exponents);
+    for (Strategy strategy : Strategy.values()) {
+      assertEquals(expected, MultiExponentiation.compute(bases, exponents, modN, strategy));
+    }
+  }
+
+  @Test
+  @DisplayName("Test that an empty product is one")
+  void computeEmpty() {
+    assertEquals(
+        BigInteger.ONE,
+        MultiExponentiation.compute(new ArrayList<BigInteger>(), new ArrayList<BigInteger>(), modN));
+  }
+
+  private BigInteger naive(List<BigInteger> bases, List<BigInteger> exponents) {
+    BigInteger result = BigInteger.ONE;
+    for (int i = 0; i < bases.size(); i++) {
+      result = result.multiply(bases.get(i).modPow(exponents.get(i), modN)).mod(modN);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,105 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.PrimeSieve;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test the incremental prime sieve */
+@DisplayName("Testing the prime sieve")
+class PrimeSieveTest {
+	private static final int CERTAINTY = 80;
+	private final SecureRandom random = new SecureRandom();
+
+	@Test
+	void testSmallNumbers() {
+		for (int i = -5; i < 70000; i++) {
+			BigInteger number = BigInteger.valueOf(i);
+			boolean isPrime = i > 1 && number.isProbablePrime(CERTAINTY);
+			assertEquals(isPrime, PrimeSieve.isProbablePrime(number, CERTAINTY), "number " + i);
+		}
+	}
+
+	@Test
+	void testNextPrimesMatchNextProbablePrime() {
+		BigInteger start = BigInteger.ONE.shiftLeft(120);
+		List<BigInteger> primes = PrimeSieve.nextPrimes(start, 200, CERTAINTY);
+		assertEquals(200, primes.size());
+
+		BigInteger expected = start.nextProbablePrime();
+		for (BigInteger prime : primes) {
+			assertEquals(expected, prime);
+			expected = expected.nextProbablePrime();
+		}
+	}
+
+	@Test
+	void testNextPrimesIncludeStart() {
+		List<BigInteger> primes = PrimeSieve.nextPrimes(BigInteger.valueOf(2), 10, CERTAINTY);
+		assertEquals(BigInteger.valueOf(2), primes.get(0));
+		assertEquals(BigInteger.valueOf(29), primes.get(9));
+
+		BigInteger prime = BigInteger.valueOf(32749);
+		assertEquals(prime, PrimeSieve.nextPrimes(prime, 1, CERTAINTY).get(0));
+		assertEquals(prime, PrimeSieve.nextPrime(BigInteger.valueOf(32720), prime, CERTAINTY));
+		assertNull(PrimeSieve.nextPrime(BigInteger.valueOf(32750), BigInteger.valueOf(32770), CERTAINTY));
+	}
+
+	@Test
+	void testRandomPrimeInRange() {
+		BigInteger min = BigInteger.ONE.shiftLeft(596);
+		BigInteger max = min.add(BigInteger.ONE.shiftLeft(119));
+		for (int i = 0; i < 20; i++) {
+			BigInteger prime = PrimeSieve.randomPrimeInRange(min, max, CERTAINTY, random);
+			assertTrue(prime.compareTo(min) >= 0);
+			assertTrue(prime.compareTo(max) <= 0);
+			assertTrue(prime.isProbablePrime(CERTAINTY));
+		}
+	}
+
+	@Test
+	void testRandomPrimeInNarrowRange() {
+		BigInteger min = BigInteger.valueOf(90);
+		BigInteger max = BigInteger.valueOf(100);
+		for (int i = 0; i < 50; i++) {
+			assertEquals(BigInteger.valueOf(97), PrimeSieve.randomPrimeInRange(min, max, CERTAINTY, random));
+		}
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> PrimeSieve.randomPrimeInRange(BigInteger.valueOf(90), BigInteger.valueOf(96), CERTAINTY, random));
+	}
+
+	@Test
+	void testNextPrimeInProgression() {
+		BigInteger rho = BigInteger.probablePrime(256, random);
+		BigInteger step = rho.shiftLeft(1);
+		BigInteger start = step.multiply(new BigInteger(200, random)).add(BigInteger.ONE);
+		BigInteger max = start.add(step.shiftLeft(20));
+
+		BigInteger prime = PrimeSieve.nextPrimeInProgression(start, step, max, CERTAINTY);
+		assertNotNull(prime);
+		assertTrue(prime.isProbablePrime(CERTAINTY));
+		assertEquals(BigInteger.ONE, prime.mod(step));
+		for (BigInteger candidate = start; candidate.compareTo(prime) < 0; candidate = candidate.add(step)) {
+			assertFalse(candidate.isProbablePrime(CERTAINTY));
+		}
+	}
+
+	@Test
+	void testNextPrimeInSmallProgression() {
+		// 3, 7, 11, 15, ...
+		BigInteger four = BigInteger.valueOf(4);
+		assertEquals(BigInteger.valueOf(3), PrimeSieve.nextPrimeInProgression(BigInteger.valueOf(3), four, BigInteger.TEN, CERTAINTY));
+		assertEquals(BigInteger.valueOf(19), PrimeSieve.nextPrimeInProgression(BigInteger.valueOf(15), four, BigInteger.valueOf(19), CERTAINTY));
+		assertNull(PrimeSieve.nextPrimeInProgression(BigInteger.valueOf(15), four, BigInteger.valueOf(18), CERTAINTY));
+		assertNull(PrimeSieve.nextPrimeInProgression(BigInteger.valueOf(4), four, BigInteger.valueOf(1000), CERTAINTY));
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> PrimeSieve.nextPrimeInProgression(BigInteger.ONE, BigInteger.ZERO, BigInteger.TEN, CERTAINTY));
+	}
+}
@@ -1,65 +1,174 @@
 package uk.ac.ncl.cascade.util.crypto;
 
 import static org.junit.Assert.fail;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
-import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import uk.ac.ncl.cascade.BaseTest;
+import uk.ac.ncl.cascade.zkpgs.keys.SignerKeyPair;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.GroupElement;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementN;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementPQ;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupPQ;
 
-@Disabled
+@TestInstance(Lifecycle.PER_CLASS)
 class QRElementPQTest {
   private static final Logger log = Logger.getLogger(QRElementPQTest.class.getName());
+  private QRGroupPQ qrGroupPQ;
+  private BigInteger modN;
+  private GroupElement baseS;
+  private BigInteger value;
   private QRElementPQ classUnderTest;
 
-  @BeforeEach
-  void setup() {}
+  @BeforeAll
+  void setupKey() throws IOException, ClassNotFoundException {
+    BaseTest baseTest = new BaseTest();
+    baseTest.setup();
+    baseTest.shouldCreateASignerKeyPair(BaseTest.MODULUS_BIT_LENGTH);
+    SignerKeyPair signerKeyPair = baseTest.getSignerKeyPair();
+    qrGroupPQ = (QRGroupPQ) signerKeyPair.getPrivateKey().getGroup();
+    modN = qrGroupPQ.getModulus();
+    baseS = signerKeyPair.getPublicKey().getBaseS();
+  }
 
-  @AfterEach
-  void tearDown() {}
+  @BeforeEach
+  void setup() {
+    value = baseS.modPow(CryptoUtilsFacade.computeRandomNumber(modN.bitLength())).getValue();
+    classUnderTest = new QRElementPQ(qrGroupPQ, value);
+  }
 
   @Test
   void getXp() {
-	  fail("Test not implemented yet.");
+    assertEquals(value.mod(qrGroupPQ.getP()), classUnderTest.getXp());
   }
 
   @Test
   void getXq() {
-	  fail("Test not implemented yet.");
+    assertEquals(value.mod(qrGroupPQ.getQ()), classUnderTest.getXq());
   }
 
   @Test
+  @Disabled
   void setPQRepresentation() {
 	  fail("Test not implemented yet.");
   }
 
   @Test
   void getGroup() {
-	  fail("Test not implemented yet.");
+    assertEquals(qrGroupPQ, classUnderTest.getGroup());
   }
 
   @Test
   void getValue() {
-	  fail("Test not implemented yet.");
+    assertEquals(value, classUnderTest.getValue());
   }
 
   @Test
+  @Disabled
   void getOrder() {
 	  fail("Test not implemented yet.");
   }
 
-  @Test
+  @RepeatedTest(5)
   void modPow() {
-	  fail("Test not implemented yet.");
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(modN.bitLength() + 100);
+
+    assertEquals(value.modPow(exponent, modN), classUnderTest.modPow(exponent).getValue());
+    assertEquals(
+        value.modPow(exponent.negate(), modN), classUnderTest.modPow(exponent.negate()).getValue());
   }
 
-  @Test
+  @RepeatedTest(5)
   void multiply() {
-	  fail("Test not implemented yet.");
-    // TODO multiply using the CRT and randomization -> create elements in randoma and multiply them
+    BigInteger other = baseS.modPow(CryptoUtilsFacade.computeRandomNumber(modN.bitLength())).getValue();
+    QRElementPQ otherPQ = new QRElementPQ(qrGroupPQ, other);
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(modN.bitLength());
+
+    // A chain of operations is only recombined at the end.
+    QRElementPQ product = classUnderTest.multiply(otherPQ).modPow(exponent).multiply(classUnderTest);
+    BigInteger expected = value.multiply(other).mod(modN).modPow(exponent, modN).multiply(value).mod(modN);
+    assertEquals(expected, product.getValue());
+    assertEquals(new QRElementPQ(qrGroupPQ, expected), product);
+
+    // Multipliers of the public group are reduced into the CRT representation.
+    QRElementN otherN = new QRElementN(qrGroupPQ.getPublicQRGroup(), other);
+    assertEquals(value.multiply(other).mod(modN), classUnderTest.multiply(otherN).getValue());
+  }
+
+  @Test
+  void modInverse() {
+    assertEquals(value.modInverse(modN), classUnderTest.modInverse().getValue());
+  }
+
+  @Test
+  void multiBaseExp() {
+    List<GroupElement> bases = new ArrayList<GroupElement>();
+    List<BigInteger> exponents = new ArrayList<BigInteger>();
+    BigInteger expected = BigInteger.ONE;
+    for (int i = 0; i < 10; i++) {
+      BigInteger base = baseS.modPow(CryptoUtilsFacade.computeRandomNumber(modN.bitLength())).getValue();
+      BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(modN.bitLength());
+      bases.add(new QRElementPQ(qrGroupPQ, base));
+      exponents.add(exponent);
+      expected = expected.multiply(base.modPow(exponent, modN)).mod(modN);
+    }
+
+    assertEquals(expected, classUnderTest.multiBaseExp(bases, exponents).getValue());
+  }
+
+  @Test
+  void groupModPow() {
+    BigInteger exponent = CryptoUtilsFacade.computeRandomNumber(modN.bitLength());
+    GroupElement result = qrGroupPQ.modPow(baseS, exponent);
+    log.info("result bit length: " + result.bitLength());
+
+    assertEquals(baseS.getGroup(), result.getGroup());
+    assertTrue(result.equals(baseS.modPow(exponent)));
+  }
+
+  /** Reads a group serialized before QRElementPQ computed in CRT representation. */
+  @Test
+  void deserializeStoredGroup() throws IOException, ClassNotFoundException {
+    QRGroupPQ stored;
+    try (InputStream resource = getClass().getResourceAsStream("/QRGroupPQ-legacy.ser");
+        ObjectInputStream in = new ObjectInputStream(resource)) {
+      stored = (QRGroupPQ) in.readObject();
+    }
+    QRGroupPQ expected = new QRGroupPQ(BigInteger.valueOf(83), BigInteger.valueOf(89));
+    assertEquals(expected, stored);
+    assertEquals(expected.getOneP(), stored.getOneP());
+    assertEquals(expected.getOneQ(), stored.getOneQ());
 
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(stored);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      QRGroupPQ copy = (QRGroupPQ) in.readObject();
+      assertEquals(stored, copy);
+      BigInteger residue = BigInteger.valueOf(4);
+      assertEquals(
+          residue.modPow(BigInteger.TEN, copy.getModulus()),
+          new QRElementPQ(copy, residue).modPow(BigInteger.TEN).getValue());
+    }
   }
 }
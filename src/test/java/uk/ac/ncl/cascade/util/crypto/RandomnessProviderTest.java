@@ -0,0 +1,93 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFacade;
+import uk.ac.ncl.cascade.zkpgs.util.CryptoUtilsFactory;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.RandomnessProvider;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomnessProviderTest {
+	private static final byte[] SEED = "benchmark".getBytes(StandardCharsets.UTF_8);
+
+	@AfterEach
+	void resetProvider() {
+		CryptoUtilsFactory.setRandomnessProvider(RandomnessProvider.perThread());
+	}
+
+	@Test
+	void testNextNumbersBitLengths() {
+		RandomnessProvider provider = RandomnessProvider.perThread();
+		int[] bitLengths = {0, 1, 7, 8, 9, 80, 2724};
+		boolean[] fullLength = new boolean[bitLengths.length];
+		for (int round = 0; round < 200; round++) {
+			BigInteger[] numbers = provider.nextNumbers(bitLengths);
+			assertEquals(bitLengths.length, numbers.length);
+			for (int i = 0; i < bitLengths.length; i++) {
+				assertTrue(numbers[i].signum() >= 0);
+				assertTrue(numbers[i].bitLength() <= bitLengths[i]);
+				fullLength[i] |= numbers[i].bitLength() == bitLengths[i];
+			}
+		}
+		for (boolean reached : fullLength) {
+			assertTrue(reached);
+		}
+		assertThrows(IllegalArgumentException.class, () -> provider.nextNumbers(8, -1));
+	}
+
+	@Test
+	void testSeededProviderRepeats() {
+		RandomnessProvider first = RandomnessProvider.seeded(SEED);
+		RandomnessProvider second = RandomnessProvider.seeded(SEED);
+		for (int i = 0; i < 10; i++) {
+			assertArrayEquals(first.nextNumbers(80, 256, 1632), second.nextNumbers(80, 256, 1632));
+			assertEquals(first.nextNumber(512), second.nextNumber(512));
+		}
+		assertNotEquals(
+				RandomnessProvider.seeded(SEED).nextNumber(256),
+				RandomnessProvider.seeded("other".getBytes(StandardCharsets.UTF_8)).nextNumber(256));
+	}
+
+	@Test
+	void testSeparateGeneratorPerThread() throws Exception {
+		RandomnessProvider provider = RandomnessProvider.perThread();
+		SecureRandom own = provider.getSecureRandom();
+		assertSame(own, provider.getSecureRandom());
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<SecureRandom> other = executor.submit(provider::getSecureRandom);
+			assertNotSame(own, other.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testMinusPlusNumbers() {
+		CryptoUtilsFactory.setRandomnessProvider(RandomnessProvider.seeded(SEED));
+		int[] bitLengths = {80, 120, 1, 2724};
+		boolean negative = false;
+		for (int round = 0; round < 50; round++) {
+			BigInteger[] numbers = CryptoUtilsFacade.computeRandomNumbersMinusPlus(bitLengths);
+			for (int i = 0; i < bitLengths.length; i++) {
+				assertEquals(bitLengths[i], numbers[i].bitLength());
+				negative |= numbers[i].signum() < 0;
+			}
+		}
+		assertTrue(negative);
+
+		CryptoUtilsFactory.setRandomnessProvider(RandomnessProvider.seeded(SEED));
+		BigInteger[] expected = CryptoUtilsFacade.computeRandomNumbers(256, 256);
+		CryptoUtilsFactory.setRandomnessProvider(RandomnessProvider.seeded(SEED));
+		assertArrayEquals(expected, CryptoUtilsFacade.computeRandomNumbers(256, 256));
+	}
+}
@@ -0,0 +1,140 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrime;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrimePool;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test the on-disk pool of safe primes */
+@DisplayName("Testing the safe-prime pool")
+class SafePrimePoolTest {
+	private static final int BIT_LENGTH = 128;
+	private static final int CERTAINTY = 80;
+	private Path directory;
+	private SafePrimePool pool;
+
+	@BeforeEach
+	void createPool() throws IOException {
+		directory = Files.createTempDirectory("safeprimepool");
+		pool = new SafePrimePool(directory);
+	}
+
+	@AfterEach
+	void deletePool() throws IOException {
+		Path file = pool.getPoolFile(BIT_LENGTH);
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	void testTakeMarksPrimesAsUsed() throws IOException {
+		assertNull(pool.take(BIT_LENGTH, CERTAINTY));
+		pool.fill(BIT_LENGTH, CERTAINTY, 3);
+		assertEquals(3, pool.available(BIT_LENGTH));
+
+		Set<BigInteger> taken = new HashSet<BigInteger>();
+		for (int i = 0; i < 3; i++) {
+			SafePrime safePrime = pool.take(BIT_LENGTH, CERTAINTY);
+			assertNotNull(safePrime);
+			assertEquals(BIT_LENGTH, safePrime.getSafePrime().bitLength());
+			assertEquals(safePrime.getSophieGermain().shiftLeft(1).add(BigInteger.ONE), safePrime.getSafePrime());
+			assertTrue(taken.add(safePrime.getSafePrime()));
+			assertEquals(2 - i, pool.available(BIT_LENGTH));
+		}
+		assertNull(pool.take(BIT_LENGTH, CERTAINTY));
+
+		// A new instance on the same directory does not hand out the used primes either.
+		assertNull(new SafePrimePool(directory).take(BIT_LENGTH, CERTAINTY));
+	}
+
+	@Test
+	void testTakenPrimesAreErased() throws IOException {
+		pool.fill(BIT_LENGTH, CERTAINTY, 2);
+		Path file = pool.getPoolFile(BIT_LENGTH);
+		if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+		}
+		long size = Files.size(file);
+
+		SafePrime safePrime = pool.take(BIT_LENGTH, CERTAINTY);
+		String content = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII);
+		assertFalse(content.contains(safePrime.getSafePrime().toString(16)));
+		assertEquals(size, Files.size(file));
+		assertEquals(1, pool.available(BIT_LENGTH));
+		assertNotNull(pool.take(BIT_LENGTH, CERTAINTY));
+		assertNull(pool.take(BIT_LENGTH, CERTAINTY));
+	}
+
+	@Test
+	void testConcurrentTakes() throws Exception {
+		pool.fill(BIT_LENGTH, CERTAINTY, 6);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<SafePrime>> futures = new ArrayList<Future<SafePrime>>();
+			for (int i = 0; i < 8; i++) {
+				SafePrimePool other = new SafePrimePool(directory);
+				futures.add(executor.submit(() -> other.take(BIT_LENGTH, CERTAINTY)));
+			}
+			Set<BigInteger> taken = new HashSet<BigInteger>();
+			int empty = 0;
+			for (Future<SafePrime> future : futures) {
+				SafePrime safePrime = future.get();
+				if (safePrime == null) {
+					empty++;
+				} else {
+					assertTrue(taken.add(safePrime.getSafePrime()));
+				}
+			}
+			assertEquals(6, taken.size());
+			assertEquals(2, empty);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testRefill() throws IOException {
+		assertEquals(4, pool.refill(BIT_LENGTH, CERTAINTY, 2, 4));
+		assertEquals(0, pool.refill(BIT_LENGTH, CERTAINTY, 2, 4));
+		pool.take(BIT_LENGTH, CERTAINTY);
+		pool.take(BIT_LENGTH, CERTAINTY);
+		pool.take(BIT_LENGTH, CERTAINTY);
+		assertEquals(1, pool.available(BIT_LENGTH));
+		assertEquals(3, pool.refill(BIT_LENGTH, CERTAINTY, 2, 4));
+		assertEquals(4, pool.available(BIT_LENGTH));
+		assertThrows(IllegalArgumentException.class, () -> pool.refill(BIT_LENGTH, CERTAINTY, 5, 4));
+	}
+
+	@Test
+	void testInvalidEntriesAreSkipped() throws IOException {
+		pool.fill(BIT_LENGTH, CERTAINTY, 1);
+		Path file = pool.getPoolFile(BIT_LENGTH);
+		List<String> lines = new ArrayList<String>(Files.readAllLines(file, StandardCharsets.US_ASCII));
+		BigInteger composite = BigInteger.ONE.shiftLeft(BIT_LENGTH - 1).add(BigInteger.valueOf(15));
+		lines.add(0, "A " + composite.toString(16));
+		Files.write(file, lines, StandardCharsets.US_ASCII);
+
+		SafePrime safePrime = pool.take(BIT_LENGTH, CERTAINTY);
+		assertNotNull(safePrime);
+		assertTrue(safePrime.getSafePrime().isProbablePrime(CERTAINTY));
+		assertEquals(0, pool.available(BIT_LENGTH));
+	}
+}
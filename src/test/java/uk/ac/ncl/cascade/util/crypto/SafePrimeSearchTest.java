@@ -0,0 +1,67 @@
+package uk.ac.ncl.cascade.util.crypto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrime;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.SafePrimeSearch;
+
+import java.math.BigInteger;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test the parallel safe prime search */
+@DisplayName("Testing the safe prime search")
+class SafePrimeSearchTest {
+	private static final int CERTAINTY = 80;
+
+	private static void assertSafePrime(SafePrime safePrime, int bitLength) {
+		assertNotNull(safePrime);
+		BigInteger p = safePrime.getSafePrime();
+		BigInteger pPrime = safePrime.getSophieGermain();
+		assertEquals(bitLength, p.bitLength());
+		assertEquals(pPrime.shiftLeft(1).add(BigInteger.ONE), p);
+		assertTrue(pPrime.isProbablePrime(CERTAINTY));
+		assertTrue(p.isProbablePrime(CERTAINTY));
+	}
+
+	@Test
+	void searchOnAllProcessors() {
+		SafePrimeSearch search = new SafePrimeSearch(512, CERTAINTY);
+		assertSafePrime(search.search(), 512);
+	}
+
+	@Test
+	void searchOnCallingThread() {
+		SafePrimeSearch search = new SafePrimeSearch(256, CERTAINTY, 1);
+		assertSafePrime(search.search(), 256);
+	}
+
+	@Test
+	void searchSmallSafePrimes() {
+		for (int bitLength = 4; bitLength <= 24; bitLength++) {
+			SafePrimeSearch search = new SafePrimeSearch(bitLength, CERTAINTY, 2);
+			assertSafePrime(search.search(), bitLength);
+		}
+	}
+
+	@Test
+	void searchDistinctSafePrimes() {
+		SafePrimeSearch search = new SafePrimeSearch(256, CERTAINTY);
+		assertNotEquals(search.search().getSafePrime(), search.search().getSafePrime());
+	}
+
+	@Test
+	void cancelSearch() {
+		SafePrimeSearch search = new SafePrimeSearch(4096, CERTAINTY, 2);
+		search.cancel();
+		assertTrue(search.isCancelled());
+		assertThrows(CancellationException.class, search::search);
+	}
+
+	@Test
+	void rejectInvalidParameters() {
+		assertThrows(IllegalArgumentException.class, () -> new SafePrimeSearch(3, CERTAINTY));
+		assertThrows(IllegalArgumentException.class, () -> new SafePrimeSearch(512, CERTAINTY, 0));
+	}
+}
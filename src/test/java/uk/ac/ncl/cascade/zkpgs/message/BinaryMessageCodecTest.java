@@ -0,0 +1,134 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import uk.ac.ncl.cascade.zkpgs.prover.ProofSignature;
+import uk.ac.ncl.cascade.zkpgs.store.URN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementN;
+import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BinaryMessageCodecTest {
+	private ByteArrayOutputStream sent;
+	private BinaryMessageCodec sender;
+
+	@BeforeEach
+	void setUp() {
+		sent = new ByteArrayOutputStream();
+		sender = new BinaryMessageCodec(new ByteArrayInputStream(new byte[0]), sent);
+	}
+
+	private BinaryMessageCodec receiver() {
+		return new BinaryMessageCodec(new ByteArrayInputStream(sent.toByteArray()), new ByteArrayOutputStream());
+	}
+
+	private Map<URN, Object> createResponses(int count) {
+		Map<URN, Object> responses = new HashMap<URN, Object>();
+		for (int i = 0; i < count; i++) {
+			responses.put(URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + i),
+					BigInteger.valueOf(2).pow(600 + i).subtract(BigInteger.valueOf(i)));
+		}
+		responses.put(URN.createZkpgsURN("proofsignature.P_3.hate"), BigInteger.valueOf(-12345678901L));
+		responses.put(URN.createZkpgsURN("proofsignature.P_3.hatvPrime"), BigInteger.ZERO);
+		return responses;
+	}
+
+	@Test
+	void writeAndReadMessage() throws IOException, ClassNotFoundException {
+		QRGroupN group = new QRGroupN(BigInteger.valueOf(77));
+		Map<URN, Object> elements = new HashMap<URN, Object>();
+		elements.put(URN.createZkpgsURN("verifier.n_3"), BigInteger.ONE.shiftLeft(256).negate());
+		elements.put(URN.createZkpgsURN("prover.APrime"), new QRElementN(group, BigInteger.valueOf(4)));
+		elements.put(URN.createUnsafeZkpgsURN("proof.request"),
+				new ProofRequest(ProofType.GEOLOCATION_SEPARATION, new Vector<Integer>(Arrays.asList(1, -2, 300))));
+		elements.put(URN.createZkpgsURN("proofsignature.P_3"), new ProofSignature(createResponses(10)));
+		elements.put(URN.createZkpgsURN("recipient.P_1"), new ArrayList<String>(Arrays.asList("a", "ü", null)));
+		elements.put(URN.createZkpgsURN("recipient.n_2"), ProofType.VC_CRED);
+
+		sender.write(new GSMessage(elements));
+		GSMessage received = receiver().read();
+
+		Map<URN, Object> receivedElements = received.getMessageElements();
+		assertEquals(elements.size(), receivedElements.size());
+		assertEquals(elements.get(URN.createZkpgsURN("verifier.n_3")), receivedElements.get(URN.createZkpgsURN("verifier.n_3")));
+		assertEquals(elements.get(URN.createZkpgsURN("prover.APrime")), receivedElements.get(URN.createZkpgsURN("prover.APrime")));
+		assertEquals(ProofType.VC_CRED, receivedElements.get(URN.createZkpgsURN("recipient.n_2")));
+		assertEquals(Arrays.asList("a", "ü", null), receivedElements.get(URN.createZkpgsURN("recipient.P_1")));
+
+		ProofRequest proofRequest = (ProofRequest) receivedElements.get(URN.createUnsafeZkpgsURN("proof.request"));
+		assertEquals(ProofType.GEOLOCATION_SEPARATION, proofRequest.getProofType());
+		assertEquals(new Vector<Integer>(Arrays.asList(1, -2, 300)), proofRequest.getIndexes());
+
+		ProofSignature proofSignature = (ProofSignature) receivedElements.get(URN.createZkpgsURN("proofsignature.P_3"));
+		assertEquals(createResponses(10), proofSignature.getProofSignatureElements());
+	}
+
+	@Test
+	void writeAndReadProofSignatures() throws IOException, ClassNotFoundException {
+		Map<URN, Object> responses = createResponses(100);
+		sender.writeProofSignature(new ProofSignature(responses));
+		int firstFrame = sent.size();
+		sender.writeProofSignature(new ProofSignature(responses));
+		int secondFrame = sent.size() - firstFrame;
+
+		// The second frame refers to the URNs by their dictionary ids.
+		assertTrue(secondFrame < firstFrame);
+
+		ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+			out.writeObject(new ProofSignature(responses));
+		}
+		assertTrue(firstFrame < serialized.size());
+
+		BinaryMessageCodec receiver = receiver();
+		assertEquals(responses, receiver.readProofSignature().getProofSignatureElements());
+		assertEquals(responses, receiver.readProofSignature().getProofSignatureElements());
+	}
+
+	@Test
+	void writeAndReadProofRequest() throws IOException, ClassNotFoundException {
+		sender.writeProofRequest(new ProofRequest(ProofType.NONE, new Vector<Integer>()));
+		ProofRequest proofRequest = receiver().readProofRequest();
+
+		assertEquals(ProofType.NONE, proofRequest.getProofType());
+		assertTrue(proofRequest.getIndexes().isEmpty());
+	}
+
+	@Test
+	void readUnexpectedFrame() throws IOException {
+		sender.writeProofRequest(new ProofRequest(ProofType.NONE, new Vector<Integer>()));
+
+		assertThrows(StreamCorruptedException.class, () -> receiver().read());
+	}
+
+	@Test
+	void writeUnencodableValue() throws IOException, ClassNotFoundException {
+		Map<URN, Object> elements = new HashMap<URN, Object>();
+		elements.put(URN.createZkpgsURN("verifier.n_3"), new Object());
+		assertThrows(IOException.class, () -> sender.write(new GSMessage(elements)));
+		assertEquals(0, sent.size());
+
+		// The failed frame must not leave entries in the URN dictionary.
+		List<Object> values = new ArrayList<Object>();
+		values.add(BigInteger.TEN);
+		elements.put(URN.createZkpgsURN("verifier.n_3"), values);
+		sender.write(new GSMessage(elements));
+		assertEquals(elements, receiver().read().getMessageElements());
+	}
+}
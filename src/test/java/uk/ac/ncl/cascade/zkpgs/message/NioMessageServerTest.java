@@ -0,0 +1,127 @@
+package uk.ac.ncl.cascade.zkpgs.message;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import uk.ac.ncl.cascade.zkpgs.store.ProofStore;
+import uk.ac.ncl.cascade.zkpgs.store.URN;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NioMessageServerTest {
+	private static final String HOST = "127.0.0.1";
+	private static final int SESSIONS = 50;
+	private static final int ROUNDS = 3;
+
+	private ExecutorService sessionExecutor;
+	private ExecutorService clientExecutor;
+	private NioMessageServer server;
+
+	/** Answers each message of a session with the sum of the values received so far. */
+	private void serveSession(IMessageGateway session) throws Exception {
+		ProofStore<Object> proofStore = new ProofStore<Object>();
+		BigInteger sum = BigInteger.ZERO;
+		for (int round = 0; round < ROUNDS; round++) {
+			GSMessage message = session.receive();
+			BigInteger value = (BigInteger) message.getMessageElements().get(URN.createZkpgsURN("verifier.n_3"));
+			proofStore.storeUnsafe("session.n_3_" + round, value);
+			sum = sum.add(value);
+
+			Map<URN, Object> reply = new HashMap<URN, Object>();
+			reply.put(URN.createZkpgsURN("verifier.n_3"), sum);
+			session.send(new GSMessage(reply));
+		}
+	}
+
+	@BeforeEach
+	void setUp() throws IOException {
+		sessionExecutor = Executors.newCachedThreadPool();
+		clientExecutor = Executors.newFixedThreadPool(SESSIONS);
+		server = new NioMessageServer(HOST, 0, this::serveSession, sessionExecutor);
+		server.init();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		server.close();
+		sessionExecutor.shutdownNow();
+		clientExecutor.shutdownNow();
+	}
+
+	private BigInteger runClient(int id) throws IOException, ClassNotFoundException {
+		GSClient client = new GSClient(HOST, server.getLocalPort());
+		client.setMessageEncoding(MessageEncoding.BINARY);
+		client.init();
+		try {
+			BigInteger sum = null;
+			for (int round = 0; round < ROUNDS; round++) {
+				Map<URN, Object> elements = new HashMap<URN, Object>();
+				elements.put(URN.createZkpgsURN("verifier.n_3"), BigInteger.valueOf(id).shiftLeft(512));
+				client.send(new GSMessage(elements));
+				sum = (BigInteger) client.receive().getMessageElements().get(URN.createZkpgsURN("verifier.n_3"));
+			}
+			return sum;
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	void serveConcurrentSessions() throws Exception {
+		List<Future<BigInteger>> results = new ArrayList<Future<BigInteger>>();
+		for (int i = 0; i < SESSIONS; i++) {
+			final int id = i;
+			results.add(clientExecutor.submit(() -> runClient(id)));
+		}
+
+		for (int i = 0; i < SESSIONS; i++) {
+			assertEquals(BigInteger.valueOf(i).shiftLeft(512).multiply(BigInteger.valueOf(ROUNDS)), results.get(i).get());
+		}
+	}
+
+	@Test
+	void receiveFramesLargerThanTheInitialBuffer() throws Exception {
+		// About 1 MiB per frame, such that the frame buffer grows several times.
+		BigInteger value = BigInteger.ONE.shiftLeft(8 * 1024 * 1024).subtract(BigInteger.ONE);
+		GSClient client = new GSClient(HOST, server.getLocalPort());
+		client.setMessageEncoding(MessageEncoding.BINARY);
+		client.init();
+		try {
+			BigInteger sum = null;
+			for (int round = 0; round < ROUNDS; round++) {
+				Map<URN, Object> elements = new HashMap<URN, Object>();
+				elements.put(URN.createZkpgsURN("verifier.n_3"), value);
+				client.send(new GSMessage(elements));
+				sum = (BigInteger) client.receive().getMessageElements().get(URN.createZkpgsURN("verifier.n_3"));
+			}
+			assertEquals(value.multiply(BigInteger.valueOf(ROUNDS)), sum);
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	void closeSessionOnDisconnect() throws Exception {
+		GSClient client = new GSClient(HOST, server.getLocalPort());
+		client.setMessageEncoding(MessageEncoding.BINARY);
+		client.init();
+		client.close();
+
+		for (int i = 0; i < 100 && server.getSessionCount() > 0; i++) {
+			Thread.sleep(20);
+		}
+		assertEquals(0, server.getSessionCount());
+	}
+}
@@ -225,6 +225,36 @@ class SingletonPossessionProverTest {
 		assertEquals(hatZ, tildeZ, "PossessionProver Witness TildeZ was not computed correctly.");
 	}
 
+	@Test
+	@DisplayName("Test computing witness TildeZ with powers from a precomputation pool")
+	void testComputePrecomputedWitness() throws ProofStoreException {
+		int vLength = keyGenParameters.getL_v() + keyGenParameters.getProofOffset();
+		int messageLength = keyGenParameters.getL_m() + keyGenParameters.getProofOffset();
+		PrecomputationPool pool = new PrecomputationPool(null, 2);
+		pool.register(epk.getPublicKey().getBaseS(), vLength, false);
+		pool.register(epk.getPublicKey().getBaseR_0(), messageLength, false);
+		pool.fill();
+		assertEquals(2, pool.available(epk.getPublicKey().getBaseS(), vLength, false));
+
+		PossessionProver pooledProver = new PossessionProver(sigmaM, pool, epk, proofStore);
+		pooledProver.executePrecomputation();
+		assertEquals(1, pool.available(epk.getPublicKey().getBaseS(), vLength, false));
+		assertEquals(1, pool.available(epk.getPublicKey().getBaseR_0(), messageLength, false));
+
+		tildeZ = pooledProver.executePreChallengePhase();
+
+		tildevPrime = (BigInteger) proofStore.retrieve(pooledProver.getProverURN(URNType.TILDEVPRIME));
+		tildee = (BigInteger) proofStore.retrieve(pooledProver.getProverURN(URNType.TILDEE));
+		tildem_0 = (BigInteger) proofStore.retrieve(pooledProver.getProverURN(URNType.TILDEM0));
+		GroupElement hatZ = epk.getPublicKey().getBaseS().modPow(tildevPrime)
+				.multiply(sigmaM.getA().modPow(tildee))
+				.multiply(epk.getPublicKey().getBaseR_0().modPow(tildem_0));
+		assertEquals(hatZ, tildeZ, "PossessionProver Witness TildeZ was not computed correctly.");
+
+		pooledProver.executePostChallengePhase(pooledProver.computeChallenge());
+		assertTrue(pooledProver.verify(), "PossessionProver self-verification post-challenge failed.");
+	}
+
 	//	@Test
 	//	@DisplayName("Test challenge bitLength")
 	//	void testComputeChallenge() throws NoSuchAlgorithmException {
@@ -2,6 +2,7 @@ package uk.ac.ncl.cascade.zkpgs.store;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -15,6 +16,12 @@ import uk.ac.ncl.cascade.zkpgs.util.crypto.QRElementN;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroup;
 import uk.ac.ncl.cascade.zkpgs.util.crypto.QRGroupN;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -132,4 +139,58 @@ class ProofStoreTest {
     assertNotNull(proofStore.getElements());
     assertEquals(2, proofStore.getElements().size());
   }
+
+  @Test
+  @DisplayName("Test proof store returning the key of a stored object")
+  void getKey() throws ProofStoreException {
+    BigInteger testM = CryptoUtilsFacade.computeRandomNumber(1024);
+    proofStore.storeUnsafe("test.M", testM);
+    proofStore.storeUnsafe("biginteger.2", BigInteger.valueOf(1));
+
+    assertEquals(URN.createUnsafeZkpgsURN("test.M"), proofStore.getKey(testM));
+    assertNull(proofStore.getKey(BigInteger.TEN));
+    assertNull(proofStore.getKey(null));
+
+    proofStore.remove(URN.createUnsafeZkpgsURN("test.M"));
+    assertNull(proofStore.getKey(testM));
+  }
+
+  @Test
+  @DisplayName("Test proof store for concurrent saves with a single winner per key")
+  void saveConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+      for (int t = 0; t < 4; t++) {
+        final int offset = t * 1000;
+        tasks.add(
+            () -> {
+              int saved = 0;
+              for (int i = 0; i < 100; i++) {
+                try {
+                  proofStore.storeUnsafe("biginteger." + i, BigInteger.valueOf(offset + i));
+                  saved++;
+                } catch (ProofStoreException e) {
+                  // Another thread saved the key first.
+                }
+              }
+              return saved;
+            });
+      }
+
+      int saved = 0;
+      for (Future<Integer> future : executor.invokeAll(tasks)) {
+        saved += future.get();
+      }
+
+      assertEquals(100, saved);
+      assertEquals(100, proofStore.size());
+      for (int i = 0; i < 100; i++) {
+        Object element = proofStore.retrieveUnsafe("biginteger." + i);
+        assertEquals(URN.createUnsafeZkpgsURN("biginteger." + i), proofStore.getKey(element));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,68 @@
+package uk.ac.ncl.cascade.zkpgs.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import uk.ac.ncl.cascade.zkpgs.prover.PossessionProver;
+import uk.ac.ncl.cascade.zkpgs.verifier.PossessionVerifier;
+
+@TestInstance(Lifecycle.PER_CLASS)
+class URNHandleTest {
+
+	@Test
+	void testInternedURN() {
+		URN urn = URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_3");
+		assertSame(urn, URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + 3));
+		assertSame(urn, URN.createURN(URN.getZkpgsNameSpaceIdentifier(), "proofsignature.P_3.responses.hatm_i_3"));
+
+		URN unsafeURN = URN.createUnsafeZkpgsURN("proofsignature.P_3.responses.hatm_i_3");
+		assertEquals(urn, unsafeURN);
+		assertSame(unsafeURN, URN.createUnsafeZkpgsURN("proofsignature.P_3.responses.hatm_i_3"));
+	}
+
+	@Test
+	void testPrefixHandle() {
+		URNHandle handle = URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_");
+		assertSame(handle, URNHandle.forPrefix("proofsignature.P_3.responses.hatm_i_"));
+
+		for (int i = 0; i < 100; i++) {
+			URN urn = handle.get(i);
+			assertEquals(URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + i), urn);
+			assertSame(urn, handle.get(i));
+		}
+		assertEquals(URN.createZkpgsURN("proofsignature.P_3.responses.hatm_i_" + Integer.MAX_VALUE), handle.get(Integer.MAX_VALUE));
+	}
+
+	@Test
+	void testUnsafePrefixHandle() {
+		URNHandle handle = URNHandle.forUnsafePrefix("proofsignature.P_3.unknown_");
+		assertEquals(URN.createUnsafeZkpgsURN("proofsignature.P_3.unknown_17"), handle.get(17));
+		assertEquals("proofsignature.P_3.unknown_17", handle.getComponent(17));
+
+		try {
+			URNHandle.forPrefix("proofsignature.P_3.unknown_").get(17);
+		} catch (IllegalArgumentException e) {
+			// Expected exception.
+			return;
+		}
+		fail("URNHandle did not throw an IllegalArgumentException on a URN without URNType.");
+	}
+
+	@Test
+	void testTypedHandle() {
+		URNHandle handle = URNHandle.forType(URNType.HATMI, PossessionProver.class);
+		assertSame(handle, URNHandle.forType(URNType.HATMI, PossessionProver.class));
+		assertNotSame(handle, URNHandle.forType(URNType.HATMI, PossessionVerifier.class));
+
+		assertEquals(URNType.buildURNComponent(URNType.HATMI, PossessionProver.class, 5), handle.getComponent(5));
+		assertSame(URNType.buildURN(URNType.HATMI, PossessionProver.class, 5), handle.get(5));
+		assertSame(URNType.buildURN(URNType.HATE, PossessionProver.class),
+				URNHandle.forType(URNType.HATE, PossessionProver.class).get());
+
+		assertThrows(IllegalArgumentException.class, () -> handle.get());
+		assertThrows(IllegalArgumentException.class,
+				() -> URNHandle.forType(URNType.HATE, PossessionProver.class).get(5));
+	}
+}